@@ -16,8 +16,12 @@
 package org.pitest.ant;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.Task;
@@ -25,6 +29,7 @@ import org.apache.tools.ant.taskdefs.Java;
 import org.apache.tools.ant.types.Path;
 import org.pitest.mutationtest.commandline.MutationCoverageReport;
 import org.pitest.mutationtest.config.ConfigOption;
+import org.pitest.mutationtest.daemon.DaemonClient;
 
 public class PitestTask extends Task { // NO_UCD (test only)
 
@@ -45,10 +50,20 @@ public class PitestTask extends Task { // NO_UCD (test only)
    */
   private String pitClasspath;
 
+  /**
+   * File written by a running pitest daemon to send analysis to in place of a
+   * forked jvm
+   */
+  private String daemonFile;
+
   @Override
   public void execute() throws BuildException {
     try {
-      execute(new Java(this));
+      if (this.daemonFile != null) {
+        execute(new DaemonClient(getProject().resolveFile(this.daemonFile)));
+      } else {
+        execute(new Java(this));
+      }
     } catch (final Throwable t) {
       throw new BuildException(t);
     }
@@ -64,15 +79,34 @@ public class PitestTask extends Task { // NO_UCD (test only)
     java.setFailonerror(true);
     java.setFork(true);
 
-    checkRequiredOptions();
-    for (final Map.Entry<String, String> option : this.options.entrySet()) {
-      java.createArg().setValue(
-          "--" + option.getKey() + "=" + option.getValue());
+    for (final String arg : arguments()) {
+      java.createArg().setValue(arg);
     }
 
     java.execute();
   }
 
+  void execute(final DaemonClient daemon) throws IOException {
+
+    this.setOption(ConfigOption.INCLUDE_LAUNCH_CLASSPATH, "false");
+    this.setOption(ConfigOption.CLASSPATH, generateAnalysisClasspath());
+
+    final Optional<String> failure = daemon.run(getProject().getBaseDir(),
+        arguments(), System.out);
+    if (failure.isPresent()) {
+      throw new BuildException(failure.get());
+    }
+  }
+
+  private List<String> arguments() {
+    checkRequiredOptions();
+    final List<String> args = new ArrayList<>();
+    for (final Map.Entry<String, String> option : this.options.entrySet()) {
+      args.add("--" + option.getKey() + "=" + option.getValue());
+    }
+    return args;
+  }
+
   private Path generateLaunchClasspath() {
     if (this.pitClasspath == null) {
       throw new BuildException("You must specify the classpath for pitest and its plugins.");
@@ -204,6 +238,10 @@ public class PitestTask extends Task { // NO_UCD (test only)
     this.pitClasspath = classpath;
   }
 
+  public void setDaemonFile(final String daemonFile) {
+    this.daemonFile = daemonFile;
+  }
+
   public void setMutableCodePaths(final String glob) {
     setOption(ConfigOption.CODE_PATHS, glob);
   }
@@ -261,4 +299,44 @@ public class PitestTask extends Task { // NO_UCD (test only)
   public void setUseClasspathJar(String value) {
     this.setOption(ConfigOption.USE_CLASSPATH_JAR, value);
   }
-}
\ No newline at end of file
+
+  public void setReuseMinions(String value) {
+    this.setOption(ConfigOption.REUSE_MINIONS, value);
+  }
+
+  public void setMaxMutationsPerMinion(String value) {
+    this.setOption(ConfigOption.MAX_MUTATIONS_PER_MINION, value);
+  }
+
+  public void setBinaryHistory(String value) {
+    this.setOption(ConfigOption.BINARY_HISTORY, value);
+  }
+
+  public void setWorkStealing(String value) {
+    this.setOption(ConfigOption.WORK_STEALING, value);
+  }
+
+  public void setMutantSchemata(String value) {
+    this.setOption(ConfigOption.MUTANT_SCHEMATA, value);
+  }
+
+  public void setPipelineAnalysis(String value) {
+    this.setOption(ConfigOption.PIPELINE_ANALYSIS, value);
+  }
+
+  public void setClassDataSharing(String value) {
+    this.setOption(ConfigOption.CLASS_DATA_SHARING, value);
+  }
+
+  public void setPipeTransport(String value) {
+    this.setOption(ConfigOption.PIPE_TRANSPORT, value);
+  }
+
+  public void setInProcessAnalysis(String value) {
+    this.setOption(ConfigOption.IN_PROCESS_ANALYSIS, value);
+  }
+
+  public void setRecoverTimeouts(String value) {
+    this.setOption(ConfigOption.RECOVER_TIMEOUTS, value);
+  }
+}
@@ -15,6 +15,8 @@
 
 package org.pitest.ant;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.startsWith;
 import static org.mockito.Mockito.never;
@@ -23,6 +25,9 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
 
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.Project;
@@ -34,10 +39,12 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.pitest.mutationtest.commandline.MutationCoverageReport;
+import org.pitest.mutationtest.daemon.DaemonClient;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PitestTaskTest {
@@ -49,6 +56,8 @@ public class PitestTaskTest {
   private Argument         arg;
   @Mock
   private Project          project;
+  @Mock
+  private DaemonClient     daemon;
 
   @Rule
   public ExpectedException exception = ExpectedException.none();
@@ -303,6 +312,40 @@ public class PitestTaskTest {
         MutationCoverageReport.class.getCanonicalName());
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldSendOptionsToDaemon() throws Exception {
+    final File baseDir = new File("base");
+    when(this.project.getBaseDir()).thenReturn(baseDir);
+    when(this.daemon.run(any(File.class), any(List.class),
+        any(OutputStream.class))).thenReturn(Optional.<String> empty());
+    this.pitestTask.setAvoidCallsTo("avoidCalls");
+
+    this.pitestTask.execute(this.daemon);
+
+    final ArgumentCaptor<List> args = ArgumentCaptor.forClass(List.class);
+    verify(this.daemon).run(argThat(new ArgumentMatcher<File>() {
+      @Override
+      public boolean matches(final Object argument) {
+        return baseDir.equals(argument);
+      }
+    }), args.capture(), any(OutputStream.class));
+    assertThat(args.getValue()).contains("--avoidCallsTo=avoidCalls",
+        "--targetClasses=com.*", "--includeLaunchClasspath=false");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldFailWhenDaemonReportsFailure() throws Exception {
+    this.exception.expect(BuildException.class);
+    this.exception.expectMessage("Mutation score of 10 is below threshold");
+    when(this.daemon.run(any(File.class), any(List.class),
+        any(OutputStream.class))).thenReturn(
+        Optional.of("Mutation score of 10 is below threshold of 80"));
+
+    this.pitestTask.execute(this.daemon);
+  }
+
   @Test
   public void shouldFailWhenNoClasspathSupplied() throws Exception {
     this.exception.expect(BuildException.class);
@@ -475,6 +518,76 @@ public class PitestTaskTest {
     verify(this.arg).setValue("--useClasspathJar=true");
   }
   
+  @Test
+  public void shouldPassReuseMinionsToJavaTask() {
+    this.pitestTask.setReuseMinions("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--reuseMinions=true");
+  }
+
+  @Test
+  public void shouldPassMaxMutationsPerMinionToJavaTask() {
+    this.pitestTask.setMaxMutationsPerMinion("42");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--maxMutationsPerMinion=42");
+  }
+
+  @Test
+  public void shouldPassBinaryHistoryToJavaTask() {
+    this.pitestTask.setBinaryHistory("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--binaryHistory=true");
+  }
+
+  @Test
+  public void shouldPassWorkStealingToJavaTask() {
+    this.pitestTask.setWorkStealing("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--workStealing=true");
+  }
+
+  @Test
+  public void shouldPassMutantSchemataToJavaTask() {
+    this.pitestTask.setMutantSchemata("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--mutantSchemata=true");
+  }
+
+  @Test
+  public void shouldPassPipelineAnalysisToJavaTask() {
+    this.pitestTask.setPipelineAnalysis("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--pipelineAnalysis=true");
+  }
+
+  @Test
+  public void shouldPassClassDataSharingToJavaTask() {
+    this.pitestTask.setClassDataSharing("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--classDataSharing=true");
+  }
+
+  @Test
+  public void shouldPassPipeTransportToJavaTask() {
+    this.pitestTask.setPipeTransport("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--pipeTransport=true");
+  }
+
+  @Test
+  public void shouldPassInProcessAnalysisToJavaTask() {
+    this.pitestTask.setInProcessAnalysis("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--inProcessAnalysis=true");
+  }
+
+  @Test
+  public void shouldPassRecoverTimeoutsToJavaTask() {
+    this.pitestTask.setRecoverTimeouts("true");
+    this.pitestTask.execute(this.java);
+    verify(this.arg).setValue("--recoverTimeouts=true");
+  }
+
   private static class PathMatcher extends ArgumentMatcher<Path> {
 
     private final String[] expectedPaths;
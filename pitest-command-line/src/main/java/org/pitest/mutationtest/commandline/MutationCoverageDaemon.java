@@ -0,0 +1,129 @@
+package org.pitest.mutationtest.commandline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.pitest.mutationtest.config.PluginServices;
+import org.pitest.mutationtest.config.ReportOptions;
+import org.pitest.mutationtest.config.SettingsFactory;
+import org.pitest.mutationtest.daemon.DaemonServer;
+import org.pitest.mutationtest.tooling.AnalysisResult;
+import org.pitest.mutationtest.tooling.AnalysisSession;
+import org.pitest.mutationtest.tooling.EntryPoint;
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+import org.pitest.util.Unchecked;
+
+/**
+ * Entry point for a long lived process that runs analyses requested by
+ * clients, such as the maven and ant plugins, with the same arguments as the
+ * command line interface.
+ *
+ * Each project is analysed within an {@link AnalysisSession}, so the state
+ * built by one analysis is reused by the next where it is still valid. A
+ * session is kept for each distinct working directory and set of arguments,
+ * the least recently used being shut down once there are more than a few.
+ *
+ * Relative paths in the arguments are resolved against the working directory
+ * of the daemon, not that of the client.
+ */
+public class MutationCoverageDaemon {
+
+  private static final Logger                  LOG          = Log.getLogger();
+
+  private static final int                     MAX_SESSIONS = 4;
+
+  private final PluginServices                 plugins;
+
+  // ordered from least to most recently used
+  private final Map<List<String>, AnalysisSession> sessions = new LinkedHashMap<List<String>, AnalysisSession>(
+      16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(
+        final Map.Entry<List<String>, AnalysisSession> eldest) {
+      if (size() > MAX_SESSIONS) {
+        eldest.getValue().close();
+        return true;
+      }
+      return false;
+    }
+  };
+
+  MutationCoverageDaemon(final PluginServices plugins) {
+    this.plugins = plugins;
+  }
+
+  /**
+   * @param args
+   *          the file to describe the daemon to clients in, and optionally
+   *          the port to listen on
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length == 0) {
+      System.out.println("Usage: MutationCoverageDaemon <daemon file> [port]");
+      return;
+    }
+
+    final File daemonFile = new File(args[0]);
+    final int port = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+
+    final MutationCoverageDaemon daemon = new MutationCoverageDaemon(
+        PluginServices.makeForContextLoader());
+    final DaemonServer server = new DaemonServer(port, daemon::run);
+    server.getDetails().write(daemonFile);
+    daemonFile.deleteOnExit();
+    Runtime.getRuntime().addShutdownHook(new Thread(daemon::close));
+
+    LOG.info("Listening on port " + server.getDetails().getPort()
+        + ", clients should use " + daemonFile.getAbsolutePath());
+    try {
+      server.serve();
+    } finally {
+      daemon.close();
+    }
+  }
+
+  void run(final File workingDirectory, final List<String> args) {
+    final OptionsParser parser = new OptionsParser(new PluginFilter(
+        this.plugins));
+    final ParseResult pr = parser.parse(args.toArray(new String[0]));
+    if (!pr.isOk()) {
+      parser.printHelp();
+      throw new PitError(pr.getErrorMessage().get());
+    }
+
+    final ReportOptions data = pr.getOptions();
+    final AnalysisResult result = new EntryPoint().execute(workingDirectory,
+        data, new SettingsFactory(data, this.plugins),
+        new HashMap<String, String>(), session(workingDirectory, args));
+    if (result.getError().isPresent()) {
+      throw Unchecked.translateCheckedException(result.getError().get());
+    }
+
+    MutationCoverageReport.checkThresholds(data, result.getStatistics().get());
+  }
+
+  synchronized AnalysisSession session(final File workingDirectory,
+      final List<String> args) {
+    final List<String> key = new ArrayList<>();
+    key.add(workingDirectory.getAbsolutePath());
+    key.addAll(args);
+    return this.sessions.computeIfAbsent(key, k -> new AnalysisSession());
+  }
+
+  synchronized void close() {
+    for (final AnalysisSession each : this.sessions.values()) {
+      each.close();
+    }
+    this.sessions.clear();
+  }
+
+}
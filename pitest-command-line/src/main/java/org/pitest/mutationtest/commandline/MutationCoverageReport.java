@@ -44,15 +44,20 @@ public class MutationCoverageReport {
 
       final CombinedStatistics stats = runReport(data, plugins);
 
-      throwErrorIfScoreBelowCoverageThreshold(stats.getCoverageSummary(),
-          data.getCoverageThreshold());
-      throwErrorIfScoreBelowMutationThreshold(stats.getMutationStatistics(),
-          data.getMutationThreshold());
-      throwErrorIfMoreThanMaxSuvivingMutants(stats.getMutationStatistics(), data.getMaximumAllowedSurvivors());
+      checkThresholds(data, stats);
     }
 
   }
 
+  static void checkThresholds(final ReportOptions data,
+      final CombinedStatistics stats) {
+    throwErrorIfScoreBelowCoverageThreshold(stats.getCoverageSummary(),
+        data.getCoverageThreshold());
+    throwErrorIfScoreBelowMutationThreshold(stats.getMutationStatistics(),
+        data.getMutationThreshold());
+    throwErrorIfMoreThanMaxSuvivingMutants(stats.getMutationStatistics(), data.getMaximumAllowedSurvivors());
+  }
+
   private static void throwErrorIfScoreBelowCoverageThreshold(
       CoverageSummary stats, int threshold) {
     if ((threshold != 0) && (stats.getCoverage() < threshold)) {
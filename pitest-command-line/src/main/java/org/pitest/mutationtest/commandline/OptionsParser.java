@@ -15,9 +15,11 @@
 package org.pitest.mutationtest.commandline;
 
 import static org.pitest.mutationtest.config.ConfigOption.AVOID_CALLS;
+import static org.pitest.mutationtest.config.ConfigOption.BINARY_HISTORY;
 import static org.pitest.mutationtest.config.ConfigOption.CHILD_JVM;
 import static org.pitest.mutationtest.config.ConfigOption.CLASSPATH;
 import static org.pitest.mutationtest.config.ConfigOption.CLASSPATH_FILE;
+import static org.pitest.mutationtest.config.ConfigOption.CLASS_DATA_SHARING;
 import static org.pitest.mutationtest.config.ConfigOption.CODE_PATHS;
 import static org.pitest.mutationtest.config.ConfigOption.COVERAGE_THRESHOLD;
 import static org.pitest.mutationtest.config.ConfigOption.DEPENDENCY_DISTANCE;
@@ -34,16 +36,23 @@ import static org.pitest.mutationtest.config.ConfigOption.HISTORY_OUTPUT_LOCATIO
 import static org.pitest.mutationtest.config.ConfigOption.INCLUDED_GROUPS;
 import static org.pitest.mutationtest.config.ConfigOption.INCLUDED_TEST_METHODS;
 import static org.pitest.mutationtest.config.ConfigOption.INCLUDE_LAUNCH_CLASSPATH;
+import static org.pitest.mutationtest.config.ConfigOption.IN_PROCESS_ANALYSIS;
 import static org.pitest.mutationtest.config.ConfigOption.JVM_PATH;
 import static org.pitest.mutationtest.config.ConfigOption.MAX_MUTATIONS_PER_CLASS;
+import static org.pitest.mutationtest.config.ConfigOption.MAX_MUTATIONS_PER_MINION;
 import static org.pitest.mutationtest.config.ConfigOption.MAX_SURVIVING;
+import static org.pitest.mutationtest.config.ConfigOption.MUTANT_SCHEMATA;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_ENGINE;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_THRESHOLD;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_UNIT_SIZE;
 import static org.pitest.mutationtest.config.ConfigOption.OUTPUT_FORMATS;
+import static org.pitest.mutationtest.config.ConfigOption.PIPELINE_ANALYSIS;
+import static org.pitest.mutationtest.config.ConfigOption.PIPE_TRANSPORT;
+import static org.pitest.mutationtest.config.ConfigOption.RECOVER_TIMEOUTS;
 import static org.pitest.mutationtest.config.ConfigOption.PLUGIN_CONFIGURATION;
 import static org.pitest.mutationtest.config.ConfigOption.REPORT_DIR;
+import static org.pitest.mutationtest.config.ConfigOption.REUSE_MINIONS;
 import static org.pitest.mutationtest.config.ConfigOption.SOURCE_DIR;
 import static org.pitest.mutationtest.config.ConfigOption.TARGET_CLASSES;
 import static org.pitest.mutationtest.config.ConfigOption.TEST_FILTER;
@@ -55,6 +64,7 @@ import static org.pitest.mutationtest.config.ConfigOption.TIME_STAMPED_REPORTS;
 import static org.pitest.mutationtest.config.ConfigOption.USE_CLASSPATH_JAR;
 import static org.pitest.mutationtest.config.ConfigOption.USE_INLINED_CODE_DETECTION;
 import static org.pitest.mutationtest.config.ConfigOption.VERBOSE;
+import static org.pitest.mutationtest.config.ConfigOption.WORK_STEALING;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -131,6 +141,16 @@ public class OptionsParser {
   private final OptionSpec<String>                   testPluginSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> includeLaunchClasspathSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> useClasspathJarSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> reuseMinionsSpec;
+  private final ArgumentAcceptingOptionSpec<Integer> maxMutationsPerMinionSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> binaryHistorySpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> workStealingSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> mutantSchemataSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> pipelineAnalysisSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> classDataSharingSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> pipeTransportSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> inProcessAnalysisSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> recoverTimeoutsSpec;
   
   public OptionsParser(Predicate<String> dependencyFilter) {
 
@@ -257,6 +277,47 @@ public class OptionsParser {
         .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
         .describedAs("support large classpaths by creating a classpath jar");
     
+    this.reuseMinionsSpec = parserAccepts(REUSE_MINIONS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether to keep minions alive between units");
+
+    this.maxMutationsPerMinionSpec = parserAccepts(MAX_MUTATIONS_PER_MINION)
+        .withRequiredArg().ofType(Integer.class)
+        .describedAs("Number of mutations after which a reused minion is replaced")
+        .defaultsTo(MAX_MUTATIONS_PER_MINION.getDefault(Integer.class));
+
+    this.binaryHistorySpec = parserAccepts(BINARY_HISTORY)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether to store history in compact binary format");
+
+    this.workStealingSpec = parserAccepts(WORK_STEALING)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether idle threads should take work from running units");
+
+    this.mutantSchemataSpec = parserAccepts(MUTANT_SCHEMATA)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether each class should be replaced once by a meta mutant with switchable mutations");
+
+    this.pipelineAnalysisSpec = parserAccepts(PIPELINE_ANALYSIS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether to start analysing mutations in batches before all have been found");
+
+    this.classDataSharingSpec = parserAccepts(CLASS_DATA_SHARING)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether to start minions from a class data sharing archive");
+
+    this.pipeTransportSpec = parserAccepts(PIPE_TRANSPORT)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether to communicate with minions over their standard streams rather than a local socket");
+
+    this.inProcessAnalysisSpec = parserAccepts(IN_PROCESS_ANALYSIS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether to analyse mutations inside this jvm where possible. Needs a security manager to stop tests exiting, so has no effect on Java 18 and later. Mutants that time out or try to exit are analysed again in a minion");
+
+    this.recoverTimeoutsSpec = parserAccepts(RECOVER_TIMEOUTS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(false)
+        .describedAs("whether a minion should carry on after a test times out, leaving its thread running. Results for later mutants in the minion may be affected by it");
+
     this.includeLaunchClasspathSpec = parserAccepts(INCLUDE_LAUNCH_CLASSPATH)
         .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
         .describedAs("whether or not to analyse launch classpath");    
@@ -397,6 +458,16 @@ public class OptionsParser {
 
     data.setUseClasspathJar(userArgs.valueOf(useClasspathJarSpec));
     
+    data.setReuseMinions(userArgs.valueOf(this.reuseMinionsSpec));
+    data.setMaxMutationsPerMinion(this.maxMutationsPerMinionSpec.value(userArgs));
+    data.setBinaryHistory(userArgs.valueOf(this.binaryHistorySpec));
+    data.setWorkStealing(userArgs.valueOf(this.workStealingSpec));
+    data.setMutantSchemata(userArgs.valueOf(this.mutantSchemataSpec));
+    data.setPipelineAnalysis(userArgs.valueOf(this.pipelineAnalysisSpec));
+    data.setClassDataSharing(userArgs.valueOf(this.classDataSharingSpec));
+    data.setPipeTransport(userArgs.valueOf(this.pipeTransportSpec));
+    data.setInProcessAnalysis(userArgs.valueOf(this.inProcessAnalysisSpec));
+    data.setRecoverTimeouts(userArgs.valueOf(this.recoverTimeoutsSpec));
     data.setShouldCreateTimestampedReports(userArgs
         .valueOf(this.timestampedReportsSpec));
     data.setNumberOfThreads(this.threadsSpec.value(userArgs));
@@ -0,0 +1,61 @@
+package org.pitest.mutationtest.commandline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.pitest.mutationtest.config.PluginServices;
+import org.pitest.mutationtest.tooling.AnalysisSession;
+import org.pitest.util.PitError;
+
+public class MutationCoverageDaemonTest {
+
+  private final MutationCoverageDaemon testee = new MutationCoverageDaemon(
+      PluginServices.makeForContextLoader());
+
+  private final File                   dir    = new File("foo");
+
+  @Test
+  public void shouldReuseSessionForSameArguments() {
+    final AnalysisSession first = this.testee.session(this.dir,
+        Arrays.asList("--a=1", "--b=2"));
+    assertThat(this.testee.session(this.dir, Arrays.asList("--a=1", "--b=2")))
+        .isSameAs(first);
+  }
+
+  @Test
+  public void shouldUseNewSessionForDifferentArguments() {
+    final AnalysisSession first = this.testee.session(this.dir,
+        Arrays.asList("--a=1"));
+    assertThat(this.testee.session(this.dir, Arrays.asList("--a=2")))
+        .isNotSameAs(first);
+  }
+
+  @Test
+  public void shouldUseNewSessionForDifferentWorkingDirectory() {
+    final AnalysisSession first = this.testee.session(this.dir,
+        Arrays.asList("--a=1"));
+    assertThat(this.testee.session(new File("bar"), Arrays.asList("--a=1")))
+        .isNotSameAs(first);
+  }
+
+  @Test
+  public void shouldDiscardLeastRecentlyUsedSessions() {
+    final AnalysisSession first = this.testee.session(this.dir,
+        Collections.singletonList("0"));
+    for (int i = 1; i != 10; i++) {
+      this.testee.session(this.dir, Collections.singletonList("" + i));
+    }
+    assertThat(this.testee.session(this.dir, Collections.singletonList("0")))
+        .isNotSameAs(first);
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldFailRequestsWithInvalidArguments() {
+    this.testee.run(this.dir, Collections.singletonList("--notAnOption"));
+  }
+
+}
@@ -517,6 +517,126 @@ public class OptionsParserTest {
     assertTrue(actual.isFullMutationMatrix());
   }
   
+  @Test
+  public void shouldDefaultReuseMinionsToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isReuseMinions());
+  }
+
+  @Test
+  public void shouldParseReuseMinions() {
+    final ReportOptions actual = parseAddingRequiredArgs("--reuseMinions=true");
+    assertTrue(actual.isReuseMinions());
+  }
+
+  @Test
+  public void shouldDefaultMaxMutationsPerMinionTo0() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertEquals(0, actual.getMaxMutationsPerMinion());
+  }
+
+  @Test
+  public void shouldParseMaxMutationsPerMinion() {
+    final ReportOptions actual = parseAddingRequiredArgs("--maxMutationsPerMinion=42");
+    assertEquals(42, actual.getMaxMutationsPerMinion());
+  }
+
+  @Test
+  public void shouldDefaultBinaryHistoryToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isBinaryHistory());
+  }
+
+  @Test
+  public void shouldParseBinaryHistory() {
+    final ReportOptions actual = parseAddingRequiredArgs("--binaryHistory=true");
+    assertTrue(actual.isBinaryHistory());
+  }
+
+  @Test
+  public void shouldDefaultWorkStealingToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isWorkStealing());
+  }
+
+  @Test
+  public void shouldParseWorkStealing() {
+    final ReportOptions actual = parseAddingRequiredArgs("--workStealing=true");
+    assertTrue(actual.isWorkStealing());
+  }
+
+  @Test
+  public void shouldDefaultMutantSchemataToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isMutantSchemata());
+  }
+
+  @Test
+  public void shouldParseMutantSchemata() {
+    final ReportOptions actual = parseAddingRequiredArgs("--mutantSchemata=true");
+    assertTrue(actual.isMutantSchemata());
+  }
+
+  @Test
+  public void shouldDefaultPipelineAnalysisToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isPipelineAnalysis());
+  }
+
+  @Test
+  public void shouldParsePipelineAnalysis() {
+    final ReportOptions actual = parseAddingRequiredArgs("--pipelineAnalysis=true");
+    assertTrue(actual.isPipelineAnalysis());
+  }
+
+  @Test
+  public void shouldDefaultClassDataSharingToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isClassDataSharing());
+  }
+
+  @Test
+  public void shouldParseClassDataSharing() {
+    final ReportOptions actual = parseAddingRequiredArgs("--classDataSharing=true");
+    assertTrue(actual.isClassDataSharing());
+  }
+
+  @Test
+  public void shouldDefaultPipeTransportToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isPipeTransport());
+  }
+
+  @Test
+  public void shouldParsePipeTransport() {
+    final ReportOptions actual = parseAddingRequiredArgs("--pipeTransport=true");
+    assertTrue(actual.isPipeTransport());
+  }
+
+  @Test
+  public void shouldDefaultInProcessAnalysisToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isInProcessAnalysis());
+  }
+
+  @Test
+  public void shouldParseInProcessAnalysis() {
+    final ReportOptions actual = parseAddingRequiredArgs("--inProcessAnalysis=true");
+    assertTrue(actual.isInProcessAnalysis());
+  }
+
+  @Test
+  public void shouldDefaultRecoverTimeoutsToFalse() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isRecoverTimeouts());
+  }
+
+  @Test
+  public void shouldParseRecoverTimeouts() {
+    final ReportOptions actual = parseAddingRequiredArgs("--recoverTimeouts=true");
+    assertTrue(actual.isRecoverTimeouts());
+  }
+
   private String getNonCanonicalGregorEngineClassPath() {
     final String gregorEngineClassPath = GregorMutationEngine.class
         .getProtectionDomain().getCodeSource().getLocation().getFile();
@@ -17,27 +17,29 @@ package org.pitest.coverage;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.testapi.Description;
 import org.pitest.util.Log;
 
@@ -46,12 +48,18 @@ public class CoverageData implements CoverageDatabase {
   private static final Logger                                 LOG           = Log
       .getLogger();
 
-  // We calculate block coverage, but everything currently runs on line
-  // coverage. Ugly mess of maps below should go when
-  // api changed to work via blocks
-  private final Map<BlockLocation, Set<TestInfo>>             blockCoverage;
-  private final Map<BlockLocation, Set<Integer>>              blocksToLines = new LinkedHashMap<>();
-  private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage  = new LinkedHashMap<>();
+  // Tests are numbered in the order they are first seen so that the tests
+  // visiting each block can be held as compact sets of ids rather than sets
+  // of objects. Blocks are indexed by class as every query is for a single
+  // class.
+  private final List<TestInfo>                                tests         = new ArrayList<>();
+  private final Map<String, Integer>                          testIds       = new HashMap<>();
+  private final Map<ClassName, Map<BlockLocation, TestIdSet>> blockCoverage = new LinkedHashMap<>();
+  // lazily filled from the read path, which may be called from several
+  // threads once coverage has been gathered
+  private final Map<BlockLocation, Set<Integer>>              blocksToLines = new ConcurrentHashMap<>();
+  private final Map<ClassName, Map<Location, int[]>>          blockEnds     = new ConcurrentHashMap<>();
+  private final Map<ClassName, Map<ClassLine, TestIdSet>>     lineCoverage  = new ConcurrentHashMap<>();
   private final Map<String, Collection<ClassInfo>>            classesForFile;
 
   private final CodeSource                                    code;
@@ -66,22 +74,63 @@ public class CoverageData implements CoverageDatabase {
 
 
   public CoverageData(final CodeSource code, final LineMap lm, Map<BlockLocation, Set<TestInfo>> blockCoverage) {
-    this.blockCoverage = blockCoverage;
     this.code = code;
     this.lm = lm;
     this.classesForFile = FCollection.bucket(this.code.getCode(),
         keyFromClassInfo());
+    for (final Entry<BlockLocation, Set<TestInfo>> each : blockCoverage
+        .entrySet()) {
+      for (final TestInfo test : each.getValue()) {
+        addTestsToBlockMap(idFor(test), each.getKey());
+      }
+    }
   }
 
   @Override
   public Collection<TestInfo> getTestsForClassLine(final ClassLine classLine) {
-    final Collection<TestInfo> result = getTestsForClassName(
-        classLine.getClassName()).get(classLine);
+    final TestIdSet result = getTestsForClassName(classLine.getClassName())
+        .get(classLine);
     if (result == null) {
       return Collections.emptyList();
     } else {
-      return result;
+      return toTests(result);
+    }
+  }
+
+  @Override
+  public Collection<TestInfo> getTestsForBlockLocation(
+      final BlockLocation location) {
+    final TestIdSet result = blocksFor(location.getLocation().getClassName())
+        .get(location);
+    if (result == null) {
+      return Collections.emptyList();
+    } else {
+      return toTests(result);
+    }
+  }
+
+  @Override
+  public Collection<BlockLocation> getBlocksForInstructions(
+      final Location method, final Collection<Integer> instructionIndexes) {
+    final int[] ends = this.blockEnds
+        .computeIfAbsent(method.getClassName(), this.lm::mapBlockEnds)
+        .get(method);
+    if (ends == null) {
+      return Collections.emptySet();
+    }
+
+    final Set<BlockLocation> blocks = new LinkedHashSet<>();
+    for (final int each : instructionIndexes) {
+      // blocks are contiguous so the first to end at or after the
+      // instruction contains it
+      final int found = Arrays.binarySearch(ends, each);
+      final int block = found >= 0 ? found : -(found + 1);
+      if ((each < 0) || (block == ends.length)) {
+        return Collections.emptySet();
+      }
+      blocks.add(new BlockLocation(method, block));
     }
+    return blocks;
   }
 
   public boolean allTestsGreen() {
@@ -108,13 +157,11 @@ public class CoverageData implements CoverageDatabase {
 
   @Override
   public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
-    final Set<TestInfo> tis = new TreeSet<>(
-        new TestInfoNameComparator());
-    tis.addAll(this.blockCoverage.entrySet().stream().filter(isFor(clazz))
-        .flatMap(toTests())
-        .collect(Collectors.toList())
-        );
-    return tis;
+    final TestIdSet ids = new TestIdSet();
+    for (final TestIdSet each : blocksFor(clazz).values()) {
+      ids.addAll(each);
+    }
+    return toTests(ids);
   }
 
   public void calculateClassCoverage(final CoverageResult cr) {
@@ -122,23 +169,48 @@ public class CoverageData implements CoverageDatabase {
     checkForFailedTest(cr);
     final TestInfo ti = this.createTestInfo(cr.getTestUnitDescription(),
         cr.getExecutionTime(), cr.getNumberOfCoveredBlocks());
+    final int id = idFor(ti);
     for (final BlockLocation each : cr.getCoverage()) {
-      addTestsToBlockMap(ti, each);
+      addTestsToBlockMap(id, each);
     }
   }
 
-  private void addTestsToBlockMap(final TestInfo ti, BlockLocation each) {
-    Set<TestInfo> tests = this.blockCoverage.get(each);
-    if (tests == null) {
-      tests = new TreeSet<>(new TestInfoNameComparator());
-      this.blockCoverage.put(each, tests);
+  private int idFor(final TestInfo ti) {
+    // as before the first test seen with a given name is kept
+    final Integer existing = this.testIds.get(ti.getName());
+    if (existing != null) {
+      return existing;
     }
-    tests.add(ti);
+    final int id = this.tests.size();
+    this.tests.add(ti);
+    this.testIds.put(ti.getName(), id);
+    return id;
+  }
+
+  private void addTestsToBlockMap(final int testId, BlockLocation each) {
+    final Map<BlockLocation, TestIdSet> blocks = this.blockCoverage
+        .computeIfAbsent(each.getLocation().getClassName(),
+            c -> new LinkedHashMap<>());
+    blocks.computeIfAbsent(each, b -> new TestIdSet()).add(testId);
+  }
+
+  private Map<BlockLocation, TestIdSet> blocksFor(final ClassName clazz) {
+    final Map<BlockLocation, TestIdSet> blocks = this.blockCoverage.get(clazz);
+    if (blocks == null) {
+      return Collections.emptyMap();
+    }
+    return blocks;
+  }
+
+  private Collection<TestInfo> toTests(final TestIdSet ids) {
+    final Set<TestInfo> tis = new TreeSet<>(new TestInfoNameComparator());
+    ids.forEach(id -> tis.add(this.tests.get(id)));
+    return tis;
   }
 
   @Override
   public BigInteger getCoverageIdForClass(final ClassName clazz) {
-    final Map<ClassLine, Set<TestInfo>> coverage = getTestsForClassName(clazz);
+    final Map<ClassLine, TestIdSet> coverage = getTestsForClassName(clazz);
     if (coverage.isEmpty()) {
       return BigInteger.ZERO;
     }
@@ -147,12 +219,15 @@ public class CoverageData implements CoverageDatabase {
   }
 
   public List<BlockCoverage> createCoverage() {
-    return FCollection.map(this.blockCoverage.entrySet(), toBlockCoverage());
-  }
-
-  private static Function<Entry<BlockLocation, Set<TestInfo>>, BlockCoverage> toBlockCoverage() {
-    return a -> new BlockCoverage(a.getKey(), FCollection.map(a.getValue(),
-        TestInfo.toName()));
+    final List<BlockCoverage> coverage = new ArrayList<>();
+    for (final Map<BlockLocation, TestIdSet> blocks : this.blockCoverage
+        .values()) {
+      for (final Entry<BlockLocation, TestIdSet> each : blocks.entrySet()) {
+        coverage.add(new BlockCoverage(each.getKey(), FCollection.map(
+            toTests(each.getValue()), TestInfo.toName())));
+      }
+    }
+    return coverage;
   }
 
   @Override
@@ -177,10 +252,13 @@ public class CoverageData implements CoverageDatabase {
   }
 
   private BigInteger generateCoverageNumber(
-      final Map<ClassLine, Set<TestInfo>> coverage) {
+      final Map<ClassLine, TestIdSet> coverage) {
     BigInteger coverageNumber = BigInteger.ZERO;
     final Set<ClassName> testClasses = new HashSet<>();
-    FCollection.flatMapTo(coverage.values(), testsToClassName(), testClasses);
+    for (final TestIdSet each : coverage.values()) {
+      each.forEach(id -> testClasses.add(TestInfo.toDefiningClassName()
+          .apply(this.tests.get(id))));
+    }
 
     for (final ClassInfo each : this.code.getClassInfo(testClasses)) {
       coverageNumber = coverageNumber.add(each.getDeepHash());
@@ -189,10 +267,6 @@ public class CoverageData implements CoverageDatabase {
     return coverageNumber;
   }
 
-  private Function<Set<TestInfo>, Iterable<ClassName>> testsToClassName() {
-    return a -> FCollection.map(a, TestInfo.toDefiningClassName());
-  }
-
   private static Function<ClassInfo, String> keyFromClassInfo() {
 
     return c -> keyFromSourceAndPackage(c.getSourceFileName(), c.getName()
@@ -243,7 +317,7 @@ public class CoverageData implements CoverageDatabase {
   }
 
   private int getNumberOfCoveredLines(final ClassName clazz) {
-    final Map<ClassLine, Set<TestInfo>> map = getTestsForClassName(clazz);
+    final Map<ClassLine, TestIdSet> map = getTestsForClassName(clazz);
     if (map != null) {
       return map.size();
     } else {
@@ -252,12 +326,12 @@ public class CoverageData implements CoverageDatabase {
 
   }
 
-  private Map<ClassLine, Set<TestInfo>> getTestsForClassName(
+  private Map<ClassLine, TestIdSet> getTestsForClassName(
       final ClassName clazz) {
     // Use any test that provided some coverage of the class
     // This fails to consider tests that only accessed a static variable
     // of the class in question as this does not register as coverage.
-    final Map<ClassLine, Set<TestInfo>> map = this.lineCoverage.get(clazz);
+    final Map<ClassLine, TestIdSet> map = this.lineCoverage.get(clazz);
     if (map != null) {
       return map;
     }
@@ -266,18 +340,15 @@ public class CoverageData implements CoverageDatabase {
 
   }
 
-  private Map<ClassLine, Set<TestInfo>> convertBlockCoverageToLineCoverageForClass(
+  private Map<ClassLine, TestIdSet> convertBlockCoverageToLineCoverageForClass(
       ClassName clazz) {
-    final List<Entry<BlockLocation, Set<TestInfo>>> tests = FCollection.filter(
-        this.blockCoverage.entrySet(), isFor(clazz));
+    final Map<ClassLine, TestIdSet> linesToTests = new LinkedHashMap<>(0);
 
-    final Map<ClassLine, Set<TestInfo>> linesToTests = new LinkedHashMap<>(
-        0);
-
-    for (final Entry<BlockLocation, Set<TestInfo>> each : tests) {
+    for (final Entry<BlockLocation, TestIdSet> each : blocksFor(clazz)
+        .entrySet()) {
       for (final int line : getLinesForBlock(each.getKey())) {
-        final Set<TestInfo> tis = getLineTestSet(clazz, linesToTests, each, line);
-        tis.addAll(each.getValue());
+        linesToTests.computeIfAbsent(new ClassLine(clazz, line),
+            l -> new TestIdSet()).addAll(each.getValue());
       }
     }
 
@@ -285,19 +356,6 @@ public class CoverageData implements CoverageDatabase {
     return linesToTests;
   }
 
-  private static Set<TestInfo> getLineTestSet(ClassName clazz,
-      Map<ClassLine, Set<TestInfo>> linesToTests,
-      Entry<BlockLocation, Set<TestInfo>> each, int line) {
-    final ClassLine cl = new ClassLine(clazz, line);
-    Set<TestInfo> tis = linesToTests.get(cl);
-    if (tis == null) {
-      tis = new TreeSet<>(new TestInfoNameComparator());
-      tis.addAll(each.getValue());
-      linesToTests.put(new ClassLine(clazz, line), tis);
-    }
-    return tis;
-  }
-
   private Set<Integer> getLinesForBlock(BlockLocation bl) {
     Set<Integer> lines = this.blocksToLines.get(bl);
     if (lines == null) {
@@ -320,13 +378,4 @@ public class CoverageData implements CoverageDatabase {
     this.failingTestDescriptions.add(testDescription);
   }
 
-  private Function<Entry<BlockLocation, Set<TestInfo>>, Stream<TestInfo>> toTests() {
-    return a -> a.getValue().stream();
-  }
-
-  private Predicate<Entry<BlockLocation, Set<TestInfo>>> isFor(
-      final ClassName clazz) {
-    return a -> a.getKey().isFor(clazz);
-  }
-
 }
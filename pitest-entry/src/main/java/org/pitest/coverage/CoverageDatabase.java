@@ -5,6 +5,7 @@ import java.util.Collection;
 
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Location;
 
 public interface CoverageDatabase {
 
@@ -16,6 +17,18 @@ public interface CoverageDatabase {
 
   Collection<TestInfo> getTestsForClassLine(ClassLine classLine);
 
+  Collection<TestInfo> getTestsForBlockLocation(BlockLocation location);
+
+  /**
+   * Finds the blocks containing the instructions at the given indexes of a
+   * method
+   *
+   * @return the blocks, or an empty collection if any instruction could not
+   *         be placed in a block
+   */
+  Collection<BlockLocation> getBlocksForInstructions(Location method,
+      Collection<Integer> instructionIndexes);
+
   BigInteger getCoverageIdForClass(ClassName clazz);
 
   Collection<ClassInfo> getClassesForFile(String sourceFile, String packageName);
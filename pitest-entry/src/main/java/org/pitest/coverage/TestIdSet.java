@@ -0,0 +1,95 @@
+package org.pitest.coverage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of test ids, held as a sorted array while sparse and as a bitmap once
+ * dense enough for the bitmap to be smaller.
+ *
+ * Most blocks are visited by only a handful of tests, so the array form is
+ * the common case.
+ */
+final class TestIdSet {
+
+  private static final int BITS_PER_ID    = Integer.SIZE;
+  private static final int MIN_FOR_BITMAP = 64;
+
+  private int[]            sparse         = new int[2];
+  private int              size;
+  private BitSet           dense;
+
+  void add(final int id) {
+    if (this.dense != null) {
+      this.dense.set(id);
+      return;
+    }
+
+    // ids are normally handed out in increasing order, so check the end first
+    if ((this.size != 0) && (this.sparse[this.size - 1] >= id)) {
+      final int found = Arrays.binarySearch(this.sparse, 0, this.size, id);
+      if (found >= 0) {
+        return;
+      }
+      insert(-(found + 1), id);
+    } else {
+      insert(this.size, id);
+    }
+
+    if ((this.size >= MIN_FOR_BITMAP)
+        && (((long) this.size * BITS_PER_ID) > highest())) {
+      toBitmap();
+    }
+  }
+
+  void addAll(final TestIdSet other) {
+    other.forEach(this::add);
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  int size() {
+    if (this.dense != null) {
+      return this.dense.cardinality();
+    }
+    return this.size;
+  }
+
+  void forEach(final IntConsumer action) {
+    if (this.dense != null) {
+      this.dense.stream().forEach(action);
+    } else {
+      for (int i = 0; i != this.size; i++) {
+        action.accept(this.sparse[i]);
+      }
+    }
+  }
+
+  private void insert(final int position, final int id) {
+    if (this.size == this.sparse.length) {
+      this.sparse = Arrays.copyOf(this.sparse, this.size * 2);
+    }
+    System.arraycopy(this.sparse, position, this.sparse, position + 1,
+        this.size - position);
+    this.sparse[position] = id;
+    this.size++;
+  }
+
+  private int highest() {
+    return this.sparse[this.size - 1];
+  }
+
+  private void toBitmap() {
+    final BitSet bits = new BitSet(highest() + 1);
+    for (int i = 0; i != this.size; i++) {
+      bits.set(this.sparse[i]);
+    }
+    this.dense = bits;
+    this.sparse = null;
+    this.size = 0;
+  }
+
+}
@@ -0,0 +1,478 @@
+package org.pitest.coverage.execute;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPathRoot;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Coverage results from a previous run, held per test class.
+ *
+ * Results for a test class are reused only if neither the test class, its
+ * nested classes nor any of the classes its tests visited have changed since
+ * they were recorded. Test classes containing a failing test are never stored
+ * so are always run again.
+ *
+ * Only instrumented classes can be seen to be visited, so the cache as a whole
+ * is keyed by the options that decide which classes are instrumented and which
+ * tests run, and by every other class in the project, such as test helpers.
+ * If any of these change, nothing is reused.
+ *
+ * A cache is either stored in a file between runs, or held in memory by a
+ * process that runs analysis many times.
+ */
+public class CoverageCache {
+
+  static final int                                   MAGIC    = 0x50495443;
+  static final int                                   VERSION  = 2;
+
+  private static final Logger                        LOG      = Log.getLogger();
+
+  private static final String                        SUFFIX   = ".coverage";
+
+  private final File                                 input;
+  private final File                                 output;
+  private final boolean                              inMemory;
+
+  private Map<ClassName, CachedTests>                previous;
+  private String                                     previousKey;
+  private final Map<ClassName, List<CoverageResult>> current  = new LinkedHashMap<>();
+  private final Set<ClassName>                       failed   = new HashSet<>();
+
+  /**
+   * @param input
+   *          file to read previous coverage from, or null
+   * @param output
+   *          file to write coverage to, or null. May be the same file as the
+   *          input.
+   */
+  public CoverageCache(final File input, final File output) {
+    this(input, output, false);
+  }
+
+  private CoverageCache(final File input, final File output,
+      final boolean inMemory) {
+    this.input = input;
+    this.output = output;
+    this.inMemory = inMemory;
+  }
+
+  public static CoverageCache none() {
+    return new CoverageCache(null, null);
+  }
+
+  /**
+   * Creates a cache stored alongside the history files
+   */
+  public static CoverageCache forHistory(final File historyInput,
+      final File historyOutput) {
+    return new CoverageCache(withSuffix(historyInput), withSuffix(historyOutput));
+  }
+
+  /**
+   * Creates a cache that keeps the coverage of each run in memory for the
+   * next run by the same process
+   */
+  public static CoverageCache inMemory() {
+    return new CoverageCache(null, null, true);
+  }
+
+  /**
+   * @return true if coverage is read or kept for later runs
+   */
+  public boolean isEnabled() {
+    return this.inMemory || (this.input != null) || (this.output != null);
+  }
+
+  /**
+   * Identifies what recorded coverage depends on beyond the classes each test
+   * visited. This is the options passed to coverage minions, the project
+   * classes that are neither instrumented nor tests, and the location, size
+   * and timestamp of each archive on the classpath.
+   */
+  public static String keyFor(final CoverageOptions options,
+      final CodeSource code) {
+    final StringBuilder key = new StringBuilder();
+    final TestPluginArguments args = options.getPitConfig();
+    key.append(options.getInclude()).append(options.getExclude())
+        .append(options.getDependencyAnalysisMaxDistance())
+        .append(args.getTestPlugin()).append(args.getGroupConfig())
+        .append(args.getIncludedTestMethods())
+        .append(args.getExcludedRunners()).append(args.skipFailingTests());
+
+    final Set<ClassName> tests = code.getTests().stream()
+        .map(ClassInfo::getName).collect(Collectors.toSet());
+    final Predicate<String> instrumented = options.getFilter();
+    final Set<ClassName> untracked = new TreeSet<>();
+    for (final String each : directoryClasses(code)) {
+      final ClassName name = ClassName.fromString(each);
+      if (!instrumented.test(each) && !tests.contains(outermost(name))) {
+        untracked.add(name);
+      }
+    }
+    for (final ClassInfo each : code.getClassInfo(untracked)) {
+      key.append(each.getName().asJavaName()).append(hashOf(each));
+    }
+
+    for (final String each : code.getClassPath().getLocalClassPath()
+        .split(File.pathSeparator)) {
+      final File file = new File(each);
+      if (file.isFile()) {
+        key.append(each).append(file.length()).append(file.lastModified());
+      }
+    }
+    return digest(key.toString());
+  }
+
+  /**
+   * @param key
+   *          key of the current run, from {@link #keyFor}
+   * @return results recorded for the test class by a previous run, if they
+   *         are still valid
+   */
+  public Optional<List<CoverageResult>> previousResults(final String key,
+      final ClassInfo test, final CodeSource code) {
+    final CachedTests cached = previous(key).get(test.getName());
+    if ((cached == null) || !cached.testHash.equals(hashOf(test))) {
+      return Optional.empty();
+    }
+
+    final Map<ClassName, String> hashes = hashesOf(code,
+        cached.dependencies.keySet());
+    if (!hashes.equals(cached.dependencies)) {
+      return Optional.empty();
+    }
+    return Optional.of(cached.results);
+  }
+
+  public synchronized void record(final CoverageResult result) {
+    final String testClass = result.getTestUnitDescription()
+        .getFirstTestClass();
+    if (testClass == null) {
+      return;
+    }
+    final ClassName name = ClassName.fromString(testClass);
+    if (!result.isGreenTest()) {
+      this.failed.add(name);
+    }
+    this.current.computeIfAbsent(name, n -> new ArrayList<>()).add(result);
+  }
+
+  public void store(final String key, final CodeSource code) {
+    if (this.inMemory) {
+      retain(key, code);
+      return;
+    }
+
+    if (this.output == null) {
+      return;
+    }
+
+    final File parent = this.output.getAbsoluteFile().getParentFile();
+    if (parent != null) {
+      parent.mkdirs();
+    }
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+        new FileOutputStream(this.output)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(key);
+      final StringTable strings = new StringTable(out);
+      final Collection<String> classes = directoryClasses(code);
+      for (final Entry<ClassName, List<CoverageResult>> each : this.current
+          .entrySet()) {
+        if (!this.failed.contains(each.getKey())) {
+          final Optional<CachedTests> tests = toCachedTests(code, classes,
+              each.getKey(), each.getValue());
+          if (tests.isPresent()) {
+            writeTests(strings, out, each.getKey(), tests.get());
+          }
+        }
+      }
+      out.writeBoolean(false);
+    } catch (final IOException e) {
+      LOG.warning("Could not store coverage " + e.getMessage());
+    }
+  }
+
+  /**
+   * Results of this run become those of the previous run, as if written to
+   * and read back from a file
+   */
+  private synchronized void retain(final String key, final CodeSource code) {
+    final Map<ClassName, CachedTests> tests = new HashMap<>();
+    final Collection<String> classes = directoryClasses(code);
+    for (final Entry<ClassName, List<CoverageResult>> each : this.current
+        .entrySet()) {
+      if (!this.failed.contains(each.getKey())) {
+        toCachedTests(code, classes, each.getKey(), each.getValue())
+            .ifPresent(t -> tests.put(each.getKey(), t));
+      }
+    }
+    this.previous = tests;
+    this.previousKey = key;
+    this.current.clear();
+    this.failed.clear();
+  }
+
+  private static Optional<CachedTests> toCachedTests(final CodeSource code,
+      final Collection<String> classes, final ClassName test,
+      final List<CoverageResult> results) {
+    final Collection<ClassInfo> testInfo = code.getClassInfo(Collections
+        .singleton(test));
+    if (testInfo.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final Set<ClassName> visited = new HashSet<>();
+    for (final CoverageResult each : results) {
+      for (final BlockLocation block : each.getCoverage()) {
+        visited.add(block.getLocation().getClassName());
+      }
+    }
+    // nested classes are not instrumented if the test is not, so are tracked
+    // with it
+    final String prefix = test.asJavaName() + "$";
+    for (final String each : classes) {
+      if (each.startsWith(prefix)) {
+        visited.add(ClassName.fromString(each));
+      }
+    }
+    return Optional.of(new CachedTests(hashOf(testInfo.iterator().next()),
+        hashesOf(code, visited), new ArrayList<>(results)));
+  }
+
+  private static void writeTests(final StringTable strings,
+      final DataOutputStream out, final ClassName test,
+      final CachedTests tests) throws IOException {
+    out.writeBoolean(true);
+    strings.write(test.asJavaName());
+    strings.write(tests.testHash);
+    out.writeInt(tests.dependencies.size());
+    for (final Entry<ClassName, String> each : tests.dependencies.entrySet()) {
+      strings.write(each.getKey().asJavaName());
+      strings.write(each.getValue());
+    }
+    out.writeInt(tests.results.size());
+    for (final CoverageResult each : tests.results) {
+      strings.write(each.getTestUnitDescription().getName());
+      out.writeInt(each.getExecutionTime());
+      out.writeInt(each.getCoverage().size());
+      for (final BlockLocation block : each.getCoverage()) {
+        final Location l = block.getLocation();
+        strings.write(l.getClassName().asJavaName());
+        strings.write(l.getMethodName().name());
+        strings.write(l.getMethodDesc());
+        out.writeInt(block.getBlock());
+      }
+    }
+  }
+
+  private Map<ClassName, CachedTests> previous(final String key) {
+    if (this.previous == null) {
+      this.previous = read();
+    }
+    if (!key.equals(this.previousKey)) {
+      if (!this.previous.isEmpty()) {
+        LOG.info("Options or untracked classes changed since coverage was cached, so it will not be reused");
+      }
+      this.previous = Collections.emptyMap();
+      this.previousKey = key;
+    }
+    return this.previous;
+  }
+
+  private Map<ClassName, CachedTests> read() {
+    if ((this.input == null) || !this.input.exists()
+        || (this.input.length() == 0)) {
+      return Collections.emptyMap();
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+        new FileInputStream(this.input)))) {
+      if ((in.readInt() != MAGIC) || (in.readInt() != VERSION)) {
+        LOG.warning("Ignoring coverage cache in unknown format");
+        return Collections.emptyMap();
+      }
+      this.previousKey = in.readUTF();
+      final List<String> strings = new ArrayList<>();
+      final Map<ClassName, CachedTests> tests = new HashMap<>();
+      while (in.readBoolean()) {
+        final String testClass = readString(in, strings);
+        final String testHash = readString(in, strings);
+        final Map<ClassName, String> dependencies = new HashMap<>();
+        final int dependencyCount = in.readInt();
+        for (int i = 0; i != dependencyCount; i++) {
+          dependencies.put(ClassName.fromString(readString(in, strings)),
+              readString(in, strings));
+        }
+        final int resultCount = in.readInt();
+        final List<CoverageResult> results = new ArrayList<>(resultCount);
+        for (int i = 0; i != resultCount; i++) {
+          results.add(readResult(in, strings, testClass));
+        }
+        tests.put(ClassName.fromString(testClass), new CachedTests(testHash,
+            dependencies, results));
+      }
+      return tests;
+    } catch (final IOException e) {
+      LOG.warning("Could not read previous coverage " + e.getMessage());
+      return Collections.emptyMap();
+    }
+  }
+
+  private static CoverageResult readResult(final DataInputStream in,
+      final List<String> strings, final String testClass) throws IOException {
+    final Description description = new Description(readString(in, strings),
+        testClass);
+    final int time = in.readInt();
+    final int blockCount = in.readInt();
+    final List<BlockLocation> blocks = new ArrayList<>(blockCount);
+    for (int i = 0; i != blockCount; i++) {
+      final Location l = Location.location(
+          ClassName.fromString(readString(in, strings)),
+          MethodName.fromString(readString(in, strings)),
+          readString(in, strings));
+      blocks.add(new BlockLocation(l, in.readInt()));
+    }
+    return new CoverageResult(description, time, true, blocks);
+  }
+
+  private static String readString(final DataInputStream in,
+      final List<String> strings) throws IOException {
+    final int id = in.readInt();
+    if (id == strings.size()) {
+      strings.add(in.readUTF());
+    }
+    return strings.get(id);
+  }
+
+  private static Map<ClassName, String> hashesOf(final CodeSource code,
+      final Collection<ClassName> classes) {
+    final Map<ClassName, String> hashes = new HashMap<>();
+    for (final ClassInfo each : code.getClassInfo(classes)) {
+      hashes.put(each.getName(), hashOf(each));
+    }
+    return hashes;
+  }
+
+  /**
+   * Names of the classes in directories on the classpath, which are those of
+   * the project rather than its libraries
+   */
+  private static Collection<String> directoryClasses(final CodeSource code) {
+    return code.getClassPath().getComponent(CoverageCache::isDirectory)
+        .classNames();
+  }
+
+  private static boolean isDirectory(final ClassPathRoot root) {
+    return root.cacheLocation().map(l -> new File(l).isDirectory())
+        .orElse(false);
+  }
+
+  private static ClassName outermost(final ClassName name) {
+    final String java = name.asJavaName();
+    final int nested = java.indexOf('$');
+    return nested == -1 ? name : ClassName.fromString(java.substring(0, nested));
+  }
+
+  private static String digest(final String value) {
+    try {
+      final byte[] hash = MessageDigest.getInstance("SHA-1").digest(
+          value.getBytes(StandardCharsets.UTF_8));
+      final StringBuilder hex = new StringBuilder();
+      for (final byte each : hash) {
+        hex.append(String.format("%02x", each));
+      }
+      return hex.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static String hashOf(final ClassInfo clazz) {
+    return clazz.getHierarchicalId().getHierarchicalHash();
+  }
+
+  private static File withSuffix(final File file) {
+    if (file == null) {
+      return null;
+    }
+    return new File(file.getPath() + SUFFIX);
+  }
+
+  /**
+   * Writes each distinct string once, then refers to it by its position
+   */
+  private static class StringTable {
+    private final DataOutputStream     out;
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    StringTable(final DataOutputStream out) {
+      this.out = out;
+    }
+
+    void write(final String value) throws IOException {
+      final Integer id = this.ids.get(value);
+      if (id != null) {
+        this.out.writeInt(id);
+      } else {
+        final int next = this.ids.size();
+        this.ids.put(value, next);
+        this.out.writeInt(next);
+        this.out.writeUTF(value);
+      }
+    }
+  }
+
+  private static class CachedTests {
+    private final String                 testHash;
+    private final Map<ClassName, String> dependencies;
+    private final List<CoverageResult>   results;
+
+    CachedTests(final String testHash,
+        final Map<ClassName, String> dependencies,
+        final List<CoverageResult> results) {
+      this.testHash = testHash;
+      this.dependencies = dependencies;
+      this.results = results;
+    }
+  }
+
+}
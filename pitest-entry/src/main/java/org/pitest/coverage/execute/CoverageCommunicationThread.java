@@ -6,6 +6,7 @@ import java.util.List;
 import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.SideEffect1;
 import org.pitest.util.CommunicationThread;
+import org.pitest.util.MinionChannel;
 
 public class CoverageCommunicationThread extends CommunicationThread {
 
@@ -16,4 +17,10 @@ public class CoverageCommunicationThread extends CommunicationThread {
 
   }
 
+  public CoverageCommunicationThread(final MinionChannel channel,
+      final CoverageOptions arguments, final List<String> tus,
+      final SideEffect1<CoverageResult> handler) {
+    super(channel, new SendData(arguments, tus), new Receive(handler));
+  }
+
 }
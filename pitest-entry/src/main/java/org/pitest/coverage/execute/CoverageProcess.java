@@ -9,6 +9,7 @@ import org.pitest.functional.SideEffect1;
 import org.pitest.process.ProcessArgs;
 import org.pitest.process.WrappingProcess;
 import org.pitest.util.ExitCode;
+import org.pitest.util.MinionChannel;
 
 public class CoverageProcess {
 
@@ -19,9 +20,26 @@ public class CoverageProcess {
       final CoverageOptions arguments, final ServerSocket socket,
       final List<String> testClases, final SideEffect1<CoverageResult> handler)
           throws IOException {
-    this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
+    this(processArgs, arguments, MinionChannel.socket(socket), testClases,
+        handler);
+  }
+
+  /**
+   * Talks to the minion over the transport configured in the process args
+   */
+  public CoverageProcess(final ProcessArgs processArgs,
+      final CoverageOptions arguments, final List<String> testClases,
+      final SideEffect1<CoverageResult> handler) throws IOException {
+    this(processArgs, arguments, processArgs.openChannel(), testClases,
+        handler);
+  }
+
+  private CoverageProcess(final ProcessArgs processArgs,
+      final CoverageOptions arguments, final MinionChannel channel,
+      final List<String> testClases, final SideEffect1<CoverageResult> handler) {
+    this.process = new WrappingProcess(channel, processArgs,
         CoverageMinion.class);
-    this.crt = new CoverageCommunicationThread(socket, arguments, testClases,
+    this.crt = new CoverageCommunicationThread(channel, arguments, testClases,
         handler);
   }
 
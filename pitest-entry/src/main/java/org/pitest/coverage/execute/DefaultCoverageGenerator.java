@@ -17,9 +17,10 @@ package org.pitest.coverage.execute;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.logging.Logger;
@@ -34,7 +35,6 @@ import org.pitest.coverage.CoverageResult;
 import org.pitest.coverage.analysis.LineMapper;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
-import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
 import org.pitest.mutationtest.config.TestPluginArguments;
@@ -43,7 +43,6 @@ import org.pitest.process.ProcessArgs;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Log;
 import org.pitest.util.PitError;
-import org.pitest.util.SocketFinder;
 import org.pitest.util.StringUtil;
 import org.pitest.util.Timings;
 import org.pitest.util.Unchecked;
@@ -59,11 +58,30 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   private final File             workingDir;
   private final CoverageExporter exporter;
   private final boolean          showProgress;
+  private final int              threads;
+  private final CoverageCache    cache;
 
   public DefaultCoverageGenerator(final File workingDir,
       final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
       final CodeSource code, final CoverageExporter exporter,
       final Timings timings, final boolean showProgress) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, 1);
+  }
+
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress, final int threads) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, threads, CoverageCache.none());
+  }
+
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress, final int threads,
+      final CoverageCache cache) {
     this.coverageOptions = coverageOptions;
     this.code = code;
     this.launchOptions = launchOptions;
@@ -71,6 +89,8 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     this.workingDir = workingDir;
     this.exporter = exporter;
     this.showProgress = showProgress;
+    this.threads = threads;
+    this.cache = cache;
   }
 
   @Override
@@ -86,7 +106,16 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
           this.code));
 
       this.timings.registerStart(Timings.Stage.COVERAGE);
-      gatherCoverageData(tests, coverage);
+      final String cacheKey = this.cache.isEnabled() ? CoverageCache.keyFor(
+          this.coverageOptions, this.code) : "";
+      final Collection<ClassInfo> changedTests = useCachedCoverage(tests,
+          coverage, cacheKey);
+      if (!changedTests.isEmpty()) {
+        gatherCoverageData(changedTests, coverage);
+      }
+      // later minions start from the classes the coverage minions loaded
+      this.launchOptions.getClassDataSharing().createArchive();
+      this.cache.store(cacheKey, this.code);
       this.timings.registerEnd(Timings.Stage.COVERAGE);
 
       final long time = (System.currentTimeMillis() - t0) / 1000;
@@ -106,6 +135,30 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
+  private Collection<ClassInfo> useCachedCoverage(
+      final Collection<ClassInfo> tests, final CoverageData coverage,
+      final String cacheKey) {
+    final List<ClassInfo> changed = new ArrayList<>();
+    for (final ClassInfo each : tests) {
+      final Optional<List<CoverageResult>> cached = this.cache
+          .previousResults(cacheKey, each, this.code);
+      if (cached.isPresent()) {
+        for (final CoverageResult result : cached.get()) {
+          coverage.calculateClassCoverage(result);
+          this.cache.record(result);
+        }
+      } else {
+        changed.add(each);
+      }
+    }
+
+    if (changed.size() != tests.size()) {
+      LOG.info("Reused coverage for " + (tests.size() - changed.size())
+          + " unchanged test classes");
+    }
+    return changed;
+  }
+
   private static void verifyBuildSuitableForMutationTesting(final CoverageData coverage) {
     if (!coverage.allTestsGreen()) {
       LOG.severe("Tests failing without mutation: " + StringUtil.newLine()
@@ -124,18 +177,32 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
 
     final SideEffect1<CoverageResult> handler = resultProcessor(coverage);
 
-    final SocketFinder sf = new SocketFinder();
-    final ServerSocket socket = sf.getNextAvailableServerSocket();
-
-    final CoverageProcess process = new CoverageProcess(ProcessArgs
-        .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
-        .andLaunchOptions(this.launchOptions).andStderr(logInfo())
-        .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
-        socket, filteredTests, handler);
+    final List<List<String>> shards = shard(filteredTests, this.threads);
+    if (shards.size() > 1) {
+      LOG.fine("Gathering coverage in " + shards.size() + " minions");
+    }
 
-    process.start();
+    // each minion numbers the classes it sees independently, but ids are
+    // resolved to class names by the communication thread for that minion
+    // before results are handed on, so they never meet
+    final List<CoverageProcess> processes = new ArrayList<>(shards.size());
+    for (final List<String> shard : shards) {
+      final CoverageProcess process = new CoverageProcess(
+          captureStandardOutIfVerbose(ProcessArgs
+              .withClassPath(this.code.getClassPath())
+              .andBaseDir(this.workingDir).andLaunchOptions(this.launchOptions)
+              .andStderr(logInfo())), this.coverageOptions, shard, handler);
+      processes.add(process);
+      process.start();
+    }
 
-    final ExitCode exitCode = process.waitToDie();
+    ExitCode exitCode = ExitCode.OK;
+    for (final CoverageProcess each : processes) {
+      final ExitCode shardExitCode = each.waitToDie();
+      if (exitCode.isOk()) {
+        exitCode = shardExitCode;
+      }
+    }
 
     if (exitCode == ExitCode.JUNIT_ISSUE) {
       LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6+ or PIT test plugin for other test tool is enabled.");
@@ -150,15 +217,27 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
+  static List<List<String>> shard(final List<String> tests, final int shards) {
+    final int count = Math.max(1, Math.min(shards, tests.size()));
+    final List<List<String>> ret = new ArrayList<>(count);
+    for (int i = 0; i != count; i++) {
+      ret.add(new ArrayList<>());
+    }
+    for (int i = 0; i != tests.size(); i++) {
+      ret.get(i % count).add(tests.get(i));
+    }
+    return ret;
+  }
+
   private static Function<ClassInfo, String> classInfoToName() {
     return a -> a.getName().asInternalName();
   }
 
-  private SideEffect1<String> captureStandardOutIfVerbose() {
+  private ProcessArgs captureStandardOutIfVerbose(final ProcessArgs args) {
     if (this.coverageOptions.isVerbose()) {
-      return log();
+      return args.andStdout(log());
     } else {
-      return Prelude.noSideEffect(String.class);
+      return args.andDiscardStdout();
     }
   }
 
@@ -177,11 +256,13 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
           "\u0008\\", "\u0008|" };
       int i = 0;
 
+      // results may arrive concurrently from several minions
       @Override
-      public void apply(final CoverageResult cr) {
+      public synchronized void apply(final CoverageResult cr) {
         if (cr.isGreenTest() || !coverageOptions.getPitConfig().skipFailingTests()) {
           coverage.calculateClassCoverage(cr);
         }
+        DefaultCoverageGenerator.this.cache.record(cr);
         if (DefaultCoverageGenerator.this.showProgress) {
           System.out.printf("%s", this.spinner[this.i % this.spinner.length]);
         }
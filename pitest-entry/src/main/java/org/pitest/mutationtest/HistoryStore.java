@@ -20,4 +20,11 @@ public interface HistoryStore {
 
   Map<ClassName, ClassHistory> getHistoricClassPath();
 
+  /**
+   * Releases any resources held by the store once analysis is complete.
+   */
+  default void close() {
+
+  }
+
 }
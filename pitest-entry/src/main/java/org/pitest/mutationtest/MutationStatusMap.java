@@ -74,6 +74,10 @@ public class MutationStatusMap {
         .collect(Collectors.toList());
   }
 
+  public void removeMutations(final Collection<MutationDetails> mutations) {
+    this.mutationMap.keySet().removeAll(mutations);
+  }
+
   public Set<MutationDetails> allMutations() {
     return this.mutationMap.keySet();
   }
@@ -0,0 +1,98 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Passes on the results for a class as soon as every expected mutation in
+ * that class has a final status.
+ *
+ * Results may be reported from the thread communicating with a minion while
+ * the unit's own thread is waiting for it, so all methods are synchronized.
+ */
+class CompletedClassPublisher {
+
+  private final Consumer<ClassMutationResults>           completedClasses;
+
+  private final Map<MutationIdentifier, MutationDetails> unfinished  = new HashMap<>();
+  private final Map<ClassName, Integer>                  outstanding = new HashMap<>();
+  private final Map<ClassName, List<MutationResult>>     finished    = new HashMap<>();
+
+  CompletedClassPublisher(final Consumer<ClassMutationResults> completedClasses) {
+    this.completedClasses = completedClasses;
+  }
+
+  synchronized void expect(final Collection<MutationDetails> mutations) {
+    for (final MutationDetails each : mutations) {
+      if (this.unfinished.put(each.getId(), each) == null) {
+        this.outstanding.merge(each.getClassName(), 1, Integer::sum);
+      }
+    }
+  }
+
+  synchronized void report(final MutationIdentifier id,
+      final MutationStatusTestPair status) {
+    if (!isFinal(status.getStatus())) {
+      return;
+    }
+    final MutationDetails details = this.unfinished.remove(id);
+    if (details == null) {
+      return;
+    }
+    final ClassName clazz = details.getClassName();
+    this.finished.computeIfAbsent(clazz, k -> new ArrayList<>()).add(
+        new MutationResult(details, status));
+    if (this.outstanding.merge(clazz, -1, Integer::sum) == 0) {
+      this.outstanding.remove(clazz);
+      this.completedClasses.accept(new ClassMutationResults(this.finished
+          .remove(clazz)));
+    }
+  }
+
+  /**
+   * Publishes any classes completed by the statuses in the map, then removes
+   * all mutations that have been published from it.
+   */
+  synchronized void publishFinished(final MutationStatusMap mutations) {
+    for (final MutationResult each : mutations.createMutationResults()) {
+      report(each.getDetails().getId(), each.getStatusTestPair());
+    }
+    final List<MutationDetails> published = new ArrayList<>();
+    for (final MutationDetails each : mutations.allMutations()) {
+      if (!this.unfinished.containsKey(each.getId())) {
+        published.add(each);
+      }
+    }
+    mutations.removeMutations(published);
+  }
+
+  /**
+   * Publishes the finished results of classes that still have mutations
+   * without a final status.
+   */
+  synchronized void publishPartiallyFinished() {
+    for (final List<MutationResult> each : this.finished.values()) {
+      this.completedClasses.accept(new ClassMutationResults(each));
+    }
+    this.finished.clear();
+  }
+
+  private static boolean isFinal(final DetectionStatus status) {
+    return (status != DetectionStatus.NOT_STARTED)
+        && (status != DetectionStatus.STARTED);
+  }
+
+}
@@ -0,0 +1,134 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Groups mutations into units of roughly equal predicted cost.
+ *
+ * Each class's mutations are split into pieces no more costly than the
+ * target unit cost, and the pieces are then packed first fit decreasing into
+ * units. Units are returned most costly first so that the longest running
+ * work is started early and threads finish at about the same time.
+ */
+public class CostBalancingGrouper implements MutationGrouper {
+
+  // more units than threads gives the scheduler room to balance the tail of
+  // the run
+  private static final int  UNITS_PER_THREAD  = 4;
+
+  // units below this cost are dominated by the cost of launching a minion
+  static final long          MINIMUM_UNIT_COST = 5000;
+
+  private final int          numberOfThreads;
+  private final int          unitSize;
+
+  public CostBalancingGrouper(final int numberOfThreads, final int unitSize) {
+    this.numberOfThreads = Math.max(1, numberOfThreads);
+    this.unitSize = unitSize;
+  }
+
+  @Override
+  public List<List<MutationDetails>> groupMutations(
+      final Collection<ClassName> codeClasses,
+      final Collection<MutationDetails> mutations) {
+
+    final long target = targetUnitCost(MutationCost.of(mutations));
+
+    final List<Unit> pieces = new ArrayList<>();
+    for (final List<MutationDetails> each : bucketByClass(mutations).values()) {
+      split(each, target, pieces);
+    }
+    Collections.sort(pieces, mostCostlyFirst());
+
+    final List<Unit> units = new ArrayList<>();
+    for (final Unit each : pieces) {
+      addToFirstUnitWithSpace(units, each, target);
+    }
+    Collections.sort(units, mostCostlyFirst());
+
+    final List<List<MutationDetails>> grouped = new ArrayList<>(units.size());
+    for (final Unit each : units) {
+      grouped.add(each.mutations);
+    }
+    return grouped;
+  }
+
+  private long targetUnitCost(final long totalCost) {
+    final long units = (long) this.numberOfThreads * UNITS_PER_THREAD;
+    return Math.max(MINIMUM_UNIT_COST, (totalCost + units - 1) / units);
+  }
+
+  private void split(final List<MutationDetails> mutations, final long target,
+      final List<Unit> pieces) {
+    Unit current = new Unit();
+    for (final MutationDetails each : mutations) {
+      final long cost = MutationCost.of(each);
+      if (!current.mutations.isEmpty() && !fits(current, cost, 1, target)) {
+        pieces.add(current);
+        current = new Unit();
+      }
+      current.add(each, cost);
+    }
+    if (!current.mutations.isEmpty()) {
+      pieces.add(current);
+    }
+  }
+
+  private void addToFirstUnitWithSpace(final List<Unit> units,
+      final Unit piece, final long target) {
+    for (final Unit each : units) {
+      if (fits(each, piece.cost, piece.mutations.size(), target)) {
+        each.addAll(piece);
+        return;
+      }
+    }
+    units.add(piece);
+  }
+
+  private boolean fits(final Unit unit, final long cost, final int size,
+      final long target) {
+    if ((this.unitSize > 0) && ((unit.mutations.size() + size) > this.unitSize)) {
+      return false;
+    }
+    return (unit.cost + cost) <= target;
+  }
+
+  private static Map<ClassName, List<MutationDetails>> bucketByClass(
+      final Collection<MutationDetails> mutations) {
+    final Map<ClassName, List<MutationDetails>> bucketed = new LinkedHashMap<>();
+    for (final MutationDetails each : mutations) {
+      bucketed.computeIfAbsent(each.getClassName(), k -> new ArrayList<>())
+          .add(each);
+    }
+    return bucketed;
+  }
+
+  private static Comparator<Unit> mostCostlyFirst() {
+    return (a, b) -> Long.compare(b.cost, a.cost);
+  }
+
+  private static class Unit {
+    private final List<MutationDetails> mutations = new ArrayList<>();
+    private long                        cost;
+
+    void add(final MutationDetails mutation, final long mutationCost) {
+      this.mutations.add(mutation);
+      this.cost += mutationCost;
+    }
+
+    void addAll(final Unit other) {
+      this.mutations.addAll(other.mutations);
+      this.cost += other.cost;
+    }
+  }
+
+}
@@ -2,10 +2,13 @@ package org.pitest.mutationtest.build;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.TestInfo;
 import org.pitest.functional.FCollection;
@@ -14,9 +17,10 @@ import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.util.Log;
 
 /**
- * Assigns tests based on line coverage and order them by execution speed with a
- * weighting towards tests whose names imply they are intended to test the
- * mutated class
+ * Assigns tests based on block coverage, falling back to line coverage when
+ * the block of a mutation cannot be found, and order them by execution speed
+ * with a weighting towards tests whose names imply they are intended to test
+ * the mutated class
  *
  * @author henry
  *
@@ -41,13 +45,37 @@ public class DefaultTestPrioritiser implements TestPrioritiser {
 
   private Collection<TestInfo> pickTests(MutationDetails mutation) {
     if (!mutation.isInStaticInitializer()) {
-      return this.coverage.getTestsForClassLine(mutation.getClassLine());
+      final Collection<BlockLocation> blocks = this.coverage
+          .getBlocksForInstructions(mutation.getId().getLocation(),
+              instructionIndexes(mutation));
+      if (blocks.isEmpty()) {
+        return this.coverage.getTestsForClassLine(mutation.getClassLine());
+      }
+      return testsForBlocks(blocks);
     } else {
       LOG.warning("Using untargetted tests");
       return this.coverage.getTestsForClass(mutation.getClassName());
     }
   }
 
+  private static Collection<Integer> instructionIndexes(
+      MutationDetails mutation) {
+    // mutation indexes count instructions from one
+    return FCollection.map(mutation.getId().getIndexes(), i -> i - 1);
+  }
+
+  private Collection<TestInfo> testsForBlocks(
+      Collection<BlockLocation> blocks) {
+    if (blocks.size() == 1) {
+      return this.coverage.getTestsForBlockLocation(blocks.iterator().next());
+    }
+    final Set<TestInfo> tests = new LinkedHashSet<>();
+    for (final BlockLocation each : blocks) {
+      tests.addAll(this.coverage.getTestsForBlockLocation(each));
+    }
+    return tests;
+  }
+
   private List<TestInfo> prioritizeTests(ClassName clazz,
       Collection<TestInfo> testsForMutant) {
     final List<TestInfo> sortedTis = FCollection.map(testsForMutant,
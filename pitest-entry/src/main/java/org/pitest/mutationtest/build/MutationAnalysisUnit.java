@@ -1,7 +1,10 @@
 package org.pitest.mutationtest.build;
 
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
+import org.pitest.mutationtest.ClassMutationResults;
 import org.pitest.mutationtest.MutationMetaData;
 
 /**
@@ -11,4 +14,37 @@ public interface MutationAnalysisUnit extends Callable<MutationMetaData> {
 
   int priority();
 
+  /**
+   * Runs the analysis, passing on the results for each class as soon as they
+   * are complete rather than holding them until the whole unit has run.
+   *
+   * @param completedClasses
+   *          receives results as they complete, possibly on another thread
+   * @return results not already passed to completedClasses
+   */
+  default MutationMetaData analyse(
+      final Consumer<ClassMutationResults> completedClasses) throws Exception {
+    return call();
+  }
+
+  /**
+   * Removes part of the work this unit has not yet started so that it can be
+   * run elsewhere. May be called from another thread while the unit is
+   * running.
+   *
+   * @return a unit containing the removed work, or empty if none can be
+   *         removed
+   */
+  default Optional<MutationAnalysisUnit> split() {
+    return Optional.empty();
+  }
+
+  /**
+   * @return estimated cost of the work that could still be split from this
+   *         unit
+   */
+  default long remainingCost() {
+    return 0;
+  }
+
 }
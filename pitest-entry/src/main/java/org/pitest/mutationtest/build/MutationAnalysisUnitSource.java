@@ -0,0 +1,19 @@
+package org.pitest.mutationtest.build;
+
+import java.util.function.Consumer;
+
+/**
+ * Produces mutation analysis units as they are built, so that analysis can
+ * start before every unit is ready.
+ */
+@FunctionalInterface
+public interface MutationAnalysisUnitSource {
+
+  /**
+   * Passes each unit to the consumer as soon as it is ready, returning once
+   * all units have been produced. The consumer may be called from more than
+   * one thread.
+   */
+  void produce(Consumer<MutationAnalysisUnit> units);
+
+}
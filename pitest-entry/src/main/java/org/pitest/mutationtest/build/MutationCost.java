@@ -0,0 +1,37 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collection;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Predicts the cost, in milliseconds, of analysing mutations.
+ *
+ * A mutation is assumed to run every test that covers it, which is the cost
+ * of a surviving mutant, plus a fixed overhead for inserting it.
+ */
+final class MutationCost {
+
+  static final long MUTATION_OVERHEAD = 10;
+
+  private MutationCost() {
+  }
+
+  static long of(final MutationDetails mutation) {
+    long cost = MUTATION_OVERHEAD;
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      cost += each.getTime();
+    }
+    return cost;
+  }
+
+  static long of(final Collection<MutationDetails> mutations) {
+    long cost = 0;
+    for (final MutationDetails each : mutations) {
+      cost += of(each);
+    }
+    return cost;
+  }
+
+}
@@ -21,8 +21,12 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.pitest.classinfo.ClassName;
@@ -33,30 +37,109 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
 
 public class MutationTestBuilder {
 
-  private final MutationSource   mutationSource;
-  private final MutationAnalyser analyser;
-  private final WorkerFactory    workerFactory;
-  private final MutationGrouper  grouper;
+  // mutations gathered before units are created when streaming. Large enough
+  // for units to be packed across classes and ordered, small enough for
+  // analysis to start early.
+  static final int                       STREAM_BATCH_MUTATIONS = 500;
+
+  private final Supplier<MutationSource> mutationSources;
+  private final MutationAnalyser         analyser;
+  private final WorkerFactory            workerFactory;
+  private final MutationGrouper          grouper;
+  private final boolean                  splittableUnits;
+  private final int                      discoveryThreads;
 
   public MutationTestBuilder(final WorkerFactory workerFactory,
       final MutationAnalyser analyser, final MutationSource mutationSource,
       final MutationGrouper grouper) {
+    this(workerFactory, analyser, mutationSource, grouper, false);
+  }
+
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser, final MutationSource mutationSource,
+      final MutationGrouper grouper, final boolean splittableUnits) {
+    this(workerFactory, analyser, () -> mutationSource, grouper,
+        splittableUnits, 1);
+  }
+
+  /**
+   * @param mutationSources
+   *          supplies a source for each thread used to find mutations, as
+   *          sources hold state for the class they are examining
+   * @param discoveryThreads
+   *          number of threads used to find mutations
+   */
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser,
+      final Supplier<MutationSource> mutationSources,
+      final MutationGrouper grouper, final boolean splittableUnits,
+      final int discoveryThreads) {
 
-    this.mutationSource = mutationSource;
+    this.mutationSources = mutationSources;
     this.analyser = analyser;
     this.workerFactory = workerFactory;
     this.grouper = grouper;
+    this.splittableUnits = splittableUnits;
+    this.discoveryThreads = discoveryThreads;
   }
 
   public List<MutationAnalysisUnit> createMutationTestUnits(
       final Collection<ClassName> codeClasses) {
-    final List<MutationAnalysisUnit> tus = new ArrayList<>();
+    final List<MutationAnalysisUnit> tus = createUnits(codeClasses,
+        findMutations(codeClasses));
+    Collections.sort(tus, new AnalysisPriorityComparator());
+    return tus;
+  }
 
-    final List<MutationDetails> mutations = FCollection.flatMap(codeClasses,
-        classToMutations());
+  /**
+   * Creates units in batches as mutations are found, so that the units for
+   * some classes can be analysed while mutations are still being found for
+   * others. Units are grouped and ordered most costly first within each
+   * batch, but a costly unit in a later batch is produced after cheaper units
+   * in earlier ones.
+   */
+  public MutationAnalysisUnitSource streamMutationTestUnits(
+      final Collection<ClassName> codeClasses) {
+    return units -> {
+      final List<ClassName> classes = new ArrayList<>();
+      final List<MutationDetails> mutations = new ArrayList<>();
+      forEachClass(codeClasses, (source, clazz) -> addToBatch(classes,
+          mutations, clazz, source.createMutations(clazz)).forEach(units));
+      createBatch(classes, mutations).forEach(units);
+    };
+  }
+
+  // the analyser and grouper may hold state so are only called from one
+  // thread at a time
+  private synchronized List<MutationAnalysisUnit> addToBatch(
+      final List<ClassName> classes, final List<MutationDetails> mutations,
+      final ClassName clazz, final Collection<MutationDetails> found) {
+    classes.add(clazz);
+    mutations.addAll(found);
+    if (mutations.size() < STREAM_BATCH_MUTATIONS) {
+      return Collections.emptyList();
+    }
+    return createBatch(classes, mutations);
+  }
+
+  private synchronized List<MutationAnalysisUnit> createBatch(
+      final List<ClassName> classes, final List<MutationDetails> mutations) {
+    final List<MutationAnalysisUnit> tus = createUnits(
+        new ArrayList<>(classes), new ArrayList<>(mutations));
+    classes.clear();
+    mutations.clear();
+    Collections.sort(tus, new AnalysisPriorityComparator());
+    return tus;
+  }
+
+  private List<MutationAnalysisUnit> createUnits(
+      final Collection<ClassName> codeClasses,
+      final List<MutationDetails> mutations) {
+    final List<MutationAnalysisUnit> tus = new ArrayList<>();
 
     Collections.sort(mutations, comparator());
 
@@ -82,7 +165,6 @@ public class MutationTestBuilder {
       }
     }
 
-    Collections.sort(tus, new AnalysisPriorityComparator());
     return tus;
   }
 
@@ -90,8 +172,42 @@ public class MutationTestBuilder {
     return (arg0, arg1) -> arg0.getId().compareTo(arg1.getId());
   }
 
-  private Function<ClassName, Iterable<MutationDetails>> classToMutations() {
-    return a -> MutationTestBuilder.this.mutationSource.createMutations(a);
+  private List<MutationDetails> findMutations(
+      final Collection<ClassName> codeClasses) {
+    // the order mutations are found in does not matter as they are sorted
+    final List<MutationDetails> mutations = Collections
+        .synchronizedList(new ArrayList<>());
+    forEachClass(codeClasses,
+        (source, clazz) -> mutations.addAll(source.createMutations(clazz)));
+    return new ArrayList<>(mutations);
+  }
+
+  private void forEachClass(final Collection<ClassName> codeClasses,
+      final BiConsumer<MutationSource, ClassName> action) {
+    if ((this.discoveryThreads <= 1) || (codeClasses.size() <= 1)) {
+      final MutationSource source = this.mutationSources.get();
+      codeClasses.forEach(c -> action.accept(source, c));
+      return;
+    }
+
+    final ThreadLocal<MutationSource> sources = ThreadLocal
+        .withInitial(this.mutationSources);
+    final ForkJoinPool pool = new ForkJoinPool(this.discoveryThreads);
+    try {
+      pool.submit(() -> codeClasses.parallelStream()
+          .forEach(c -> action.accept(sources.get(), c))).get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Unchecked.translateCheckedException(e);
+    } catch (final ExecutionException e) {
+      // rethrow as if mutations had been found on this thread
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw Unchecked.translateCheckedException(e.getCause());
+    } finally {
+      pool.shutdown();
+    }
   }
 
   private MutationAnalysisUnit makePreAnalysedUnit(
@@ -106,7 +222,7 @@ public class MutationTestBuilder {
         uniqueTestClasses);
 
     return new MutationTestUnit(needAnalysis, uniqueTestClasses,
-        this.workerFactory);
+        this.workerFactory, this.splittableUnits);
   }
 
   private static Function<MutationResult, MutationDetails> resultToDetails() {
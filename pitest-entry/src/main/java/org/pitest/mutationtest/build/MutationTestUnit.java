@@ -15,12 +15,18 @@
 package org.pitest.mutationtest.build;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.ClassMutationResults;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusMap;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.execute.MutationTestProcess;
@@ -29,54 +35,143 @@ import org.pitest.util.Log;
 
 public class MutationTestUnit implements MutationAnalysisUnit {
 
-  private static final Logger               LOG = Log.getLogger();
+  private static final Logger               LOG            = Log.getLogger();
+
+  // smallest batch a splittable unit hands to a minion, so that splitting
+  // does not result in a minion being launched for every mutation
+  static final int                          MINIMUM_BATCH  = 8;
 
   private final Collection<MutationDetails> availableMutations;
   private final WorkerFactory               workerFactory;
 
   private final Collection<ClassName>       testClasses;
 
+  private final int                         priority;
+
+  private final boolean                     splittable;
+
+  // mutations not yet handed to a minion. Guarded by this.
+  private List<MutationDetails>             pending;
+
   public MutationTestUnit(final Collection<MutationDetails> availableMutations,
       final Collection<ClassName> testClasses, final WorkerFactory workerFactor) {
+    this(availableMutations, testClasses, workerFactor, false);
+  }
+
+  /**
+   * @param splittable
+   *          if true mutations are handed to minions in decreasing batches
+   *          so that those not yet started can be split off to another
+   *          thread
+   */
+  public MutationTestUnit(final Collection<MutationDetails> availableMutations,
+      final Collection<ClassName> testClasses, final WorkerFactory workerFactor,
+      final boolean splittable) {
     this.availableMutations = availableMutations;
     this.testClasses = testClasses;
     this.workerFactory = workerFactor;
+    this.splittable = splittable;
+    this.priority = (int) Math.min(Integer.MAX_VALUE - 1,
+        MutationCost.of(availableMutations));
   }
 
   @Override
   public MutationMetaData call() throws Exception {
+    final List<MutationResult> results = new ArrayList<>();
+    final MutationMetaData unfinished = analyse(r -> results.addAll(r
+        .getMutations()));
+    results.addAll(unfinished.getMutations());
+    return new MutationMetaData(results);
+  }
+
+  @Override
+  public MutationMetaData analyse(
+      final Consumer<ClassMutationResults> completedClasses) throws Exception {
     final MutationStatusMap mutations = new MutationStatusMap();
+    final CompletedClassPublisher publisher = new CompletedClassPublisher(
+        completedClasses);
 
-    mutations.setStatusForMutations(this.availableMutations,
-        DetectionStatus.NOT_STARTED);
+    Collection<MutationDetails> batch = nextBatch();
+    while (!batch.isEmpty()) {
+      publisher.expect(batch);
+      mutations.setStatusForMutations(batch, DetectionStatus.NOT_STARTED);
 
-    mutations.markUncoveredMutations();
+      mutations.markUncoveredMutations();
+      publisher.publishFinished(mutations);
 
-    runTestsInSeperateProcess(mutations);
+      runTestsInSeperateProcess(mutations, publisher);
 
+      batch = nextBatch();
+    }
+
+    publisher.publishPartiallyFinished();
     return reportResults(mutations);
   }
 
   @Override
   public int priority() {
-    return this.availableMutations.size();
+    return this.priority;
+  }
+
+  @Override
+  public synchronized Optional<MutationAnalysisUnit> split() {
+    final List<MutationDetails> remaining = pending();
+    if (!this.splittable || remaining.isEmpty()) {
+      return Optional.empty();
+    }
+    final List<MutationDetails> tail = remaining.subList(
+        remaining.size() / 2, remaining.size());
+    final List<MutationDetails> removed = new ArrayList<>(tail);
+    tail.clear();
+    return Optional.<MutationAnalysisUnit> of(new MutationTestUnit(removed,
+        this.testClasses, this.workerFactory, true));
+  }
+
+  @Override
+  public synchronized long remainingCost() {
+    return this.splittable ? MutationCost.of(pending()) : 0;
+  }
+
+  private synchronized Collection<MutationDetails> nextBatch() {
+    final List<MutationDetails> remaining = pending();
+    final int size = this.splittable ? batchSize(remaining.size())
+        : remaining.size();
+    final List<MutationDetails> head = remaining.subList(0, size);
+    final List<MutationDetails> batch = new ArrayList<>(head);
+    head.clear();
+    return batch;
   }
 
-  private void runTestsInSeperateProcess(final MutationStatusMap mutations)
-      throws IOException, InterruptedException {
+  private synchronized List<MutationDetails> pending() {
+    if (this.pending == null) {
+      this.pending = new ArrayList<>(this.availableMutations);
+    }
+    return this.pending;
+  }
+
+  private static int batchSize(final int remaining) {
+    // guided self scheduling. Half of what remains is started, the rest is
+    // left for other threads to split off
+    return Math.min(remaining, Math.max(MINIMUM_BATCH, (remaining + 1) / 2));
+  }
+
+  private void runTestsInSeperateProcess(final MutationStatusMap mutations,
+      final CompletedClassPublisher publisher) throws IOException,
+      InterruptedException {
     while (mutations.hasUnrunMutations()) {
-      runTestInSeperateProcessForMutationRange(mutations);
+      runTestInSeperateProcessForMutationRange(mutations, publisher);
     }
   }
 
   private void runTestInSeperateProcessForMutationRange(
-      final MutationStatusMap mutations) throws IOException,
+      final MutationStatusMap mutations,
+      final CompletedClassPublisher publisher) throws IOException,
       InterruptedException {
 
     final Collection<MutationDetails> remainingMutations = mutations
         .getUnrunMutations();
     final MutationTestProcess worker = this.workerFactory.createWorker(
-        remainingMutations, this.testClasses);
+        remainingMutations, this.testClasses, publisher::report);
     worker.start();
 
     setFirstMutationToStatusOfStartedInCaseMinionFailsAtBoot(mutations,
@@ -86,6 +181,7 @@ public class MutationTestUnit implements MutationAnalysisUnit {
     worker.results(mutations);
 
     correctResultForProcessExitCode(mutations, exitCode);
+    publisher.publishFinished(mutations);
   }
 
   private static ExitCode waitForMinionToDie(final MutationTestProcess worker) {
@@ -4,20 +4,26 @@ import static org.pitest.functional.prelude.Prelude.printWith;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.function.BiConsumer;
 
 import org.pitest.classinfo.ClassName;
-import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.MutationConfig;
+import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.execute.ForkedMutationTestProcess;
+import org.pitest.mutationtest.execute.InProcessAnalysis;
+import org.pitest.mutationtest.execute.InProcessMutationTestProcess;
 import org.pitest.mutationtest.execute.MinionArguments;
+import org.pitest.mutationtest.execute.MinionPool;
 import org.pitest.mutationtest.execute.MutationTestProcess;
+import org.pitest.mutationtest.execute.PooledMutationTestProcess;
 import org.pitest.process.ProcessArgs;
 import org.pitest.util.Log;
-import org.pitest.util.SocketFinder;
 
 public class WorkerFactory {
 
@@ -27,8 +33,12 @@ public class WorkerFactory {
   private final TimeoutLengthStrategy timeoutStrategy;
   private final boolean               verbose;
   private final boolean               fullMutationMatrix;
+  private final boolean               mutantSchemata;
+  private final boolean               recoverTimeouts;
   private final MutationConfig        config;
   private final EngineArguments       args;
+  private final MinionPool            pool;
+  private final InProcessAnalysis     inProcess;
 
   public WorkerFactory(final File baseDir,
       final TestPluginArguments pitConfig,
@@ -37,40 +47,99 @@ public class WorkerFactory {
       final TimeoutLengthStrategy timeoutStrategy,
       final boolean verbose,
       final boolean fullMutationMatrix,
-      final String classPath) {
+      final boolean mutantSchemata,
+      final String classPath,
+      final MinionPool pool) {
+    this(baseDir, pitConfig, mutationConfig, args, timeoutStrategy, verbose,
+        fullMutationMatrix, mutantSchemata, false, classPath, pool, null);
+  }
+
+  /**
+   * @param recoverTimeouts
+   *          if true minions carry on after a test times out rather than
+   *          being replaced
+   * @param inProcess
+   *          if not null, mutations are analysed inside this jvm where
+   *          possible
+   */
+  public WorkerFactory(final File baseDir,
+      final TestPluginArguments pitConfig,
+      final MutationConfig mutationConfig,
+      final EngineArguments args,
+      final TimeoutLengthStrategy timeoutStrategy,
+      final boolean verbose,
+      final boolean fullMutationMatrix,
+      final boolean mutantSchemata,
+      final boolean recoverTimeouts,
+      final String classPath,
+      final MinionPool pool,
+      final InProcessAnalysis inProcess) {
     this.pitConfig = pitConfig;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
     this.fullMutationMatrix = fullMutationMatrix;
+    this.mutantSchemata = mutantSchemata;
+    this.recoverTimeouts = recoverTimeouts;
     this.classPath = classPath;
     this.baseDir = baseDir;
     this.config = mutationConfig;
     this.args = args;
+    this.pool = pool;
+    this.inProcess = inProcess;
   }
 
+  /**
+   * @param onReport
+   *          called as the result for each mutation is received from the
+   *          minion, possibly on another thread
+   */
   public MutationTestProcess createWorker(
       final Collection<MutationDetails> remainingMutations,
-      final Collection<ClassName> testClasses) {
-    final MinionArguments fileArgs = new MinionArguments(remainingMutations,
-        testClasses, this.config.getEngine().getName(), this.args, this.timeoutStrategy,
-        Log.isVerbose(), this.fullMutationMatrix, this.pitConfig);
+      final Collection<ClassName> testClasses,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
+    if ((this.inProcess != null) && this.inProcess.isEnabled()) {
+      return new InProcessMutationTestProcess(this.inProcess,
+          remainingMutations, createArguments(remainingMutations, testClasses),
+          onReport, m -> createMinion(m, testClasses, onReport));
+    }
+    return createMinion(remainingMutations, testClasses, onReport);
+  }
 
-    final ProcessArgs args = ProcessArgs.withClassPath(this.classPath)
+  private MutationTestProcess createMinion(
+      final Collection<MutationDetails> remainingMutations,
+      final Collection<ClassName> testClasses,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
+    final MinionArguments fileArgs = createArguments(remainingMutations,
+        testClasses);
+
+    final ProcessArgs args = captureStdOutIfVerbose(ProcessArgs
+        .withClassPath(this.classPath)
         .andLaunchOptions(this.config.getLaunchOptions())
-        .andBaseDir(this.baseDir).andStdout(captureStdOutIfVerbose())
-        .andStderr(printWith("stderr "));
+        .andBaseDir(this.baseDir).andStderr(printWith("stderr ")));
+
+    if (this.pool != null) {
+      return new PooledMutationTestProcess(this.pool, args, fileArgs,
+          onReport);
+    }
+
+    return new ForkedMutationTestProcess(args, fileArgs, onReport);
+  }
 
-    final SocketFinder sf = new SocketFinder();
-    final MutationTestProcess worker = new MutationTestProcess(
-        sf.getNextAvailableServerSocket(), args, fileArgs);
-    return worker;
+  private MinionArguments createArguments(
+      final Collection<MutationDetails> mutations,
+      final Collection<ClassName> testClasses) {
+    return new MinionArguments(mutations,
+        testClasses, this.config.getEngine().getName(), this.args, this.timeoutStrategy,
+        Log.isVerbose(), this.fullMutationMatrix, this.mutantSchemata,
+        this.recoverTimeouts, this.pitConfig,
+        this.pool != null);
   }
 
-  private SideEffect1<String> captureStdOutIfVerbose() {
+  private ProcessArgs captureStdOutIfVerbose(final ProcessArgs args) {
     if (this.verbose) {
-      return Prelude.printWith("stdout ");
+      return args.andStdout(Prelude.printWith("stdout "));
     } else {
-      return Prelude.noSideEffect(String.class);
+      return args.andDiscardStdout();
     }
 
   }
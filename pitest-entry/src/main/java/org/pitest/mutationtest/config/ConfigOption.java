@@ -215,7 +215,70 @@ public enum ConfigOption {
    * Allows very long classpaths that would otherwise exceed OS limits, but
    * may cause problems with some third party libraries.
    */
-  USE_CLASSPATH_JAR("useClasspathJar", false);
+  USE_CLASSPATH_JAR("useClasspathJar", false),
+
+  /**
+   * Keep mutation test minions alive between units rather than launching a
+   * new jvm for each one
+   */
+  REUSE_MINIONS("reuseMinions", false),
+
+  /**
+   * Number of mutations a reused minion may analyse before it is replaced. 0
+   * means no limit.
+   */
+  MAX_MUTATIONS_PER_MINION("maxMutationsPerMinion", 0),
+
+  /**
+   * Store history in a compact binary format that is read lazily, rather
+   * than as serialized java objects
+   */
+  BINARY_HISTORY("binaryHistory", false),
+
+  /**
+   * Let idle threads take mutations from units that are still running, and
+   * report results in the order units complete
+   */
+  WORK_STEALING("workStealing", false),
+
+  /**
+   * Replace each mutated class once with a version containing all of its
+   * mutations behind switches, rather than replacing it for every mutant
+   */
+  MUTANT_SCHEMATA("mutantSchemata", false),
+
+  /**
+   * Start analysing mutations in batches as they are found, rather than once
+   * mutations have been found for every class. Units are ordered most costly
+   * first within each batch rather than across the whole run.
+   */
+  PIPELINE_ANALYSIS("pipelineAnalysis", false),
+
+  /**
+   * Record the classes loaded while gathering coverage, and start later
+   * minions from a class data sharing archive of them
+   */
+  CLASS_DATA_SHARING("classDataSharing", false),
+
+  /**
+   * Communicate with minions over their standard input and output rather
+   * than a local socket
+   */
+  PIPE_TRANSPORT("pipeTransport", false),
+
+  /**
+   * Analyse mutations inside the jvm running pitest where possible, rather
+   * than in forked minions. Tests are stopped from exiting the jvm by a
+   * security manager, so this has no effect on Java 18 and later. Mutations
+   * whose tests time out or try to exit are analysed again in a minion.
+   */
+  IN_PROCESS_ANALYSIS("inProcessAnalysis", false),
+
+  /**
+   * Abandon the thread of a test that overruns its allowance and carry on in
+   * the same minion, rather than replacing the minion
+   */
+  RECOVER_TIMEOUTS("recoverTimeouts", false);
 
   private final String       text;
   private final Serializable defaultValue;
@@ -140,6 +140,17 @@ public class ReportOptions {
   
   private boolean                        useClasspathJar;
 
+  private boolean                        reuseMinions                   = false;
+  private int                            maxMutationsPerMinion          = 0;
+  private boolean                        binaryHistory                  = false;
+  private boolean                        workStealing                   = false;
+  private boolean                        mutantSchemata                 = false;
+  private boolean                        pipelineAnalysis               = false;
+  private boolean                        classDataSharing               = false;
+  private boolean                        pipeTransport                  = false;
+  private boolean                        inProcessAnalysis              = false;
+  private boolean                        recoverTimeouts                = false;
+
 
   public boolean isVerbose() {
     return this.verbose;
@@ -619,6 +630,86 @@ public class ReportOptions {
     this.useClasspathJar = useClasspathJar;
   }
 
+  public boolean isReuseMinions() {
+    return this.reuseMinions;
+  }
+
+  public void setReuseMinions(boolean reuseMinions) {
+    this.reuseMinions = reuseMinions;
+  }
+
+  public int getMaxMutationsPerMinion() {
+    return this.maxMutationsPerMinion;
+  }
+
+  public void setMaxMutationsPerMinion(int maxMutationsPerMinion) {
+    this.maxMutationsPerMinion = maxMutationsPerMinion;
+  }
+
+  public boolean isBinaryHistory() {
+    return this.binaryHistory;
+  }
+
+  public void setBinaryHistory(boolean binaryHistory) {
+    this.binaryHistory = binaryHistory;
+  }
+
+  public boolean isWorkStealing() {
+    return this.workStealing;
+  }
+
+  public void setWorkStealing(boolean workStealing) {
+    this.workStealing = workStealing;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
+  public void setMutantSchemata(boolean mutantSchemata) {
+    this.mutantSchemata = mutantSchemata;
+  }
+
+  public boolean isPipelineAnalysis() {
+    return this.pipelineAnalysis;
+  }
+
+  public void setPipelineAnalysis(boolean pipelineAnalysis) {
+    this.pipelineAnalysis = pipelineAnalysis;
+  }
+
+  public boolean isClassDataSharing() {
+    return this.classDataSharing;
+  }
+
+  public void setClassDataSharing(boolean classDataSharing) {
+    this.classDataSharing = classDataSharing;
+  }
+
+  public boolean isPipeTransport() {
+    return this.pipeTransport;
+  }
+
+  public void setPipeTransport(boolean pipeTransport) {
+    this.pipeTransport = pipeTransport;
+  }
+
+  public boolean isInProcessAnalysis() {
+    return this.inProcessAnalysis;
+  }
+
+  public void setInProcessAnalysis(boolean inProcessAnalysis) {
+    this.inProcessAnalysis = inProcessAnalysis;
+  }
+
+  public boolean isRecoverTimeouts() {
+    return this.recoverTimeouts;
+  }
+
+  public void setRecoverTimeouts(boolean recoverTimeouts) {
+    this.recoverTimeouts = recoverTimeouts;
+  }
+
   @Override
   public String toString() {
     return "ReportOptions [targetClasses=" + targetClasses
@@ -646,6 +737,16 @@ public class ReportOptions {
         + properties + ", maxSurvivors=" + maxSurvivors + ", excludedRunners="
         + excludedRunners + ", includedTestMethods=" + includedTestMethods
         + ", testPlugin=" + testPlugin + ", useClasspathJar=" + useClasspathJar
+        + ", reuseMinions=" + reuseMinions
+        + ", maxMutationsPerMinion=" + maxMutationsPerMinion
+        + ", binaryHistory=" + binaryHistory
+        + ", workStealing=" + workStealing
+        + ", mutantSchemata=" + mutantSchemata
+        + ", pipelineAnalysis=" + pipelineAnalysis
+        + ", classDataSharing=" + classDataSharing
+        + ", pipeTransport=" + pipeTransport
+        + ", inProcessAnalysis=" + inProcessAnalysis
+        + ", recoverTimeouts=" + recoverTimeouts
         + ", skipFailingTests=" + skipFailingTests + "]";
   }
 
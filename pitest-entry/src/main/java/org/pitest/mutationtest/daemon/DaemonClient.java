@@ -0,0 +1,112 @@
+package org.pitest.mutationtest.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Asks a running pitest daemon to analyse a project, relaying its output.
+ *
+ * The daemon is found through the file it wrote when it started.
+ */
+public class DaemonClient {
+
+  private final File daemonFile;
+
+  public DaemonClient(final File daemonFile) {
+    this.daemonFile = daemonFile;
+  }
+
+  /**
+   * Runs analysis in the daemon as if the arguments had been given to the
+   * command line tool
+   *
+   * @param workingDirectory
+   *          directory minions are launched in
+   * @param args
+   *          arguments for the command line tool
+   * @param output
+   *          receives the log and console output of the analysis
+   * @return why analysis failed, or empty if it succeeded
+   */
+  public Optional<String> run(final File workingDirectory,
+      final List<String> args, final OutputStream output) throws IOException {
+    final DaemonFile daemon = details();
+    try (Socket socket = connect(daemon)) {
+      final DataOutputStream out = request(socket, daemon, DaemonProtocol.RUN);
+      DaemonProtocol.writeString(out, workingDirectory.getAbsolutePath());
+      out.writeInt(args.size());
+      for (final String each : args) {
+        DaemonProtocol.writeString(out, each);
+      }
+      out.flush();
+      return response(socket, output);
+    }
+  }
+
+  /**
+   * Asks the daemon to shut down once any analysis in progress completes
+   */
+  public void stop() throws IOException {
+    final DaemonFile daemon = details();
+    try (Socket socket = connect(daemon)) {
+      request(socket, daemon, DaemonProtocol.STOP).flush();
+      response(socket, null);
+    }
+  }
+
+  private static Socket connect(final DaemonFile daemon) throws IOException {
+    return new Socket(InetAddress.getLoopbackAddress(), daemon.getPort());
+  }
+
+  private DaemonFile details() throws IOException {
+    if (!this.daemonFile.exists()) {
+      throw new IOException("No pitest daemon found at " + this.daemonFile);
+    }
+    return DaemonFile.read(this.daemonFile);
+  }
+
+  private static DataOutputStream request(final Socket socket,
+      final DaemonFile daemon, final byte command) throws IOException {
+    final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+        socket.getOutputStream()));
+    DaemonProtocol.writeString(out, daemon.getToken());
+    out.writeByte(command);
+    return out;
+  }
+
+  private static Optional<String> response(final Socket socket,
+      final OutputStream output) throws IOException {
+    final DataInputStream in = new DataInputStream(new BufferedInputStream(
+        socket.getInputStream()));
+    byte frame = in.readByte();
+    while (frame == DaemonProtocol.OUTPUT) {
+      final byte[] bytes = DaemonProtocol.readBytes(in,
+          DaemonProtocol.MAX_STRING_LENGTH);
+      if (output != null) {
+        output.write(bytes);
+        output.flush();
+      }
+      frame = in.readByte();
+    }
+    if (frame != DaemonProtocol.DONE) {
+      throw new IOException("Malformed message from pitest daemon");
+    }
+
+    final boolean ok = in.readBoolean();
+    final String failure = DaemonProtocol.readString(in);
+    if (ok) {
+      return Optional.empty();
+    }
+    return Optional.of(failure);
+  }
+
+}
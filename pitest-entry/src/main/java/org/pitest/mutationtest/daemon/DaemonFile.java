@@ -0,0 +1,128 @@
+package org.pitest.mutationtest.daemon;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Properties;
+
+/**
+ * Tells clients where a daemon listens, and the token they must send with
+ * each request so that only the user who started it can run analyses.
+ *
+ * The file is readable only by its owner where the file system allows it.
+ * It is written in full to a new file that is never readable by anyone else,
+ * then moved into place, so the token cannot be read through a file opened
+ * while it was being written.
+ */
+public class DaemonFile {
+
+  private static final String PORT  = "port";
+  private static final String TOKEN = "token";
+
+  private final int           port;
+  private final String        token;
+
+  DaemonFile(final int port, final String token) {
+    this.port = port;
+    this.token = token;
+  }
+
+  /**
+   * Creates the details of a daemon listening on a port with a new random
+   * token
+   */
+  public static DaemonFile forPort(final int port) {
+    final byte[] bytes = new byte[32];
+    new SecureRandom().nextBytes(bytes);
+    return new DaemonFile(port, Base64.getEncoder().encodeToString(bytes));
+  }
+
+  public static DaemonFile read(final File file) throws IOException {
+    final Properties properties = new Properties();
+    try (InputStream in = new FileInputStream(file)) {
+      properties.load(in);
+    }
+    final String port = properties.getProperty(PORT);
+    final String token = properties.getProperty(TOKEN);
+    if ((port == null) || (token == null)) {
+      throw new IOException(file + " does not describe a pitest daemon");
+    }
+    try {
+      return new DaemonFile(Integer.parseInt(port), token);
+    } catch (final NumberFormatException ex) {
+      throw new IOException(file + " does not describe a pitest daemon", ex);
+    }
+  }
+
+  public void write(final File file) throws IOException {
+    final File parent = file.getAbsoluteFile().getParentFile();
+    parent.mkdirs();
+    final Path written = createOwnerOnly(parent.toPath(), file.getName());
+    try {
+      final Properties properties = new Properties();
+      properties.setProperty(PORT, Integer.toString(this.port));
+      properties.setProperty(TOKEN, this.token);
+      try (OutputStream out = new FileOutputStream(written.toFile())) {
+        properties.store(out, "pitest daemon");
+      }
+      moveIntoPlace(written, file.toPath());
+    } finally {
+      Files.deleteIfExists(written);
+    }
+  }
+
+  public int getPort() {
+    return this.port;
+  }
+
+  String getToken() {
+    return this.token;
+  }
+
+  private static Path createOwnerOnly(final Path dir, final String name)
+      throws IOException {
+    final Set<PosixFilePermission> ownerOnly = EnumSet.of(
+        PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+    final FileAttribute<Set<PosixFilePermission>> attribute = PosixFilePermissions
+        .asFileAttribute(ownerOnly);
+    try {
+      return Files.createTempFile(dir, name, ".tmp", attribute);
+    } catch (final UnsupportedOperationException ex) {
+      final Path path = Files.createTempFile(dir, name, ".tmp");
+      restrictToOwner(path.toFile());
+      return path;
+    }
+  }
+
+  private static void moveIntoPlace(final Path written, final Path target)
+      throws IOException {
+    try {
+      Files.move(written, target, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (final AtomicMoveNotSupportedException ex) {
+      Files.move(written, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void restrictToOwner(final File file) {
+    file.setReadable(false, false);
+    file.setReadable(true, true);
+    file.setWritable(false, false);
+    file.setWritable(true, true);
+  }
+
+}
@@ -0,0 +1,63 @@
+package org.pitest.mutationtest.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Messages exchanged between a {@link DaemonClient} and a
+ * {@link DaemonServer}.
+ *
+ * A request starts with the daemon's token and a command. A run request then
+ * carries the client's working directory and the arguments for the command
+ * line tool. The daemon replies with any number of output frames, then a
+ * done frame saying whether the request succeeded.
+ */
+final class DaemonProtocol {
+
+  static final byte RUN    = 1;
+  static final byte STOP   = 2;
+
+  static final byte OUTPUT = 1;
+  static final byte DONE   = 2;
+
+  // lengths are checked before anything is allocated for them, so a
+  // connection that has not yet sent the token cannot exhaust the heap
+  static final int  MAX_TOKEN_LENGTH  = 256;
+  static final int  MAX_STRING_LENGTH = 16 * 1024 * 1024;
+  static final int  MAX_ARGUMENTS     = 10000;
+
+  private DaemonProtocol() {
+  }
+
+  static void writeBytes(final DataOutputStream out, final byte[] bytes,
+      final int off, final int len) throws IOException {
+    out.writeInt(len);
+    out.write(bytes, off, len);
+  }
+
+  static byte[] readBytes(final DataInputStream in, final int maxLength)
+      throws IOException {
+    final int length = in.readInt();
+    if ((length < 0) || (length > maxLength)) {
+      throw new IOException("Malformed pitest daemon message");
+    }
+    final byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  // strings may be longer than writeUTF allows, as classpaths often are
+  static void writeString(final DataOutputStream out, final String value)
+      throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeBytes(out, bytes, 0, bytes.length);
+  }
+
+  static String readString(final DataInputStream in) throws IOException {
+    return new String(readBytes(in, MAX_STRING_LENGTH),
+        StandardCharsets.UTF_8);
+  }
+
+}
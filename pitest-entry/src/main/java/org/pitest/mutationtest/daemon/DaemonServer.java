@@ -0,0 +1,232 @@
+package org.pitest.mutationtest.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+import org.pitest.util.Log;
+
+/**
+ * Listens on the loopback interface for requests from {@link DaemonClient}s
+ * and handles them one at a time.
+ *
+ * Everything written to the console or the pitest log while a request is
+ * handled is sent to the client that made it. Requests that do not carry the
+ * daemon's token are ignored.
+ */
+public class DaemonServer {
+
+  private static final Logger  LOG                     = Log.getLogger();
+
+  private static final int     REQUEST_TIMEOUT_MILLIS  = 30000;
+
+  private final ServerSocket   socket;
+  private final DaemonFile     details;
+  private final RequestHandler handler;
+  private final int            requestTimeoutMillis;
+
+  /**
+   * Runs analysis for a request
+   */
+  public interface RequestHandler {
+    /**
+     * @param workingDirectory
+     *          working directory of the client
+     * @param args
+     *          arguments for the command line tool
+     * @throws Exception
+     *           to fail the request, reporting the exception's message to
+     *           the client
+     */
+    void run(File workingDirectory, List<String> args) throws Exception;
+  }
+
+  /**
+   * @param port
+   *          port to listen on, or 0 for any free port
+   */
+  public DaemonServer(final int port, final RequestHandler handler)
+      throws IOException {
+    this(port, handler, REQUEST_TIMEOUT_MILLIS);
+  }
+
+  DaemonServer(final int port, final RequestHandler handler,
+      final int requestTimeoutMillis) throws IOException {
+    this.socket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    this.details = DaemonFile.forPort(this.socket.getLocalPort());
+    this.handler = handler;
+    this.requestTimeoutMillis = requestTimeoutMillis;
+  }
+
+  /**
+   * @return what a client needs to send requests to this daemon
+   */
+  public DaemonFile getDetails() {
+    return this.details;
+  }
+
+  /**
+   * Handles requests until a client asks the daemon to stop
+   */
+  public void serve() throws IOException {
+    try {
+      boolean running = true;
+      while (running) {
+        try (Socket client = this.socket.accept()) {
+          running = handle(client);
+        } catch (final IOException ex) {
+          LOG.log(Level.WARNING, "Could not handle request", ex);
+        }
+      }
+    } finally {
+      this.socket.close();
+    }
+  }
+
+  private boolean handle(final Socket client) throws IOException {
+    // a client sends its whole request at once, so one that stalls while
+    // sending it would otherwise block every other client
+    client.setSoTimeout(this.requestTimeoutMillis);
+    final DataInputStream in = new DataInputStream(new BufferedInputStream(
+        client.getInputStream()));
+    final DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(client.getOutputStream()));
+
+    final byte[] token = DaemonProtocol.readBytes(in,
+        DaemonProtocol.MAX_TOKEN_LENGTH);
+    if (!MessageDigest.isEqual(token,
+        this.details.getToken().getBytes(StandardCharsets.UTF_8))) {
+      LOG.warning("Ignoring request without the daemon's token");
+      return true;
+    }
+
+    final byte command = in.readByte();
+    if (command == DaemonProtocol.STOP) {
+      LOG.info("Stopping on request");
+      done(out, null);
+      return false;
+    }
+
+    final File workingDirectory = new File(DaemonProtocol.readString(in));
+    final int count = in.readInt();
+    if ((count < 0) || (count > DaemonProtocol.MAX_ARGUMENTS)) {
+      throw new IOException("Malformed pitest daemon message");
+    }
+    final List<String> args = new ArrayList<>(count);
+    for (int i = 0; i != count; i++) {
+      args.add(DaemonProtocol.readString(in));
+    }
+    // the request has been read, and analysis may take far longer
+    client.setSoTimeout(0);
+    done(out, run(workingDirectory, args, out));
+    return true;
+  }
+
+  private String run(final File workingDirectory, final List<String> args,
+      final DataOutputStream out) {
+    final PrintStream output = new PrintStream(new OutputFrames(out), true);
+    final Handler log = new FlushingHandler(output, formatter());
+
+    final PrintStream stdout = System.out;
+    final PrintStream stderr = System.err;
+    Log.getLogger().addHandler(log);
+    System.setOut(output);
+    System.setErr(output);
+    try {
+      this.handler.run(workingDirectory, args);
+      return null;
+    } catch (final Exception ex) {
+      LOG.log(Level.WARNING, "Request failed", ex);
+      return ex.getMessage() != null ? ex.getMessage() : ex.toString();
+    } finally {
+      System.setOut(stdout);
+      System.setErr(stderr);
+      Log.getLogger().removeHandler(log);
+      output.flush();
+    }
+  }
+
+  private static void done(final DataOutputStream out, final String failure)
+      throws IOException {
+    synchronized (out) {
+      out.writeByte(DaemonProtocol.DONE);
+      out.writeBoolean(failure == null);
+      DaemonProtocol.writeString(out, failure != null ? failure : "");
+      out.flush();
+    }
+  }
+
+  private static Formatter formatter() {
+    return Arrays.stream(Log.getLogger().getHandlers()).findFirst()
+        .map(Handler::getFormatter)
+        .orElseGet(SimpleFormatter::new);
+  }
+
+  /**
+   * Sends whatever is written to it to the client in output frames. Minions
+   * write to the console from their own threads, so frames are written
+   * whole.
+   */
+  private static class OutputFrames extends OutputStream {
+    private final DataOutputStream out;
+
+    OutputFrames(final DataOutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len)
+        throws IOException {
+      synchronized (this.out) {
+        this.out.writeByte(DaemonProtocol.OUTPUT);
+        DaemonProtocol.writeBytes(this.out, b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      synchronized (this.out) {
+        this.out.flush();
+      }
+    }
+  }
+
+  private static class FlushingHandler extends StreamHandler {
+    FlushingHandler(final OutputStream out, final Formatter formatter) {
+      super(out, formatter);
+      setLevel(Level.ALL);
+    }
+
+    @Override
+    public synchronized void publish(final LogRecord record) {
+      super.publish(record);
+      flush();
+    }
+  }
+
+}
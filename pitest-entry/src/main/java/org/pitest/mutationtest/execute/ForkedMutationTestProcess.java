@@ -0,0 +1,74 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.function.BiConsumer;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.ProcessArgs;
+import org.pitest.process.WrappingProcess;
+import org.pitest.util.ExitCode;
+import org.pitest.util.MinionChannel;
+
+public class ForkedMutationTestProcess implements MutationTestProcess {
+
+  private final WrappingProcess                 process;
+  private final MutationTestCommunicationThread thread;
+
+  public ForkedMutationTestProcess(final ServerSocket socket,
+      final ProcessArgs processArgs, final MinionArguments arguments,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
+    this(MinionChannel.socket(socket), processArgs, arguments, onReport);
+  }
+
+  /**
+   * Talks to the minion over the transport configured in the process args
+   */
+  public ForkedMutationTestProcess(final ProcessArgs processArgs,
+      final MinionArguments arguments,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
+    this(processArgs.openChannel(), processArgs, arguments, onReport);
+  }
+
+  private ForkedMutationTestProcess(final MinionChannel channel,
+      final ProcessArgs processArgs, final MinionArguments arguments,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
+    this.process = new WrappingProcess(channel, processArgs,
+        MutationTestMinion.class);
+    this.thread = new MutationTestCommunicationThread(channel, arguments,
+        new HashMap<MutationIdentifier, MutationStatusTestPair>(), onReport);
+  }
+
+  @Override
+  public void start() throws IOException, InterruptedException {
+    this.thread.start();
+    this.process.start();
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) throws IOException {
+
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.thread.getStatus(each.getId());
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    try {
+      return this.thread.waitToFinish();
+    } finally {
+      this.process.destroy();
+    }
+
+  }
+
+}
@@ -0,0 +1,162 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Runs an {@link InProcessMinion} inside this jvm, in a classloader that
+ * shares nothing with the one pitest was loaded by but the jdk. The
+ * classloader is created once and shared by every thread, so the test
+ * framework and the libraries of the project are loaded only once, while
+ * project classes are loaded again for each mutant.
+ *
+ * Project classes are taken to be those in directories on the classpath.
+ * Mutations in classes found only in archives are left for forked minions.
+ *
+ * Tests are stopped from exiting this jvm while in process analysis is in use,
+ * which needs a security manager to be installed. Java 18 and later refuse
+ * this by default, so there every mutation is left for forked minions.
+ * Mutations whose tests try to exit, or time out, are analysed again by a
+ * forked minion. Once a test is left running in this jvm past its time
+ * allowance, or the minion fails, further mutations are left for forked
+ * minions.
+ */
+public class InProcessAnalysis {
+
+  private static final Logger LOG = Log.getLogger();
+
+  private final List<URL>     classPath;
+  private final String        isolatedClassPath;
+
+  private volatile boolean    enabled = true;
+
+  // guarded by this
+  private URLClassLoader      loader;
+  private Method              minion;
+
+  public InProcessAnalysis(final String classPath) {
+    final List<File> entries = Stream.of(classPath.split(File.pathSeparator))
+        .map(File::new).collect(Collectors.toList());
+    this.classPath = toUrls(entries);
+    this.isolatedClassPath = entries.stream().filter(File::isDirectory)
+        .map(File::getAbsolutePath)
+        .collect(Collectors.joining(File.pathSeparator));
+  }
+
+  /**
+   * @return false once mutations should no longer be analysed in this jvm
+   */
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * Analyses the mutations in this thread, passing the minion's messages to
+   * the receive strategy
+   */
+  public ExitCode run(final MinionArguments arguments,
+      final ReceiveStrategy receive) {
+    final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(sent);
+    dos.write(arguments);
+    dos.flush();
+
+    final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    try {
+      minion().invoke(null, this.isolatedClassPath,
+          new ByteArrayInputStream(sent.toByteArray()), received);
+    } catch (final ReflectiveOperationException | LinkageError ex) {
+      LOG.log(Level.WARNING,
+          "Could not analyse mutations in process, using minions", ex);
+      this.enabled = false;
+      return ExitCode.UNKNOWN_ERROR;
+    }
+
+    final ExitCode exitCode = receive(new SafeDataInputStream(
+        new ByteArrayInputStream(received.toByteArray())), receive);
+    if (!exitCode.isOk()) {
+      LOG.fine("In process analysis ended with " + exitCode
+          + ", using minions");
+      this.enabled = false;
+    }
+    return exitCode;
+  }
+
+  /**
+   * Allows the jvm to exit again and releases the classloader
+   */
+  public synchronized void shutdown() {
+    this.enabled = false;
+    if (this.minion != null) {
+      try {
+        this.minion.getDeclaringClass().getMethod("shutdown").invoke(null);
+      } catch (final ReflectiveOperationException ex) {
+        LOG.log(Level.WARNING, "Could not remove in process exit guard", ex);
+      }
+    }
+    if (this.loader != null) {
+      try {
+        this.loader.close();
+      } catch (final IOException ex) {
+        LOG.log(Level.FINE, "Could not close in process classloader", ex);
+      }
+      this.loader = null;
+      this.minion = null;
+    }
+  }
+
+  private synchronized Method minion() throws ReflectiveOperationException {
+    if (this.minion == null) {
+      this.loader = new URLClassLoader(this.classPath.toArray(new URL[0]),
+          ClassLoader.getSystemClassLoader().getParent());
+      this.minion = this.loader.loadClass(InProcessMinion.class.getName())
+          .getMethod("run", String.class, InputStream.class,
+              OutputStream.class);
+    }
+    return this.minion;
+  }
+
+  private static ExitCode receive(final SafeDataInputStream is,
+      final ReceiveStrategy receive) {
+    byte control = is.readByte();
+    while (control != Id.DONE) {
+      receive.apply(control, is);
+      control = is.readByte();
+    }
+    return ExitCode.fromCode(is.readInt());
+  }
+
+  private static List<URL> toUrls(final List<File> entries) {
+    final List<URL> urls = new ArrayList<>();
+    for (final File each : entries) {
+      try {
+        urls.add(each.toURI().toURL());
+      } catch (final MalformedURLException ex) {
+        LOG.log(Level.FINE, "Could not add " + each + " to classpath", ex);
+      }
+    }
+    return urls;
+  }
+
+}
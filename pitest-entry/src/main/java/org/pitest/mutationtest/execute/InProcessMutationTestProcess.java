@@ -0,0 +1,100 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.ExitCode;
+
+/**
+ * Analyses mutations inside this jvm, then forks a minion for those that
+ * could not be.
+ *
+ * Mutations that timed out in this jvm are analysed again by the minion, as
+ * the time a test takes here is affected by everything else pitest is doing.
+ */
+public class InProcessMutationTestProcess implements MutationTestProcess {
+
+  private final InProcessAnalysis                                      analysis;
+  private final Collection<MutationDetails>                            mutations;
+  private final MinionArguments                                        arguments;
+  private final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport;
+  private final Function<Collection<MutationDetails>, MutationTestProcess> fork;
+
+  private final Map<MutationIdentifier, MutationStatusTestPair>        idMap = new HashMap<>();
+
+  private MutationTestProcess                                          forked;
+
+  /**
+   * @param fork
+   *          creates the minion that analyses the mutations left over
+   */
+  public InProcessMutationTestProcess(final InProcessAnalysis analysis,
+      final Collection<MutationDetails> mutations,
+      final MinionArguments arguments,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport,
+      final Function<Collection<MutationDetails>, MutationTestProcess> fork) {
+    this.analysis = analysis;
+    this.mutations = mutations;
+    this.arguments = arguments;
+    this.onReport = onReport;
+    this.fork = fork;
+  }
+
+  @Override
+  public void start() throws IOException, InterruptedException {
+    this.analysis.run(this.arguments, new MutationTestCommunicationThread.Receive(
+        this.idMap, (id, status) -> {
+          if (isFinished(status)) {
+            this.onReport.accept(id, status);
+          }
+        }));
+
+    final List<MutationDetails> leftOver = this.mutations.stream()
+        .filter(m -> !isFinished(this.idMap.get(m.getId())))
+        .collect(Collectors.toList());
+    if (!leftOver.isEmpty()) {
+      this.forked = this.fork.apply(leftOver);
+      this.forked.start();
+    }
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) throws IOException {
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (isFinished(status)) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+
+    if (this.forked != null) {
+      this.forked.results(allmutations);
+    }
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    if (this.forked != null) {
+      return this.forked.waitToDie();
+    }
+    return ExitCode.OK;
+  }
+
+  private static boolean isFinished(final MutationStatusTestPair status) {
+    return (status != null)
+        && (status.getStatus() != DetectionStatus.STARTED)
+        && (status.getStatus() != DetectionStatus.TIMED_OUT);
+  }
+
+}
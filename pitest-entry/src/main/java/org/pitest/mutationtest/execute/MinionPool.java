@@ -0,0 +1,110 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+
+/**
+ * Keeps mutation test minions alive between mutation test units so the cost
+ * of launching a jvm, scanning the classpath and discovering tests is paid
+ * once per minion rather than once per unit.
+ *
+ * A minion is only returned to the pool when it finished its last batch
+ * cleanly. Minions that crash, time out or trip the memory watchdog are
+ * destroyed, as are those that have analysed more than the configured
+ * number of mutations.
+ */
+public class MinionPool {
+
+  private static final Logger       LOG      = Log.getLogger();
+
+  private final Queue<PooledMinion> idle     = new ConcurrentLinkedQueue<>();
+  private final int                 maxMutationsPerMinion;
+
+  private final AtomicInteger       launched = new AtomicInteger();
+  private final AtomicInteger       batches  = new AtomicInteger();
+  private final AtomicInteger       recycled = new AtomicInteger();
+
+  /**
+   * @param maxMutationsPerMinion
+   *          number of mutations after which a minion is replaced, or 0 to
+   *          keep minions for the whole run
+   */
+  public MinionPool(final int maxMutationsPerMinion) {
+    this.maxMutationsPerMinion = maxMutationsPerMinion;
+  }
+
+  PooledMinion acquire(final ProcessArgs args) throws IOException {
+    this.batches.incrementAndGet();
+    final PooledMinion minion = this.idle.poll();
+    if (minion != null) {
+      return minion;
+    }
+    return launch(args);
+  }
+
+  void release(final PooledMinion minion, final ExitCode exitCode) {
+    if (!exitCode.isOk()) {
+      this.recycled.incrementAndGet();
+      minion.destroy();
+    } else if (isExhausted(minion)) {
+      this.recycled.incrementAndGet();
+      minion.shutdown();
+    } else {
+      this.idle.add(minion);
+    }
+  }
+
+  public void shutdown() {
+    PooledMinion each = this.idle.poll();
+    while (each != null) {
+      each.shutdown();
+      each = this.idle.poll();
+    }
+    LOG.info(describe());
+  }
+
+  public int minionsLaunched() {
+    return this.launched.get();
+  }
+
+  public int batchesRun() {
+    return this.batches.get();
+  }
+
+  /**
+   * Proportion of batches that ran in an already running minion
+   */
+  public double reuseRate() {
+    final int total = this.batches.get();
+    if (total == 0) {
+      return 0;
+    }
+    return (double) (total - this.launched.get()) / total;
+  }
+
+  public String describe() {
+    return "Minion pool ran " + this.batches.get() + " units in "
+        + this.launched.get() + " minions (" + this.recycled.get()
+        + " recycled). Reuse rate " + Math.round(reuseRate() * 100) + "%";
+  }
+
+  private boolean isExhausted(final PooledMinion minion) {
+    return (this.maxMutationsPerMinion > 0)
+        && (minion.mutationsAnalysed() >= this.maxMutationsPerMinion);
+  }
+
+  private PooledMinion launch(final ProcessArgs args) throws IOException {
+    final PooledMinion minion = new PooledMinion(args.openChannel(), args);
+    minion.start();
+    this.launched.incrementAndGet();
+    return minion;
+  }
+
+}
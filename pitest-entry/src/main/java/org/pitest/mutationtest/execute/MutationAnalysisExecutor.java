@@ -1,13 +1,17 @@
 package org.pitest.mutationtest.execute;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import org.pitest.functional.FCollection;
@@ -15,22 +19,44 @@ import org.pitest.mutationtest.ClassMutationResults;
 import org.pitest.mutationtest.MutationMetaData;
 import org.pitest.mutationtest.MutationResultListener;
 import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.MutationAnalysisUnitSource;
 import org.pitest.util.Log;
 import org.pitest.util.Unchecked;
 
 public class MutationAnalysisExecutor {
 
-  private static final Logger                LOG = Log.getLogger();
+  private static final Logger                LOG                   = Log
+      .getLogger();
+
+  // results for completed classes are handed to the listeners through a
+  // queue of this size. Analysis blocks if listeners fall this far behind.
+  static final int                           RESULT_QUEUE_CAPACITY = 64;
+
+  private static final long                  POLL_MILLIS           = 100;
+
+  private static final Future<MutationMetaData> NO_MORE_UNITS        = CompletableFuture
+      .completedFuture(null);
 
   private final List<MutationResultListener> listeners;
-  private final ThreadPoolExecutor           executor;
+  private final int                          numberOfThreads;
+  private final boolean                      workStealing;
 
   public MutationAnalysisExecutor(int numberOfThreads,
       List<MutationResultListener> listeners) {
+    this(numberOfThreads, listeners, false);
+  }
+
+  /**
+   * @param workStealing
+   *          if true idle threads split work from running units, and results
+   *          are passed to listeners as soon as each unit completes rather
+   *          than in the order units were submitted
+   */
+  public MutationAnalysisExecutor(int numberOfThreads,
+      List<MutationResultListener> listeners, boolean workStealing) {
     this.listeners = listeners;
-    this.executor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
-        10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
-        Executors.defaultThreadFactory());
+    this.numberOfThreads = numberOfThreads;
+    this.workStealing = workStealing;
   }
 
   // entry point for mutation testing
@@ -38,19 +64,24 @@ public class MutationAnalysisExecutor {
 
     LOG.fine("Running " + testUnits.size() + " units");
 
-    signalRunStartToAllListeners();
-
-    final List<Future<MutationMetaData>> results = new ArrayList<>(
-        testUnits.size());
+    run(testUnits::forEach);
+  }
 
-    for (final MutationAnalysisUnit unit : testUnits) {
-      results.add(this.executor.submit(unit));
-    }
+  /**
+   * Analyses units as they are produced, so analysis may start before every
+   * unit has been built
+   */
+  public void run(final MutationAnalysisUnitSource testUnits) {
 
-    this.executor.shutdown();
+    signalRunStartToAllListeners();
 
     try {
-      processResult(results);
+      if (this.workStealing) {
+        new WorkStealingScheduler(this.numberOfThreads, RESULT_QUEUE_CAPACITY)
+            .run(testUnits, r -> processResult(r));
+      } else {
+        runInSubmissionOrder(testUnits);
+      }
     } catch (final InterruptedException e) {
       throw Unchecked.translateCheckedException(e);
     } catch (final ExecutionException e) {
@@ -61,18 +92,88 @@ public class MutationAnalysisExecutor {
 
   }
 
-  private void processResult(List<Future<MutationMetaData>> results)
+  private void runInSubmissionOrder(final MutationAnalysisUnitSource testUnits)
       throws InterruptedException, ExecutionException {
-    for (final Future<MutationMetaData> f : results) {
-      final MutationMetaData r = f.get();
-      for (final MutationResultListener l : this.listeners) {
-        for (final ClassMutationResults cr : r.toClassResults()) {
-          l.handleMutationResult(cr);
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        this.numberOfThreads, this.numberOfThreads, 10, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), Executors.defaultThreadFactory());
+
+    final BlockingQueue<ClassMutationResults> completedClasses = new ArrayBlockingQueue<>(
+        RESULT_QUEUE_CAPACITY);
+
+    // units are submitted by a separate thread as they are produced, and
+    // their results handled here in the same order
+    final BlockingQueue<Future<MutationMetaData>> results = new LinkedBlockingQueue<>();
+    final ExecutorService producer = Executors.newSingleThreadExecutor();
+    final Future<?> production = producer.submit(() -> {
+      try {
+        testUnits.produce(unit -> results.add(executor.submit(() -> unit
+            .analyse(putTo(completedClasses)))));
+      } finally {
+        results.add(NO_MORE_UNITS);
+      }
+    });
+    producer.shutdown();
+
+    try {
+      Future<MutationMetaData> f = nextUnit(results, completedClasses);
+      while (f != NO_MORE_UNITS) {
+        while (!f.isDone()) {
+          drain(completedClasses, POLL_MILLIS);
+        }
+        drain(completedClasses, 0);
+        for (final ClassMutationResults cr : f.get().toClassResults()) {
+          processResult(cr);
         }
+        f = nextUnit(results, completedClasses);
       }
+      production.get();
+    } finally {
+      executor.shutdownNow();
+      producer.shutdownNow();
+    }
+  }
+
+  private Future<MutationMetaData> nextUnit(
+      final BlockingQueue<Future<MutationMetaData>> results,
+      final BlockingQueue<ClassMutationResults> completedClasses)
+      throws InterruptedException {
+    Future<MutationMetaData> f = results.poll(POLL_MILLIS,
+        TimeUnit.MILLISECONDS);
+    while (f == null) {
+      drain(completedClasses, 0);
+      f = results.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    return f;
+  }
+
+  private void drain(final BlockingQueue<ClassMutationResults> queue,
+      final long timeoutMillis) throws InterruptedException {
+    ClassMutationResults each = queue.poll(timeoutMillis,
+        TimeUnit.MILLISECONDS);
+    while (each != null) {
+      processResult(each);
+      each = queue.poll();
+    }
+  }
+
+  private void processResult(final ClassMutationResults cr) {
+    for (final MutationResultListener l : this.listeners) {
+      l.handleMutationResult(cr);
     }
   }
 
+  static <T> Consumer<T> putTo(final BlockingQueue<T> queue) {
+    return a -> {
+      try {
+        queue.put(a);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw Unchecked.translateCheckedException(e);
+      }
+    };
+  }
+
   private void signalRunStartToAllListeners() {
     FCollection.forEach(this.listeners,
         a -> a.runStart());
@@ -16,6 +16,7 @@ package org.pitest.mutationtest.execute;
 
 import java.net.ServerSocket;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 
 import org.pitest.functional.SideEffect1;
@@ -25,6 +26,7 @@ import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.CommunicationThread;
 import org.pitest.util.Id;
 import org.pitest.util.Log;
+import org.pitest.util.MinionChannel;
 import org.pitest.util.ReceiveStrategy;
 import org.pitest.util.SafeDataInputStream;
 import org.pitest.util.SafeDataOutputStream;
@@ -47,12 +49,19 @@ public class MutationTestCommunicationThread extends CommunicationThread {
     }
   }
 
-  private static class Receive implements ReceiveStrategy {
+  static class Receive implements ReceiveStrategy {
 
-    private final Map<MutationIdentifier, MutationStatusTestPair> idMap;
+    private final Map<MutationIdentifier, MutationStatusTestPair>        idMap;
+    private final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport;
 
     Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
+      this(idMap, (id, status) -> { });
+    }
+
+    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+        final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
       this.idMap = idMap;
+      this.onReport = onReport;
     }
 
     @Override
@@ -68,15 +77,16 @@ public class MutationTestCommunicationThread extends CommunicationThread {
     }
 
     private void handleReport(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
+      final MutationIdentifier mutation = is.read(MutationCodecs.MUTATION_ID);
       final MutationStatusTestPair value = is
-          .read(MutationStatusTestPair.class);
+          .read(MutationCodecs.MUTATION_STATUS);
       this.idMap.put(mutation, value);
       LOG.fine(mutation + " " + value);
+      this.onReport.accept(mutation, value);
     }
 
     private void handleDescribe(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
+      final MutationIdentifier mutation = is.read(MutationCodecs.MUTATION_ID);
       this.idMap.put(mutation, MutationStatusTestPair.notAnalysed(1,
           DetectionStatus.STARTED));
     }
@@ -88,7 +98,25 @@ public class MutationTestCommunicationThread extends CommunicationThread {
   public MutationTestCommunicationThread(final ServerSocket socket,
       final MinionArguments arguments,
       final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
-    super(socket, new SendData(arguments), new Receive(idMap));
+    this(socket, arguments, idMap, (id, status) -> { });
+  }
+
+  /**
+   * @param onReport
+   *          called on the communication thread as each result is received
+   */
+  public MutationTestCommunicationThread(final ServerSocket socket,
+      final MinionArguments arguments,
+      final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
+    this(MinionChannel.socket(socket), arguments, idMap, onReport);
+  }
+
+  public MutationTestCommunicationThread(final MinionChannel channel,
+      final MinionArguments arguments,
+      final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
+    super(channel, new SendData(arguments), new Receive(idMap, onReport));
     this.idMap = idMap;
   }
 
@@ -0,0 +1,106 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.process.ProcessArgs;
+import org.pitest.process.WrappingProcess;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.MinionChannel;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * A mutation test minion that remains connected after analysing a batch of
+ * mutations, so that it can be handed further batches.
+ */
+class PooledMinion {
+
+  private static final Logger   LOG = Log.getLogger();
+
+  private final MinionChannel   channel;
+  private final WrappingProcess process;
+
+  private SafeDataInputStream   is;
+  private SafeDataOutputStream  os;
+
+  private int                   batches;
+  private int                   mutationsAnalysed;
+
+  PooledMinion(final MinionChannel channel, final ProcessArgs processArgs) {
+    this.channel = channel;
+    this.process = new WrappingProcess(channel, processArgs,
+        MutationTestMinion.class);
+  }
+
+  void start() throws IOException {
+    this.process.start();
+  }
+
+  /**
+   * Sends a batch of mutations to the minion and blocks until it reports it
+   * has finished with them.
+   */
+  ExitCode run(final MinionArguments arguments, final ReceiveStrategy receive) {
+    try {
+      connect();
+      if (this.batches != 0) {
+        this.os.writeBoolean(true);
+      }
+      this.os.write(arguments);
+      this.os.flush();
+      this.batches++;
+      this.mutationsAnalysed += arguments.mutations.size();
+      return receiveResults(receive);
+    } catch (final IOException | RuntimeException e) {
+      LOG.log(Level.WARNING, "Lost contact with minion", e);
+      return ExitCode.UNKNOWN_ERROR;
+    }
+  }
+
+  int mutationsAnalysed() {
+    return this.mutationsAnalysed;
+  }
+
+  /**
+   * Tells the minion there is no more work, then makes sure it is gone.
+   */
+  void shutdown() {
+    if (this.os != null) {
+      try {
+        this.os.writeBoolean(false);
+        this.os.flush();
+      } catch (final RuntimeException e) {
+        LOG.fine("Minion already gone");
+      }
+    }
+    destroy();
+  }
+
+  void destroy() {
+    this.channel.close();
+    this.process.destroy();
+  }
+
+  private void connect() throws IOException {
+    if (this.is == null) {
+      this.channel.accept();
+      this.is = new SafeDataInputStream(this.channel.getInputStream());
+      this.os = new SafeDataOutputStream(this.channel.getOutputStream());
+    }
+  }
+
+  private ExitCode receiveResults(final ReceiveStrategy receive) {
+    byte control = this.is.readByte();
+    while (control != Id.DONE) {
+      receive.apply(control, this.is);
+      control = this.is.readByte();
+    }
+    return ExitCode.fromCode(this.is.readInt());
+  }
+
+}
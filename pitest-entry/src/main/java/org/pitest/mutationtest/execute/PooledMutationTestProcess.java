@@ -0,0 +1,61 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+
+/**
+ * Runs a range of mutations in a minion borrowed from a {@link MinionPool}.
+ */
+public class PooledMutationTestProcess implements MutationTestProcess {
+
+  private final MinionPool                                             pool;
+  private final ProcessArgs                                            processArgs;
+  private final MinionArguments                                        arguments;
+  private final Map<MutationIdentifier, MutationStatusTestPair>        idMap = new HashMap<>();
+  private final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport;
+
+  private PooledMinion                                                 minion;
+
+  public PooledMutationTestProcess(final MinionPool pool,
+      final ProcessArgs processArgs, final MinionArguments arguments,
+      final BiConsumer<MutationIdentifier, MutationStatusTestPair> onReport) {
+    this.pool = pool;
+    this.processArgs = processArgs;
+    this.arguments = arguments;
+    this.onReport = onReport;
+  }
+
+  @Override
+  public void start() throws IOException, InterruptedException {
+    this.minion = this.pool.acquire(this.processArgs);
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) throws IOException {
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    final ExitCode exitCode = this.minion.run(this.arguments,
+        new MutationTestCommunicationThread.Receive(this.idMap,
+            this.onReport));
+    this.pool.release(this.minion, exitCode);
+    return exitCode;
+  }
+
+}
@@ -0,0 +1,202 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.MutationAnalysisUnitSource;
+import org.pitest.util.Log;
+
+/**
+ * Runs mutation analysis units on a fixed number of threads that take work
+ * from a shared queue.
+ *
+ * Once the queue is empty an idle thread splits the work that has not yet
+ * started from the running unit with the most left to do, rather than waiting
+ * for it to finish. Idle threads keep looking for work to split until every
+ * unit has finished, as splitting a unit gives others more to split. Results are handed back on the calling thread as each class or unit
+ * completes.
+ *
+ * Units are taken from a source running on its own thread, so workers may
+ * start before every unit has been produced.
+ */
+class WorkStealingScheduler {
+
+  private static final Logger               LOG             = Log.getLogger();
+
+  private static final Completion           WORKER_FINISHED = new Completion(
+      null, null);
+
+  // idle workers look for work to steal this often while units are still
+  // being produced or run
+  private static final long                 STEAL_MILLIS    = 100;
+
+  private final int                         threads;
+
+  // guarded by this
+  private final Deque<MutationAnalysisUnit> queue           = new ArrayDeque<>();
+  private final List<MutationAnalysisUnit>  running         = new ArrayList<>();
+  private boolean                           producing       = true;
+
+  // bounded so that analysis cannot run far ahead of the result handler
+  private final BlockingQueue<Completion>   completed;
+
+  WorkStealingScheduler(final int threads, final int resultCapacity) {
+    this.threads = Math.max(1, threads);
+    this.completed = new LinkedBlockingQueue<>(resultCapacity);
+  }
+
+  void run(final MutationAnalysisUnitSource units,
+      final Consumer<ClassMutationResults> resultHandler)
+      throws InterruptedException, ExecutionException {
+    final ExecutorService executor = Executors
+        .newFixedThreadPool(this.threads + 1);
+    try {
+      executor.execute(() -> produce(units));
+      for (int i = 0; i != this.threads; i++) {
+        executor.execute(() -> work());
+      }
+      executor.shutdown();
+
+      int finishedWorkers = 0;
+      while (finishedWorkers != this.threads) {
+        final Completion each = this.completed.take();
+        if (each == WORKER_FINISHED) {
+          finishedWorkers++;
+        } else if (each.error != null) {
+          throw new ExecutionException(each.error);
+        } else {
+          each.results.forEach(resultHandler);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void produce(final MutationAnalysisUnitSource units) {
+    try {
+      units.produce(this::add);
+    } catch (final Throwable t) {
+      complete(new Completion(null, t));
+    } finally {
+      finishedProducing();
+    }
+  }
+
+  private synchronized void add(final MutationAnalysisUnit unit) {
+    this.queue.add(unit);
+    notifyAll();
+  }
+
+  private synchronized void finishedProducing() {
+    this.producing = false;
+    notifyAll();
+  }
+
+  private void work() {
+    try {
+      MutationAnalysisUnit unit = next();
+      while (unit != null) {
+        try {
+          final MutationMetaData remaining = unit.analyse(
+              r -> complete(new Completion(Collections.singletonList(r), null)));
+          complete(new Completion(remaining.toClassResults(), null));
+        } catch (final Throwable t) {
+          complete(new Completion(null, t));
+        } finally {
+          finished(unit);
+        }
+        unit = next();
+      }
+    } finally {
+      complete(WORKER_FINISHED);
+    }
+  }
+
+  private void complete(final Completion completion) {
+    try {
+      this.completed.put(completion);
+    } catch (final InterruptedException e) {
+      // the handler has stopped after an error so there is nobody left to
+      // tell
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private synchronized MutationAnalysisUnit next() {
+    MutationAnalysisUnit unit = take();
+    while ((unit == null) && (this.producing || !this.running.isEmpty())) {
+      try {
+        wait(STEAL_MILLIS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      unit = take();
+    }
+    if (unit != null) {
+      this.running.add(unit);
+    }
+    return unit;
+  }
+
+  private MutationAnalysisUnit take() {
+    final MutationAnalysisUnit unit = this.queue.poll();
+    if (unit == null) {
+      final MutationAnalysisUnit stolen = steal();
+      if (stolen != null) {
+        // the new unit can itself be split by other idle threads
+        notifyAll();
+      }
+      return stolen;
+    }
+    return unit;
+  }
+
+  private MutationAnalysisUnit steal() {
+    final List<MutationAnalysisUnit> candidates = new ArrayList<>(this.running);
+    candidates.sort(Comparator.comparingLong(
+        MutationAnalysisUnit::remainingCost).reversed());
+    for (final MutationAnalysisUnit each : candidates) {
+      final Optional<MutationAnalysisUnit> stolen = each.split();
+      if (stolen.isPresent()) {
+        LOG.fine("Split work from a running unit to an idle thread");
+        return stolen.get();
+      }
+    }
+    return null;
+  }
+
+  private synchronized void finished(final MutationAnalysisUnit unit) {
+    this.running.remove(unit);
+    notifyAll();
+  }
+
+  private static class Completion {
+    private final Collection<ClassMutationResults> results;
+    private final Throwable                        error;
+
+    Completion(final Collection<ClassMutationResults> results,
+        final Throwable error) {
+      this.results = results;
+      this.error = error;
+    }
+  }
+
+}
@@ -0,0 +1,341 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Reads history written by {@link BinaryHistoryWriter}.
+ *
+ * The file is scanned once when opened to build the string table, the class
+ * path history and an index of result record offsets by class. Results are
+ * only decoded when they are requested, a class at a time, and only the most
+ * recently requested classes are held in memory.
+ */
+final class BinaryHistoryReader implements Closeable {
+
+  private static final Logger                LOG            = Log.getLogger();
+
+  private static final int                   CACHED_CLASSES = 64;
+
+  private static final DetectionStatus[]     STATUSES       = DetectionStatus
+      .values();
+
+  private final RandomAccessFile             file;
+  private final List<String>                 strings        = new ArrayList<>();
+  private final Map<ClassName, ClassHistory> classPath      = new HashMap<>();
+  private final Map<ClassName, Offsets>      index          = new HashMap<>();
+  private int                                resultCount;
+
+  private final Map<ClassName, Map<MutationIdentifier, MutationStatusTestPair>> decoded = new LinkedHashMap<ClassName, Map<MutationIdentifier, MutationStatusTestPair>>(
+      16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(
+        final Map.Entry<ClassName, Map<MutationIdentifier, MutationStatusTestPair>> eldest) {
+      return size() > CACHED_CLASSES;
+    }
+  };
+
+  private BinaryHistoryReader(final RandomAccessFile file) {
+    this.file = file;
+  }
+
+  static BinaryHistoryReader open(final File source) throws IOException {
+    final BinaryHistoryReader reader = new BinaryHistoryReader(
+        new RandomAccessFile(source, "r"));
+    try (CountingInputStream counter = new CountingInputStream(
+        new BufferedInputStream(new FileInputStream(source)))) {
+      reader.scan(counter);
+      return reader;
+    } catch (final IOException ex) {
+      reader.close();
+      throw ex;
+    }
+  }
+
+  Map<ClassName, ClassHistory> classPath() {
+    return this.classPath;
+  }
+
+  Map<MutationIdentifier, MutationStatusTestPair> results() {
+    return new HistoricResults();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.file.close();
+  }
+
+  private void scan(final CountingInputStream counter) throws IOException {
+    final DataInputStream in = new DataInputStream(counter);
+    if (in.readInt() != BinaryHistoryStore.MAGIC) {
+      throw new IOException("Not a binary history file");
+    }
+    final int version = in.readUnsignedByte();
+    if (version != BinaryHistoryStore.VERSION) {
+      throw new IOException("Unsupported history file version " + version);
+    }
+
+    final Map<Integer, Offsets> offsetsByClass = new HashMap<>();
+    try {
+      int tag = in.read();
+      while (tag != -1) {
+        switch (tag) {
+        case BinaryHistoryStore.STRING:
+          this.strings.add(readString(in));
+          break;
+        case BinaryHistoryStore.CLASS:
+          readClass(in);
+          break;
+        case BinaryHistoryStore.RESULT:
+          final int clazz = readVarint(in);
+          final long offset = counter.position();
+          final int length = readVarint(in);
+          // FileInputStream will happily skip past the end of the file
+          if ((in.skipBytes(length) != length)
+              || (counter.position() > this.file.length())) {
+            throw new EOFException();
+          }
+          offsetsByClass.computeIfAbsent(clazz, k -> new Offsets()).add(offset);
+          this.resultCount++;
+          break;
+        default:
+          throw new IOException("Unexpected record type " + tag
+              + " in history file");
+        }
+        tag = in.read();
+      }
+    } catch (final EOFException ex) {
+      LOG.warning("History file is truncated. Ignoring final record.");
+    }
+
+    for (final Map.Entry<Integer, Offsets> each : offsetsByClass.entrySet()) {
+      this.index.put(className(each.getKey()), each.getValue());
+    }
+  }
+
+  private void readClass(final DataInput in) throws IOException {
+    final ClassName name = className(readVarint(in));
+    final long hash = in.readLong();
+    final String hierarchicalHash = readString(in);
+    final String coverageId = readString(in);
+    this.classPath.put(name, new ClassHistory(new HierarchicalClassId(hash,
+        name, hierarchicalHash), coverageId));
+  }
+
+  private synchronized Map<MutationIdentifier, MutationStatusTestPair> resultsFor(
+      final ClassName clazz) {
+    final Map<MutationIdentifier, MutationStatusTestPair> cached = this.decoded
+        .get(clazz);
+    if (cached != null) {
+      return cached;
+    }
+    final Offsets offsets = this.index.get(clazz);
+    if (offsets == null) {
+      return Collections.emptyMap();
+    }
+    final Map<MutationIdentifier, MutationStatusTestPair> results = decode(
+        clazz, offsets);
+    this.decoded.put(clazz, results);
+    return results;
+  }
+
+  private Map<MutationIdentifier, MutationStatusTestPair> decode(
+      final ClassName clazz, final Offsets offsets) {
+    try {
+      final Map<MutationIdentifier, MutationStatusTestPair> results = new HashMap<>();
+      for (int i = 0; i != offsets.size; i++) {
+        this.file.seek(offsets.values[i]);
+        final byte[] payload = new byte[readVarint(this.file)];
+        this.file.readFully(payload);
+        readResult(clazz, new DataInputStream(new ByteArrayInputStream(
+            payload)), results);
+      }
+      return results;
+    } catch (final IOException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  private void readResult(final ClassName clazz, final DataInput in,
+      final Map<MutationIdentifier, MutationStatusTestPair> results)
+      throws IOException {
+    final MethodName method = MethodName.fromString(string(readVarint(in)));
+    final String desc = string(readVarint(in));
+    final String mutator = string(readVarint(in));
+    final int numberOfIndexes = readVarint(in);
+    final List<Integer> indexes = new ArrayList<>(numberOfIndexes);
+    for (int i = 0; i != numberOfIndexes; i++) {
+      indexes.add(readVarint(in));
+    }
+    final DetectionStatus status = STATUSES[readVarint(in)];
+    final int testsRun = readVarint(in);
+    final List<String> killing = readStrings(in);
+    final List<String> succeeding = readStrings(in);
+
+    results.put(new MutationIdentifier(Location.location(clazz, method, desc),
+        indexes, mutator), new MutationStatusTestPair(testsRun, status,
+        killing, succeeding));
+  }
+
+  private List<String> readStrings(final DataInput in) throws IOException {
+    final int count = readVarint(in);
+    if (count == 0) {
+      return Collections.emptyList();
+    }
+    final List<String> values = new ArrayList<>(count);
+    for (int i = 0; i != count; i++) {
+      values.add(string(readVarint(in)));
+    }
+    return values;
+  }
+
+  private ClassName className(final int id) throws IOException {
+    return ClassName.fromString(string(id));
+  }
+
+  private String string(final int id) throws IOException {
+    if (id >= this.strings.size()) {
+      throw new IOException("Undefined string " + id + " in history file");
+    }
+    return this.strings.get(id);
+  }
+
+  private static String readString(final DataInput in) throws IOException {
+    final byte[] bytes = new byte[readVarint(in)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static int readVarint(final DataInput in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      final int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint in history file");
+  }
+
+  /**
+   * Read only view of the historic results that decodes each class on first
+   * access
+   */
+  private class HistoricResults extends
+      AbstractMap<MutationIdentifier, MutationStatusTestPair> {
+
+    @Override
+    public MutationStatusTestPair get(final Object key) {
+      if (!(key instanceof MutationIdentifier)) {
+        return null;
+      }
+      return resultsFor(((MutationIdentifier) key).getClassName()).get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+      return BinaryHistoryReader.this.resultCount;
+    }
+
+    @Override
+    public Set<Map.Entry<MutationIdentifier, MutationStatusTestPair>> entrySet() {
+      final Map<MutationIdentifier, MutationStatusTestPair> all = new HashMap<>();
+      for (final ClassName each : BinaryHistoryReader.this.index.keySet()) {
+        all.putAll(resultsFor(each));
+      }
+      return Collections.unmodifiableMap(all).entrySet();
+    }
+
+  }
+
+  private static class Offsets {
+    private long[] values = new long[4];
+    private int    size;
+
+    void add(final long offset) {
+      if (this.size == this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.size * 2);
+      }
+      this.values[this.size++] = offset;
+    }
+  }
+
+  private static class CountingInputStream extends FilterInputStream {
+    private long position;
+
+    CountingInputStream(final InputStream in) {
+      super(in);
+    }
+
+    long position() {
+      return this.position;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int b = super.read();
+      if (b != -1) {
+        this.position++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len)
+        throws IOException {
+      final int read = super.read(b, off, len);
+      if (read > 0) {
+        this.position += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+      final long skipped = super.skip(n);
+      this.position += skipped;
+      return skipped;
+    }
+  }
+
+}
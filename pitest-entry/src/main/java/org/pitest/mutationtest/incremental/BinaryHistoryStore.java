@@ -0,0 +1,177 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * History store using a compact binary format.
+ *
+ * Strings are written once to a table and referenced by varint ids, and
+ * results for previous runs are decoded lazily a class at a time rather than
+ * being loaded into memory up front.
+ */
+public class BinaryHistoryStore implements HistoryStore {
+
+  static final int                                        MAGIC             = 0x50495448;
+  static final int                                        VERSION           = 1;
+
+  static final int                                        STRING            = 1;
+  static final int                                        CLASS             = 2;
+  static final int                                        RESULT            = 3;
+
+  private static final Logger                             LOG               = Log
+      .getLogger();
+
+  private final File                                      input;
+  private final File                                      output;
+
+  private BinaryHistoryReader                             reader;
+  private BinaryHistoryWriter                             writer;
+  private File                                            pendingOutput;
+
+  private Map<MutationIdentifier, MutationStatusTestPair> previousResults   = Collections
+      .emptyMap();
+  private Map<ClassName, ClassHistory>                    previousClassPath = Collections
+      .emptyMap();
+
+  /**
+   * @param input
+   *          file to read history from, or null
+   * @param output
+   *          file to write history to, or null. May be the same file as the
+   *          input.
+   */
+  public BinaryHistoryStore(final File input, final File output) {
+    this.input = input;
+    this.output = output;
+  }
+
+  @Override
+  public void initialize() {
+    if ((this.input == null) || !this.input.exists()
+        || (this.input.length() == 0)) {
+      return;
+    }
+    try {
+      this.reader = BinaryHistoryReader.open(this.input);
+      this.previousClassPath = this.reader.classPath();
+      this.previousResults = this.reader.results();
+    } catch (final IOException e) {
+      LOG.warning("Could not read previous history " + e.getMessage());
+    }
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    try {
+      final BinaryHistoryWriter w = writer();
+      if (w == null) {
+        return;
+      }
+      for (final HierarchicalClassId each : ids) {
+        w.writeClass(new ClassHistory(each,
+            coverageInfo.getCoverageIdForClass(each.getName()).toString(16)));
+      }
+      w.flush();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  @Override
+  public synchronized void recordResult(final MutationResult result) {
+    try {
+      final BinaryHistoryWriter w = writer();
+      if (w != null) {
+        w.writeResult(result.getDetails().getId(), result.getStatusTestPair());
+        w.flush();
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  @Override
+  public Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults() {
+    return this.previousResults;
+  }
+
+  @Override
+  public Map<ClassName, ClassHistory> getHistoricClassPath() {
+    return this.previousClassPath;
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      if (this.writer != null) {
+        this.writer.close();
+      }
+      if (this.reader != null) {
+        this.reader.close();
+      }
+      if (this.pendingOutput != null) {
+        replaceOutput();
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private synchronized BinaryHistoryWriter writer() throws IOException {
+    if ((this.writer == null) && (this.output != null)) {
+      final File parent = this.output.getAbsoluteFile().getParentFile();
+      if (parent != null) {
+        parent.mkdirs();
+      }
+      this.writer = new BinaryHistoryWriter(new FileOutputStream(
+          writableOutput(parent)));
+    }
+    return this.writer;
+  }
+
+  private File writableOutput(final File parent) throws IOException {
+    // results are read lazily while the new history is written, so the
+    // previous history must stay in place until the new one is complete
+    if ((this.input != null)
+        && this.input.getCanonicalFile().equals(
+            this.output.getCanonicalFile())) {
+      this.pendingOutput = Files.createTempFile(parent.toPath(),
+          this.output.getName(), ".tmp").toFile();
+      return this.pendingOutput;
+    }
+    return this.output;
+  }
+
+  private void replaceOutput() throws IOException {
+    try {
+      Files.move(this.pendingOutput.toPath(), this.output.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (final AtomicMoveNotSupportedException e) {
+      Files.move(this.pendingOutput.toPath(), this.output.toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+}
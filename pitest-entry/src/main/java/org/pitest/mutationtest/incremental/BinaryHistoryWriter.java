@@ -0,0 +1,134 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Writes history records in the format read by {@link BinaryHistoryReader}.
+ *
+ * Class, method, mutator and test names are written once to a string table
+ * that is built up as the file is written, and referred to by varint ids
+ * afterwards. Each string is defined before the first record that uses it,
+ * so the file can be read back in a single pass.
+ */
+final class BinaryHistoryWriter implements Closeable {
+
+  private final DataOutputStream      out;
+  private final Map<String, Integer>  strings = new HashMap<>();
+
+  private final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+  private final DataOutputStream      payload      = new DataOutputStream(
+      this.payloadBytes);
+
+  BinaryHistoryWriter(final OutputStream os) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(os));
+    this.out.writeInt(BinaryHistoryStore.MAGIC);
+    this.out.writeByte(BinaryHistoryStore.VERSION);
+  }
+
+  void writeClass(final ClassHistory history) throws IOException {
+    final int name = string(history.getName().asJavaName());
+    this.out.writeByte(BinaryHistoryStore.CLASS);
+    writeVarint(this.out, name);
+    this.out.writeLong(history.getId().getId().getHash());
+    writeString(this.out, history.getId().getHierarchicalHash());
+    writeString(this.out, history.getCoverageId());
+  }
+
+  void writeResult(final MutationIdentifier id,
+      final MutationStatusTestPair result) throws IOException {
+    // ensure all strings are defined before the record that uses them
+    final int clazz = string(id.getClassName().asJavaName());
+    final int method = string(id.getLocation().getMethodName().name());
+    final int desc = string(id.getLocation().getMethodDesc());
+    final int mutator = string(id.getMutator());
+    final int[] killing = strings(result.getKillingTests());
+    final int[] succeeding = strings(result.getSucceedingTests());
+
+    this.payloadBytes.reset();
+    writeVarint(this.payload, method);
+    writeVarint(this.payload, desc);
+    writeVarint(this.payload, mutator);
+    writeVarint(this.payload, id.getIndexes().size());
+    for (final int each : id.getIndexes()) {
+      writeVarint(this.payload, each);
+    }
+    writeVarint(this.payload, result.getStatus().ordinal());
+    writeVarint(this.payload, result.getNumberOfTestsRun());
+    writeIds(this.payload, killing);
+    writeIds(this.payload, succeeding);
+
+    this.out.writeByte(BinaryHistoryStore.RESULT);
+    writeVarint(this.out, clazz);
+    writeVarint(this.out, this.payloadBytes.size());
+    this.payloadBytes.writeTo(this.out);
+  }
+
+  void flush() throws IOException {
+    this.out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.out.close();
+  }
+
+  private int[] strings(final List<String> values) throws IOException {
+    final int[] ids = new int[values.size()];
+    for (int i = 0; i != ids.length; i++) {
+      ids[i] = string(values.get(i));
+    }
+    return ids;
+  }
+
+  private int string(final String value) throws IOException {
+    final Integer existing = this.strings.get(value);
+    if (existing != null) {
+      return existing;
+    }
+    final int id = this.strings.size();
+    this.strings.put(value, id);
+    this.out.writeByte(BinaryHistoryStore.STRING);
+    writeString(this.out, value);
+    return id;
+  }
+
+  private static void writeIds(final DataOutput out, final int[] ids)
+      throws IOException {
+    writeVarint(out, ids.length);
+    for (final int each : ids) {
+      writeVarint(out, each);
+    }
+  }
+
+  private static void writeString(final DataOutput out, final String value)
+      throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarint(out, bytes.length);
+    out.write(bytes);
+  }
+
+  static void writeVarint(final DataOutput out, final int value)
+      throws IOException {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      out.writeByte((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    out.writeByte(remaining);
+  }
+
+}
@@ -0,0 +1,66 @@
+package org.pitest.mutationtest.incremental;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Keeps the history of each run in memory for the next run by the same
+ * process. Initializing the store makes the last run that recorded its
+ * classpath the historic one.
+ */
+public class InMemoryHistoryStore implements HistoryStore {
+
+  private Map<MutationIdentifier, MutationStatusTestPair>       previousResults   = new HashMap<>();
+  private Map<ClassName, ClassHistory>                          previousClassPath = new HashMap<>();
+
+  private final Map<MutationIdentifier, MutationStatusTestPair> results           = new ConcurrentHashMap<>();
+  private final Map<ClassName, ClassHistory>                    classPath         = new ConcurrentHashMap<>();
+
+  @Override
+  public synchronized void initialize() {
+    // a run that failed before recording its classpath leaves results that
+    // cannot be checked against it
+    if (!this.classPath.isEmpty()) {
+      this.previousResults = new HashMap<>(this.results);
+      this.previousClassPath = new HashMap<>(this.classPath);
+    }
+    this.results.clear();
+    this.classPath.clear();
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    for (final HierarchicalClassId each : ids) {
+      this.classPath.put(each.getName(), new ClassHistory(each, coverageInfo
+          .getCoverageIdForClass(each.getName()).toString(16)));
+    }
+  }
+
+  @Override
+  public void recordResult(final MutationResult result) {
+    this.results.put(result.getDetails().getId(), result.getStatusTestPair());
+  }
+
+  @Override
+  public synchronized Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults() {
+    return this.previousResults;
+  }
+
+  @Override
+  public synchronized Map<ClassName, ClassHistory> getHistoricClassPath() {
+    return this.previousClassPath;
+  }
+
+}
@@ -93,6 +93,11 @@ public class ObjectOutputStreamHistoryStore implements HistoryStore {
     }
   }
 
+  @Override
+  public void close() {
+    this.outputFactory.close();
+  }
+
   private void restoreResults() {
     String line;
     try {
@@ -81,6 +81,7 @@ public class CSVReportListener implements MutationResultListener {
             createKillingTestDesc(mutation.getKillingTest()))
             + System.getProperty("line.separator"));
       }
+      this.out.flush();
 
     } catch (final IOException ex) {
       throw Unchecked.translateCheckedException(ex);
@@ -65,6 +65,9 @@ public class XMLReportListener implements MutationResultListener {
     for (final MutationResult mutation : metaData.getMutations()) {
       writeMutationResultXML(mutation);
     }
+    // results arrive as each class completes, so make them visible in case
+    // the run does not finish
+    flush();
   }
 
   private void writeMutationResultXML(final MutationResult result) {
@@ -155,6 +158,14 @@ public class XMLReportListener implements MutationResultListener {
     return clean(builder.toString());
   }
 
+  private void flush() {
+    try {
+      this.out.flush();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
   private void write(final String value) {
     try {
       this.out.write(value);
@@ -0,0 +1,164 @@
+package org.pitest.mutationtest.tooling;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.classpath.CodeSource;
+import org.pitest.classpath.ProjectClassPaths;
+import org.pitest.coverage.execute.CoverageCache;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.config.ReportOptions;
+import org.pitest.mutationtest.config.SettingsFactory;
+import org.pitest.mutationtest.execute.InProcessAnalysis;
+import org.pitest.mutationtest.execute.MinionPool;
+import org.pitest.mutationtest.incremental.InMemoryHistoryStore;
+import org.pitest.process.LaunchOptions;
+import org.pitest.util.Log;
+
+/**
+ * State kept warm between analyses of the same project by a process that
+ * runs many of them, such as a daemon.
+ *
+ * Before each analysis the files on the classpath are checked against those
+ * seen by the last one, reading only those that were touched. While no class
+ * has changed, the classpath, the class information read from it and the
+ * minions launched by the last analysis are used again as they are. Once one
+ * has, they are discarded, as minions may have loaded the old version.
+ *
+ * Coverage and mutation results are held in memory in place of history files,
+ * and reused wherever the classes they depend on are unchanged. The
+ * classloader used to analyse mutations in process loads project classes
+ * afresh for each mutant, so is only discarded when an archive changes.
+ *
+ * Sessions are not thread safe and must analyse one request at a time.
+ */
+public class AnalysisSession {
+
+  private static final Logger  LOG      = Log.getLogger();
+
+  private final ClassFileIndex index    = new ClassFileIndex();
+  private final CoverageCache  coverage = CoverageCache.inMemory();
+  private final HistoryStore   history  = new InMemoryHistoryStore();
+
+  // valid until a class on the classpath changes
+  private CodeSource           code;
+  private JarCreatingJarFinder agentJar;
+  private LaunchOptions        launchOptions;
+  private MinionPool           pool;
+
+  // valid until an archive on the classpath changes
+  private InProcessAnalysis    inProcess;
+
+  /**
+   * Checks the classpath for changes since the last analysis, discarding
+   * whatever they make stale
+   */
+  void prepare(final ReportOptions data, final SettingsFactory settings,
+      final Map<String, String> environmentVariables) {
+    final ProjectClassPaths cps = data.getMutationClassPaths();
+    final Collection<File> changed = this.index.refresh(entries(cps));
+    if ((this.code != null) && changed.isEmpty()) {
+      LOG.info("No classes changed since last analysis");
+      return;
+    }
+
+    if (this.code != null) {
+      LOG.info(changed.size() + " files changed since last analysis");
+      LOG.fine("Changed files are " + changed);
+    }
+    if (changed.stream().anyMatch(f -> !ClassFileIndex.isClassFile(f))) {
+      discardInProcessAnalysis();
+    }
+    discardClasses();
+
+    this.code = new CodeSource(cps);
+    this.agentJar = new JarCreatingJarFinder(new ClassPathByteArraySource(
+        this.code.getClassPath()));
+    this.launchOptions = EntryPoint.createLaunchOptions(
+        new KnownLocationJavaAgentFinder(this.agentJar.getJarLocation().get()),
+        data, settings, environmentVariables);
+  }
+
+  CodeSource code() {
+    return this.code;
+  }
+
+  LaunchOptions launchOptions() {
+    return this.launchOptions;
+  }
+
+  CoverageCache coverageCache() {
+    return this.coverage;
+  }
+
+  HistoryStore history() {
+    return this.history;
+  }
+
+  MinionPool minionPool(final int maxMutationsPerMinion) {
+    if (this.pool == null) {
+      this.pool = new MinionPool(maxMutationsPerMinion);
+    }
+    return this.pool;
+  }
+
+  InProcessAnalysis inProcessAnalysis(final String classPath) {
+    if ((this.inProcess != null) && !this.inProcess.isEnabled()) {
+      discardInProcessAnalysis();
+    }
+    if (this.inProcess == null) {
+      this.inProcess = new InProcessAnalysis(classPath);
+    }
+    return this.inProcess;
+  }
+
+  /**
+   * Shuts down minions and releases everything held by the session
+   */
+  public void close() {
+    discardClasses();
+    discardInProcessAnalysis();
+  }
+
+  private void discardClasses() {
+    if (this.pool != null) {
+      this.pool.shutdown();
+      this.pool = null;
+    }
+    if (this.launchOptions != null) {
+      this.launchOptions.close();
+      this.launchOptions = null;
+    }
+    if (this.agentJar != null) {
+      this.agentJar.close();
+      this.agentJar = null;
+    }
+    if (this.code != null) {
+      this.code.getClassPath().close();
+      this.code = null;
+    }
+  }
+
+  private void discardInProcessAnalysis() {
+    if (this.inProcess != null) {
+      this.inProcess.shutdown();
+      this.inProcess = null;
+    }
+  }
+
+  private static Collection<File> entries(final ProjectClassPaths cps) {
+    // the same directory is often on the classpath by relative and absolute
+    // paths
+    return Stream.of(cps.getClassPath().getLocalClassPath()
+        .split(File.pathSeparator)).filter(s -> !s.isEmpty())
+        .map(s -> new File(s).getAbsoluteFile())
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+}
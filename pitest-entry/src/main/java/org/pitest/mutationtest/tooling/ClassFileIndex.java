@@ -0,0 +1,129 @@
+package org.pitest.mutationtest.tooling;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.pitest.classinfo.AddlerHash;
+import org.pitest.classinfo.HashFunction;
+
+/**
+ * Remembers the files on a classpath so those changed since it was last
+ * refreshed can be found.
+ *
+ * A file whose modification time and size are unchanged is taken to be
+ * unchanged without being read. Class files that were touched are hashed, so
+ * a build that writes the same bytecode again does not count as a change.
+ * Archives are compared by modification time and size alone.
+ */
+class ClassFileIndex {
+
+  private static final String CLASS_FILE = ".class";
+
+  private final HashFunction  hashFunction = new AddlerHash();
+
+  private Map<File, Stamp>    stamps       = new HashMap<>();
+
+  /**
+   * @param classPath
+   *          directories and archives on the classpath
+   * @return files added, removed or changed since the last refresh
+   */
+  Collection<File> refresh(final Collection<File> classPath) {
+    final Map<File, Stamp> current = new HashMap<>();
+    final List<File> changed = new ArrayList<>();
+    for (final File each : filesOn(classPath)) {
+      final Stamp previous = this.stamps.get(each);
+      final Stamp stamp = stamp(each, previous);
+      if ((previous == null) || !previous.hasSameContent(stamp)) {
+        changed.add(each);
+      }
+      current.put(each, stamp);
+    }
+
+    for (final File each : this.stamps.keySet()) {
+      if (!current.containsKey(each)) {
+        changed.add(each);
+      }
+    }
+
+    this.stamps = current;
+    return changed;
+  }
+
+  static boolean isClassFile(final File file) {
+    return file.getName().endsWith(CLASS_FILE);
+  }
+
+  private Stamp stamp(final File file, final Stamp previous) {
+    final long modified = file.lastModified();
+    final long length = file.length();
+    if ((previous != null) && (previous.modified == modified)
+        && (previous.length == length)) {
+      return previous;
+    }
+    if (!isClassFile(file)) {
+      return new Stamp(modified, length, null);
+    }
+    try {
+      return new Stamp(modified, length, this.hashFunction.hash(Files
+          .readAllBytes(file.toPath())));
+    } catch (final IOException ex) {
+      // an unreadable class counts as changed until it can be read
+      return new Stamp(-1, -1, null);
+    }
+  }
+
+  private static List<File> filesOn(final Collection<File> classPath) {
+    final List<File> files = new ArrayList<>();
+    for (final File each : classPath) {
+      if (each.isDirectory()) {
+        addClassFiles(each, files);
+      } else if (each.isFile()) {
+        files.add(each);
+      }
+    }
+    return files;
+  }
+
+  private static void addClassFiles(final File dir, final List<File> files) {
+    final File[] children = dir.listFiles();
+    if (children == null) {
+      return;
+    }
+    for (final File each : children) {
+      if (each.isDirectory()) {
+        addClassFiles(each, files);
+      } else if (isClassFile(each)) {
+        files.add(each);
+      }
+    }
+  }
+
+  private static class Stamp {
+    private final long modified;
+    private final long length;
+    private final Long hash;
+
+    Stamp(final long modified, final long length, final Long hash) {
+      this.modified = modified;
+      this.length = length;
+      this.hash = hash;
+    }
+
+    boolean hasSameContent(final Stamp other) {
+      if ((this.hash != null) && (other.hash != null)) {
+        return this.hash.equals(other.hash);
+      }
+      return (this.modified == other.modified) && (this.length == other.length)
+          && Objects.equals(this.hash, other.hash);
+    }
+  }
+
+}
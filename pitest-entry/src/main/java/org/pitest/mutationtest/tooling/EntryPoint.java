@@ -2,7 +2,6 @@ package org.pitest.mutationtest.tooling;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.util.Map;
 
 import org.pitest.classpath.ClassPath;
@@ -10,19 +9,20 @@ import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.CodeSource;
 import org.pitest.classpath.ProjectClassPaths;
 import org.pitest.coverage.CoverageGenerator;
+import org.pitest.coverage.execute.CoverageCache;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.execute.DefaultCoverageGenerator;
-import java.util.Optional;
 import org.pitest.functional.SideEffect1;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResultListenerFactory;
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
 import org.pitest.mutationtest.incremental.ObjectOutputStreamHistoryStore;
-import org.pitest.mutationtest.incremental.WriterFactory;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParameter;
+import org.pitest.process.ClassDataSharing;
 import org.pitest.process.JavaAgent;
 import org.pitest.process.LaunchOptions;
 import org.pitest.util.Log;
@@ -64,6 +64,64 @@ public class EntryPoint {
   public AnalysisResult execute(File baseDir, ReportOptions data,
       SettingsFactory settings, Map<String, String> environmentVariables) {
 
+    prepare(data, settings);
+
+    // a single classpath is shared by every consumer so archives are only
+    // opened once
+    final ProjectClassPaths cps = data.getMutationClassPaths();
+    final CodeSource code = new CodeSource(cps);
+    final ClassPath cp = code.getClassPath();
+
+    // workaround for apparent java 1.5 JVM bug . . . might not play nicely
+    // with distributed testing
+    final JavaAgent jac = new JarCreatingJarFinder(
+        new ClassPathByteArraySource(cp));
+
+    final KnownLocationJavaAgentFinder ja = new KnownLocationJavaAgentFinder(
+        jac.getJarLocation().get());
+
+    final LaunchOptions launchOptions = createLaunchOptions(ja, data,
+        settings, environmentVariables);
+
+    final HistoryStore history = createHistoryStore(data);
+
+    try {
+      return analyse(baseDir, data, settings, code, launchOptions,
+          CoverageCache.forHistory(data.getHistoryInputLocation(),
+              data.getHistoryOutputLocation()), history, null);
+    } finally {
+      jac.close();
+      ja.close();
+      launchOptions.close();
+      history.close();
+      cp.close();
+    }
+
+  }
+
+  /**
+   * Entry point for tools that analyse the same project many times, such as
+   * a daemon. Whatever the session holds from earlier analyses is reused
+   * where it is still valid, and history is kept in the session rather than
+   * in files.
+   *
+   * @param session
+   *          state kept between analyses of the project
+   */
+  public AnalysisResult execute(File baseDir, ReportOptions data,
+      SettingsFactory settings, Map<String, String> environmentVariables,
+      AnalysisSession session) {
+
+    prepare(data, settings);
+
+    session.prepare(data, settings, environmentVariables);
+
+    return analyse(baseDir, data, settings, session.code(),
+        session.launchOptions(), session.coverageCache(), session.history(),
+        session);
+  }
+
+  private void prepare(ReportOptions data, SettingsFactory settings) {
     if (data.isVerbose()) {
       Log.getLogger().info("---------------------------------------------------------------------------");
       Log.getLogger().info("Enabled (+) and disabled (-) features.");
@@ -75,19 +133,12 @@ public class EntryPoint {
     checkMatrixMode(data);
     
     selectTestPlugin(data);
+  }
 
-    final ClassPath cp = data.getClassPath();
-
-    final Optional<Reader> reader = data.createHistoryReader();
-    final WriterFactory historyWriter = data.createHistoryWriter();
-
-    // workaround for apparent java 1.5 JVM bug . . . might not play nicely
-    // with distributed testing
-    final JavaAgent jac = new JarCreatingJarFinder(
-        new ClassPathByteArraySource(cp));
-
-    final KnownLocationJavaAgentFinder ja = new KnownLocationJavaAgentFinder(
-        jac.getJarLocation().get());
+  private AnalysisResult analyse(File baseDir, ReportOptions data,
+      SettingsFactory settings, CodeSource code, LaunchOptions launchOptions,
+      CoverageCache coverageCache, HistoryStore history,
+      AnalysisSession session) {
 
     final ResultOutputStrategy reportOutput = settings.getOutputStrategy();
 
@@ -95,37 +146,46 @@ public class EntryPoint {
         .createListener();
 
     final CoverageOptions coverageOptions = settings.createCoverageOptions();
-    final LaunchOptions launchOptions = new LaunchOptions(ja,
-        settings.getJavaExecutable(), data.getJvmArgs(), environmentVariables)
-        .usingClassPathJar(data.useClasspathJar());
-    final ProjectClassPaths cps = data.getMutationClassPaths();
-
-    final CodeSource code = new CodeSource(cps);
 
     final Timings timings = new Timings();
     final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
         baseDir, coverageOptions, launchOptions, code,
-        settings.createCoverageExporter(), timings, !data.isVerbose());
-
-    final HistoryStore history = new ObjectOutputStreamHistoryStore(historyWriter, reader);
+        settings.createCoverageExporter(), timings, !data.isVerbose(),
+        data.getNumberOfThreads(), coverageCache);
 
     final MutationStrategies strategies = new MutationStrategies(
         settings.createEngine(), history, coverageDatabase, reportFactory,
         reportOutput);
 
     final MutationCoverage report = new MutationCoverage(strategies, baseDir,
-        code, data, settings, timings);
+        code, data, settings, timings, session);
 
     try {
       return AnalysisResult.success(report.runReport());
     } catch (final IOException e) {
       return AnalysisResult.fail(e);
-    } finally {
-      jac.close();
-      ja.close();
-      historyWriter.close();
     }
+  }
 
+  static LaunchOptions createLaunchOptions(JavaAgent agent,
+      ReportOptions data, SettingsFactory settings,
+      Map<String, String> environmentVariables) {
+    return new LaunchOptions(agent, settings.getJavaExecutable(),
+        data.getJvmArgs(), environmentVariables)
+        .usingClassPathJar(data.useClasspathJar())
+        .usingClassDataSharing(data.isClassDataSharing() ? ClassDataSharing
+            .forHistory(data.getHistoryOutputLocation()) : ClassDataSharing
+            .none())
+        .usingPipeTransport(data.isPipeTransport());
+  }
+
+  private static HistoryStore createHistoryStore(ReportOptions data) {
+    if (data.isBinaryHistory()) {
+      return new BinaryHistoryStore(data.getHistoryInputLocation(),
+          data.getHistoryOutputLocation());
+    }
+    return new ObjectOutputStreamHistoryStore(data.createHistoryWriter(),
+        data.createHistoryReader());
   }
 
   private void checkMatrixMode(ReportOptions data) {
@@ -31,7 +31,9 @@ import org.pitest.util.FileUtil;
 import org.pitest.util.PitError;
 import org.pitest.util.Unchecked;
 
+import sun.pitest.ActiveMutant;
 import sun.pitest.CodeCoverageStore;
+import sun.pitest.HitBuffer;
 import sun.pitest.InvokeReceiver;
 
 public class JarCreatingJarFinder implements JavaAgent {
@@ -97,7 +99,10 @@ public class JarCreatingJarFinder implements JavaAgent {
     try (JarOutputStream jos = new JarOutputStream(fos, m)) {
       addClass(HotSwapAgent.class, jos);
       addClass(CodeCoverageStore.class, jos);
+      addClass(CodeCoverageStore.class.getName() + "$TouchedClass", jos);
+      addClass(HitBuffer.class, jos);
       addClass(InvokeReceiver.class, jos);
+      addClass(ActiveMutant.class, jos);
     }
   }
 
@@ -107,7 +112,11 @@ public class JarCreatingJarFinder implements JavaAgent {
 
   private void addClass(final Class<?> clazz, final JarOutputStream jos)
       throws IOException {
-    final String className = clazz.getName();
+    addClass(clazz.getName(), jos);
+  }
+
+  private void addClass(final String className, final JarOutputStream jos)
+      throws IOException {
     final ZipEntry ze = new ZipEntry(className.replace(".", "/") + ".class");
     jos.putNextEntry(ze);
     jos.write(classBytes(className));
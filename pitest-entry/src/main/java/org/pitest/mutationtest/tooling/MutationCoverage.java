@@ -23,6 +23,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,8 +48,8 @@ import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.MutationResultListener;
 import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.MutationAnalysisUnitSource;
 import org.pitest.mutationtest.build.MutationGrouper;
-import org.pitest.mutationtest.build.MutationInterceptor;
 import org.pitest.mutationtest.build.MutationSource;
 import org.pitest.mutationtest.build.MutationTestBuilder;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
@@ -56,6 +58,8 @@ import org.pitest.mutationtest.build.WorkerFactory;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
 import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.execute.InProcessAnalysis;
+import org.pitest.mutationtest.execute.MinionPool;
 import org.pitest.mutationtest.execute.MutationAnalysisExecutor;
 import org.pitest.mutationtest.incremental.DefaultCodeHistory;
 import org.pitest.mutationtest.incremental.HistoryListener;
@@ -78,16 +82,30 @@ public class MutationCoverage {
   private final CodeSource         code;
   private final File               baseDir;
   private final SettingsFactory    settings;
+  private final AnalysisSession    session;
 
   public MutationCoverage(final MutationStrategies strategies,
       final File baseDir, final CodeSource code, final ReportOptions data,
       final SettingsFactory settings, final Timings timings) {
+    this(strategies, baseDir, code, data, settings, timings, null);
+  }
+
+  /**
+   * @param session
+   *          keeps minions and the in process classloader for later analyses,
+   *          or null to shut them down once analysis completes
+   */
+  public MutationCoverage(final MutationStrategies strategies,
+      final File baseDir, final CodeSource code, final ReportOptions data,
+      final SettingsFactory settings, final Timings timings,
+      final AnalysisSession session) {
     this.strategies = strategies;
     this.data = data;
     this.settings = settings;
     this.timings = timings;
     this.code = code;
     this.baseDir = baseDir;
+    this.session = session;
   }
 
   public CombinedStatistics runReport() throws IOException {
@@ -131,13 +149,44 @@ public class MutationCoverage {
 
     history().initialize();
 
+    final MinionPool pool = createMinionPool();
+    final InProcessAnalysis inProcess = createInProcessAnalysis();
+
+    final MutationTestBuilder builder = createMutationTestBuilder(
+        coverageData, engine, args, pool, inProcess);
+    final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
+        numberOfThreads(), config, this.data.isWorkStealing());
+
+    try {
+      if (this.data.isPipelineAnalysis()) {
+        runPipelined(coverageData, builder, mae);
+      } else {
+        runInStages(coverageData, builder, mae);
+      }
+    } finally {
+      release(pool, inProcess);
+    }
+
+    LOG.info("Completed in " + timeSpan(t0));
+
+    printStats(stats);
+
+    return new CombinedStatistics(stats.getStatistics(),
+        coverageData.createSummary());
+
+  }
+
+  private void runInStages(final CoverageDatabase coverageData,
+      final MutationTestBuilder builder, final MutationAnalysisExecutor mae) {
+    final Runtime runtime = Runtime.getRuntime();
+
     this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
-    final List<MutationAnalysisUnit> tus = buildMutationTests(coverageData,
-        engine, args);
+    final List<MutationAnalysisUnit> tus = builder
+        .createMutationTestUnits(this.code.getCodeUnderTestNames());
     this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
 
     LOG.info("Created  " + tus.size() + " mutation test units");
-    checkMutationsFound(tus);
+    checkMutationsFound(tus.size());
 
     recordClassPath(coverageData);
 
@@ -146,19 +195,32 @@ public class MutationCoverage {
     LOG.fine("Free Memory before analysis start " + (runtime.freeMemory() / MB)
         + " mb");
 
-    final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
-        numberOfThreads(), config);
     this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
     mae.run(tus);
     this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+  }
 
-    LOG.info("Completed in " + timeSpan(t0));
+  /**
+   * Analyses the mutants of each class as soon as they are found. As the two
+   * stages overlap, the time for both is reported as running mutation tests.
+   */
+  private void runPipelined(final CoverageDatabase coverageData,
+      final MutationTestBuilder builder, final MutationAnalysisExecutor mae) {
+    recordClassPath(coverageData);
 
-    printStats(stats);
+    final MutationAnalysisUnitSource source = builder
+        .streamMutationTestUnits(this.code.getCodeUnderTestNames());
+    final AtomicInteger created = new AtomicInteger();
 
-    return new CombinedStatistics(stats.getStatistics(),
-        coverageData.createSummary());
+    this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
+    mae.run(units -> source.produce(unit -> {
+      created.incrementAndGet();
+      units.accept(unit);
+    }));
+    this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
 
+    LOG.info("Created  " + created.get() + " mutation test units");
+    checkMutationsFound(created.get());
   }
 
   private void checkExcludedRunners() {
@@ -174,7 +236,45 @@ public class MutationCoverage {
     }
   }
 
-private int numberOfThreads() {
+  private MinionPool createMinionPool() {
+    if (!this.data.isReuseMinions()) {
+      return null;
+    }
+    if (this.session != null) {
+      return this.session.minionPool(this.data.getMaxMutationsPerMinion());
+    }
+    return new MinionPool(this.data.getMaxMutationsPerMinion());
+  }
+
+  private InProcessAnalysis createInProcessAnalysis() {
+    if (!this.data.isInProcessAnalysis()) {
+      return null;
+    }
+    final String classPath = this.code.getClassPath().getLocalClassPath();
+    if (this.session != null) {
+      return this.session.inProcessAnalysis(classPath);
+    }
+    return new InProcessAnalysis(classPath);
+  }
+
+  private void release(final MinionPool pool,
+      final InProcessAnalysis inProcess) {
+    if (this.session != null) {
+      // the session decides when they are stale
+      if (pool != null) {
+        LOG.info(pool.describe());
+      }
+      return;
+    }
+    if (pool != null) {
+      pool.shutdown();
+    }
+    if (inProcess != null) {
+      inProcess.shutdown();
+    }
+  }
+
+  private int numberOfThreads() {
     return Math.max(1, this.data.getNumberOfThreads());
   }
 
@@ -245,23 +345,25 @@ private int numberOfThreads() {
     stats.getStatistics().report(ps);
   }
 
-  private List<MutationAnalysisUnit> buildMutationTests(
-      final CoverageDatabase coverageData, final MutationEngine engine, EngineArguments args) {
+  private MutationTestBuilder createMutationTestBuilder(
+      final CoverageDatabase coverageData, final MutationEngine engine, EngineArguments args,
+      final MinionPool pool, final InProcessAnalysis inProcess) {
 
     final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
         .getLaunchOptions());
 
     final ClassByteArraySource bas = fallbackToClassLoader(new ClassPathByteArraySource(
-        this.data.getClassPath()));
+        this.code.getClassPath()));
 
     final TestPrioritiser testPrioritiser = this.settings.getTestPrioritiser()
         .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code,
             coverageData);
 
-    final MutationInterceptor interceptor = this.settings.getInterceptor()
-        .createInterceptor(this.data, bas);
-
-    final MutationSource source = new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
+    // interceptors hold state for the class they are examining, so each
+    // thread finding mutations is given its own
+    final Supplier<MutationSource> sources = () -> new MutationSource(
+        mutationConfig, testPrioritiser, bas, this.settings.getInterceptor()
+            .createInterceptor(this.data, bas));
 
     final MutationAnalyser analyser = new IncrementalAnalyser(
         new DefaultCodeHistory(this.code, history()), coverageData);
@@ -270,19 +372,19 @@ private int numberOfThreads() {
         .getConfiguration(), mutationConfig, args,
         new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
             this.data.getTimeoutConstant()), this.data.isVerbose(), this.data.isFullMutationMatrix(),
-            this.data.getClassPath().getLocalClassPath());
+            this.data.isMutantSchemata(), this.data.isRecoverTimeouts(),
+            this.code.getClassPath().getLocalClassPath(), pool,
+            inProcess);
 
     final MutationGrouper grouper = this.settings.getMutationGrouper().makeFactory(
         this.data.getFreeFormProperties(), this.code,
         this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
-    final MutationTestBuilder builder = new MutationTestBuilder(wf, analyser,
-        source, grouper);
-
-    return builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
+    return new MutationTestBuilder(wf, analyser, sources, grouper,
+        this.data.isWorkStealing(), this.data.getNumberOfThreads());
   }
 
-  private void checkMutationsFound(final List<MutationAnalysisUnit> tus) {
-    if (tus.isEmpty()) {
+  private void checkMutationsFound(final int units) {
+    if (units == 0) {
       if (this.data.shouldFailWhenNoMutations()) {
         throw new PitHelpError(Help.NO_MUTATIONS_FOUND);
       } else {
@@ -0,0 +1,300 @@
+package org.pitest.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.util.Log;
+import org.pitest.util.Monitor;
+
+/**
+ * Starts minions from an application class data sharing archive, so that
+ * classes every minion loads are mapped from the archive rather than loaded
+ * and verified by each one.
+ *
+ * The classes loaded by the first minions launched are recorded, then dumped
+ * to an archive that is used by every later launch. An archive kept alongside
+ * the history is reused by later runs until the jvm or classpath changes.
+ *
+ * Class data sharing cannot archive classes held in directories, so when the
+ * classpath holds any the archive is built from the jdk classes alone. Jvms
+ * that cannot create an archive are launched as before.
+ */
+public class ClassDataSharing {
+
+  private static final Logger             LOG                  = Log.getLogger();
+
+  private static final String             SUFFIX               = ".jsa";
+  private static final long               DUMP_TIMEOUT_SECONDS = 120;
+
+  private static final List<String>       JDK_PACKAGES         = Arrays.asList(
+      "java/", "javax/", "jdk/", "sun/", "com/sun/");
+
+  private final File                      archive;
+  private final File                      keyFile;
+  private final boolean                   temporary;
+
+  // guarded by this
+  private String                          archivedKey;
+  private boolean                         recording            = true;
+  private final List<File>                classLists           = new ArrayList<>();
+  private String                          recordedExecutable;
+  private String                          recordedClassPath;
+  // every minion is launched with the same few classpaths, which do not
+  // change during a run
+  private final Map<List<String>, String> keys                 = new HashMap<>();
+
+  ClassDataSharing(final File archive, final boolean temporary) {
+    this.archive = archive;
+    this.keyFile = archive == null ? null : new File(archive.getPath()
+        + ".key");
+    this.temporary = temporary;
+    this.archivedKey = readKey();
+  }
+
+  public static ClassDataSharing none() {
+    return new ClassDataSharing(null, true);
+  }
+
+  /**
+   * Creates sharing with an archive stored alongside the history file, or
+   * discarded at the end of the run if there is none
+   */
+  public static ClassDataSharing forHistory(final File historyOutput) {
+    if (historyOutput != null) {
+      return new ClassDataSharing(new File(historyOutput.getPath() + SUFFIX),
+          false);
+    }
+    try {
+      final File archive = File.createTempFile("pitest", SUFFIX);
+      archive.delete();
+      return new ClassDataSharing(archive, true);
+    } catch (final IOException e) {
+      LOG.warning("Could not create class data sharing archive "
+          + e.getMessage());
+      return none();
+    }
+  }
+
+  /**
+   * @return options to launch a minion with. Until an archive is created each
+   *         minion records the classes it loads.
+   */
+  public synchronized List<String> launchArgs(final String javaExecutable,
+      final String classPath) {
+    if (this.archive == null) {
+      return Collections.emptyList();
+    }
+
+    if (cachedKeyFor(javaExecutable, classPath).equals(this.archivedKey)) {
+      return Arrays.asList("-Xshare:auto", "-XX:SharedArchiveFile="
+          + this.archive.getAbsolutePath());
+    }
+
+    if (!this.recording) {
+      return Collections.emptyList();
+    }
+
+    try {
+      final File classList = File.createTempFile("pitest-classes", ".lst");
+      this.classLists.add(classList);
+      this.recordedExecutable = javaExecutable;
+      this.recordedClassPath = classPath;
+      // older jvms do not recognise the option
+      return Arrays.asList("-XX:+IgnoreUnrecognizedVMOptions",
+          "-XX:DumpLoadedClassList=" + classList.getAbsolutePath());
+    } catch (final IOException e) {
+      LOG.fine("Could not record classes for sharing " + e.getMessage());
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Dumps the classes recorded so far to an archive for later launches. No
+   * more classes are recorded afterwards.
+   */
+  public synchronized void createArchive() {
+    this.recording = false;
+    try {
+      final Set<String> classes = recordedClasses();
+      if (!classes.isEmpty()) {
+        archive(classes);
+      }
+    } catch (final IOException e) {
+      LOG.warning("Could not create class data sharing archive "
+          + e.getMessage());
+    } finally {
+      deleteClassLists();
+    }
+  }
+
+  /**
+   * Removes files created for this run
+   */
+  public synchronized void close() {
+    deleteClassLists();
+    if (this.temporary && (this.archive != null)) {
+      this.archive.delete();
+      this.keyFile.delete();
+    }
+  }
+
+  private void archive(final Set<String> classes) throws IOException {
+    this.archive.delete();
+    this.keyFile.delete();
+
+    final List<String> jdkClasses = new ArrayList<>();
+    for (final String each : classes) {
+      if (isJdkClass(each)) {
+        jdkClasses.add(each);
+      }
+    }
+
+    int archived = 0;
+    if (dump(classes, this.recordedClassPath)) {
+      archived = classes.size();
+    } else if (dump(jdkClasses, null)) {
+      archived = jdkClasses.size();
+    }
+
+    if (archived != 0) {
+      final String key = cachedKeyFor(this.recordedExecutable,
+          this.recordedClassPath);
+      Files.write(this.keyFile.toPath(),
+          key.getBytes(StandardCharsets.UTF_8));
+      this.archivedKey = key;
+      LOG.info("Created class data sharing archive of " + archived
+          + " classes for minions");
+    } else {
+      this.archive.delete();
+      LOG.info("Could not create class data sharing archive, minions will be"
+          + " started without one");
+    }
+  }
+
+  private boolean dump(final Collection<String> classes,
+      final String classPath) throws IOException {
+    final File classList = File.createTempFile("pitest-classes", ".lst");
+    try {
+      Files.write(classList.toPath(), classes, StandardCharsets.UTF_8);
+      final List<String> cmd = new ArrayList<>();
+      cmd.add(this.recordedExecutable);
+      // unrecognised options must stop older jvms, which would otherwise
+      // overwrite the jdk's own archive
+      cmd.add("-Xshare:dump");
+      cmd.add("-XX:SharedClassListFile=" + classList.getAbsolutePath());
+      cmd.add("-XX:SharedArchiveFile=" + this.archive.getAbsolutePath());
+      if (classPath != null) {
+        cmd.add("-cp");
+        cmd.add(classPath);
+      }
+      return run(cmd) && this.archive.exists();
+    } finally {
+      classList.delete();
+    }
+  }
+
+  private static boolean run(final List<String> cmd) throws IOException {
+    final Process process = new ProcessBuilder(cmd).redirectErrorStream(true)
+        .start();
+    // output is drained while waiting, so a jvm that hangs without closing
+    // it is still ended by the timeout
+    final Monitor output = OutputPump.shared().monitor(
+        process.getInputStream(),
+        line -> LOG.fine("class data sharing: " + line.trim()));
+    output.requestStart();
+    try {
+      if (!process.waitFor(DUMP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        process.destroy();
+        return false;
+      }
+      return process.exitValue() == 0;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      process.destroy();
+      return false;
+    } finally {
+      output.requestStop();
+    }
+  }
+
+  private Set<String> recordedClasses() throws IOException {
+    final Set<String> classes = new LinkedHashSet<>();
+    for (final File each : this.classLists) {
+      if (each.exists()) {
+        for (final String line : Files.readAllLines(each.toPath(),
+            StandardCharsets.UTF_8)) {
+          if (!line.isEmpty() && !line.startsWith("#")
+              && !line.startsWith("@")) {
+            classes.add(line);
+          }
+        }
+      }
+    }
+    return classes;
+  }
+
+  private void deleteClassLists() {
+    for (final File each : this.classLists) {
+      each.delete();
+    }
+    this.classLists.clear();
+  }
+
+  private String readKey() {
+    if ((this.archive == null) || !this.archive.exists()
+        || !this.keyFile.exists()) {
+      return null;
+    }
+    try {
+      return new String(Files.readAllBytes(this.keyFile.toPath()),
+          StandardCharsets.UTF_8);
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Could not read class data sharing key", e);
+      return null;
+    }
+  }
+
+  private static boolean isJdkClass(final String line) {
+    for (final String each : JDK_PACKAGES) {
+      if (line.startsWith(each)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String cachedKeyFor(final String javaExecutable,
+      final String classPath) {
+    return this.keys.computeIfAbsent(Arrays.asList(javaExecutable, classPath),
+        k -> keyFor(javaExecutable, classPath));
+  }
+
+  /**
+   * The archive is only valid for the jvm that created it and the classpath
+   * elements it was created from
+   */
+  static String keyFor(final String javaExecutable, final String classPath) {
+    final StringBuilder key = new StringBuilder(javaExecutable);
+    for (final String each : classPath.split(File.pathSeparator)) {
+      final File element = new File(each);
+      key.append('\n').append(each).append(' ').append(element.length())
+          .append(' ').append(element.lastModified());
+    }
+    return key.toString();
+  }
+
+}
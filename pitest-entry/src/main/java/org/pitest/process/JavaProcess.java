@@ -16,7 +16,6 @@ package org.pitest.process;
 
 import org.pitest.functional.SideEffect1;
 import org.pitest.util.Monitor;
-import org.pitest.util.StreamMonitor;
 
 public class JavaProcess {
 
@@ -26,10 +25,25 @@ public class JavaProcess {
 
   public JavaProcess(Process process, SideEffect1<String> sysoutHandler,
       SideEffect1<String> syserrHandler) {
+    this(process, OutputPump.shared().monitor(process.getInputStream(),
+        sysoutHandler), syserrHandler);
+  }
+
+  /**
+   * Monitors only the error stream, for processes whose output is read
+   * elsewhere or discarded
+   */
+  public JavaProcess(Process process, SideEffect1<String> syserrHandler) {
+    this(process, new NoMonitor(), syserrHandler);
+  }
+
+  private JavaProcess(Process process, Monitor out,
+      SideEffect1<String> syserrHandler) {
     this.process = process;
 
-    this.out = new StreamMonitor(process.getInputStream(), sysoutHandler);
-    this.err = new StreamMonitor(process.getErrorStream(), syserrHandler);
+    this.out = out;
+    this.err = OutputPump.shared().monitor(process.getErrorStream(),
+        syserrHandler);
 
     this.out.requestStart();
     this.err.requestStart();
@@ -42,10 +56,9 @@ public class JavaProcess {
   }
 
   public int waitToDie() throws InterruptedException {
-    final int exitVal = this.process.waitFor();
-    this.out.requestStop();
-    this.err.requestStop();
-    return exitVal;
+    // output already written is still passed on, the pump stops reading at
+    // the end of each stream
+    return this.process.waitFor();
   }
 
   public boolean isAlive() {
@@ -57,4 +70,18 @@ public class JavaProcess {
     }
   }
 
+  private static class NoMonitor implements Monitor {
+
+    @Override
+    public void requestStart() {
+      // nothing to monitor
+    }
+
+    @Override
+    public void requestStop() {
+      // nothing to monitor
+    }
+
+  }
+
 }
@@ -14,11 +14,15 @@
  */
 package org.pitest.process;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.pitest.util.ManifestUtils;
+
 public class LaunchOptions {
 
   private final JavaAgent             javaAgentFinder;
@@ -26,6 +30,12 @@ public class LaunchOptions {
   private final JavaExecutableLocator javaExecutable;
   private final Map<String, String>   environmentVariables;
   private final boolean               usingClassPathJar;
+  private final ClassDataSharing      classDataSharing;
+  private final boolean               usingPipeTransport;
+
+  // created once and shared by every minion launched with these options.
+  // Guarded by this.
+  private final Map<String, File>     classpathJars = new HashMap<>();
 
   public LaunchOptions(JavaAgent javaAgentFinder) {
     this(javaAgentFinder, new DefaultJavaExecutableLocator(), Collections
@@ -41,11 +51,29 @@ public class LaunchOptions {
   public LaunchOptions(JavaAgent javaAgentFinder,
       JavaExecutableLocator javaExecutable, List<String> childJVMArgs,
       Map<String, String> environmentVariables, boolean usingClassPathJar) {
+    this(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables,
+        usingClassPathJar, ClassDataSharing.none());
+  }
+
+  public LaunchOptions(JavaAgent javaAgentFinder,
+      JavaExecutableLocator javaExecutable, List<String> childJVMArgs,
+      Map<String, String> environmentVariables, boolean usingClassPathJar,
+      ClassDataSharing classDataSharing) {
+    this(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables,
+        usingClassPathJar, classDataSharing, false);
+  }
+
+  public LaunchOptions(JavaAgent javaAgentFinder,
+      JavaExecutableLocator javaExecutable, List<String> childJVMArgs,
+      Map<String, String> environmentVariables, boolean usingClassPathJar,
+      ClassDataSharing classDataSharing, boolean usingPipeTransport) {
     this.javaAgentFinder = javaAgentFinder;
     this.childJVMArgs = childJVMArgs;
     this.javaExecutable = javaExecutable;
     this.environmentVariables = environmentVariables;
     this.usingClassPathJar = usingClassPathJar;
+    this.classDataSharing = classDataSharing;
+    this.usingPipeTransport = usingPipeTransport;
   }
 
   public JavaAgent getJavaAgentFinder() {
@@ -65,10 +93,61 @@ public class LaunchOptions {
   }
 
   public LaunchOptions usingClassPathJar(boolean useJar) {
-    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables, useJar);
+    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables, useJar, classDataSharing, usingPipeTransport);
+  }
+
+  public LaunchOptions usingClassDataSharing(ClassDataSharing sharing) {
+    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs,
+        environmentVariables, usingClassPathJar, sharing, usingPipeTransport);
+  }
+
+  public LaunchOptions usingPipeTransport(boolean usePipes) {
+    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs,
+        environmentVariables, usingClassPathJar, classDataSharing, usePipes);
+  }
+
+  /**
+   * @return true if minions are talked to over their standard streams rather
+   *         than a socket
+   */
+  public boolean usePipeTransport() {
+    return this.usingPipeTransport;
+  }
+
+  public ClassDataSharing getClassDataSharing() {
+    return this.classDataSharing;
   }
   
   public boolean useClasspathJar() {
     return usingClassPathJar;
   }
+
+  /**
+   * @return a jar whose manifest holds the classpath. It is created on first
+   *         request and reused by later launches.
+   */
+  public synchronized File classpathJarFor(final String classPath) {
+    File jar = this.classpathJars.get(classPath);
+    if (jar == null) {
+      try {
+        jar = ManifestUtils.createClasspathJarFile(classPath);
+      } catch (final IOException e) {
+        throw new RuntimeException("Unable to create jar to contain classpath",
+            e);
+      }
+      this.classpathJars.put(classPath, jar);
+    }
+    return jar;
+  }
+
+  /**
+   * Removes any files created to launch minions
+   */
+  public synchronized void close() {
+    for (final File each : this.classpathJars.values()) {
+      each.delete();
+    }
+    this.classpathJars.clear();
+    this.classDataSharing.close();
+  }
 }
@@ -0,0 +1,127 @@
+package org.pitest.process;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import org.pitest.functional.SideEffect1;
+import org.pitest.util.Log;
+import org.pitest.util.Monitor;
+
+/**
+ * Passes the output of child processes to their handlers a line at a time.
+ * Very long lines are passed on in pieces, and a partial line when the stream
+ * ends.
+ *
+ * The pipes of a child process cannot be selected on, so each stream is read
+ * with blocking reads by a thread from a pool shared by every process. Output
+ * is handed on as soon as it is read rather than when a poll next comes
+ * round, and threads are reused as minions come and go.
+ *
+ * A stream is only read as fast as its handler consumes it, so a slow
+ * handler fills the pipe and blocks the child rather than output queuing up
+ * in memory. Output that is not wanted should not be pumped at all, see
+ * {@link ProcessArgs#andDiscardStdout()}.
+ */
+public final class OutputPump {
+
+  private static final Logger     LOG    = Log.getLogger();
+
+  private static final OutputPump SHARED = new OutputPump();
+
+  private static final int        BUFFER = 8192;
+
+  private final ExecutorService   readers;
+
+  OutputPump() {
+    this.readers = Executors.newCachedThreadPool(r -> {
+      final Thread thread = new Thread(r, "PIT output pump");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public static OutputPump shared() {
+    return SHARED;
+  }
+
+  /**
+   * @return a monitor that passes lines read from the stream to the handler
+   *         once started, until it is stopped or the stream ends
+   */
+  public Monitor monitor(final InputStream in,
+      final SideEffect1<String> handler) {
+    return new StreamReader(in, handler);
+  }
+
+  private final class StreamReader implements Monitor, Runnable {
+
+    private final InputStream           in;
+    private final SideEffect1<String>   handler;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+    private volatile boolean            stopped;
+
+    StreamReader(final InputStream in, final SideEffect1<String> handler) {
+      this.in = in;
+      this.handler = handler;
+    }
+
+    @Override
+    public void requestStart() {
+      OutputPump.this.readers.execute(this);
+    }
+
+    @Override
+    public void requestStop() {
+      // the read ends once the process has gone and closed the stream
+      this.stopped = true;
+    }
+
+    @Override
+    public void run() {
+      final byte[] buf = new byte[BUFFER];
+      try {
+        int read = this.in.read(buf);
+        while (read != -1) {
+          dispatch(buf, read);
+          read = this.in.read(buf);
+        }
+      } catch (final IOException e) {
+        LOG.fine("No longer able to read stream.");
+      } finally {
+        flushLine();
+      }
+    }
+
+    private void dispatch(final byte[] buf, final int length) {
+      int start = 0;
+      for (int i = 0; i != length; i++) {
+        if (buf[i] == '\n') {
+          this.line.write(buf, start, (i + 1) - start);
+          flushLine();
+          start = i + 1;
+        }
+      }
+      this.line.write(buf, start, length - start);
+      // a child that never ends its line cannot make us hold unlimited output
+      if (this.line.size() >= BUFFER) {
+        flushLine();
+      }
+    }
+
+    private void flushLine() {
+      if (this.line.size() != 0) {
+        if (!this.stopped) {
+          this.handler.apply(this.line.toString());
+        }
+        this.line.reset();
+      }
+    }
+
+  }
+
+}
@@ -14,6 +14,7 @@
  */
 package org.pitest.process;
 
+import static org.pitest.functional.prelude.Prelude.noSideEffect;
 import static org.pitest.functional.prelude.Prelude.print;
 import static org.pitest.functional.prelude.Prelude.printTo;
 
@@ -24,9 +25,13 @@ import java.util.Map;
 
 import org.pitest.classpath.ClassPath;
 import org.pitest.functional.SideEffect1;
+import org.pitest.util.MinionChannel;
+import org.pitest.util.SocketFinder;
 
 public final class ProcessArgs {
 
+  private static final SocketFinder SOCKETS = new SocketFinder();
+
   private final String        launchClassPath;
   private SideEffect1<String> stdout     = print(String.class);
   private SideEffect1<String> stdErr     = printTo(String.class, System.err);
@@ -36,6 +41,9 @@ public final class ProcessArgs {
   private String              javaExecutable;
   private Map<String, String> environmentVariables;
   private boolean             useClasspathJar = false;
+  private boolean             usePipeTransport = false;
+  private boolean             discardStdout = false;
+  private LaunchOptions       launchOptions;
 
   private ProcessArgs(final String launchClassPath) {
     this.launchClassPath = launchClassPath;
@@ -56,6 +64,16 @@ public final class ProcessArgs {
 
   public ProcessArgs andStdout(final SideEffect1<String> stdout) {
     this.stdout = stdout;
+    this.discardStdout = false;
+    return this;
+  }
+
+  /**
+   * Drops anything the process writes to stdout without reading it
+   */
+  public ProcessArgs andDiscardStdout() {
+    this.stdout = noSideEffect(String.class);
+    this.discardStdout = true;
     return this;
   }
 
@@ -72,6 +90,10 @@ public final class ProcessArgs {
     return this.stdout;
   }
 
+  public boolean discardsStdout() {
+    return this.discardStdout;
+  }
+
   public SideEffect1<String> getStdErr() {
     return this.stdErr;
   }
@@ -86,6 +108,7 @@ public final class ProcessArgs {
 
   public void setStdout(final SideEffect1<String> stdout) {
     this.stdout = stdout;
+    this.discardStdout = false;
   }
 
   public void setStdErr(final SideEffect1<String> stdErr) {
@@ -107,13 +130,47 @@ public final class ProcessArgs {
   public boolean useClasspathJar() {
     return useClasspathJar;
   }
+
+  /**
+   * @return jar holding the launch classpath, shared with other processes
+   *         launched with the same options
+   */
+  public File getClasspathJar() {
+    return this.launchOptions.classpathJarFor(this.launchClassPath);
+  }
+
+  /**
+   * @return options that start the process from, or record classes for, a
+   *         class data sharing archive
+   */
+  public List<String> getClassDataSharingArgs() {
+    if (this.launchOptions == null) {
+      return Collections.emptyList();
+    }
+    final String classPath = this.useClasspathJar ? getClasspathJar()
+        .getAbsolutePath() : this.launchClassPath;
+    return this.launchOptions.getClassDataSharing().launchArgs(
+        this.javaExecutable, classPath);
+  }
   
+  /**
+   * @return a channel to talk to a process launched with these args
+   */
+  public MinionChannel openChannel() {
+    if (this.usePipeTransport) {
+      return MinionChannel.pipe();
+    }
+    return MinionChannel.socket(SOCKETS.getNextAvailableServerSocket());
+  }
+
   public ProcessArgs andLaunchOptions(final LaunchOptions launchOptions) {
     this.jvmArgs = launchOptions.getChildJVMArgs();
     this.javaAgentFinder = launchOptions.getJavaAgentFinder();
     this.javaExecutable = launchOptions.getJavaExecutable();
     this.environmentVariables = launchOptions.getEnvironmentVariables();
     this.useClasspathJar = launchOptions.useClasspathJar();
+    this.usePipeTransport = launchOptions.usePipeTransport();
+    this.launchOptions = launchOptions;
     return this;
   }
 
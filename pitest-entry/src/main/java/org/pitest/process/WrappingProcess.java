@@ -8,30 +8,49 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 
 import org.pitest.functional.FCollection;
-import org.pitest.util.ManifestUtils;
+import org.pitest.util.MinionChannel;
 
 public class WrappingProcess {
 
-  private final int         port;
-  private final ProcessArgs processArgs;
-  private final Class<?>    minionClass;
+  // the arguments this jvm was launched with do not change, so are read once
+  private static final List<String> INHERITED_ARGS = inheritedArgs();
 
-  private JavaProcess       process;
+  private static final File         NULL_FILE      = new File(System
+      .getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null");
+
+  private final String        minionArgument;
+  private final MinionChannel channel;
+  private final ProcessArgs   processArgs;
+  private final Class<?>      minionClass;
+
+  private JavaProcess         process;
 
   public WrappingProcess(int port, ProcessArgs args, Class<?> minionClass) {
-    this.port = port;
+    this("" + port, null, args, minionClass);
+  }
+
+  public WrappingProcess(MinionChannel channel, ProcessArgs args,
+      Class<?> minionClass) {
+    this(channel.minionArgument(), channel, args, minionClass);
+  }
+
+  private WrappingProcess(String minionArgument, MinionChannel channel,
+      ProcessArgs args, Class<?> minionClass) {
+    this.minionArgument = minionArgument;
+    this.channel = channel;
     this.processArgs = args;
     this.minionClass = minionClass;
   }
 
   public void start() throws IOException {
-    final String[] args = { "" + this.port };
+    final String[] args = { this.minionArgument };
 
     final ProcessBuilder processBuilder = createProcessBuilder(
         this.processArgs.getJavaExecutable(), this.processArgs.getJvmArgs(),
@@ -45,9 +64,25 @@ public class WrappingProcess {
     configureProcessBuilder(processBuilder, this.processArgs.getWorkingDir(),
         this.processArgs.getEnvironmentVariables());
 
+    final boolean channelReadsStdout = (this.channel != null)
+        && this.channel.readsStandardOutput();
+    final boolean discardStdout = !channelReadsStdout
+        && this.processArgs.discardsStdout();
+    if (discardStdout) {
+      processBuilder.redirectOutput(NULL_FILE);
+    }
+
     final Process process = processBuilder.start();
-    this.process = new JavaProcess(process, this.processArgs.getStdout(),
-        this.processArgs.getStdErr());
+    if (channelReadsStdout || discardStdout) {
+      this.process = new JavaProcess(process, this.processArgs.getStdErr());
+    } else {
+      this.process = new JavaProcess(process, this.processArgs.getStdout(),
+          this.processArgs.getStdErr());
+    }
+
+    if (this.channel != null) {
+      this.channel.launched(process, this.processArgs.getStdout());
+    }
   }
 
   
@@ -103,6 +138,7 @@ public class WrappingProcess {
     createClasspathJar(classPath, cmd);
 
     cmd.addAll(args);
+    cmd.addAll(this.processArgs.getClassDataSharingArgs());
 
     addPITJavaAgent(agentJarLocator, cmd);
     addLaunchJavaAgents(cmd);
@@ -114,14 +150,8 @@ public class WrappingProcess {
 
   private void createClasspathJar(String classPath, final List<String> cmd) {
     if (this.processArgs.useClasspathJar()) {
-      try {
-        cmd.add("-classpath");
-        cmd.add(
-            ManifestUtils.createClasspathJarFile(classPath).getAbsolutePath());
-      } catch (Exception e) {
-        throw new RuntimeException("Unable to create jar to contain classpath",
-            e);
-      }
+      cmd.add("-classpath");
+      cmd.add(this.processArgs.getClasspathJar().getAbsolutePath());
     }
   }
 
@@ -132,10 +162,13 @@ public class WrappingProcess {
   }
 
   private static void addLaunchJavaAgents(List<String> cmd) {
+    cmd.addAll(INHERITED_ARGS);
+  }
+
+  private static List<String> inheritedArgs() {
     final RuntimeMXBean rt = ManagementFactory.getRuntimeMXBean();
-    final List<String> agents = FCollection.filter(rt.getInputArguments(),
-        or(isJavaAgentParam(), isEnvironmentSetting()));
-    cmd.addAll(agents);
+    return Collections.unmodifiableList(FCollection.filter(
+        rt.getInputArguments(), or(isJavaAgentParam(), isEnvironmentSetting())));
   }
 
   private static Predicate<String> isEnvironmentSetting() {
@@ -29,13 +29,19 @@ public class CommunicationThread {
 
   private final SideEffect1<SafeDataOutputStream> sendInitialData;
   private final ReceiveStrategy                   receive;
-  private final ServerSocket                      socket;
+  private final MinionChannel                     channel;
   private FutureTask<ExitCode>                    future;
 
   public CommunicationThread(final ServerSocket socket,
       final SideEffect1<SafeDataOutputStream> sendInitialData,
       final ReceiveStrategy receive) {
-    this.socket = socket;
+    this(MinionChannel.socket(socket), sendInitialData, receive);
+  }
+
+  public CommunicationThread(final MinionChannel channel,
+      final SideEffect1<SafeDataOutputStream> sendInitialData,
+      final ReceiveStrategy receive) {
+    this.channel = channel;
     this.sendInitialData = sendInitialData;
     this.receive = receive;
   }
@@ -46,7 +52,7 @@ public class CommunicationThread {
 
   private FutureTask<ExitCode> createFuture() {
     final FutureTask<ExitCode> newFuture = new FutureTask<>(
-        new SocketReadingCallable(this.socket, this.sendInitialData,
+        new SocketReadingCallable(this.channel, this.sendInitialData,
             this.receive));
     final Thread thread = new Thread(newFuture);
     thread.setDaemon(true);
@@ -0,0 +1,54 @@
+package org.pitest.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+
+import org.pitest.functional.SideEffect1;
+
+/**
+ * The parent's end of the connection to a minion it launches.
+ */
+public interface MinionChannel {
+
+  /**
+   * @return argument telling the minion how to connect back to the parent
+   */
+  String minionArgument();
+
+  /**
+   * @return true if the minion's standard output carries the connection, so
+   *         must not be monitored for output
+   */
+  boolean readsStandardOutput();
+
+  /**
+   * Called once the minion has been launched
+   *
+   * @param stdout
+   *          receives output the code under test writes to System.out, if the
+   *          channel reads standard output
+   */
+  void launched(Process process, SideEffect1<String> stdout);
+
+  /**
+   * Blocks until the minion has connected
+   */
+  void accept() throws IOException;
+
+  InputStream getInputStream();
+
+  OutputStream getOutputStream();
+
+  void close();
+
+  static MinionChannel socket(final ServerSocket socket) {
+    return new SocketMinionChannel(socket);
+  }
+
+  static MinionChannel pipe() {
+    return new PipeMinionChannel();
+  }
+
+}
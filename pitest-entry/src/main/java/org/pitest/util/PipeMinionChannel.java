@@ -0,0 +1,93 @@
+package org.pitest.util;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.functional.SideEffect1;
+
+/**
+ * Talks to the minion over its standard input and output, so launching one
+ * needs no port. Test output shares standard output with the minion's
+ * messages and is separated out by {@link FramedInputStream}.
+ */
+class PipeMinionChannel implements MinionChannel {
+
+  private static final Logger  LOG      = Log.getLogger();
+
+  private final CountDownLatch launched = new CountDownLatch(1);
+
+  private boolean              closed;
+  private volatile InputStream input;
+  private volatile OutputStream output;
+
+  @Override
+  public String minionArgument() {
+    return ParentChannel.PIPE;
+  }
+
+  @Override
+  public boolean readsStandardOutput() {
+    return true;
+  }
+
+  @Override
+  public synchronized void launched(final Process process,
+      final SideEffect1<String> stdout) {
+    if (this.closed) {
+      return;
+    }
+    this.input = new FramedInputStream(new BufferedInputStream(
+        process.getInputStream()), stdout);
+    this.output = process.getOutputStream();
+    this.launched.countDown();
+  }
+
+  @Override
+  public void accept() throws IOException {
+    try {
+      this.launched.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted waiting for minion to launch", e);
+    }
+    if (this.input == null) {
+      throw new IOException("Minion was not launched");
+    }
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return this.input;
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return this.output;
+  }
+
+  @Override
+  public synchronized void close() {
+    this.closed = true;
+    this.launched.countDown();
+    closeQuietly(this.output);
+    closeQuietly(this.input);
+  }
+
+  private static void closeQuietly(final Closeable stream) {
+    if (stream == null) {
+      return;
+    }
+    try {
+      stream.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Could not close minion pipe", e);
+    }
+  }
+
+}
@@ -0,0 +1,76 @@
+package org.pitest.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.functional.SideEffect1;
+
+/**
+ * Waits for the minion to connect to a local port
+ */
+class SocketMinionChannel implements MinionChannel {
+
+  private static final Logger LOG = Log.getLogger();
+
+  private final ServerSocket  socket;
+
+  private Socket              connection;
+  private InputStream         input;
+  private OutputStream        output;
+
+  SocketMinionChannel(final ServerSocket socket) {
+    this.socket = socket;
+  }
+
+  @Override
+  public String minionArgument() {
+    return "" + this.socket.getLocalPort();
+  }
+
+  @Override
+  public boolean readsStandardOutput() {
+    return false;
+  }
+
+  @Override
+  public void launched(final Process process,
+      final SideEffect1<String> stdout) {
+    // minion connects back
+  }
+
+  @Override
+  public void accept() throws IOException {
+    this.connection = this.socket.accept();
+    this.input = new BufferedInputStream(this.connection.getInputStream());
+    this.output = this.connection.getOutputStream();
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return this.input;
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return this.output;
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (this.connection != null) {
+        this.connection.close();
+      }
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Could not close minion socket", e);
+    }
+  }
+
+}
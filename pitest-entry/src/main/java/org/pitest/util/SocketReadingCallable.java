@@ -1,10 +1,7 @@
 package org.pitest.util;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.ServerSocket;
-import java.net.Socket;
 import java.util.concurrent.Callable;
 
 import org.pitest.functional.SideEffect1;
@@ -13,41 +10,42 @@ class SocketReadingCallable implements Callable<ExitCode> {
 
   private final SideEffect1<SafeDataOutputStream> sendInitialData;
   private final ReceiveStrategy                   receive;
-  private final ServerSocket                      socket;
+  private final MinionChannel                     channel;
 
   SocketReadingCallable(final ServerSocket socket,
       final SideEffect1<SafeDataOutputStream> sendInitialData,
       final ReceiveStrategy receive) {
-    this.socket = socket;
+    this(MinionChannel.socket(socket), sendInitialData, receive);
+  }
+
+  SocketReadingCallable(final MinionChannel channel,
+      final SideEffect1<SafeDataOutputStream> sendInitialData,
+      final ReceiveStrategy receive) {
+    this.channel = channel;
     this.sendInitialData = sendInitialData;
     this.receive = receive;
   }
 
   @Override
   public ExitCode call() throws Exception {
-    try (Socket clientSocket = this.socket.accept()) {
-      try (BufferedInputStream bif = new BufferedInputStream(
-          clientSocket.getInputStream())) {
+    try {
+      this.channel.accept();
 
-        sendDataToMinion(clientSocket);
+      sendDataToMinion();
 
-        final SafeDataInputStream is = new SafeDataInputStream(bif);
-        return receiveResults(is);
-      } catch (final IOException e) {
-        throw Unchecked.translateCheckedException(e);
-      }
+      final SafeDataInputStream is = new SafeDataInputStream(
+          this.channel.getInputStream());
+      return receiveResults(is);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
     } finally {
-      try {
-        this.socket.close();
-      } catch (final IOException e) {
-        throw Unchecked.translateCheckedException(e);
-      }
+      this.channel.close();
     }
   }
 
-  private void sendDataToMinion(final Socket clientSocket) throws IOException {
-    final OutputStream os = clientSocket.getOutputStream();
-    final SafeDataOutputStream dos = new SafeDataOutputStream(os);
+  private void sendDataToMinion() {
+    final SafeDataOutputStream dos = new SafeDataOutputStream(
+        this.channel.getOutputStream());
     this.sendInitialData.apply(dos);
   }
 
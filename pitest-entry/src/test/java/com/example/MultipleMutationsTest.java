@@ -0,0 +1,24 @@
+package com.example;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class MultipleMutationsTest {
+
+  @Test
+  public void testOne() {
+    assertEquals(1, new MultipleMutations().one());
+  }
+
+  @Test
+  public void testTwo() {
+    assertEquals(1, new MultipleMutations().two());
+  }
+
+  @Test
+  public void testThree() {
+    assertEquals(1, new MultipleMutations().three());
+  }
+
+}
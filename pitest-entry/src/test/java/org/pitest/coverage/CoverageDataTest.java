@@ -102,6 +102,51 @@ public class CoverageDataTest {
         testInfoToExecutionTime()));
   }
 
+  @Test
+  public void shouldFindBlocksContainingInstructions() {
+    final Location method = aLocation().withClass(this.foo).build();
+    when(this.lm.mapBlockEnds(this.foo)).thenReturn(
+        Collections.singletonMap(method, new int[] { 3, 7, 12 }));
+
+    assertThat(this.testee.getBlocksForInstructions(method,
+        Arrays.asList(0, 3, 4, 12))).containsExactly(
+        new BlockLocation(method, 0), new BlockLocation(method, 1),
+        new BlockLocation(method, 2));
+  }
+
+  @Test
+  public void shouldFindNoBlocksWhenAnInstructionIsOutsideTheMethod() {
+    final Location method = aLocation().withClass(this.foo).build();
+    when(this.lm.mapBlockEnds(this.foo)).thenReturn(
+        Collections.singletonMap(method, new int[] { 3, 7, 12 }));
+
+    assertThat(this.testee.getBlocksForInstructions(method,
+        Arrays.asList(4, 13))).isEmpty();
+  }
+
+  @Test
+  public void shouldFindNoBlocksForUnknownMethod() {
+    assertThat(this.testee.getBlocksForInstructions(
+        aLocation().withClass(this.foo).build(), Arrays.asList(1))).isEmpty();
+  }
+
+  @Test
+  public void shouldReturnTestsVisitingBlock() {
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(
+        makeCoverageMapForBlock(block, 1));
+
+    this.testee.calculateClassCoverage(aCoverageResult()
+        .withVisitedBlocks(block.build(1)).withExecutionTime(42).build());
+
+    assertEquals(Arrays.asList(42), FCollection.map(
+        this.testee.getTestsForBlockLocation(block.build()),
+        testInfoToExecutionTime()));
+    assertThat(this.testee.getTestsForBlockLocation(block.withBlock(99).build()))
+        .isEmpty();
+  }
+
   @Test
   public void shouldReportNumberOfCoveredLinesWhenNoneCovered() {
     assertEquals(0, this.testee.getNumberOfCoveredLines(Collections
@@ -0,0 +1,72 @@
+package org.pitest.coverage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TestIdSetTest {
+
+  private final TestIdSet testee = new TestIdSet();
+
+  @Test
+  public void shouldBeEmptyWhenCreated() {
+    assertThat(this.testee.isEmpty()).isTrue();
+    assertThat(contents(this.testee)).isEmpty();
+  }
+
+  @Test
+  public void shouldReturnIdsInAscendingOrderWhenAddedOutOfOrder() {
+    this.testee.add(7);
+    this.testee.add(2);
+    this.testee.add(42);
+    this.testee.add(5);
+
+    assertThat(contents(this.testee)).containsExactly(2, 5, 7, 42);
+  }
+
+  @Test
+  public void shouldIgnoreDuplicateIds() {
+    this.testee.add(3);
+    this.testee.add(1);
+    this.testee.add(3);
+    this.testee.add(1);
+
+    assertThat(this.testee.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldKeepAllIdsWhenSetBecomesDense() {
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i != 1000; i++) {
+      this.testee.add(i);
+      expected.add(i);
+    }
+    this.testee.add(500);
+
+    assertThat(this.testee.size()).isEqualTo(1000);
+    assertThat(contents(this.testee)).isEqualTo(expected);
+  }
+
+  @Test
+  public void shouldAddAllIdsFromAnotherSet() {
+    final TestIdSet other = new TestIdSet();
+    other.add(4);
+    other.add(9);
+    this.testee.add(9);
+    this.testee.add(1);
+
+    this.testee.addAll(other);
+
+    assertThat(contents(this.testee)).containsExactly(1, 4, 9);
+  }
+
+  private static List<Integer> contents(final TestIdSet set) {
+    final List<Integer> ids = new ArrayList<>();
+    set.forEach(ids::add);
+    return ids;
+  }
+
+}
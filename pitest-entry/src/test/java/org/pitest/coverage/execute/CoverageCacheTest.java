@@ -0,0 +1,255 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoMother;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.testapi.Description;
+
+public class CoverageCacheTest {
+
+  private static final String             KEY     = "key";
+
+  @Rule
+  public TemporaryFolder                  folder  = new TemporaryFolder();
+
+  @Mock
+  private CodeSource                      code;
+
+  private final ClassName                 test    = ClassName.fromString("FooTest");
+  private final ClassName                 foo     = ClassName.fromString("Foo");
+  private final Map<ClassName, ClassInfo> classes = new HashMap<>();
+
+  private File                            file;
+  private File                            classDir;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    this.file = this.folder.newFile();
+    this.classDir = this.folder.newFolder("classes");
+    when(this.code.getClassPath()).thenAnswer(
+        invocation -> new ClassPath(Collections.singletonList(this.classDir)));
+    when(this.code.getClassInfo(anyCollectionOf(ClassName.class))).thenAnswer(
+        invocation -> {
+          final List<ClassInfo> found = new ArrayList<>();
+          for (final Object each : (Collection<?>) invocation.getArguments()[0]) {
+            if (this.classes.containsKey(each)) {
+              found.add(this.classes.get(each));
+            }
+          }
+          return found;
+        });
+    withClass(this.test, 1);
+    withClass(this.foo, 1);
+  }
+
+  @Test
+  public void shouldFindNoResultsWhenNothingStored() {
+    final CoverageCache testee = new CoverageCache(this.file, this.file);
+    assertThat(testee.previousResults(KEY, this.classes.get(this.test),
+        this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldReuseStoredResultsWhenNothingChanged() {
+    storeResult(true);
+
+    final List<CoverageResult> actual = new CoverageCache(this.file, null)
+        .previousResults(KEY, this.classes.get(this.test), this.code).get();
+
+    assertThat(actual).hasSize(1);
+    final CoverageResult result = actual.get(0);
+    assertThat(result.getTestUnitDescription()).isEqualTo(
+        new Description("aTest", "FooTest"));
+    assertThat(result.getExecutionTime()).isEqualTo(42);
+    assertThat(result.getCoverage()).containsExactly(aBlock());
+  }
+
+  @Test
+  public void shouldNotReuseResultsWhenTestClassChanged() {
+    storeResult(true);
+    withClass(this.test, 2);
+
+    assertThat(new CoverageCache(this.file, null).previousResults(KEY,
+        this.classes.get(this.test), this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotReuseResultsWhenCoveredClassChanged() {
+    storeResult(true);
+    withClass(this.foo, 2);
+
+    assertThat(new CoverageCache(this.file, null).previousResults(KEY,
+        this.classes.get(this.test), this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotStoreResultsForTestClassWithFailingTest() {
+    storeResult(false);
+
+    assertThat(new CoverageCache(this.file, null).previousResults(KEY,
+        this.classes.get(this.test), this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldStoreCacheAlongsideHistory() throws IOException {
+    final File history = this.folder.newFile("history");
+    final CoverageCache testee = CoverageCache.forHistory(null, history);
+    testee.record(aResult(true));
+    testee.store(KEY, this.code);
+
+    assertThat(new File(history.getPath() + ".coverage")).exists();
+  }
+
+  @Test
+  public void shouldReuseResultsHeldInMemoryWhenNothingChanged() {
+    final CoverageCache testee = CoverageCache.inMemory();
+    testee.record(aResult(true));
+    testee.store(KEY, this.code);
+
+    final List<CoverageResult> actual = testee.previousResults(KEY,
+        this.classes.get(this.test), this.code).get();
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0).getTestUnitDescription()).isEqualTo(
+        new Description("aTest", "FooTest"));
+  }
+
+  @Test
+  public void shouldNotReuseResultsHeldInMemoryWhenCoveredClassChanged() {
+    final CoverageCache testee = CoverageCache.inMemory();
+    testee.record(aResult(true));
+    testee.store(KEY, this.code);
+    withClass(this.foo, 2);
+
+    assertThat(testee.previousResults(KEY, this.classes.get(this.test),
+        this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldOnlyHoldResultsOfLastRunInMemory() {
+    final CoverageCache testee = CoverageCache.inMemory();
+    testee.record(aResult(true));
+    testee.store(KEY, this.code);
+    testee.store(KEY, this.code);
+
+    assertThat(testee.previousResults(KEY, this.classes.get(this.test),
+        this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotReuseResultsStoredUnderDifferentKey() {
+    storeResult(true);
+
+    assertThat(new CoverageCache(this.file, null).previousResults("other",
+        this.classes.get(this.test), this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotReuseResultsHeldInMemoryUnderDifferentKey() {
+    final CoverageCache testee = CoverageCache.inMemory();
+    testee.record(aResult(true));
+    testee.store(KEY, this.code);
+
+    assertThat(testee.previousResults("other", this.classes.get(this.test),
+        this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotReuseResultsWhenNestedClassOfTestChanged()
+      throws IOException {
+    final ClassName nested = ClassName.fromString("FooTest$1");
+    withClassFile(nested, 1);
+    storeResult(true);
+    withClass(nested, 2);
+
+    assertThat(new CoverageCache(this.file, null).previousResults(KEY,
+        this.classes.get(this.test), this.code)).isEmpty();
+  }
+
+  @Test
+  public void shouldChangeKeyWhenInstrumentedClassesChange() {
+    assertThat(CoverageCache.keyFor(options("Foo*"), this.code)).isNotEqualTo(
+        CoverageCache.keyFor(options("Bar*"), this.code));
+  }
+
+  @Test
+  public void shouldChangeKeyWhenClassThatIsNotInstrumentedChanges()
+      throws IOException {
+    final ClassName helper = ClassName.fromString("Helper");
+    withClassFile(helper, 1);
+    final String before = CoverageCache.keyFor(options("Foo*"), this.code);
+    withClass(helper, 2);
+
+    assertThat(CoverageCache.keyFor(options("Foo*"), this.code)).isNotEqualTo(
+        before);
+  }
+
+  @Test
+  public void shouldNotChangeKeyWhenInstrumentedClassChanges()
+      throws IOException {
+    withClassFile(this.foo, 1);
+    final String before = CoverageCache.keyFor(options("Foo*"), this.code);
+    withClass(this.foo, 2);
+
+    assertThat(CoverageCache.keyFor(options("Foo*"), this.code)).isEqualTo(
+        before);
+  }
+
+  private CoverageOptions options(final String include) {
+    return new CoverageOptions(Collections.singletonList(include),
+        Collections.<String> emptyList(), TestPluginArguments.defaults(),
+        false, -1);
+  }
+
+  private void withClassFile(final ClassName name, final long hash)
+      throws IOException {
+    withClass(name, hash);
+    new File(this.classDir, name.asInternalName() + ".class").createNewFile();
+  }
+
+  private void storeResult(final boolean green) {
+    final CoverageCache testee = new CoverageCache(null, this.file);
+    testee.record(aResult(green));
+    testee.store(KEY, this.code);
+  }
+
+  private CoverageResult aResult(final boolean green) {
+    return new CoverageResult(new Description("aTest", "FooTest"), 42, green,
+        Collections.singletonList(aBlock()));
+  }
+
+  private BlockLocation aBlock() {
+    return new BlockLocation(aLocation().withClass(this.foo).build(), 3);
+  }
+
+  private void withClass(final ClassName name, final long hash) {
+    this.classes.put(name, ClassInfoMother.make(new ClassIdentifier(hash, name)));
+  }
+
+}
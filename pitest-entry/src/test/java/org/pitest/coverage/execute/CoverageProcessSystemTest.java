@@ -64,6 +64,30 @@ public class CoverageProcessSystemTest {
     assertFalse(coverage.iterator().next().getCoverage().isEmpty());
   }
 
+  @Test
+  public void shouldRecordCoverageWhenTalkingToMinionOverPipes()
+      throws IOException, InterruptedException {
+    final List<CoverageResult> coverage = new ArrayList<>();
+    final CoverageOptions sa = new CoverageOptions(coverOnlyTestees(),
+        excludeTests(), TestPluginArguments.defaults(), true, -1);
+
+    final JarCreatingJarFinder agent = new JarCreatingJarFinder();
+    try {
+      final LaunchOptions lo = new LaunchOptions(agent)
+          .usingPipeTransport(true);
+      final CoverageProcess process = new CoverageProcess(ProcessArgs
+          .withClassPath(new ClassPath()).andLaunchOptions(lo), sa,
+          Arrays.asList(TestsForMultiBlockCoverage.class.getName()),
+          coverage::add);
+      process.start();
+
+      assertEquals(ExitCode.OK, process.waitToDie());
+    } finally {
+      agent.close();
+    }
+    assertCoverage(coverage, "test1", 1);
+  }
+
   // check all the specialised implementations broadly work
   @Test
   public void shouldCalculateCoverageForSingleBlockMethods()
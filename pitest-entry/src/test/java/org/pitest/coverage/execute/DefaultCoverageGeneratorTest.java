@@ -0,0 +1,41 @@
+package org.pitest.coverage.execute;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DefaultCoverageGeneratorTest {
+
+  @Test
+  public void shouldUseSingleShardWhenOneThreadRequested() {
+    final List<List<String>> actual = DefaultCoverageGenerator
+        .shard(asList("a", "b", "c"), 1);
+    assertThat(actual).containsExactly(asList("a", "b", "c"));
+  }
+
+  @Test
+  public void shouldDistributeTestsEvenlyBetweenShards() {
+    final List<List<String>> actual = DefaultCoverageGenerator
+        .shard(asList("a", "b", "c", "d", "e"), 2);
+    assertThat(actual).containsExactly(asList("a", "c", "e"), asList("b", "d"));
+  }
+
+  @Test
+  public void shouldNotCreateMoreShardsThanTests() {
+    final List<List<String>> actual = DefaultCoverageGenerator
+        .shard(asList("a", "b"), 16);
+    assertThat(actual).containsExactly(asList("a"), asList("b"));
+  }
+
+  @Test
+  public void shouldCreateOneEmptyShardWhenNoTests() {
+    final List<List<String>> actual = DefaultCoverageGenerator
+        .shard(Collections.<String> emptyList(), 4);
+    assertThat(actual).containsExactly(Collections.<String> emptyList());
+  }
+
+}
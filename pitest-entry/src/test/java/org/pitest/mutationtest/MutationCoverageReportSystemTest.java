@@ -87,6 +87,83 @@ public class MutationCoverageReportSystemTest extends ReportTestBase {
     verifyResults(KILLED);
   }
 
+  @Test
+  public void shouldPickRelevantTestsWhenCoverageGatheredByParallelMinions() {
+    this.data.setNumberOfThreads(3);
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldPickRelevantTestsWhenWorkStealing() {
+    this.data.setNumberOfThreads(3);
+    this.data.setWorkStealing(true);
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldPickRelevantTestsWhenUsingMutantSchemata() {
+    this.data.setMutantSchemata(true);
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldPickRelevantTestsWhenPipeliningAnalysis() {
+    this.data.setNumberOfThreads(2);
+    this.data.setPipelineAnalysis(true);
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldPickRelevantTestsWhenLaunchingWithClasspathJar() {
+    this.data.setUseClasspathJar(true);
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldPickRelevantTestsWhenTalkingToMinionsOverPipes() {
+    this.data.setPipeTransport(true);
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldKillMutationsWhenReusingMinionsOverPipes() {
+    this.data.setTargetClasses(asGlobs(MultipleMutations.class));
+    this.data.setTargetTests(predicateFor(com.example.MultipleMutationsTest.class));
+    this.data.setPipeTransport(true);
+    this.data.setReuseMinions(true);
+    this.data.setMutationUnitSize(1);
+    createAndRun();
+    verifyResults(KILLED, KILLED, KILLED);
+  }
+
+  @Test
+  public void shouldPickRelevantTestsWhenAnalysingInProcess() {
+    this.data.setInProcessAnalysis(true);
+    this.data.setNumberOfThreads(2);
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
   @Test
   public void shouldReportUnCoveredMutations() {
     this.data.setTargetClasses(asList("com.example.PartiallyCovered*"));
@@ -294,6 +371,40 @@ public class MutationCoverageReportSystemTest extends ReportTestBase {
 
   }
 
+  @Test
+  public void shouldKillMutationsWhenReusingMinions() {
+    this.data.setTargetClasses(asGlobs(MultipleMutations.class));
+    this.data.setTargetTests(predicateFor(com.example.MultipleMutationsTest.class));
+    this.data.setReuseMinions(true);
+    this.data.setMutationUnitSize(1);
+    createAndRun();
+    verifyResults(KILLED, KILLED, KILLED);
+  }
+
+  @Test
+  public void shouldMarkChildJVMCrashesAsRunErrorsWhenReusingMinions() {
+    setMutators("NEGATE_CONDITIONALS");
+    this.data.setTargetClasses(asGlobs(CrashesJVMWhenMutated.class));
+    this.data
+    .setTargetTests(predicateFor(com.example.TestCrashesJVMWhenMutated.class));
+    this.data.setReuseMinions(true);
+    createAndRun();
+
+    verifyResults(RUN_ERROR);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsThatExitInMinionWhenAnalysingInProcess() {
+    setMutators("NEGATE_CONDITIONALS");
+    this.data.setTargetClasses(asGlobs(CrashesJVMWhenMutated.class));
+    this.data
+    .setTargetTests(predicateFor(com.example.TestCrashesJVMWhenMutated.class));
+    this.data.setInProcessAnalysis(true);
+    createAndRun();
+
+    verifyResults(RUN_ERROR);
+  }
+
   @Test
   public void shouldCombineAndKillInlinedMutationsInFinallyBlocks() {
     setMutators("INCREMENTS");
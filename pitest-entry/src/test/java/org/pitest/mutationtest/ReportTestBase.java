@@ -106,7 +106,9 @@ public abstract class ReportTestBase {
       final CoverageOptions coverageOptions = createCoverageOptions(settings.createCoverageOptions().getPitConfig());
       final LaunchOptions launchOptions = new LaunchOptions(agent,
           new DefaultJavaExecutableLocator(), this.data.getJvmArgs(),
-          new HashMap<String, String>());
+          new HashMap<String, String>())
+          .usingClassPathJar(this.data.useClasspathJar())
+          .usingPipeTransport(this.data.isPipeTransport());
 
       final PathFilter pf = new PathFilter(p -> true, p -> true);
       final ProjectClassPaths cps = new ProjectClassPaths(
@@ -117,7 +119,8 @@ public abstract class ReportTestBase {
 
       final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
           null, coverageOptions, launchOptions, code,
-          new NullCoverageExporter(), timings, false);
+          new NullCoverageExporter(), timings, false,
+          this.data.getNumberOfThreads());
 
       final HistoryStore history = new NullHistoryStore();
 
@@ -129,7 +132,11 @@ public abstract class ReportTestBase {
           code, this.data, new SettingsFactory(this.data, this.plugins),
           timings);
 
-      testee.runReport();
+      try {
+        testee.runReport();
+      } finally {
+        code.getClassPath().close();
+      }
     } catch (final IOException e) {
       throw Unchecked.translateCheckedException(e);
     } finally {
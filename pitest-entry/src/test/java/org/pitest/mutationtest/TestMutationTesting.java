@@ -64,6 +64,7 @@ import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.engine.gregor.config.GregorEngineFactory;
+import org.pitest.mutationtest.execute.InProcessAnalysis;
 import org.pitest.mutationtest.execute.MutationAnalysisExecutor;
 import org.pitest.mutationtest.tooling.JarCreatingJarFinder;
 import org.pitest.process.DefaultJavaExecutableLocator;
@@ -85,6 +86,8 @@ public class TestMutationTesting {
 
   private MetaDataExtractor        metaDataExtractor;
 
+  private boolean                  inProcess;
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
@@ -133,6 +136,14 @@ public class TestMutationTesting {
     verifyResults(KILLED);
   }
 
+  @Test
+  public void shouldKillAllCoveredMutationsInProcess() {
+    this.inProcess = true;
+    run(OneMutationOnly.class, OneMutationFullTest.class,
+        "RETURN_VALS");
+    verifyResults(KILLED);
+  }
+
   public static class ThreeMutationsTwoMeaningfullTests {
     @TestAnnotationForTesting
     public void testReturnOne() {
@@ -221,6 +232,14 @@ public class TestMutationTesting {
     verifyResults(KILLED, TIMED_OUT);
   }
 
+  @Test(timeout = 30000)
+  public void shouldAnalyseInfiniteLoopsInMinionWhenAnalysingInProcess() {
+    this.inProcess = true;
+    run(InfiniteLoop.class, InfiniteLoopTest.class,
+        "INCREMENTS");
+    verifyResults(KILLED, TIMED_OUT);
+  }
+
   public static class OneMutationFullTestWithSystemPropertyDependency {
     @TestAnnotationForTesting
     public void testReturnOne() {
@@ -377,11 +396,14 @@ public class TestMutationTesting {
             coverageData), bas, emptyIntercpetor);
 
 
+    final InProcessAnalysis analysis = this.inProcess ? new InProcessAnalysis(
+        data.getClassPath().getLocalClassPath()) : null;
+
     final WorkerFactory wf = new WorkerFactory(null,
         coverageOptions.getPitConfig(), mutationConfig, arguments,
         new PercentAndConstantTimeoutStrategy(data.getTimeoutFactor(),
-            data.getTimeoutConstant()), data.isVerbose(), false, data.getClassPath()
-            .getLocalClassPath());
+            data.getTimeoutConstant()), data.isVerbose(), false, false, false, data.getClassPath()
+            .getLocalClassPath(), null, analysis);
 
 
 
@@ -392,7 +414,13 @@ public class TestMutationTesting {
     final List<MutationAnalysisUnit> tus = builder
         .createMutationTestUnits(codeClasses);
 
-    this.mae.run(tus);
+    try {
+      this.mae.run(tus);
+    } finally {
+      if (analysis != null) {
+        analysis.shutdown();
+      }
+    }
   }
 
   private CoverageOptions createCoverageOptions(ReportOptions data) {
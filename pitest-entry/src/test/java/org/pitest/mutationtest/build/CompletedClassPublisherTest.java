@@ -0,0 +1,93 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationDetailsMother;
+
+public class CompletedClassPublisherTest {
+
+  private final List<ClassMutationResults> published = new ArrayList<>();
+
+  private final CompletedClassPublisher    testee    = new CompletedClassPublisher(
+      this.published::add);
+
+  private final MutationDetails            fooOne    = mutation("foo", 1);
+  private final MutationDetails            fooTwo    = mutation("foo", 2);
+  private final MutationDetails            bar       = mutation("bar", 1);
+
+  @Test
+  public void shouldPublishClassOnceAllItsMutationsHaveFinished() {
+    this.testee.expect(Arrays.asList(this.fooOne, this.fooTwo, this.bar));
+
+    this.testee.report(this.fooOne.getId(), killed());
+    assertThat(this.published).isEmpty();
+
+    this.testee.report(this.fooTwo.getId(), killed());
+    assertThat(this.published).hasSize(1);
+    assertThat(this.published.get(0).getMutations()).hasSize(2);
+  }
+
+  @Test
+  public void shouldIgnoreMutationsThatHaveOnlyStarted() {
+    this.testee.expect(Arrays.asList(this.bar));
+    this.testee.report(this.bar.getId(),
+        MutationStatusTestPair.notAnalysed(1, DetectionStatus.STARTED));
+    assertThat(this.published).isEmpty();
+  }
+
+  @Test
+  public void shouldPublishEachResultOnlyOnce() {
+    this.testee.expect(Arrays.asList(this.bar));
+    this.testee.report(this.bar.getId(), killed());
+    this.testee.report(this.bar.getId(), killed());
+    assertThat(this.published).hasSize(1);
+  }
+
+  @Test
+  public void shouldRemovePublishedMutationsFromStatusMap() {
+    final MutationStatusMap map = new MutationStatusMap();
+    map.setStatusForMutations(Arrays.asList(this.fooOne, this.bar),
+        DetectionStatus.NOT_STARTED);
+    map.setStatusForMutation(this.bar, DetectionStatus.NO_COVERAGE);
+    this.testee.expect(Arrays.asList(this.fooOne, this.bar));
+
+    this.testee.publishFinished(map);
+
+    assertThat(this.published).hasSize(1);
+    assertThat(map.allMutations()).containsExactly(this.fooOne);
+  }
+
+  @Test
+  public void shouldPublishPartiallyFinishedClassesWhenAsked() {
+    this.testee.expect(Arrays.asList(this.fooOne, this.fooTwo));
+    this.testee.report(this.fooOne.getId(), killed());
+
+    this.testee.publishPartiallyFinished();
+
+    assertThat(this.published).hasSize(1);
+    assertThat(this.published.get(0).getMutations()).hasSize(1);
+  }
+
+  private static MutationStatusTestPair killed() {
+    return new MutationStatusTestPair(1, DetectionStatus.KILLED, "test");
+  }
+
+  private static MutationDetails mutation(final String clazz, final int index) {
+    return MutationDetailsMother.aMutationDetail()
+        .withId(aMutationId().withLocation(aLocation(clazz)).withIndex(index))
+        .build();
+  }
+
+}
@@ -0,0 +1,110 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationDetailsMother;
+
+public class CostBalancingGrouperTest {
+
+  private CostBalancingGrouper testee = new CostBalancingGrouper(1, 0);
+
+  @Test
+  public void shouldReturnNoUnitsWhenNoMutations() {
+    assertThat(this.testee.groupMutations(null,
+        Collections.<MutationDetails> emptyList())).isEmpty();
+  }
+
+  @Test
+  public void shouldSplitExpensiveClassIntoSeveralUnits() {
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 8; i++) {
+      mutations.add(mutation("foo", i, 2000));
+    }
+
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, mutations);
+
+    assertThat(actual).hasSize(4);
+    for (final List<MutationDetails> each : actual) {
+      assertThat(each).hasSize(2);
+    }
+  }
+
+  @Test
+  public void shouldPackCheapClassesIntoOneUnit() {
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, Arrays.asList(mutation("foo", 0, 1), mutation("bar", 0, 1),
+            mutation("baz", 0, 1)));
+
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0)).hasSize(3);
+  }
+
+  @Test
+  public void shouldReturnMostCostlyUnitsFirst() {
+    final MutationDetails small = mutation("small", 0, 100);
+    final MutationDetails medium = mutation("medium", 0, 3000);
+    final MutationDetails large = mutation("large", 0, 4990);
+
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, Arrays.asList(small, medium, large));
+
+    assertThat(actual).hasSize(2);
+    assertThat(actual.get(0)).containsExactly(large);
+    assertThat(actual.get(1)).containsExactly(medium, small);
+  }
+
+  @Test
+  public void shouldNotExceedUnitSize() {
+    this.testee = new CostBalancingGrouper(1, 2);
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 5; i++) {
+      mutations.add(mutation("foo", i, 1));
+    }
+
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, mutations);
+
+    assertThat(actual).hasSize(3);
+    for (final List<MutationDetails> each : actual) {
+      assertThat(each.size()).isLessThanOrEqualTo(2);
+    }
+  }
+
+  @Test
+  public void shouldCreateMoreUnitsWhenMoreThreadsAvailable() {
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 40; i++) {
+      mutations.add(mutation("foo", i, 1000));
+    }
+
+    final int singleThreaded = this.testee.groupMutations(null, mutations)
+        .size();
+    final int multiThreaded = new CostBalancingGrouper(4, 0).groupMutations(
+        null, mutations).size();
+
+    assertThat(multiThreaded).isGreaterThan(singleThreaded);
+  }
+
+  private static MutationDetails mutation(final String clazz, final int index,
+      final int testTime) {
+    final TestInfo test = new TestInfo("test", "test", testTime,
+        Optional.<ClassName> empty(), 0);
+    return MutationDetailsMother.aMutationDetail()
+        .withId(aMutationId().withLocation(aLocation(clazz)).withIndex(index))
+        .withTestsInOrder(Collections.singletonList(test)).build();
+  }
+
+}
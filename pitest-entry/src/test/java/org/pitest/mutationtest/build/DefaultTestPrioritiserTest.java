@@ -2,11 +2,14 @@ package org.pitest.mutationtest.build;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
@@ -16,6 +19,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.ClassLine;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.TestInfo;
@@ -52,6 +56,25 @@ public class DefaultTestPrioritiserTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void shouldAssignTestsForBlockContainingMutation() {
+    final MutationDetails mutation = new MutationDetails(
+        new MutationIdentifier(aLocation().withClass(this.foo)
+            .withMethod("foo").build(), 1, "mutator"), "file", "desc", 1, 2);
+    final BlockLocation block = new BlockLocation(mutation.getId()
+        .getLocation(), 1);
+    final List<TestInfo> expected = makeTestInfos(0);
+    when(this.coverage.getBlocksForInstructions(mutation.getId().getLocation(),
+        Collections.singletonList(0))).thenReturn(
+        Collections.singletonList(block));
+    when(this.coverage.getTestsForBlockLocation(block)).thenReturn(expected);
+
+    final List<TestInfo> actual = this.testee.assignTests(mutation);
+
+    assertEquals(expected, actual);
+    verify(this.coverage, never()).getTestsForClassLine(any(ClassLine.class));
+  }
+
   @Test
   public void shouldAssignAllTestsForClassWhenMutationInStaticInitialiser() {
     final List<TestInfo> expected = makeTestInfos(0);
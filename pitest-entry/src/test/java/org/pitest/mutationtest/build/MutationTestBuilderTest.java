@@ -7,9 +7,13 @@ import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -80,6 +84,119 @@ public class MutationTestBuilderTest {
     assertTrue(actual.get(0).priority() > actual.get(1).priority());
   }
 
+  @Test
+  public void shouldFindMutationsForAllClassesWhenUsingSeveralThreads() {
+    final List<ClassName> classes = new ArrayList<>();
+    for (int i = 0; i != 50; i++) {
+      final ClassName each = ClassName.fromString("c" + i);
+      classes.add(each);
+      when(this.source.createMutations(each)).thenReturn(
+          Arrays.asList(createDetails(each.asJavaName())));
+    }
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        () -> this.source, new DefaultGrouper(0), false, 4);
+
+    final List<MutationAnalysisUnit> actual = this.testee
+        .createMutationTestUnits(classes);
+
+    assertEquals(50, actual.size());
+  }
+
+  @Test
+  public void shouldCreateSeparateSourceForEachThreadFindingMutations() {
+    final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    final AtomicInteger sources = new AtomicInteger();
+    when(this.source.createMutations(any(ClassName.class))).thenReturn(
+        Collections.<MutationDetails> emptyList());
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(), () -> {
+      threads.add(Thread.currentThread());
+      sources.incrementAndGet();
+      return this.source;
+    }, new DefaultGrouper(0), false, 4);
+
+    final List<ClassName> classes = new ArrayList<>();
+    for (int i = 0; i != 50; i++) {
+      classes.add(ClassName.fromString("c" + i));
+    }
+    this.testee.createMutationTestUnits(classes);
+
+    assertEquals(threads.size(), sources.get());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRethrowErrorsFromThreadsFindingMutations() {
+    when(this.source.createMutations(any(ClassName.class))).thenThrow(
+        new IllegalStateException());
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        () -> this.source, new DefaultGrouper(0), false, 2);
+
+    this.testee.createMutationTestUnits(Arrays.asList(
+        ClassName.fromString("foo"), ClassName.fromString("bar")));
+  }
+
+  @Test
+  public void shouldStreamUnitsForEachClassWithMutations() {
+    final ClassName foo = ClassName.fromString("foo");
+    final ClassName bar = ClassName.fromString("bar");
+    when(this.source.createMutations(foo)).thenReturn(
+        Arrays.asList(createDetails("foo"), createDetails("foo")));
+    when(this.source.createMutations(bar)).thenReturn(
+        Collections.<MutationDetails> emptyList());
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        () -> this.source, new DefaultGrouper(1), false, 2);
+
+    final List<MutationAnalysisUnit> actual = Collections
+        .synchronizedList(new ArrayList<>());
+    this.testee.streamMutationTestUnits(Arrays.asList(foo, bar)).produce(
+        actual::add);
+
+    assertEquals(2, actual.size());
+  }
+
+  @Test
+  public void shouldStreamMostCostlyUnitsFirstWithinABatch() {
+    final ClassName foo = ClassName.fromString("foo");
+    final ClassName bar = ClassName.fromString("bar");
+    when(this.source.createMutations(bar)).thenReturn(
+        Arrays.asList(createDetails("bar")));
+    when(this.source.createMutations(foo)).thenReturn(
+        Arrays.asList(createDetails("foo"), createDetails("foo"),
+            createDetails("foo")));
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        () -> this.source, new DefaultGrouper(2), false, 1);
+
+    final List<Integer> priorities = new ArrayList<>();
+    this.testee.streamMutationTestUnits(Arrays.asList(bar, foo)).produce(
+        u -> priorities.add(u.priority()));
+
+    assertEquals(Arrays.asList(20, 10, 10), priorities);
+  }
+
+  @Test
+  public void shouldStreamUnitsBeforeAllMutationsAreFound() {
+    final ClassName foo = ClassName.fromString("foo");
+    final ClassName bar = ClassName.fromString("bar");
+    final List<MutationDetails> many = new ArrayList<>();
+    for (int i = 0; i != MutationTestBuilder.STREAM_BATCH_MUTATIONS; i++) {
+      many.add(createDetails("foo"));
+    }
+    final List<MutationAnalysisUnit> actual = new ArrayList<>();
+    final AtomicInteger producedBeforeBar = new AtomicInteger(-1);
+    when(this.source.createMutations(foo)).thenReturn(many);
+    when(this.source.createMutations(bar)).thenAnswer(a -> {
+      producedBeforeBar.set(actual.size());
+      return Arrays.asList(createDetails("bar"));
+    });
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        () -> this.source, new DefaultGrouper(0), false, 1);
+
+    this.testee.streamMutationTestUnits(Arrays.asList(foo, bar)).produce(
+        actual::add);
+
+    assertEquals(1, producedBeforeBar.get());
+    assertEquals(2, actual.size());
+  }
+
   private void assertCreatesOneTestUnitForTwoMutations() {
     final MutationDetails mutation1 = createDetails("foo");
     final MutationDetails mutation2 = createDetails("foo");
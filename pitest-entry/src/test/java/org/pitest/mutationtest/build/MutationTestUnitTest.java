@@ -1,17 +1,22 @@
 package org.pitest.mutationtest.build;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.ClassMutationResults;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.MutationConfig;
@@ -56,7 +61,7 @@ public class MutationTestUnitTest {
     this.tests = new ArrayList<>();
     this.testee = new MutationTestUnit(this.mutations, this.tests,
         new WorkerFactory(null, TestPluginArguments.defaults(), this.mutationConfig, EngineArguments.arguments(), this.timeout,
-            false, false, null));
+            false, false, false, null, null));
 
   }
 
@@ -75,7 +80,65 @@ public class MutationTestUnitTest {
     this.mutations.add(MutationDetailsMother.aMutationDetail().build());
     this.testee = new MutationTestUnit(MutationDetailsMother.aMutationDetail()
         .build(42), this.tests, null);
-    assertThat(this.testee.priority()).isEqualTo(42);
+    assertThat(this.testee.priority()).isEqualTo(
+        42 * (int) MutationCost.MUTATION_OVERHEAD);
+  }
+
+  @Test
+  public void shouldPassOnResultsForEachClassAsTheyComplete() throws Exception {
+    this.mutations.add(MutationDetailsMother.aMutationDetail()
+        .withId(aMutationId().withLocation(aLocation("foo"))).build());
+    this.mutations.add(MutationDetailsMother.aMutationDetail()
+        .withId(aMutationId().withLocation(aLocation("bar"))).build());
+    final List<ClassMutationResults> completed = new ArrayList<>();
+
+    final MutationMetaData remaining = this.testee.analyse(completed::add);
+
+    assertThat(completed).hasSize(2);
+    assertThat(remaining.getMutations()).isEmpty();
+  }
+
+  @Test
+  public void shouldNotSplitUnitsByDefault() {
+    this.testee = new MutationTestUnit(MutationDetailsMother.aMutationDetail()
+        .build(10), this.tests, null);
+    assertThat(this.testee.split()).isEmpty();
+  }
+
+  @Test
+  public void shouldSplitHalfOfUnstartedMutationsFromSplittableUnit()
+      throws Exception {
+    for (int i = 0; i != 10; i++) {
+      this.mutations.add(MutationDetailsMother.aMutationDetail()
+          .withId(aMutationId().withIndex(i)).build());
+    }
+    this.testee = new MutationTestUnit(this.mutations, this.tests, null, true);
+
+    final MutationAnalysisUnit split = this.testee.split().get();
+
+    assertThat(split.call().getMutations()).hasSize(5);
+    assertThat(this.testee.call().getMutations()).hasSize(5);
+  }
+
+  @Test
+  public void shouldNotSplitOnceAllMutationsStarted() throws Exception {
+    this.testee = new MutationTestUnit(MutationDetailsMother.aMutationDetail()
+        .build(10), this.tests, null, true);
+    this.testee.call();
+    assertThat(this.testee.split()).isEmpty();
+  }
+
+  @Test
+  public void shouldReportPriorityBasedOnTimeOfCoveringTests() {
+    final TestInfo slow = new TestInfo("foo", "slow", 1000,
+        Optional.<ClassName> empty(), 0);
+    final TestInfo fast = new TestInfo("foo", "fast", 5,
+        Optional.<ClassName> empty(), 0);
+    this.testee = new MutationTestUnit(MutationDetailsMother.aMutationDetail()
+        .withTestsInOrder(Arrays.asList(slow, fast)).build(2), this.tests,
+        null);
+    assertThat(this.testee.priority()).isEqualTo(
+        2 * (1005 + (int) MutationCost.MUTATION_OVERHEAD));
   }
 
   private void addMutation() {
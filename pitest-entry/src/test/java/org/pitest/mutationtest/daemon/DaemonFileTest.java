@@ -0,0 +1,91 @@
+package org.pitest.mutationtest.daemon;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DaemonFileTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldReadWhatWasWritten() throws IOException {
+    final File file = new File(this.folder.getRoot(), "daemon");
+    final DaemonFile written = DaemonFile.forPort(1234);
+    written.write(file);
+
+    final DaemonFile actual = DaemonFile.read(file);
+
+    assertThat(actual.getPort()).isEqualTo(1234);
+    assertThat(actual.getToken()).isEqualTo(written.getToken());
+  }
+
+  @Test
+  public void shouldNeverBeReadableByGroupOrOthers() throws IOException {
+    assumePosix();
+    final File file = new File(this.folder.getRoot(), "daemon");
+    DaemonFile.forPort(1234).write(file);
+
+    assertThat(Files.getPosixFilePermissions(file.toPath())).containsOnly(
+        PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+  }
+
+  @Test
+  public void shouldNotWriteTokenThroughPreviouslyOpenedFile()
+      throws IOException {
+    assumePosix();
+    final File file = new File(this.folder.getRoot(), "daemon");
+    Files.createFile(file.toPath(), PosixFilePermissions
+        .asFileAttribute(PosixFilePermissions.fromString("rw-r--r--")));
+
+    try (InputStream opened = new FileInputStream(file)) {
+      final DaemonFile written = DaemonFile.forPort(1234);
+      written.write(file);
+
+      final byte[] seen = new byte[4096];
+      final int read = opened.read(seen);
+      assertThat(read == -1 ? "" : new String(seen, 0, read,
+          StandardCharsets.ISO_8859_1)).doesNotContain(written.getToken());
+    }
+    assertThat(Files.getPosixFilePermissions(file.toPath())).containsOnly(
+        PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+  }
+
+  @Test
+  public void shouldLeaveNoOtherFilesBehind() throws IOException {
+    DaemonFile.forPort(1234).write(new File(this.folder.getRoot(), "daemon"));
+    assertThat(this.folder.getRoot().list()).containsExactly("daemon");
+  }
+
+  @Test
+  public void shouldCreateDifferentTokenForEachDaemon() {
+    assertThat(DaemonFile.forPort(1).getToken()).isNotEqualTo(
+        DaemonFile.forPort(1).getToken());
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldRejectFilesNotWrittenByDaemon() throws IOException {
+    final File file = this.folder.newFile();
+    Files.write(file.toPath(), "port=12".getBytes("UTF-8"));
+    DaemonFile.read(file);
+  }
+
+  private void assumePosix() {
+    Assume.assumeTrue(this.folder.getRoot().toPath().getFileSystem()
+        .supportedFileAttributeViews().contains("posix"));
+  }
+
+}
@@ -0,0 +1,189 @@
+package org.pitest.mutationtest.daemon;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.util.Log;
+
+public class DaemonServerTest {
+
+  @Rule
+  public TemporaryFolder        folder   = new TemporaryFolder();
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  private final List<String>    received = new ArrayList<>();
+
+  private File                  receivedDirectory;
+
+  private DaemonClient          client;
+
+  private Future<?>             serving;
+
+  @After
+  public void tearDown() throws Exception {
+    if (this.serving != null) {
+      this.client.stop();
+      this.serving.get(10, TimeUnit.SECONDS);
+    }
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldPassArgumentsAndWorkingDirectoryToHandler()
+      throws Exception {
+    start((dir, args) -> {
+      this.receivedDirectory = dir;
+      this.received.addAll(args);
+    });
+
+    final Optional<String> actual = this.client.run(this.folder.getRoot(),
+        Arrays.asList("--foo=bar", "--baz"), new ByteArrayOutputStream());
+
+    assertThat(actual).isEmpty();
+    assertThat(this.receivedDirectory.getAbsoluteFile()).isEqualTo(
+        this.folder.getRoot().getAbsoluteFile());
+    assertThat(this.received).containsExactly("--foo=bar", "--baz");
+  }
+
+  @Test
+  public void shouldSendConsoleAndLogOutputToClient() throws Exception {
+    start((dir, args) -> {
+      System.out.println("to console");
+      Log.getLogger().info("to log");
+    });
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    this.client.run(this.folder.getRoot(), Arrays.asList("a"), output);
+
+    assertThat(output.toString()).contains("to console").contains("to log");
+  }
+
+  @Test
+  public void shouldReportFailureToClient() throws Exception {
+    start((dir, args) -> {
+      throw new RuntimeException("it broke");
+    });
+
+    final Optional<String> actual = this.client.run(this.folder.getRoot(),
+        Arrays.asList("a"), new ByteArrayOutputStream());
+
+    assertThat(actual).contains("it broke");
+  }
+
+  @Test
+  public void shouldHandleArgumentsLongerThanModifiedUtf8Allows()
+      throws Exception {
+    start((dir, args) -> this.received.addAll(args));
+
+    final char[] chars = new char[100000];
+    Arrays.fill(chars, 'x');
+    final String longArg = new String(chars);
+    this.client.run(this.folder.getRoot(), Arrays.asList(longArg),
+        new ByteArrayOutputStream());
+
+    assertThat(this.received).containsExactly(longArg);
+  }
+
+  @Test
+  public void shouldIgnoreRequestsWithoutToken() throws Exception {
+    start((dir, args) -> this.received.addAll(args));
+
+    final File forged = this.folder.newFile("forged");
+    new DaemonFile(DaemonFile.read(daemonFile()).getPort(), "guess")
+        .write(forged);
+    try {
+      new DaemonClient(forged).run(this.folder.getRoot(), Arrays.asList("a"),
+          new ByteArrayOutputStream());
+    } catch (final IOException expected) {
+      // connection is closed without reply
+    }
+
+    assertThat(this.received).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectOversizedTokenWithoutReadingIt() throws Exception {
+    start((dir, args) -> this.received.addAll(args));
+
+    try (Socket socket = connect()) {
+      final DataOutputStream out = new DataOutputStream(
+          socket.getOutputStream());
+      out.writeInt(Integer.MAX_VALUE);
+      out.flush();
+      assertThat(socket.getInputStream().read()).isEqualTo(-1);
+    }
+
+    this.client.run(this.folder.getRoot(), Arrays.asList("a"),
+        new ByteArrayOutputStream());
+    assertThat(this.received).containsExactly("a");
+  }
+
+  @Test
+  public void shouldDropClientsThatStallBeforeSendingToken()
+      throws Exception {
+    start((dir, args) -> this.received.addAll(args), 100);
+
+    try (Socket stalled = connect()) {
+      this.client.run(this.folder.getRoot(), Arrays.asList("a"),
+          new ByteArrayOutputStream());
+    }
+
+    assertThat(this.received).containsExactly("a");
+  }
+
+  @Test
+  public void shouldStopWhenAsked() throws Exception {
+    start((dir, args) -> {
+    });
+
+    this.client.stop();
+    this.serving.get(10, TimeUnit.SECONDS);
+    this.serving = null;
+  }
+
+  private void start(final DaemonServer.RequestHandler handler)
+      throws IOException {
+    start(handler, 10000);
+  }
+
+  private void start(final DaemonServer.RequestHandler handler,
+      final int requestTimeoutMillis) throws IOException {
+    final DaemonServer testee = new DaemonServer(0, handler,
+        requestTimeoutMillis);
+    testee.getDetails().write(daemonFile());
+    this.client = new DaemonClient(daemonFile());
+    this.serving = this.executor.submit(() -> {
+      testee.serve();
+      return null;
+    });
+  }
+
+  private Socket connect() throws IOException {
+    return new Socket(InetAddress.getLoopbackAddress(),
+        DaemonFile.read(daemonFile()).getPort());
+  }
+
+  private File daemonFile() {
+    return new File(this.folder.getRoot(), "daemon");
+  }
+
+}
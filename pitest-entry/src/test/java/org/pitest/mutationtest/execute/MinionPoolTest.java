@@ -0,0 +1,68 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.pitest.util.ExitCode;
+
+public class MinionPoolTest {
+
+  private MinionPool         testee = new MinionPool(0);
+
+  private final PooledMinion minion = mock(PooledMinion.class);
+
+  @Test
+  public void shouldHandOutMinionsThatFinishedCleanly() throws Exception {
+    this.testee.release(this.minion, ExitCode.OK);
+    assertThat(this.testee.acquire(null)).isSameAs(this.minion);
+    verify(this.minion, never()).destroy();
+  }
+
+  @Test
+  public void shouldDestroyMinionsThatExitedAbnormally() {
+    this.testee.release(this.minion, ExitCode.TIMEOUT);
+    verify(this.minion).destroy();
+  }
+
+  @Test
+  public void shouldReplaceMinionsThatHaveAnalysedTheMaximumNumberOfMutations() {
+    this.testee = new MinionPool(10);
+    when(this.minion.mutationsAnalysed()).thenReturn(10);
+    this.testee.release(this.minion, ExitCode.OK);
+    verify(this.minion).shutdown();
+  }
+
+  @Test
+  public void shouldNotReplaceMinionsWhenNoMaximumSet() {
+    when(this.minion.mutationsAnalysed()).thenReturn(Integer.MAX_VALUE);
+    this.testee.release(this.minion, ExitCode.OK);
+    verify(this.minion, never()).shutdown();
+  }
+
+  @Test
+  public void shouldShutdownIdleMinions() {
+    this.testee.release(this.minion, ExitCode.OK);
+    this.testee.shutdown();
+    verify(this.minion).shutdown();
+  }
+
+  @Test
+  public void shouldReportAllBatchesAsReusedWhenNoMinionLaunched()
+      throws Exception {
+    this.testee.release(this.minion, ExitCode.OK);
+    this.testee.acquire(null);
+    assertThat(this.testee.batchesRun()).isEqualTo(1);
+    assertThat(this.testee.minionsLaunched()).isEqualTo(0);
+    assertThat(this.testee.reuseRate()).isEqualTo(1d);
+  }
+
+  @Test
+  public void shouldReportZeroReuseRateWhenNothingRun() {
+    assertThat(this.testee.reuseRate()).isEqualTo(0d);
+  }
+
+}
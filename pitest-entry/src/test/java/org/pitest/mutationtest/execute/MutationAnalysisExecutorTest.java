@@ -0,0 +1,323 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.MutationAnalysisUnitSource;
+import org.pitest.mutationtest.engine.MutationDetailsMother;
+import org.pitest.util.PitError;
+
+public class MutationAnalysisExecutorTest {
+
+  private final RecordingListener listener = new RecordingListener();
+
+  @Test
+  public void shouldReportResultsInSubmissionOrderByDefault() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(this.listener));
+
+    testee.run(Arrays.<MutationAnalysisUnit> asList(new StubUnit("first"),
+        new StubUnit("second")));
+
+    assertThat(this.listener.classes).containsExactly("first", "second");
+    assertThat(this.listener.ended).isTrue();
+  }
+
+  @Test
+  public void shouldReportResultsInCompletionOrderWhenWorkStealing() {
+    final CountDownLatch secondReported = new CountDownLatch(1);
+    this.listener.onResult = c -> secondReported.countDown();
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(this.listener),
+        true);
+
+    testee.run(Arrays.<MutationAnalysisUnit> asList(
+        new StubUnit("slow", secondReported), new StubUnit("fast")));
+
+    assertThat(this.listener.classes).containsExactly("fast", "slow");
+    assertThat(this.listener.ended).isTrue();
+  }
+
+  @Test
+  public void shouldSplitWorkFromRunningUnitToIdleThread() {
+    final CountDownLatch splitReported = new CountDownLatch(1);
+    this.listener.onResult = c -> splitReported.countDown();
+    final StubUnit running = new StubUnit("running", splitReported);
+    running.splitOff = new StubUnit("split");
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(this.listener),
+        true);
+
+    testee.run(Collections.<MutationAnalysisUnit> singletonList(running));
+
+    assertThat(this.listener.classes).containsExactly("split", "running");
+  }
+
+  @Test
+  public void shouldKeepSplittingLongUnitAfterOtherWorkFinishes() {
+    final Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+    final PiecewiseUnit longest = new PiecewiseUnit("long", 20, threads);
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(3,
+        Collections.<MutationResultListener> singletonList(this.listener),
+        true);
+
+    testee.run(Arrays.<MutationAnalysisUnit> asList(longest,
+        new StubUnit("short")));
+
+    assertThat(this.listener.classes).contains("long", "short");
+    assertThat(threads.size()).isGreaterThan(1);
+  }
+
+  @Test
+  public void shouldPassClassResultsToListenersBeforeUnitCompletes() {
+    final CountDownLatch partialReported = new CountDownLatch(1);
+    this.listener.onResult = c -> partialReported.countDown();
+    final StubUnit streaming = new StubUnit("last", partialReported) {
+      @Override
+      public MutationMetaData analyse(
+          final Consumer<ClassMutationResults> completedClasses)
+          throws Exception {
+        completedClasses.accept(new ClassMutationResults(
+            aResult("first").getMutations()));
+        return call();
+      }
+    };
+
+    new MutationAnalysisExecutor(1,
+        Collections.<MutationResultListener> singletonList(this.listener))
+        .run(Collections.<MutationAnalysisUnit> singletonList(streaming));
+
+    assertThat(this.listener.classes).containsExactly("first", "last");
+    assertThat(partialReported.getCount()).isZero();
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRethrowErrorsFromUnitsWhenWorkStealing() {
+    final StubUnit failing = new StubUnit("failing") {
+      @Override
+      public MutationMetaData call() throws Exception {
+        throw new IllegalStateException();
+      }
+    };
+    new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(this.listener),
+        true).run(Collections.<MutationAnalysisUnit> singletonList(failing));
+  }
+
+  @Test
+  public void shouldAnalyseUnitsInSubmissionOrderAsTheyAreProduced() {
+    final CountDownLatch firstReported = new CountDownLatch(1);
+    this.listener.onResult = c -> firstReported.countDown();
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(this.listener));
+
+    testee.run((MutationAnalysisUnitSource) units -> {
+      units.accept(new StubUnit("first"));
+      awaitQuietly(firstReported);
+      units.accept(new StubUnit("second"));
+    });
+
+    assertThat(firstReported.getCount()).isZero();
+    assertThat(this.listener.classes).containsExactly("first", "second");
+    assertThat(this.listener.ended).isTrue();
+  }
+
+  @Test
+  public void shouldAnalyseUnitsAsTheyAreProducedWhenWorkStealing() {
+    final CountDownLatch firstReported = new CountDownLatch(1);
+    this.listener.onResult = c -> firstReported.countDown();
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(this.listener),
+        true);
+
+    testee.run((MutationAnalysisUnitSource) units -> {
+      units.accept(new StubUnit("first"));
+      awaitQuietly(firstReported);
+      units.accept(new StubUnit("second"));
+    });
+
+    assertThat(firstReported.getCount()).isZero();
+    assertThat(this.listener.classes).containsExactly("first", "second");
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRethrowErrorsFromUnitSource() {
+    new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(this.listener))
+        .run((MutationAnalysisUnitSource) units -> {
+          throw new IllegalStateException();
+        });
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRethrowErrorsFromUnitSourceWhenWorkStealing() {
+    new MutationAnalysisExecutor(2,
+        Collections.<MutationResultListener> singletonList(this.listener),
+        true).run((MutationAnalysisUnitSource) units -> {
+          throw new IllegalStateException();
+        });
+  }
+
+  private static void awaitQuietly(final CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static MutationMetaData aResult(final String clazz) {
+    return new MutationMetaData(Collections.singletonList(new MutationResult(
+        MutationDetailsMother.makeMutation(ClassName.fromString(clazz)),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test"))));
+  }
+
+  private static class StubUnit implements MutationAnalysisUnit {
+    private final String         clazz;
+    private final CountDownLatch waitFor;
+    private MutationAnalysisUnit splitOff;
+
+    StubUnit(final String clazz) {
+      this(clazz, new CountDownLatch(0));
+    }
+
+    StubUnit(final String clazz, final CountDownLatch waitFor) {
+      this.clazz = clazz;
+      this.waitFor = waitFor;
+    }
+
+    @Override
+    public MutationMetaData call() throws Exception {
+      this.waitFor.await(10, TimeUnit.SECONDS);
+      return aResult(this.clazz);
+    }
+
+    @Override
+    public int priority() {
+      return 0;
+    }
+
+    @Override
+    public synchronized Optional<MutationAnalysisUnit> split() {
+      final Optional<MutationAnalysisUnit> unit = Optional
+          .ofNullable(this.splitOff);
+      this.splitOff = null;
+      return unit;
+    }
+  }
+
+  /**
+   * Runs pieces of work one at a time. Pieces only become available to split
+   * off once the unit has been running for a while, after any worker that
+   * found nothing to do has given up a first attempt.
+   */
+  private static class PiecewiseUnit implements MutationAnalysisUnit {
+    private final String        clazz;
+    private final Deque<String> pieces = new LinkedList<>();
+    private final Set<String>   threads;
+    private boolean             exposed;
+
+    PiecewiseUnit(final String clazz, final int pieces,
+        final Set<String> threads) {
+      this.clazz = clazz;
+      this.threads = threads;
+      for (int i = 0; i != pieces; i++) {
+        this.pieces.add(clazz);
+      }
+    }
+
+    @Override
+    public MutationMetaData call() throws Exception {
+      Thread.sleep(300);
+      expose();
+      String piece = nextPiece();
+      while (piece != null) {
+        runPiece();
+        piece = nextPiece();
+      }
+      return aResult(this.clazz);
+    }
+
+    private synchronized void expose() {
+      this.exposed = true;
+    }
+
+    private synchronized String nextPiece() {
+      return this.pieces.pollFirst();
+    }
+
+    private void runPiece() throws InterruptedException {
+      this.threads.add(Thread.currentThread().getName());
+      Thread.sleep(50);
+    }
+
+    @Override
+    public int priority() {
+      return 0;
+    }
+
+    @Override
+    public synchronized long remainingCost() {
+      return this.exposed ? this.pieces.size() : 0;
+    }
+
+    @Override
+    public synchronized Optional<MutationAnalysisUnit> split() {
+      if (!this.exposed || this.pieces.isEmpty()) {
+        return Optional.empty();
+      }
+      this.pieces.pollLast();
+      return Optional.<MutationAnalysisUnit> of(new StubUnit("piece") {
+        @Override
+        public MutationMetaData call() throws Exception {
+          runPiece();
+          return aResult("piece");
+        }
+      });
+    }
+  }
+
+  private static class RecordingListener implements MutationResultListener {
+    private final List<String>             classes  = new ArrayList<>();
+    private Consumer<ClassMutationResults> onResult = c -> {
+                                                    };
+    private boolean                        ended;
+
+    @Override
+    public void runStart() {
+    }
+
+    @Override
+    public void handleMutationResult(final ClassMutationResults results) {
+      this.classes.add(results.getMutatedClass().asJavaName());
+      this.onResult.accept(results);
+    }
+
+    @Override
+    public void runEnd() {
+      this.ended = true;
+    }
+  }
+
+}
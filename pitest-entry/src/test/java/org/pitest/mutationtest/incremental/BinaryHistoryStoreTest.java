@@ -0,0 +1,246 @@
+package org.pitest.mutationtest.incremental;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class BinaryHistoryStoreTest {
+
+  private static final String COV = BigInteger.TEN.toString(16);
+
+  @Rule
+  public TemporaryFolder      folder = new TemporaryFolder();
+
+  @Mock
+  private CoverageDatabase    coverage;
+
+  private File                history;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    when(this.coverage.getCoverageIdForClass(any(ClassName.class))).thenReturn(
+        BigInteger.TEN);
+    this.history = new File(this.folder.getRoot(), "history.bin");
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveClassPath() {
+    final ClassHistory foo = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(42, ClassName.fromString("foo")), "abc"), COV);
+    final ClassHistory bar = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(-1, ClassName.fromString("bar")), ""), COV);
+
+    final BinaryHistoryStore writer = new BinaryHistoryStore(null, this.history);
+    writer.recordClassPath(asList(foo.getId(), bar.getId()), this.coverage);
+    writer.close();
+
+    final Map<ClassName, ClassHistory> expected = new HashMap<>();
+    expected.put(foo.getName(), foo);
+    expected.put(bar.getName(), bar);
+    assertEquals(expected, readHistory(this.history).getHistoricClassPath());
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveResults() {
+    final MutationResult killed = aResult(aMutationId().build(),
+        new MutationStatusTestPair(3, DetectionStatus.KILLED,
+            asList("killer", "otherKiller"), asList("passer")));
+    final MutationResult survived = aResult(
+        aMutationId().withIndex(3).withMutator("other").build(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED, "passer"));
+    final MutationResult elsewhere = aResult(aMutationId()
+        .withLocation(aLocation("bar").withMethod("m")).build(),
+        MutationStatusTestPair.notAnalysed(0, DetectionStatus.NO_COVERAGE));
+
+    writeResults(killed, survived, elsewhere);
+
+    final Map<MutationIdentifier, MutationStatusTestPair> actual = readHistory(
+        this.history).getHistoricResults();
+    assertEquals(3, actual.size());
+    assertEquals(killed.getStatusTestPair(),
+        actual.get(killed.getDetails().getId()));
+    assertEquals(survived.getStatusTestPair(),
+        actual.get(survived.getDetails().getId()));
+    assertEquals(elsewhere.getStatusTestPair(),
+        actual.get(elsewhere.getDetails().getId()));
+  }
+
+  @Test
+  public void shouldRetrieveAllResultsAsMap() {
+    final MutationResult one = aResult(aMutationId().withIndex(1).build(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test"));
+    final MutationResult two = aResult(aMutationId().withIndex(2).build(),
+        new MutationStatusTestPair(1, DetectionStatus.TIMED_OUT, "test"));
+
+    writeResults(one, two);
+
+    final Map<MutationIdentifier, MutationStatusTestPair> expected = new HashMap<>();
+    expected.put(one.getDetails().getId(), one.getStatusTestPair());
+    expected.put(two.getDetails().getId(), two.getStatusTestPair());
+    assertEquals(expected, readHistory(this.history).getHistoricResults());
+  }
+
+  @Test
+  public void shouldRetainMutationsSpanningSeveralInstructions() {
+    final MutationIdentifier id = new MutationIdentifier(aLocation().build(),
+        Arrays.asList(1, 200, 70000), "mutator");
+    final MutationResult result = aResult(id,
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test"));
+
+    writeResults(result);
+
+    final MutationIdentifier actual = readHistory(this.history)
+        .getHistoricResults().keySet().iterator().next();
+    assertThat(actual.getIndexes()).containsExactly(1, 200, 70000);
+  }
+
+  @Test
+  public void shouldReturnNullForUnknownMutations() {
+    writeResults(aResult(aMutationId().build(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test")));
+
+    final Map<MutationIdentifier, MutationStatusTestPair> actual = readHistory(
+        this.history).getHistoricResults();
+    assertThat(actual.get(aMutationId().withIndex(99).build())).isNull();
+    assertThat(actual.get(aMutationId().withLocation(aLocation("unknown"))
+        .build())).isNull();
+  }
+
+  @Test
+  public void shouldReadAndWriteSameFile() {
+    final MutationResult first = aResult(aMutationId().build(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test"));
+    writeResults(first);
+
+    final BinaryHistoryStore testee = new BinaryHistoryStore(this.history,
+        this.history);
+    testee.initialize();
+    testee.recordClassPath(Collections.<HierarchicalClassId> emptyList(),
+        this.coverage);
+    testee.recordResult(first);
+    assertEquals(first.getStatusTestPair(),
+        testee.getHistoricResults().get(first.getDetails().getId()));
+    testee.close();
+
+    assertEquals(first.getStatusTestPair(), readHistory(this.history)
+        .getHistoricResults().get(first.getDetails().getId()));
+    assertThat(this.folder.getRoot().list()).containsExactly("history.bin");
+  }
+
+  @Test
+  public void shouldLeavePreviousHistoryInPlaceUntilClosed() {
+    final MutationResult first = aResult(aMutationId().withIndex(1).build(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test"));
+    final MutationResult second = aResult(aMutationId().withIndex(2).build(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED, "test"));
+    writeResults(first);
+
+    final BinaryHistoryStore testee = new BinaryHistoryStore(this.history,
+        this.history);
+    testee.initialize();
+    testee.recordClassPath(Collections.<HierarchicalClassId> emptyList(),
+        this.coverage);
+    testee.recordResult(second);
+
+    assertThat(readHistory(this.history).getHistoricResults()).containsOnlyKeys(
+        first.getDetails().getId());
+    testee.close();
+    assertThat(readHistory(this.history).getHistoricResults()).containsOnlyKeys(
+        second.getDetails().getId());
+  }
+
+  @Test
+  public void shouldIgnoreTruncatedFinalRecord() throws IOException {
+    final MutationResult one = aResult(aMutationId().withIndex(1).build(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test"));
+    final MutationResult two = aResult(aMutationId().withIndex(2).build(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test"));
+    writeResults(one, two);
+
+    try (RandomAccessFile raf = new RandomAccessFile(this.history, "rw")) {
+      raf.setLength(raf.length() - 2);
+    }
+
+    final Map<MutationIdentifier, MutationStatusTestPair> actual = readHistory(
+        this.history).getHistoricResults();
+    assertEquals(1, actual.size());
+    assertEquals(one.getStatusTestPair(), actual.get(one.getDetails().getId()));
+  }
+
+  @Test
+  public void shouldStartWithEmptyHistoryWhenFileNotInBinaryFormat()
+      throws IOException {
+    try (FileOutputStream fos = new FileOutputStream(this.history)) {
+      fos.write("1\nrO0ABXNyAC".getBytes("UTF-8"));
+    }
+
+    final BinaryHistoryStore actual = readHistory(this.history);
+    assertThat(actual.getHistoricResults()).isEmpty();
+    assertThat(actual.getHistoricClassPath()).isEmpty();
+  }
+
+  @Test
+  public void shouldStartWithEmptyHistoryWhenNoInputSupplied() {
+    final BinaryHistoryStore testee = new BinaryHistoryStore(null, null);
+    testee.initialize();
+    testee.recordResult(aResult(aMutationId().build(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test")));
+    assertThat(testee.getHistoricResults()).isEmpty();
+    testee.close();
+  }
+
+  private void writeResults(final MutationResult... results) {
+    final BinaryHistoryStore writer = new BinaryHistoryStore(null, this.history);
+    writer.recordClassPath(Collections.<HierarchicalClassId> emptyList(),
+        this.coverage);
+    for (final MutationResult each : results) {
+      writer.recordResult(each);
+    }
+    writer.close();
+  }
+
+  private static BinaryHistoryStore readHistory(final File file) {
+    final BinaryHistoryStore store = new BinaryHistoryStore(file, null);
+    store.initialize();
+    return store;
+  }
+
+  private static MutationResult aResult(final MutationIdentifier id,
+      final MutationStatusTestPair status) {
+    return new MutationResult(new MutationDetails(id, "file", "desc", 42, 0),
+        status);
+  }
+
+}
@@ -0,0 +1,95 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.report.MutationTestResultMother;
+
+public class InMemoryHistoryStoreTest {
+
+  private final InMemoryHistoryStore testee   = new InMemoryHistoryStore();
+
+  private final CoverageDatabase     coverage = mock(CoverageDatabase.class);
+
+  private final HierarchicalClassId  foo      = new HierarchicalClassId(
+      new ClassIdentifier(0, ClassName.fromString("foo")), "");
+
+  private final MutationResult       result   = new MutationResult(
+      MutationTestResultMother.createDetails("foo"),
+      new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+
+  @Before
+  public void setUp() {
+    when(this.coverage.getCoverageIdForClass(any(ClassName.class)))
+        .thenReturn(BigInteger.TEN);
+  }
+
+  @Test
+  public void shouldHaveNoHistoryBeforeFirstRun() {
+    this.testee.initialize();
+    assertThat(this.testee.getHistoricClassPath()).isEmpty();
+    assertThat(this.testee.getHistoricResults()).isEmpty();
+  }
+
+  @Test
+  public void shouldRetrieveClassPathOfPreviousRun() {
+    this.testee.initialize();
+    this.testee.recordClassPath(Collections.singleton(this.foo), this.coverage);
+    this.testee.initialize();
+
+    assertThat(this.testee.getHistoricClassPath()).containsEntry(
+        this.foo.getName(),
+        new ClassHistory(this.foo, BigInteger.TEN.toString(16)));
+  }
+
+  @Test
+  public void shouldRetrieveResultsOfPreviousRun() {
+    this.testee.initialize();
+    this.testee.recordClassPath(Collections.singleton(this.foo), this.coverage);
+    this.testee.recordResult(this.result);
+    this.testee.initialize();
+
+    assertThat(this.testee.getHistoricResults()).containsEntry(
+        this.result.getDetails().getId(), this.result.getStatusTestPair());
+  }
+
+  @Test
+  public void shouldNotRetrieveResultsOfRunsBeforePreviousRun() {
+    this.testee.initialize();
+    this.testee.recordClassPath(Collections.singleton(this.foo), this.coverage);
+    this.testee.recordResult(this.result);
+    this.testee.initialize();
+    this.testee.recordClassPath(Collections.singleton(this.foo), this.coverage);
+    this.testee.initialize();
+
+    assertThat(this.testee.getHistoricResults()).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepHistoryWhenRunEndsBeforeRecordingClassPath() {
+    this.testee.initialize();
+    this.testee.recordClassPath(Collections.singleton(this.foo), this.coverage);
+    this.testee.recordResult(this.result);
+    this.testee.initialize();
+    this.testee.initialize();
+
+    assertThat(this.testee.getHistoricResults()).containsEntry(
+        this.result.getDetails().getId(), this.result.getStatusTestPair());
+  }
+
+}
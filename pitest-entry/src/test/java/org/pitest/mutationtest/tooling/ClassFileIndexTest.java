@@ -0,0 +1,103 @@
+package org.pitest.mutationtest.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassFileIndexTest {
+
+  @Rule
+  public TemporaryFolder       folder = new TemporaryFolder();
+
+  private final ClassFileIndex testee = new ClassFileIndex();
+
+  private File                 classes;
+  private File                 foo;
+
+  @Before
+  public void setUp() throws IOException {
+    this.classes = this.folder.newFolder("classes");
+    new File(this.classes, "com").mkdirs();
+    this.foo = new File(this.classes, "com/Foo.class");
+    write(this.foo, "foo", 1000);
+  }
+
+  @Test
+  public void shouldTreatEveryFileAsChangedOnFirstRefresh() {
+    assertThat(refresh()).containsExactly(this.foo);
+  }
+
+  @Test
+  public void shouldFindNoChangesWhenNothingTouched() {
+    refresh();
+    assertThat(refresh()).isEmpty();
+  }
+
+  @Test
+  public void shouldFindClassesWithChangedContent() throws IOException {
+    refresh();
+    write(this.foo, "bar", 2000);
+    assertThat(refresh()).containsExactly(this.foo);
+  }
+
+  @Test
+  public void shouldNotTreatTouchedClassesWithSameContentAsChanged()
+      throws IOException {
+    refresh();
+    write(this.foo, "foo", 2000);
+    assertThat(refresh()).isEmpty();
+  }
+
+  @Test
+  public void shouldFindAddedClasses() throws IOException {
+    refresh();
+    final File bar = new File(this.classes, "com/Bar.class");
+    write(bar, "bar", 1000);
+    assertThat(refresh()).containsExactly(bar);
+  }
+
+  @Test
+  public void shouldFindRemovedClasses() {
+    refresh();
+    this.foo.delete();
+    assertThat(refresh()).containsExactly(this.foo);
+  }
+
+  @Test
+  public void shouldIgnoreFilesInDirectoriesThatAreNotClasses()
+      throws IOException {
+    refresh();
+    write(new File(this.classes, "com/foo.properties"), "a=b", 1000);
+    assertThat(refresh()).isEmpty();
+  }
+
+  @Test
+  public void shouldFindArchivesWithChangedTimestamp() throws IOException {
+    final File jar = this.folder.newFile("lib.jar");
+    write(jar, "jar", 1000);
+    this.testee.refresh(Collections.singletonList(jar));
+    write(jar, "jar", 2000);
+    assertThat(this.testee.refresh(Collections.singletonList(jar)))
+        .containsExactly(jar);
+  }
+
+  private Collection<File> refresh() {
+    return this.testee.refresh(Collections.singletonList(this.classes));
+  }
+
+  private static void write(final File file, final String content,
+      final long modified) throws IOException {
+    Files.write(file.toPath(), content.getBytes("UTF-8"));
+    file.setLastModified(modified);
+  }
+
+}
@@ -24,6 +24,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.jar.Attributes;
+import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
 
@@ -39,6 +40,8 @@ import org.pitest.classinfo.ClassByteArraySource;
 import java.util.Optional;
 import org.pitest.util.PitError;
 
+import sun.pitest.ActiveMutant;
+
 public class JarCreatingJarFinderTest {
 
   private JarCreatingJarFinder   testee;
@@ -113,6 +116,13 @@ public class JarCreatingJarFinderTest {
     assertTrue(!actual.equals(""));
   }
 
+  @Test
+  public void shouldAddMutantSwitchToTheAgentJar() throws IOException {
+    try (JarFile jar = new JarFile(this.testee.getJarLocation().get())) {
+      assertTrue(jar.getEntry(ActiveMutant.CLASS_NAME + ".class") != null);
+    }
+  }
+
   @Test
   public void shouldFailOnUnreadableRessources() throws IOException {
     this.thrown.expect(PitError.class);
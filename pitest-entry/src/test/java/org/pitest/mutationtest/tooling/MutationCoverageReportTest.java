@@ -107,6 +107,7 @@ public class MutationCoverageReportTest {
     this.data = new ReportOptions();
     this.data.setSourceDirs(Collections.<File> emptyList());
     when(this.coverage.calculateCoverage()).thenReturn(this.coverageDb);
+    when(this.code.getClassPath()).thenReturn(this.data.getClassPath());
     when(
         this.listenerFactory.getListener(Matchers.<Properties> any(),
             any(ListenerArguments.class))).thenReturn(this.listener);
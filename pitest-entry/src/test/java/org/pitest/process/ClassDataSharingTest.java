@@ -0,0 +1,96 @@
+package org.pitest.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDataSharingTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldAddNoArgumentsWhenNotSharing() {
+    assertThat(ClassDataSharing.none().launchArgs("java", "foo.jar"))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldRecordLoadedClassesUntilArchiveCreated() {
+    final ClassDataSharing testee = new ClassDataSharing(archive(), true);
+
+    assertThat(testee.launchArgs("java", "foo.jar")).anyMatch(
+        a -> a.startsWith("-XX:DumpLoadedClassList="));
+
+    testee.createArchive();
+
+    assertThat(testee.launchArgs("java", "foo.jar")).isEmpty();
+  }
+
+  @Test
+  public void shouldLaunchWithArchiveCreatedForSameJvmAndClasspath()
+      throws IOException {
+    final File archive = archive();
+    storeArchive(archive, "java", "foo.jar");
+
+    final ClassDataSharing testee = new ClassDataSharing(archive, false);
+
+    assertThat(testee.launchArgs("java", "foo.jar")).contains(
+        "-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+  }
+
+  @Test
+  public void shouldNotLaunchWithArchiveCreatedForDifferentClasspath()
+      throws IOException {
+    final File archive = archive();
+    storeArchive(archive, "java", "foo.jar");
+
+    final ClassDataSharing testee = new ClassDataSharing(archive, false);
+
+    assertThat(testee.launchArgs("java", "bar.jar")).noneMatch(
+        a -> a.startsWith("-XX:SharedArchiveFile="));
+  }
+
+  @Test
+  public void shouldNotRecheckClasspathForEachLaunch() throws IOException {
+    final File jar = this.folder.newFile("foo.jar");
+    final File archive = archive();
+    storeArchive(archive, "java", jar.getPath());
+
+    final ClassDataSharing testee = new ClassDataSharing(archive, false);
+    testee.launchArgs("java", jar.getPath());
+    Files.write(jar.toPath(), new byte[] { 1 });
+
+    assertThat(testee.launchArgs("java", jar.getPath())).contains(
+        "-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+  }
+
+  @Test
+  public void shouldDeleteTemporaryArchiveWhenClosed() throws IOException {
+    final File archive = archive();
+    storeArchive(archive, "java", "foo.jar");
+
+    new ClassDataSharing(archive, true).close();
+
+    assertThat(archive).doesNotExist();
+  }
+
+  private File archive() {
+    return new File(this.folder.getRoot(), "history.jsa");
+  }
+
+  private static void storeArchive(final File archive,
+      final String javaExecutable, final String classPath) throws IOException {
+    Files.write(archive.toPath(), new byte[] { 1 });
+    Files.write(new File(archive.getPath() + ".key").toPath(), ClassDataSharing
+        .keyFor(javaExecutable, classPath).getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -0,0 +1,45 @@
+package org.pitest.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Test;
+import org.pitest.util.NullJavaAgent;
+
+public class LaunchOptionsTest {
+
+  private final LaunchOptions testee = new LaunchOptions(
+      NullJavaAgent.instance()).usingClassPathJar(true);
+
+  @After
+  public void cleanUp() {
+    this.testee.close();
+  }
+
+  @Test
+  public void shouldShareClasspathJarBetweenLaunches() {
+    final File first = this.testee.classpathJarFor("foo.jar");
+    final File second = this.testee.classpathJarFor("foo.jar");
+
+    assertThat(first).exists();
+    assertThat(second).isEqualTo(first);
+  }
+
+  @Test
+  public void shouldCreateSeparateJarForEachClasspath() {
+    assertThat(this.testee.classpathJarFor("foo.jar")).isNotEqualTo(
+        this.testee.classpathJarFor("bar.jar"));
+  }
+
+  @Test
+  public void shouldDeleteClasspathJarsWhenClosed() {
+    final File jar = this.testee.classpathJarFor("foo.jar");
+
+    this.testee.close();
+
+    assertThat(jar).doesNotExist();
+  }
+
+}
@@ -0,0 +1,96 @@
+package org.pitest.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.pitest.util.Monitor;
+
+public class OutputPumpTest {
+
+  private final OutputPump   testee = new OutputPump();
+  private final List<String> lines  = new CopyOnWriteArrayList<>();
+
+  @Test
+  public void shouldPassOutputOnALineAtATime() throws Exception {
+    final CountDownLatch done = new CountDownLatch(3);
+    final Monitor monitor = this.testee.monitor(streamOf("one\ntwo\nthree"),
+        a -> {
+          this.lines.add(a);
+          done.countDown();
+        });
+    monitor.requestStart();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(this.lines).containsExactly("one\n", "two\n", "three");
+  }
+
+  @Test
+  public void shouldJoinLinesWrittenInPieces() throws Exception {
+    final PipedOutputStream out = new PipedOutputStream();
+    final PipedInputStream in = new PipedInputStream(out);
+    final CountDownLatch received = new CountDownLatch(1);
+    this.testee.monitor(in, a -> {
+      this.lines.add(a);
+      received.countDown();
+    }).requestStart();
+
+    out.write("first half ".getBytes(StandardCharsets.UTF_8));
+    out.flush();
+    Thread.sleep(50);
+    out.write("second half\n".getBytes(StandardCharsets.UTF_8));
+    out.flush();
+
+    assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(this.lines).containsExactly("first half second half\n");
+    out.close();
+  }
+
+  @Test
+  public void shouldPassOnVeryLongLinesInPieces() throws Exception {
+    final char[] line = new char[20000];
+    Arrays.fill(line, 'a');
+    final CountDownLatch done = new CountDownLatch(1);
+    this.testee.monitor(streamOf(new String(line)), a -> {
+      this.lines.add(a);
+      if (a.length() < 8192) {
+        done.countDown();
+      }
+    }).requestStart();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(this.lines.size()).isGreaterThan(1);
+    assertThat(String.join("", this.lines)).hasSize(line.length);
+  }
+
+  @Test
+  public void shouldNotPassOnOutputOnceStopped() throws IOException,
+      InterruptedException {
+    final PipedOutputStream out = new PipedOutputStream();
+    final PipedInputStream in = new PipedInputStream(out);
+    final Monitor monitor = this.testee.monitor(in, this.lines::add);
+    monitor.requestStart();
+    monitor.requestStop();
+
+    out.write("ignored\n".getBytes(StandardCharsets.UTF_8));
+    out.close();
+    Thread.sleep(100);
+
+    assertThat(this.lines).isEmpty();
+  }
+
+  private static ByteArrayInputStream streamOf(final String output) {
+    return new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -1,5 +1,6 @@
 package org.pitest.process;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -7,6 +8,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.Test;
 import org.pitest.classpath.ClassPath;
@@ -15,7 +18,8 @@ import org.pitest.util.NullJavaAgent;
 
 public class WrappingProcessTest {
 
-  private static final int EXIT_CODE = 10;
+  private static final int    EXIT_CODE = 10;
+  private static final String NEWLINE   = System.getProperty("line.separator");
 
   public static void main(final String[] args) {
     try {
@@ -32,15 +36,7 @@ public class WrappingProcessTest {
   public void waitToDieShouldReturnProcessExitCode() throws IOException,
   InterruptedException {
 
-    final LaunchOptions launchOptions = new LaunchOptions(NullJavaAgent.instance(),
-        new DefaultJavaExecutableLocator(), Collections.<String> emptyList(),
-        new HashMap<String, String>());
-
-    final ProcessArgs processArgs = ProcessArgs
-        .withClassPath(new ClassPath().getLocalClassPath())
-        .andBaseDir(new File(System.getProperty("user.dir")))
-        .andLaunchOptions(launchOptions).andStdout(nullHandler())
-        .andStderr(nullHandler());
+    final ProcessArgs processArgs = processArgs().andStdout(nullHandler());
 
     final WrappingProcess wrappingProcess = new WrappingProcess(-1, processArgs,
         getClass());
@@ -51,6 +47,50 @@ public class WrappingProcessTest {
     assertEquals(EXIT_CODE, process.waitToDie());
   }
 
+  @Test
+  public void shouldPassStdoutToHandlerALineAtATime() throws IOException,
+  InterruptedException {
+    final List<String> output = new CopyOnWriteArrayList<>();
+    final WrappingProcess wrappingProcess = new WrappingProcess(-1,
+        processArgs().andStdout(output::add), getClass());
+    wrappingProcess.start();
+    wrappingProcess.getProcess().waitToDie();
+
+    awaitOutput(output, 2);
+    assertThat(output).containsExactly("Sleeping" + NEWLINE,
+        "Exiting" + NEWLINE);
+  }
+
+  @Test
+  public void shouldDiscardStdoutWhenRequested() throws IOException,
+  InterruptedException {
+    final ProcessArgs processArgs = processArgs().andDiscardStdout();
+    final WrappingProcess wrappingProcess = new WrappingProcess(-1,
+        processArgs, getClass());
+    wrappingProcess.start();
+
+    assertEquals(EXIT_CODE, wrappingProcess.getProcess().waitToDie());
+    assertTrue(processArgs.discardsStdout());
+  }
+
+  private static void awaitOutput(final List<String> output, final int lines)
+      throws InterruptedException {
+    for (int i = 0; (i != 50) && (output.size() < lines); i++) {
+      Thread.sleep(100);
+    }
+  }
+
+  private ProcessArgs processArgs() {
+    final LaunchOptions launchOptions = new LaunchOptions(NullJavaAgent.instance(),
+        new DefaultJavaExecutableLocator(), Collections.<String> emptyList(),
+        new HashMap<String, String>());
+
+    return ProcessArgs
+        .withClassPath(new ClassPath().getLocalClassPath())
+        .andBaseDir(new File(System.getProperty("user.dir")))
+        .andLaunchOptions(launchOptions).andStderr(nullHandler());
+  }
+
   private SideEffect1<String> nullHandler() {
     return a -> {
 
@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
+import org.pitest.mutationtest.daemon.DaemonClient;
 import org.pitest.mutationtest.statistics.MutationStatistics;
 import org.pitest.mutationtest.tooling.CombinedStatistics;
 import org.pitest.plugin.ClientClasspathPlugin;
@@ -369,6 +370,87 @@ public class AbstractPitMojo extends AbstractMojo {
   @Parameter(property = "useClasspathJar", defaultValue = "false")
   private boolean                     useClasspathJar;
 
+  /**
+   * Keep mutation test minions alive between units of analysis rather than
+   * launching a new jvm for each unit.
+   */
+  @Parameter(property = "reuseMinions", defaultValue = "false")
+  private boolean                     reuseMinions;
+
+  /**
+   * Number of mutations a reused minion may analyse before it is replaced by a
+   * new jvm. 0 means no limit.
+   */
+  @Parameter(property = "maxMutationsPerMinion", defaultValue = "0")
+  private int                         maxMutationsPerMinion;
+
+  /**
+   * Store history in a compact binary format that is read lazily
+   */
+  @Parameter(property = "binaryHistory", defaultValue = "false")
+  private boolean                     binaryHistory;
+
+  /**
+   * When true idle threads take mutations from units that are still running,
+   * and results are reported in the order units complete
+   */
+  @Parameter(property = "workStealing", defaultValue = "false")
+  private boolean                     workStealing;
+
+  /**
+   * When true each mutated class is replaced once by a version holding all
+   * of its mutations behind switches, rather than once per mutant
+   */
+  @Parameter(property = "mutantSchemata", defaultValue = "false")
+  private boolean                     mutantSchemata;
+
+  /**
+   * Start analysing mutations in batches as they are found, rather than once
+   * mutations have been found for every class. Units are ordered most costly
+   * first within each batch rather than across the whole run.
+   */
+  @Parameter(property = "pipelineAnalysis", defaultValue = "false")
+  private boolean                     pipelineAnalysis;
+
+  /**
+   * Record the classes loaded while gathering coverage, and start later
+   * minions from a class data sharing archive of them
+   */
+  @Parameter(property = "classDataSharing", defaultValue = "false")
+  private boolean                     classDataSharing;
+
+  /**
+   * Communicate with minions over their standard input and output rather than
+   * a local socket. Avoids opening a port for every minion.
+   */
+  @Parameter(property = "pipeTransport", defaultValue = "false")
+  private boolean                     pipeTransport;
+
+  /**
+   * Analyse mutations inside the jvm running pitest where possible, loading
+   * each mutant in a classloader of its own, rather than in forked minions.
+   * Tests are stopped from exiting the jvm by a security manager, so this has
+   * no effect on Java 18 and later. Mutations whose tests time out or try to
+   * exit are analysed again in a minion.
+   */
+  @Parameter(property = "inProcessAnalysis", defaultValue = "false")
+  private boolean                     inProcessAnalysis;
+
+  /**
+   * When true a minion abandons the thread of a test that overruns its
+   * allowance and carries on, rather than being replaced. The abandoned
+   * thread keeps running, and may affect results for later mutants.
+   */
+  @Parameter(property = "recoverTimeouts", defaultValue = "false")
+  private boolean                     recoverTimeouts;
+
+  /**
+   * File written by a running pitest daemon. When set, analysis is sent to
+   * the daemon rather than run within the maven jvm.
+   */
+  @Parameter(property = "daemonFile")
+  private File                        daemonFile;
+
   private final GoalStrategy          goalStrategy;
 
   public AbstractPitMojo() {
@@ -463,7 +545,7 @@ public class AbstractPitMojo extends AbstractMojo {
   protected Optional<CombinedStatistics> analyse() throws MojoExecutionException {
     final ReportOptions data = new MojoToReportOptionsConverter(this,
         new SurefireConfigConverter(), this.filter).convert();
-    return Optional.ofNullable(this.goalStrategy.execute(detectBaseDir(), data,
+    return Optional.ofNullable(getGoalStrategy().execute(detectBaseDir(), data,
         this.plugins, this.environmentVariables));
   }
 
@@ -482,6 +564,9 @@ public class AbstractPitMojo extends AbstractMojo {
   }
 
   protected GoalStrategy getGoalStrategy() {
+    if (this.daemonFile != null) {
+      return new DaemonPitStrategy(new DaemonClient(this.daemonFile));
+    }
     return goalStrategy;
   }
 
@@ -703,6 +788,62 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.useClasspathJar;
   }
 
+  public boolean isReuseMinions() {
+    return this.reuseMinions;
+  }
+
+  public int getMaxMutationsPerMinion() {
+    return this.maxMutationsPerMinion;
+  }
+
+  public boolean isBinaryHistory() {
+    return this.binaryHistory;
+  }
+
+  public boolean isWorkStealing() {
+    return this.workStealing;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
+  public boolean isPipelineAnalysis() {
+    return this.pipelineAnalysis;
+  }
+
+  public boolean isClassDataSharing() {
+    return this.classDataSharing;
+  }
+
+  public boolean isPipeTransport() {
+    return this.pipeTransport;
+  }
+
+  public boolean isInProcessAnalysis() {
+    return this.inProcessAnalysis;
+  }
+
+  public boolean isRecoverTimeouts() {
+    return this.recoverTimeouts;
+  }
+
+  public int getMutationThreshold() {
+    return this.mutationThreshold;
+  }
+
+  public int getMaxSurviving() {
+    return this.maxSurviving;
+  }
+
+  public int getCoverageThreshold() {
+    return this.coverageThreshold;
+  }
+
+  public File getDaemonFile() {
+    return this.daemonFile;
+  }
+
   static class RunDecision {
     private List<String> reasons = new ArrayList<>(4);
 
@@ -0,0 +1,159 @@
+package org.pitest.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.pitest.mutationtest.config.ConfigOption;
+import org.pitest.mutationtest.config.PluginServices;
+import org.pitest.mutationtest.config.ReportOptions;
+import org.pitest.mutationtest.daemon.DaemonClient;
+import org.pitest.mutationtest.tooling.CombinedStatistics;
+
+/**
+ * Sends analysis to a running pitest daemon rather than running it within the
+ * maven jvm.
+ *
+ * The daemon accepts the arguments of the command line tool, so options are
+ * converted back into them. Excluded runners, skipping of failing tests and
+ * environment variables have no equivalent and are not sent.
+ *
+ * The daemon checks thresholds itself and returns no statistics, so a failed
+ * analysis is reported by exception.
+ */
+public class DaemonPitStrategy implements GoalStrategy {
+
+  private final DaemonClient client;
+
+  public DaemonPitStrategy(final DaemonClient client) {
+    this.client = client;
+  }
+
+  @Override
+  public CombinedStatistics execute(final File baseDir,
+      final ReportOptions data, final PluginServices plugins,
+      final Map<String, String> environmentVariables)
+      throws MojoExecutionException {
+    final Optional<String> failure;
+    try {
+      failure = this.client.run(baseDir, toArguments(data), System.out);
+    } catch (final IOException ex) {
+      throw new MojoExecutionException("Could not reach pitest daemon", ex);
+    }
+    if (failure.isPresent()) {
+      throw new MojoExecutionException(failure.get());
+    }
+    return null;
+  }
+
+  static List<String> toArguments(final ReportOptions data) {
+    final List<String> args = new ArrayList<>();
+    add(args, ConfigOption.TEST_PLUGIN, data.getTestPlugin());
+    add(args, ConfigOption.REPORT_DIR, data.getReportDir());
+    add(args, ConfigOption.TARGET_CLASSES, data.getTargetClasses());
+    add(args, ConfigOption.TEST_FILTER, regexes(data.getTargetTests()));
+    add(args, ConfigOption.SOURCE_DIR, data.getSourceDirs());
+    add(args, ConfigOption.MUTATIONS, data.getMutators());
+    add(args, ConfigOption.FEATURES, data.getFeatures());
+    add(args, ConfigOption.DEPENDENCY_DISTANCE,
+        data.getDependencyAnalysisMaxDistance());
+    // the daemon adds the default arguments itself
+    add(args, ConfigOption.CHILD_JVM, data.getJvmArgs().stream()
+        .filter(a -> !ReportOptions.DEFAULT_CHILD_JVM_ARGS.contains(a))
+        .collect(Collectors.toList()));
+    add(args, ConfigOption.TIME_STAMPED_REPORTS,
+        data.shouldCreateTimeStampedReports());
+    add(args, ConfigOption.THREADS, data.getNumberOfThreads());
+    add(args, ConfigOption.TIMEOUT_FACTOR, data.getTimeoutFactor());
+    add(args, ConfigOption.TIMEOUT_CONST, data.getTimeoutConstant());
+    add(args, ConfigOption.AVOID_CALLS, data.getLoggingClasses());
+    add(args, ConfigOption.EXCLUDED_METHOD, data.getExcludedMethods());
+    add(args, ConfigOption.VERBOSE, data.isVerbose());
+    add(args, ConfigOption.EXCLUDED_CLASSES, data.getExcludedClasses());
+    add(args, ConfigOption.EXCLUDED_TEST_CLASSES,
+        regexes(data.getExcludedTestClasses()));
+    add(args, ConfigOption.OUTPUT_FORMATS, data.getOutputFormats());
+    add(args, ConfigOption.CLASSPATH, data.getClassPathElements());
+    add(args, ConfigOption.INCLUDE_LAUNCH_CLASSPATH, false);
+    add(args, ConfigOption.FAIL_WHEN_NOT_MUTATIONS,
+        data.shouldFailWhenNoMutations());
+    add(args, ConfigOption.CODE_PATHS, data.getCodePaths());
+    if (data.getGroupConfig() != null) {
+      add(args, ConfigOption.INCLUDED_GROUPS,
+          data.getGroupConfig().getIncludedGroups());
+      add(args, ConfigOption.EXCLUDED_GROUPS,
+          data.getGroupConfig().getExcludedGroups());
+    }
+    add(args, ConfigOption.INCLUDED_TEST_METHODS,
+        data.getIncludedTestMethods());
+    add(args, ConfigOption.FULL_MUTATION_MATRIX, data.isFullMutationMatrix());
+    add(args, ConfigOption.MUTATION_UNIT_SIZE, data.getMutationUnitSize());
+    add(args, ConfigOption.USE_INLINED_CODE_DETECTION,
+        data.isDetectInlinedCode());
+    add(args, ConfigOption.HISTORY_INPUT_LOCATION,
+        data.getHistoryInputLocation());
+    add(args, ConfigOption.HISTORY_OUTPUT_LOCATION,
+        data.getHistoryOutputLocation());
+    add(args, ConfigOption.MUTATION_THRESHOLD, data.getMutationThreshold());
+    add(args, ConfigOption.MAX_SURVIVING, data.getMaximumAllowedSurvivors());
+    add(args, ConfigOption.COVERAGE_THRESHOLD, data.getCoverageThreshold());
+    add(args, ConfigOption.MUTATION_ENGINE, data.getMutationEngine());
+    add(args, ConfigOption.EXPORT_LINE_COVERAGE,
+        data.shouldExportLineCoverage());
+    add(args, ConfigOption.JVM_PATH, data.getJavaExecutable());
+    add(args, ConfigOption.USE_CLASSPATH_JAR, data.useClasspathJar());
+    add(args, ConfigOption.REUSE_MINIONS, data.isReuseMinions());
+    add(args, ConfigOption.MAX_MUTATIONS_PER_MINION,
+        data.getMaxMutationsPerMinion());
+    add(args, ConfigOption.BINARY_HISTORY, data.isBinaryHistory());
+    add(args, ConfigOption.WORK_STEALING, data.isWorkStealing());
+    add(args, ConfigOption.MUTANT_SCHEMATA, data.isMutantSchemata());
+    add(args, ConfigOption.PIPELINE_ANALYSIS, data.isPipelineAnalysis());
+    add(args, ConfigOption.CLASS_DATA_SHARING, data.isClassDataSharing());
+    add(args, ConfigOption.PIPE_TRANSPORT, data.isPipeTransport());
+    add(args, ConfigOption.IN_PROCESS_ANALYSIS, data.isInProcessAnalysis());
+    add(args, ConfigOption.RECOVER_TIMEOUTS, data.isRecoverTimeouts());
+    final Properties properties = data.getFreeFormProperties();
+    if (properties != null) {
+      for (final String each : properties.stringPropertyNames()) {
+        add(args, ConfigOption.PLUGIN_CONFIGURATION,
+            each + "=" + properties.getProperty(each));
+      }
+    }
+    return args;
+  }
+
+  private static Collection<String> regexes(
+      final Collection<Predicate<String>> globs) {
+    if (globs == null) {
+      return null;
+    }
+    // globs are compiled to regular expressions, which the command line
+    // accepts when prefixed by ~
+    return globs.stream().map(g -> "~" + g).collect(Collectors.toList());
+  }
+
+  private static void add(final List<String> args, final ConfigOption option,
+      final Collection<?> values) {
+    if ((values != null) && !values.isEmpty()) {
+      add(args, option, values.stream().map(Object::toString)
+          .collect(Collectors.joining(",")));
+    }
+  }
+
+  private static void add(final List<String> args, final ConfigOption option,
+      final Object value) {
+    if ((value != null) && !value.toString().isEmpty()) {
+      args.add("--" + option.getParamName() + "=" + value);
+    }
+  }
+
+}
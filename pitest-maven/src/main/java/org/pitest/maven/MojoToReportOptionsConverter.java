@@ -94,6 +94,16 @@ public class MojoToReportOptionsConverter {
     }
 
     data.setUseClasspathJar(this.mojo.isUseClasspathJar());
+    data.setReuseMinions(this.mojo.isReuseMinions());
+    data.setMaxMutationsPerMinion(this.mojo.getMaxMutationsPerMinion());
+    data.setBinaryHistory(this.mojo.isBinaryHistory());
+    data.setWorkStealing(this.mojo.isWorkStealing());
+    data.setMutantSchemata(this.mojo.isMutantSchemata());
+    data.setPipelineAnalysis(this.mojo.isPipelineAnalysis());
+    data.setClassDataSharing(this.mojo.isClassDataSharing());
+    data.setPipeTransport(this.mojo.isPipeTransport());
+    data.setInProcessAnalysis(this.mojo.isInProcessAnalysis());
+    data.setRecoverTimeouts(this.mojo.isRecoverTimeouts());
     data.setTestPlugin(this.mojo.getTestPlugin());
     data.setClassPathElements(classPath);
     data.setDependencyAnalysisMaxDistance(this.mojo.getMaxDependencyDistance());
@@ -149,6 +159,9 @@ public class MojoToReportOptionsConverter {
     data.setIncludedTestMethods(this.mojo.getIncludedTestMethods());
 
     data.setSkipFailingTests(this.mojo.skipFailingTests());
+    data.setMutationThreshold(this.mojo.getMutationThreshold());
+    data.setMaximumAllowedSurvivors(this.mojo.getMaxSurviving());
+    data.setCoverageThreshold(this.mojo.getCoverageThreshold());
 
     return data;
   }
@@ -0,0 +1,112 @@
+package org.pitest.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.mutationtest.config.ReportOptions;
+import org.pitest.mutationtest.daemon.DaemonClient;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.util.Glob;
+
+public class DaemonPitStrategyTest {
+
+  private final DaemonClient      client = mock(DaemonClient.class);
+
+  private final DaemonPitStrategy testee = new DaemonPitStrategy(this.client);
+
+  private ReportOptions           data;
+
+  @Before
+  public void setUp() {
+    this.data = new ReportOptions();
+    this.data.setTargetClasses(Arrays.asList("com.foo.*", "com.bar.*"));
+    this.data.setReportDir("target/report");
+    this.data.setGroupConfig(new TestGroupConfig());
+  }
+
+  @Test
+  public void shouldJoinListsWithCommas() {
+    assertThat(DaemonPitStrategy.toArguments(this.data)).contains(
+        "--targetClasses=com.foo.*,com.bar.*");
+  }
+
+  @Test
+  public void shouldSendGlobsAsRegularExpressions() {
+    this.data.setTargetTests(Collections.singletonList(new Glob("com.*Test")));
+    assertThat(DaemonPitStrategy.toArguments(this.data)).contains(
+        "--targetTests=~^com\\..*Test$");
+  }
+
+  @Test
+  public void shouldSendBooleanOptionsWithValues() {
+    this.data.setVerbose(true);
+    assertThat(DaemonPitStrategy.toArguments(this.data)).contains(
+        "--verbose=true", "--includeLaunchClasspath=false");
+  }
+
+  @Test
+  public void shouldSendThresholds() {
+    this.data.setMutationThreshold(80);
+    assertThat(DaemonPitStrategy.toArguments(this.data)).contains(
+        "--mutationThreshold=80");
+  }
+
+  @Test
+  public void shouldSendPluginConfiguration() {
+    final Properties properties = new Properties();
+    properties.setProperty("foo", "bar");
+    this.data.setFreeFormProperties(properties);
+    assertThat(DaemonPitStrategy.toArguments(this.data)).contains(
+        "--pluginConfiguration=foo=bar");
+  }
+
+  @Test
+  public void shouldNotSendDefaultJvmArgs() {
+    assertThat(DaemonPitStrategy.toArguments(this.data)).noneMatch(
+        a -> a.startsWith("--jvmArgs"));
+  }
+
+  @Test
+  public void shouldNotSendEmptyOptions() {
+    assertThat(DaemonPitStrategy.toArguments(this.data)).noneMatch(
+        a -> a.startsWith("--testPlugin") || a.startsWith("--mutators"));
+  }
+
+  @Test
+  public void shouldReturnNoStatisticsWhenDaemonSucceeds()
+      throws Exception {
+    givenDaemonResponds(Optional.<String> empty());
+    assertThat(this.testee.execute(new File("."), this.data, null,
+        Collections.<String, String> emptyMap())).isNull();
+  }
+
+  @Test(expected = MojoExecutionException.class)
+  public void shouldFailWhenDaemonReportsFailure() throws Exception {
+    givenDaemonResponds(Optional.of("Mutation score of 10 is below threshold"));
+    this.testee.execute(new File("."), this.data, null,
+        Collections.<String, String> emptyMap());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenDaemonResponds(final Optional<String> response)
+      throws IOException {
+    when(this.client.run(eq(new File(".")), any(List.class),
+        any(OutputStream.class))).thenReturn(response);
+  }
+
+}
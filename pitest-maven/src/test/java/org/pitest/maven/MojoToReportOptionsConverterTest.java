@@ -408,6 +408,106 @@ public class MojoToReportOptionsConverterTest extends BasePitMojoTest {
   }  
 
 
+  public void testDefaultsReuseMinionsToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isReuseMinions());
+  }
+
+  public void testParsesReuseMinions() {
+    final ReportOptions actual = parseConfig("<reuseMinions>true</reuseMinions>");
+    assertTrue(actual.isReuseMinions());
+  }
+
+  public void testDefaultsMaxMutationsPerMinionTo0() {
+    final ReportOptions actual = parseConfig("");
+    assertEquals(0, actual.getMaxMutationsPerMinion());
+  }
+
+  public void testParsesMaxMutationsPerMinion() {
+    final ReportOptions actual = parseConfig("<maxMutationsPerMinion>42</maxMutationsPerMinion>");
+    assertEquals(42, actual.getMaxMutationsPerMinion());
+  }
+
+  public void testDefaultsBinaryHistoryToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isBinaryHistory());
+  }
+
+  public void testParsesBinaryHistory() {
+    final ReportOptions actual = parseConfig("<binaryHistory>true</binaryHistory>");
+    assertTrue(actual.isBinaryHistory());
+  }
+
+  public void testDefaultsWorkStealingToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isWorkStealing());
+  }
+
+  public void testParsesWorkStealing() {
+    final ReportOptions actual = parseConfig("<workStealing>true</workStealing>");
+    assertTrue(actual.isWorkStealing());
+  }
+
+  public void testDefaultsMutantSchemataToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isMutantSchemata());
+  }
+
+  public void testParsesMutantSchemata() {
+    final ReportOptions actual = parseConfig("<mutantSchemata>true</mutantSchemata>");
+    assertTrue(actual.isMutantSchemata());
+  }
+
+  public void testDefaultsPipelineAnalysisToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isPipelineAnalysis());
+  }
+
+  public void testParsesPipelineAnalysis() {
+    final ReportOptions actual = parseConfig("<pipelineAnalysis>true</pipelineAnalysis>");
+    assertTrue(actual.isPipelineAnalysis());
+  }
+
+  public void testDefaultsClassDataSharingToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isClassDataSharing());
+  }
+
+  public void testParsesClassDataSharing() {
+    final ReportOptions actual = parseConfig("<classDataSharing>true</classDataSharing>");
+    assertTrue(actual.isClassDataSharing());
+  }
+
+  public void testDefaultsPipeTransportToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isPipeTransport());
+  }
+
+  public void testParsesPipeTransport() {
+    final ReportOptions actual = parseConfig("<pipeTransport>true</pipeTransport>");
+    assertTrue(actual.isPipeTransport());
+  }
+
+  public void testDefaultsInProcessAnalysisToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isInProcessAnalysis());
+  }
+
+  public void testParsesInProcessAnalysis() {
+    final ReportOptions actual = parseConfig("<inProcessAnalysis>true</inProcessAnalysis>");
+    assertTrue(actual.isInProcessAnalysis());
+  }
+
+  public void testDefaultsRecoverTimeoutsToFalse() {
+    final ReportOptions actual = parseConfig("");
+    assertFalse(actual.isRecoverTimeouts());
+  }
+
+  public void testParsesRecoverTimeouts() {
+    final ReportOptions actual = parseConfig("<recoverTimeouts>true</recoverTimeouts>");
+    assertTrue(actual.isRecoverTimeouts());
+  }
+
   private ReportOptions parseConfig(final String xml) {
     try {
       final String pom = createPomWithConfiguration(xml);
@@ -17,13 +17,20 @@ public class CachingByteArraySource implements ClassByteArraySource {
 
   @Override
   public Optional<byte[]> getBytes(String clazz) {
-    Optional<byte[]> maybeBytes = this.cache.get(clazz);
+    Optional<byte[]> maybeBytes;
+    synchronized (this.cache) {
+      maybeBytes = this.cache.get(clazz);
+    }
     if (maybeBytes != null) {
       return maybeBytes;
     }
 
+    // the lock is not held while reading so that other threads are not
+    // blocked on IO
     maybeBytes  = this.child.getBytes(clazz);
-    this.cache.put(clazz, maybeBytes);
+    synchronized (this.cache) {
+      this.cache.put(clazz, maybeBytes);
+    }
     return maybeBytes;
 
   }
@@ -14,18 +14,19 @@
  */
 package org.pitest.classinfo;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import java.util.Optional;
 
 public class Repository implements ClassInfoSource {
 
   private final HashFunction              hashFunction;
-  private final Map<ClassName, ClassInfo> knownClasses   = new HashMap<>();
-  private final Set<ClassName>            unknownClasses = new HashSet<>();
+  // may be queried from several threads while mutations are found
+  private final Map<ClassName, ClassInfo> knownClasses   = new ConcurrentHashMap<>();
+  private final Set<ClassName>            unknownClasses = ConcurrentHashMap
+                                                             .newKeySet();
   private final ClassByteArraySource      source;
 
   public Repository(final ClassByteArraySource source) {
@@ -59,7 +60,12 @@ public class Repository implements ClassInfoSource {
 
     final Optional<ClassInfo> maybeInfo = nameToClassInfo(name);
     if (maybeInfo.isPresent()) {
-      this.knownClasses.put(name, maybeInfo.get());
+      // another thread may have built the same class first
+      final ClassInfo existing = this.knownClasses.putIfAbsent(name,
+          maybeInfo.get());
+      if (existing != null) {
+        return Optional.of(existing);
+      }
     }
     return maybeInfo;
   }
@@ -14,6 +14,7 @@
  */
 package org.pitest.classpath;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,48 +32,57 @@ import org.pitest.util.StreamUtil;
 import org.pitest.util.Unchecked;
 
 /**
- * ClassPathRoot wrapping a jar or zip file
+ * ClassPathRoot wrapping a jar or zip file.
+ *
+ * The archive is opened on first use and held open until closed, so
+ * lookups do not reread the central directory each time. A closed root
+ * will reopen the archive if it is used again. Reads hold the same lock as
+ * close, so the archive cannot be closed while another thread reads it.
  */
-public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
+public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot,
+    Closeable {
 
   private final File file;
 
+  private ZipFile    zip;
+
   public ArchiveClassPathRoot(final File file) {
     this.file = file;
   }
 
   @Override
-  public InputStream getData(final String name) throws IOException {
-    try (ZipFile zip = getRoot()) {
-      final ZipEntry entry = zip.getEntry(name.replace('.', '/') + ".class");
-      if (entry == null) {
-        return null;
-      }
-      return StreamUtil.copyStream(zip.getInputStream(entry));
+  public synchronized InputStream getData(final String name)
+      throws IOException {
+    final ZipFile zip = getRoot();
+    final ZipEntry entry = zip.getEntry(name.replace('.', '/') + ".class");
+    if (entry == null) {
+      return null;
     }
+    return StreamUtil.copyStream(zip.getInputStream(entry));
   }
 
   @Override
-  public URL getResource(final String name) throws MalformedURLException {
+  public synchronized URL getResource(final String name)
+      throws MalformedURLException {
     final ZipFile zip = getRoot();
-    try {
-      final ZipEntry entry = zip.getEntry(name);
-      if (entry != null) {
-        return new URL("jar:file:" + zip.getName() + "!/" + entry.getName());
-      } else {
-        return null;
-      }
-    } finally {
-      closeQuietly(zip);
+    final ZipEntry entry = zip.getEntry(name);
+    if (entry != null) {
+      return new URL("jar:file:" + zip.getName() + "!/" + entry.getName());
+    } else {
+      return null;
     }
-
   }
 
-  private static void closeQuietly(final ZipFile zip) {
-    try {
-      zip.close();
-    } catch (final IOException e) {
-      throw Unchecked.translateCheckedException(e);
+  @Override
+  public synchronized void close() {
+    if (this.zip != null) {
+      try {
+        this.zip.close();
+      } catch (final IOException e) {
+        throw Unchecked.translateCheckedException(e);
+      } finally {
+        this.zip = null;
+      }
     }
   }
 
@@ -82,22 +92,16 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
   }
 
   @Override
-  public Collection<String> classNames() {
+  public synchronized Collection<String> classNames() {
     final List<String> names = new ArrayList<>();
-    final ZipFile root = getRoot();
-    try {
-      final Enumeration<? extends ZipEntry> entries = root.entries();
-      while (entries.hasMoreElements()) {
-        final ZipEntry entry = entries.nextElement();
-        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
-          names.add(stringToClassName(entry.getName()));
-        }
+    final Enumeration<? extends ZipEntry> entries = getRoot().entries();
+    while (entries.hasMoreElements()) {
+      final ZipEntry entry = entries.nextElement();
+      if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+        names.add(stringToClassName(entry.getName()));
       }
-      return names;
-    } finally {
-      closeQuietly(root);
     }
-
+    return names;
   }
 
   private String stringToClassName(final String name) {
@@ -110,13 +114,16 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
     return Optional.ofNullable(this.file.getAbsolutePath());
   }
 
-  private ZipFile getRoot() {
-    try {
-      return new ZipFile(this.file);
-    } catch (final IOException ex) {
-      throw Unchecked.translateCheckedException(ex.getMessage() + " ("
-          + this.file + ")", ex);
+  private synchronized ZipFile getRoot() {
+    if (this.zip == null) {
+      try {
+        this.zip = new ZipFile(this.file);
+      } catch (final IOException ex) {
+        throw Unchecked.translateCheckedException(ex.getMessage() + " ("
+            + this.file + ")", ex);
+      }
     }
+    return this.zip;
   }
 
 }
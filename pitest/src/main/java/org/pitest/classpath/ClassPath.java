@@ -151,6 +151,19 @@ public class ClassPath {
     return this.root.cacheLocation().get();
   }
 
+  /**
+   * Releases any file handles held open by the roots of this classpath.
+   * Components obtained from this classpath share its roots and are also
+   * released.
+   */
+  public void close() {
+    try {
+      this.root.close();
+    } catch (final IOException ex) {
+      LOG.warning("Error closing classpath " + ex.getMessage());
+    }
+  }
+
   public ClassPath getComponent(final Predicate<ClassPathRoot> predicate) {
     return new ClassPath(FCollection.filter(this.root, predicate).toArray(
         new ClassPathRoot[0]));
@@ -1,5 +1,6 @@
 package org.pitest.classpath;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.SoftReference;
@@ -16,11 +17,12 @@ import java.util.Optional;
  * root to avoid expensive IO operations at the
  * cost of higher memory consumption
  */
-public class NameCachingRoot implements ClassPathRoot {
+public class NameCachingRoot implements ClassPathRoot, Closeable {
 
   private final ClassPathRoot child;
 
-  private SoftReference<Collection<String>> cache;
+  // a stale read only means the names are fetched again
+  private volatile SoftReference<Collection<String>> cache;
 
   public NameCachingRoot(ClassPathRoot child) {
     this.child = child;
@@ -58,6 +60,13 @@ public class NameCachingRoot implements ClassPathRoot {
     return this.child.cacheLocation();
   }
 
+  @Override
+  public void close() throws IOException {
+    if (this.child instanceof Closeable) {
+      ((Closeable) this.child).close();
+    }
+  }
+
   public static Function<ClassPathRoot, ClassPathRoot> toCachingRoot() {
      return a -> {
       // ugly hack to determine where caching will be useful
@@ -4,9 +4,16 @@ import java.util.Map;
 import java.util.Set;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Location;
 
 public interface LineMap {
 
   Map<BlockLocation, Set<Integer>> mapLines(ClassName clazz);
 
+  /**
+   * Maps each method of the class to the index of the last instruction in
+   * each of its blocks, in block order
+   */
+  Map<Location, int[]> mapBlockEnds(ClassName clazz);
+
 }
\ No newline at end of file
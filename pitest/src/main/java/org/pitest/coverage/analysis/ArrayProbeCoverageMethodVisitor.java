@@ -102,9 +102,9 @@ public class ArrayProbeCoverageMethodVisitor extends AbstractCoverageStrategy {
 
     //Make sure that we recorded that the class was hit
     this.mv.visitInsn(DUP);
-    this.mv.visitInsn(ICONST_0);
-    this.mv.visitInsn(ICONST_1);
-    this.mv.visitInsn(BASTORE);
+    pushConstant(this.classId);
+    this.mv.visitMethodInsn(Opcodes.INVOKESTATIC, CodeCoverageStore.CLASS_NAME,
+        CodeCoverageStore.CLASS_VISIT_METHOD_NAME, "([ZI)V", false);
     this.mv.visitVarInsn(ASTORE, this.probeHitArrayLocal);
   }
 
@@ -3,6 +3,7 @@ package org.pitest.coverage.analysis;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.objectweb.asm.ClassReader;
@@ -29,6 +30,38 @@ public class LineMapper implements LineMap {
 
     final Map<BlockLocation, Set<Integer>> map = new HashMap<>();
 
+    for (final Entry<Location, List<Block>> each : analyse(clazz).entrySet()) {
+      final List<Block> blocks = each.getValue();
+      for (int i = 0; i != blocks.size(); i++) {
+        final BlockLocation bl = new BlockLocation(each.getKey(), i);
+        map.put(bl, blocks.get(i).getLines());
+      }
+    }
+
+    return map;
+  }
+
+  @Override
+  public Map<Location, int[]> mapBlockEnds(final ClassName clazz) {
+
+    final Map<Location, int[]> map = new HashMap<>();
+
+    for (final Entry<Location, List<Block>> each : analyse(clazz).entrySet()) {
+      final List<Block> blocks = each.getValue();
+      final int[] ends = new int[blocks.size()];
+      for (int i = 0; i != blocks.size(); i++) {
+        ends[i] = blocks.get(i).getLastInstruction();
+      }
+      map.put(each.getKey(), ends);
+    }
+
+    return map;
+  }
+
+  private Map<Location, List<Block>> analyse(final ClassName clazz) {
+
+    final Map<Location, List<Block>> map = new HashMap<>();
+
     final Optional<byte[]> maybeBytes = this.source.fetchClassBytes(clazz);
     // classes generated at runtime eg by mocking frameworks
     // will be instrumented but not available on the classpath
@@ -41,12 +74,7 @@ public class LineMapper implements LineMap {
         final MethodNode mn = (MethodNode) m;
         final Location l = Location.location(clazz,
             MethodName.fromString(mn.name), mn.desc);
-        final List<Block> blocks = ControlFlowAnalyser.analyze(mn);
-        for (int i = 0; i != blocks.size(); i++) {
-          final BlockLocation bl = new BlockLocation(l, i);
-          map.put(bl, blocks.get(i).getLines());
-        }
-
+        map.put(l, ControlFlowAnalyser.analyze(mn));
       }
     }
 
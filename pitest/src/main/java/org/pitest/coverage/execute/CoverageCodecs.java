@@ -0,0 +1,33 @@
+package org.pitest.coverage.execute;
+
+import org.pitest.testapi.Description;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireCodec;
+
+/**
+ * Encodings for the messages a coverage minion sends for every test
+ */
+public final class CoverageCodecs {
+
+  public static final WireCodec<Description> DESCRIPTION = new DescriptionCodec();
+
+  private CoverageCodecs() {
+  }
+
+  private static class DescriptionCodec implements WireCodec<Description> {
+
+    @Override
+    public void write(final SafeDataOutputStream out, final Description value) {
+      out.writeInternedString(value.getName());
+      out.writeInternedString(value.getFirstTestClass());
+    }
+
+    @Override
+    public Description read(final SafeDataInputStream in) {
+      final String name = in.readInternedString();
+      return new Description(name, in.readInternedString());
+    }
+  }
+
+}
@@ -14,11 +14,8 @@
  */
 package org.pitest.coverage.execute;
 
-import static org.pitest.util.Unchecked.translateCheckedException;
-
 import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -46,6 +43,7 @@ import org.pitest.util.ExitCode;
 import org.pitest.util.Glob;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
+import org.pitest.util.ParentChannel;
 import org.pitest.util.SafeDataInputStream;
 
 import sun.pitest.CodeCoverageStore;
@@ -59,12 +57,11 @@ public class CoverageMinion {
     enablePowerMockSupport();
 
     ExitCode exitCode = ExitCode.OK;
-    Socket s = null;
+    ParentChannel s = null;
     CoveragePipe invokeQueue = null;
     try {
 
-      final int port = Integer.parseInt(args[0]);
-      s = new Socket("localhost", port);
+      s = ParentChannel.connect(args[0]);
 
       final SafeDataInputStream dis = new SafeDataInputStream(
           s.getInputStream());
@@ -101,12 +98,8 @@ public class CoverageMinion {
       if (invokeQueue != null) {
         invokeQueue.end(exitCode);
       }
-      try {
-        if (s != null) {
-          s.close();
-        }
-      } catch (final IOException e) {
-        throw translateCheckedException(e);
+      if (s != null) {
+        s.close();
       }
     }
 
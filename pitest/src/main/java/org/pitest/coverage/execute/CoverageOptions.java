@@ -52,6 +52,14 @@ public class CoverageOptions implements Serializable {
         Prelude.not(commonClasses()));
   }
 
+  public Collection<String> getInclude() {
+    return this.include;
+  }
+
+  public Collection<String> getExclude() {
+    return this.exclude;
+  }
+
   public boolean isVerbose() {
     return this.verbose;
   }
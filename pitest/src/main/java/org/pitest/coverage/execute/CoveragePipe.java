@@ -1,7 +1,6 @@
 package org.pitest.coverage.execute;
 
 import java.io.OutputStream;
-import java.util.Collection;
 
 import org.pitest.coverage.CoverageReceiver;
 import org.pitest.testapi.Description;
@@ -10,10 +9,12 @@ import org.pitest.util.Id;
 import org.pitest.util.SafeDataOutputStream;
 
 import sun.pitest.CodeCoverageStore;
+import sun.pitest.HitBuffer;
 
 public class CoveragePipe implements CoverageReceiver {
 
   private final SafeDataOutputStream dos;
+  private final HitBuffer            hits = new HitBuffer(1024);
 
   public CoveragePipe(final OutputStream dos) {
     this.dos = new SafeDataOutputStream(dos);
@@ -27,13 +28,13 @@ public class CoveragePipe implements CoverageReceiver {
   @Override
   public synchronized void recordTestOutcome(final Description description,
       final boolean wasGreen, final int executionTime) {
-    final Collection<Long> hits = CodeCoverageStore.getHits();
+    CodeCoverageStore.getHits(this.hits);
 
     this.dos.writeByte(Id.OUTCOME);
-    this.dos.write(description);
-    this.dos.writeInt(hits.size());
-    for (final Long each : hits) {
-      this.dos.writeLong(each);
+    this.dos.write(description, CoverageCodecs.DESCRIPTION);
+    this.dos.writeInt(this.hits.size());
+    for (int i = 0; i != this.hits.size(); i++) {
+      this.dos.writeLong(this.hits.get(i));
     }
     this.dos.writeBoolean(wasGreen);
     this.dos.writeInt(executionTime);
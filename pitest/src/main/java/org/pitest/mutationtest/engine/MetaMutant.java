@@ -0,0 +1,44 @@
+package org.pitest.mutationtest.engine;
+
+import java.util.Map;
+
+import org.pitest.classinfo.ClassName;
+
+/**
+ * A single version of a class containing many mutations, each guarded by a
+ * switch so it can be activated without changing the class again.
+ */
+public final class MetaMutant {
+
+  private final ClassName                       clazz;
+  private final byte[]                          bytes;
+  private final Map<MutationIdentifier, Integer> switches;
+
+  public MetaMutant(final ClassName clazz, final byte[] bytes,
+      final Map<MutationIdentifier, Integer> switches) {
+    this.clazz = clazz;
+    this.bytes = bytes;
+    this.switches = switches;
+  }
+
+  public ClassName getClassName() {
+    return this.clazz;
+  }
+
+  public byte[] getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Mutations that could not be expressed as a switch are not included and
+   * must be created individually.
+   */
+  public boolean contains(final MutationIdentifier id) {
+    return this.switches.containsKey(id);
+  }
+
+  public int switchFor(final MutationIdentifier id) {
+    return this.switches.get(id);
+  }
+
+}
@@ -15,6 +15,7 @@
 package org.pitest.mutationtest.engine;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.pitest.classinfo.ClassName;
 
@@ -41,4 +42,16 @@ public interface Mutater {
    */
   List<MutationDetails> findMutations(ClassName classToMutate);
 
+  /**
+   * Creates a single version of the given class in which each mutation that
+   * can be expressed as a switch may be activated at runtime
+   *
+   * @param classToMutate
+   *          the class to mutate
+   * @return a MetaMutant, or empty if one cannot be created
+   */
+  default Optional<MetaMutant> getMetaMutant(ClassName classToMutate) {
+    return Optional.empty();
+  }
+
 }
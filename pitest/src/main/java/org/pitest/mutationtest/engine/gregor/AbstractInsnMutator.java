@@ -15,6 +15,7 @@
 package org.pitest.mutationtest.engine.gregor;
 
 import java.util.Map;
+import java.util.Optional;
 
 import org.objectweb.asm.MethodVisitor;
 import org.pitest.bytecode.ASMVersion;
@@ -59,7 +60,14 @@ public abstract class AbstractInsnMutator extends MethodVisitor {
     if (this.context.shouldMutate(newId)) {
       mutation.apply(opcode, this.mv);
     } else {
-      applyUnmutatedInstruction(opcode);
+      final Optional<MutantSwitch> mutantSwitch = this.context
+          .mutantSwitch(newId);
+      if (mutantSwitch.isPresent()) {
+        mutantSwitch.get().write(mv -> mutation.apply(opcode, mv),
+            () -> applyUnmutatedInstruction(opcode));
+      } else {
+        applyUnmutatedInstruction(opcode);
+      }
     }
   }
 
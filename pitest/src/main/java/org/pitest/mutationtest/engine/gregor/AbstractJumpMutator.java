@@ -15,6 +15,7 @@
 package org.pitest.mutationtest.engine.gregor;
 
 import java.util.Map;
+import java.util.Optional;
 
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -67,7 +68,15 @@ public abstract class AbstractJumpMutator extends MethodVisitor {
     if (this.context.shouldMutate(newId)) {
       this.mv.visitJumpInsn(substitution.newCode, label);
     } else {
-      this.mv.visitJumpInsn(opcode, label);
+      final Optional<MutantSwitch> mutantSwitch = this.context
+          .mutantSwitch(newId);
+      if (mutantSwitch.isPresent()) {
+        mutantSwitch.get().write(
+            mv -> mv.visitJumpInsn(substitution.newCode, label),
+            () -> this.mv.visitJumpInsn(opcode, label));
+      } else {
+        this.mv.visitJumpInsn(opcode, label);
+      }
     }
   }
 
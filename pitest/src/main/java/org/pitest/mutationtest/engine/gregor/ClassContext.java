@@ -16,11 +16,14 @@ package org.pitest.mutationtest.engine.gregor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
-import org.pitest.functional.FCollection;
 import java.util.Optional;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.engine.gregor.blocks.BlockCounter;
@@ -34,6 +37,11 @@ class ClassContext implements BlockCounter {
   private Optional<MutationIdentifier>  target       = Optional.empty();
   private final List<MutationDetails> mutations    = new ArrayList<>();
 
+  // switch ids of mutations that may be written into a meta mutant, and
+  // those that have been
+  private Map<MutationIdentifier, Integer> switchable = Collections.emptyMap();
+  private final Map<MutationIdentifier, Integer> switched = new HashMap<>();
+
   private final ConcreteBlockCounter  blockCounter = new ConcreteBlockCounter();
 
   public Optional<MutationIdentifier> getTargetMutation() {
@@ -56,12 +64,25 @@ class ClassContext implements BlockCounter {
     this.target = target;
   }
 
-  public List<MutationDetails> getMutationDetails(final MutationIdentifier id) {
-    return FCollection.filter(this.mutations, hasId(id));
+  public void setSwitchableMutations(
+      final Map<MutationIdentifier, Integer> switchable) {
+    this.switchable = switchable;
+  }
+
+  public Optional<Integer> switchFor(final MutationIdentifier id) {
+    final Integer switchId = this.switchable.get(id);
+    if (switchId != null) {
+      this.switched.put(id, switchId);
+    }
+    return Optional.ofNullable(switchId);
+  }
+
+  public Map<MutationIdentifier, Integer> getSwitchedMutations() {
+    return this.switched;
   }
 
-  private static Predicate<MutationDetails> hasId(final MutationIdentifier id) {
-    return a -> a.matchesId(id);
+  public boolean couldMutate(final Location location) {
+    return this.target.map(t -> t.getLocation().equals(location)).orElse(true);
   }
 
   public void registerClass(final ClassInfo classInfo) {
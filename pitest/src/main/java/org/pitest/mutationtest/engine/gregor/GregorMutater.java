@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -36,18 +37,29 @@ import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.ComputeClassWriter;
 import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.MetaMutant;
 import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
+import sun.pitest.ActiveMutant;
+
 public class GregorMutater implements Mutater {
 
+  private static final int                MUTANT_CACHE_SIZE = 64;
+
   private final Map<String, String>       computeCache   = new HashMap<>();
   private final Predicate<MethodInfo>     filter;
   private final ClassByteArraySource      byteSource;
   private final Set<MethodMutatorFactory> mutators       = new HashSet<>();
 
+  // mutants are usually requested one class at a time, so the last class
+  // scanned is kept to avoid re-reading and re-scanning it for each mutant
+  private ScannedClass                    lastScanned;
+  private final Map<MutationIdentifier, Mutant> mutants  = new MutantCache(
+      MUTANT_CACHE_SIZE);
+
   public GregorMutater(final ClassByteArraySource byteSource,
       final Predicate<MethodInfo> filter,
       final Collection<MethodMutatorFactory> mutators) {
@@ -60,19 +72,31 @@ public class GregorMutater implements Mutater {
   public List<MutationDetails> findMutations(
       final ClassName classToMutate) {
 
-    final ClassContext context = new ClassContext();
-    context.setTargetMutation(Optional.<MutationIdentifier> empty());
-    Optional<byte[]> bytes = GregorMutater.this.byteSource.getBytes(
-        classToMutate.asInternalName());
-    
-    return bytes.map(findMutations(context))
+    return scan(classToMutate.asInternalName())
+        .<List<MutationDetails>> map(c -> new ArrayList<>(c.mutations))
         .orElse(Collections.<MutationDetails>emptyList());
 
   }
 
-  private Function<byte[], List<MutationDetails>> findMutations(
+  private Optional<ScannedClass> scan(final String clazz) {
+    if ((this.lastScanned != null) && this.lastScanned.name.equals(clazz)) {
+      return Optional.of(this.lastScanned);
+    }
+
+    final ClassContext context = new ClassContext();
+    context.setTargetMutation(Optional.<MutationIdentifier> empty());
+    final Optional<ScannedClass> scanned = this.byteSource.getBytes(clazz)
+        .map(scanClass(clazz, context));
+    if (scanned.isPresent()) {
+      this.lastScanned = scanned.get();
+    }
+    return scanned;
+  }
+
+  private Function<byte[], ScannedClass> scanClass(final String clazz,
       final ClassContext context) {
-    return bytes -> findMutationsForBytes(context, bytes);
+    return bytes -> new ScannedClass(clazz, bytes,
+        findMutationsForBytes(context, bytes));
   }
 
   private List<MutationDetails> findMutationsForBytes(
@@ -90,28 +114,76 @@ public class GregorMutater implements Mutater {
 
   @Override
   public Mutant getMutation(final MutationIdentifier id) {
+    Mutant mutant = this.mutants.get(id);
+    if (mutant == null) {
+      mutant = createMutant(id);
+      this.mutants.put(id, mutant);
+    }
+    return mutant;
+  }
+
+  private Mutant createMutant(final MutationIdentifier id) {
+    // details come from the scan of the whole class as block numbers are
+    // counted across methods
+    final ScannedClass scanned = scan(id.getClassName().asInternalName())
+        .get();
+    final List<MutationDetails> details = FCollection.filter(scanned.mutations,
+        a -> a.matchesId(id));
 
     final ClassContext context = new ClassContext();
     context.setTargetMutation(Optional.ofNullable(id));
 
-    final Optional<byte[]> bytes = this.byteSource.getBytes(id.getClassName()
-        .asJavaName());
-
-    final ClassReader reader = new ClassReader(bytes.get());
-    final ClassWriter w = new ComputeClassWriter(this.byteSource,
-        this.computeCache, FrameOptions.pickFlags(bytes.get()));
+    // methods the mutating visitor passes straight through are copied from
+    // the reader as is, so only the mutated method is rewritten and has its
+    // frames recomputed
+    final ClassReader reader = new ClassReader(scanned.bytes);
+    final ClassWriter w = new ComputeClassWriter(reader, this.byteSource,
+        this.computeCache, FrameOptions.pickFlags(scanned.bytes));
     final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
         filterMethods(), FCollection.filter(this.mutators,
             isMutatorFor(id)));
     reader.accept(mca, ClassReader.EXPAND_FRAMES);
 
-    final List<MutationDetails> details = context.getMutationDetails(context
-        .getTargetMutation().get());
-
     return new Mutant(details.get(0), w.toByteArray());
 
   }
 
+  @Override
+  public Optional<MetaMutant> getMetaMutant(final ClassName classToMutate) {
+    final Optional<ScannedClass> maybeScanned = scan(
+        classToMutate.asInternalName());
+    if (!maybeScanned.isPresent()) {
+      return Optional.empty();
+    }
+    final ScannedClass scanned = maybeScanned.get();
+
+    final Map<MutationIdentifier, Integer> switchable = new HashMap<>();
+    final int firstSwitch = ActiveMutant.reserve(scanned.mutations.size());
+    for (int i = 0; i != scanned.mutations.size(); i++) {
+      switchable.put(scanned.mutations.get(i).getId(), firstSwitch + i);
+    }
+
+    final ClassContext context = new ClassContext();
+    context.setTargetMutation(Optional.<MutationIdentifier> empty());
+    context.setSwitchableMutations(switchable);
+
+    final ClassReader reader = new ClassReader(scanned.bytes);
+    final ClassWriter w = new ComputeClassWriter(reader, this.byteSource,
+        this.computeCache, FrameOptions.pickFlags(scanned.bytes));
+    final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
+        filterMethods(), this.mutators);
+
+    try {
+      reader.accept(mca, ClassReader.EXPAND_FRAMES);
+      return Optional.of(new MetaMutant(classToMutate, w.toByteArray(),
+          new HashMap<>(context.getSwitchedMutations())));
+    } catch (final RuntimeException ex) {
+      // a method may grow too large, or its frames fail to compute, once
+      // every mutation is added. Each mutant can still be created alone.
+      return Optional.empty();
+    }
+  }
+
   private static Predicate<MethodMutatorFactory> isMutatorFor(
       final MutationIdentifier id) {
     return a -> id.getMutator().equals(a.getGloballyUniqueId());
@@ -134,4 +206,33 @@ public class GregorMutater implements Mutater {
     return a -> a.isGeneratedEnumMethod();
   }
 
+  private static class ScannedClass {
+    private final String                name;
+    private final byte[]                bytes;
+    private final List<MutationDetails> mutations;
+
+    ScannedClass(final String name, final byte[] bytes,
+        final List<MutationDetails> mutations) {
+      this.name = name;
+      this.bytes = bytes;
+      this.mutations = mutations;
+    }
+  }
+
+  private static class MutantCache extends LinkedHashMap<MutationIdentifier, Mutant> {
+    private static final long serialVersionUID = 1L;
+    private final int         maxSize;
+
+    MutantCache(final int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(
+        final Map.Entry<MutationIdentifier, Mutant> eldest) {
+      return size() > this.maxSize;
+    }
+  }
+
 }
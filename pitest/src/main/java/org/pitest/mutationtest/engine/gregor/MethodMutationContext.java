@@ -1,8 +1,10 @@
 package org.pitest.mutationtest.engine.gregor;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
+import org.objectweb.asm.MethodVisitor;
 import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
@@ -11,17 +13,20 @@ import org.pitest.mutationtest.engine.gregor.analysis.InstructionCounter;
 
 class MethodMutationContext implements MutationContext, InstructionCounter {
 
-  private final ClassContext classContext;
-  private final Location     location;
+  private final ClassContext  classContext;
+  private final Location      location;
+  private final MethodVisitor output;
 
-  private int                instructionIndex;
+  private int                 instructionIndex;
 
-  private int                lastLineNumber;
+  private int                 lastLineNumber;
   private final Set<String>  mutationFindingDisabledReasons = new HashSet<>();
 
-  MethodMutationContext(final ClassContext classContext, final Location location) {
+  MethodMutationContext(final ClassContext classContext,
+      final Location location, final MethodVisitor output) {
     this.classContext = classContext;
     this.location = location;
+    this.output = output;
   }
 
   @Override
@@ -84,6 +89,12 @@ class MethodMutationContext implements MutationContext, InstructionCounter {
     return this.classContext.shouldMutate(newId);
   }
 
+  @Override
+  public Optional<MutantSwitch> mutantSwitch(final MutationIdentifier newId) {
+    return this.classContext.switchFor(newId)
+        .map(id -> new MutantSwitch(this.output, id));
+  }
+
   @Override
   public void disableMutations(final String reason) {
     this.mutationFindingDisabledReasons.add(reason);
@@ -0,0 +1,49 @@
+package org.pitest.mutationtest.engine.gregor;
+
+import java.util.function.Consumer;
+
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import sun.pitest.ActiveMutant;
+
+/**
+ * Writes a mutation into a meta mutant so that it replaces the original code
+ * only while its id is active.
+ *
+ * The mutated code is written directly to the output so it is not seen, and
+ * mutated again, by other mutators in the chain.
+ */
+public class MutantSwitch {
+
+  private final MethodVisitor output;
+  private final int           switchId;
+
+  MutantSwitch(final MethodVisitor output, final int switchId) {
+    this.output = output;
+    this.switchId = switchId;
+  }
+
+  /**
+   * @param mutant
+   *          writes the mutated code to the supplied visitor
+   * @param original
+   *          writes the original code to the next visitor in the chain
+   */
+  public void write(final Consumer<MethodVisitor> mutant,
+      final Runnable original) {
+    final Label unmutated = new Label();
+    final Label end = new Label();
+    this.output.visitFieldInsn(Opcodes.GETSTATIC, ActiveMutant.CLASS_NAME,
+        ActiveMutant.FIELD_NAME, "I");
+    this.output.visitLdcInsn(this.switchId);
+    this.output.visitJumpInsn(Opcodes.IF_ICMPNE, unmutated);
+    mutant.accept(this.output);
+    this.output.visitJumpInsn(Opcodes.GOTO, end);
+    this.output.visitLabel(unmutated);
+    original.run();
+    this.output.visitLabel(end);
+  }
+
+}
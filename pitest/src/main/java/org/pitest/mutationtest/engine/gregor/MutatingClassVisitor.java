@@ -62,19 +62,20 @@ class MutatingClassVisitor extends ClassVisitor {
       final String methodDescriptor, final String signature,
       final String[] exceptions) {
 
-    final MethodMutationContext methodContext = new MethodMutationContext(
-        this.context, Location.location(
-            ClassName.fromString(this.context.getClassInfo().getName()),
-            MethodName.fromString(methodName), methodDescriptor));
-
+    final Location location = Location.location(
+        ClassName.fromString(this.context.getClassInfo().getName()),
+        MethodName.fromString(methodName), methodDescriptor);
     final MethodVisitor methodVisitor = this.cv.visitMethod(access, methodName,
         methodDescriptor, signature, exceptions);
 
+    final MethodMutationContext methodContext = new MethodMutationContext(
+        this.context, location, methodVisitor);
+
     final MethodInfo info = new MethodInfo()
     .withOwner(this.context.getClassInfo()).withAccess(access)
     .withMethodName(methodName).withMethodDescriptor(methodDescriptor);
 
-    if (this.filter.test(info)) {
+    if (this.context.couldMutate(location) && this.filter.test(info)) {
       return this.visitMethodForMutation(methodContext, info, methodVisitor);
     } else {
       return methodVisitor;
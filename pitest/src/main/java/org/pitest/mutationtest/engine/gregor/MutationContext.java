@@ -1,5 +1,7 @@
 package org.pitest.mutationtest.engine.gregor;
 
+import java.util.Optional;
+
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.engine.gregor.blocks.BlockCounter;
 
@@ -14,6 +16,12 @@ public interface MutationContext extends BlockCounter {
 
   boolean shouldMutate(MutationIdentifier newId);
 
+  /**
+   * When a meta mutant is being created, returns the switch to write the
+   * mutation into.
+   */
+  Optional<MutantSwitch> mutantSwitch(MutationIdentifier newId);
+
   void disableMutations(String reason);
 
   void enableMutatations(String reason);
@@ -0,0 +1,86 @@
+package org.pitest.mutationtest.execute;
+
+import java.security.Permission;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refuses calls to System.exit and Runtime.halt while mutations are analysed
+ * in process, counting them so the mutations being analysed can be left for a
+ * minion. Every other check is passed to the security manager it replaced.
+ *
+ * Installing a security manager is refused by default from Java 18, so in
+ * process analysis is not possible there.
+ */
+final class ExitGuard extends SecurityManager {
+
+  // guarded by ExitGuard.class
+  private static ExitGuard      installed;
+
+  private final SecurityManager previous;
+  private final AtomicLong      attempts = new AtomicLong();
+
+  private ExitGuard(final SecurityManager previous) {
+    this.previous = previous;
+  }
+
+  /**
+   * Installs the guard if it is not already installed
+   *
+   * @throws UnsupportedOperationException
+   *           if the jvm does not allow a security manager to be installed
+   * @throws SecurityException
+   *           if the current security manager does not allow it to be
+   *           replaced
+   */
+  static synchronized ExitGuard install() {
+    if (installed == null) {
+      final ExitGuard guard = new ExitGuard(System.getSecurityManager());
+      System.setSecurityManager(guard);
+      installed = guard;
+    }
+    return installed;
+  }
+
+  /**
+   * Restores the security manager the guard replaced, unless it has itself
+   * been replaced since
+   */
+  static synchronized void uninstall() {
+    if (installed != null) {
+      if (System.getSecurityManager() == installed) {
+        System.setSecurityManager(installed.previous);
+      }
+      installed = null;
+    }
+  }
+
+  /**
+   * @return the number of times the jvm has been asked to exit since the
+   *         guard was installed
+   */
+  long exitAttempts() {
+    return this.attempts.get();
+  }
+
+  @Override
+  public void checkExit(final int status) {
+    this.attempts.incrementAndGet();
+    throw new SecurityException(
+        "Exit with status " + status + " refused during mutation analysis");
+  }
+
+  @Override
+  public void checkPermission(final Permission perm) {
+    if (this.previous != null) {
+      this.previous.checkPermission(perm);
+    }
+  }
+
+  @Override
+  public void checkPermission(final Permission perm, final Object context) {
+    if (this.previous != null) {
+      this.previous.checkPermission(perm, context);
+    }
+  }
+
+}
@@ -50,6 +50,21 @@ class HotSwap implements F3<ClassName, ClassLoader, byte[], Boolean> {
     this.lastMutatedClass = clazzName;
   }
 
+  /**
+   * Restores the original bytes of the last class to be mutated
+   */
+  void restoreLastClass() {
+    if (this.lastMutatedClass == null) {
+      return;
+    }
+    try {
+      restoreForLoader(this.lastUsedLoader);
+      this.lastMutatedClass = null;
+    } catch (final ClassNotFoundException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
   private void restoreForLoader(ClassLoader loader)
       throws ClassNotFoundException {
     final Class<?> clazz = Class.forName(this.lastMutatedClass.asJavaName(), false,
@@ -0,0 +1,332 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.pitest.classinfo.CachingByteArraySource;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.extension.common.TestUnitDecorator;
+import org.pitest.functional.F3;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.config.ClientPluginServices;
+import org.pitest.mutationtest.config.MinionSettings;
+import org.pitest.mutationtest.engine.MetaMutant;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.testapi.Configuration;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.execute.FindTestUnits;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+
+/**
+ * Analyses mutations inside the jvm of the parent process rather than in a
+ * forked minion.
+ *
+ * The parent loads this class, pitest and the rest of the classpath in a
+ * classloader of their own, and exchanges the same messages with it as with a
+ * {@link MutationTestMinion}. Each mutant is then tested in a fresh
+ * {@link MutantClassLoader}, so no class is redefined and nothing need be
+ * restored afterwards.
+ *
+ * Mutations that cannot be isolated in this way are left unreported for the
+ * parent to run in a forked minion, as are mutations whose tests timed out or
+ * tried to exit the jvm. Exits are refused by an {@link ExitGuard} for as long
+ * as the parent analyses mutations in process. Every mutation after a test is
+ * left running past its time allowance is also left for a minion, as its
+ * thread cannot be stopped. This is signalled to the parent with a
+ * {@link ExitCode#TIMEOUT}.
+ */
+public class InProcessMinion {
+
+  private static final Logger       LOG        = Log.getLogger();
+
+  private static final int          CACHE_SIZE = 12;
+
+  private final MinionSettings      plugins;
+  private final ClassPath           isolated;
+  private final SafeDataInputStream dis;
+  private final Reporter            reporter;
+  private final ExitGuard           guard;
+
+  InProcessMinion(final MinionSettings plugins, final ClassPath isolated,
+      final SafeDataInputStream dis, final Reporter reporter,
+      final ExitGuard guard) {
+    this.plugins = plugins;
+    this.isolated = isolated;
+    this.dis = dis;
+    this.reporter = reporter;
+    this.guard = guard;
+  }
+
+  /**
+   * Called reflectively by the parent, so accepts only types from the jdk.
+   *
+   * @param isolatedClassPath
+   *          the classpath entries to load again for each mutant, which must
+   *          include the mutated classes and the tests
+   */
+  public static void run(final String isolatedClassPath, final InputStream in,
+      final OutputStream out) {
+    final ExitGuard guard;
+    try {
+      guard = ExitGuard.install();
+    } catch (final UnsupportedOperationException | SecurityException ex) {
+      LOG.log(Level.WARNING, "Cannot guard against tests exiting the jvm,"
+          + " so mutations will not be analysed in process", ex);
+      new DefaultReporter(out).done(ExitCode.UNKNOWN_ERROR);
+      return;
+    }
+
+    final ClassPath isolated = new ClassPath(Arrays.stream(
+        isolatedClassPath.split(File.pathSeparator)).map(File::new)
+        .collect(Collectors.toList()));
+    try {
+      final MinionSettings plugins = new MinionSettings(
+          new ClientPluginServices(InProcessMinion.class.getClassLoader()));
+      new InProcessMinion(plugins, isolated, new SafeDataInputStream(in),
+          new DefaultReporter(out), guard).run();
+    } finally {
+      isolated.close();
+    }
+  }
+
+  /**
+   * Called reflectively by the parent once no more mutations will be
+   * analysed in process, allowing the jvm to exit again
+   */
+  public static void shutdown() {
+    ExitGuard.uninstall();
+  }
+
+  void run() {
+    try {
+      final MinionArguments arguments = this.dis.read(MinionArguments.class);
+
+      // the pitest logger is shared with the parent, and has been reset by
+      // the isolated copy of Log
+      Log.setVerbose(arguments.isVerbose());
+
+      this.reporter.done(analyse(arguments));
+    } catch (final Throwable ex) {
+      LOG.log(Level.WARNING, "Error during in process mutation test", ex);
+      this.reporter.done(ExitCode.UNKNOWN_ERROR);
+    }
+  }
+
+  private ExitCode analyse(final MinionArguments arguments) throws IOException {
+    if (!arguments.testClasses.stream().allMatch(this::isIsolated)) {
+      LOG.fine("Tests are not all isolated, leaving mutations for a minion");
+      return ExitCode.OK;
+    }
+
+    final ClassLoader parent = InProcessMinion.class.getClassLoader();
+    final ClassByteArraySource byteSource = new CachingByteArraySource(
+        new ClassloaderByteArraySource(parent), CACHE_SIZE);
+    final Mutater mutater = this.plugins.createEngine(arguments.engine)
+        .createEngine(arguments.engineArgs).createMutator(byteSource);
+    final Configuration testPlugin = this.plugins.getTestFrameworkPlugin(
+        arguments.pitConfig, byteSource);
+    final TestTimeoutExecutor executor = new TestTimeoutExecutor();
+
+    for (final MutationDetails each : arguments.mutations) {
+      if (each.mayPoisonJVM() || !isIsolated(each.getClassName())) {
+        continue;
+      }
+
+      analyse(arguments, each, mutater, testPlugin, executor);
+
+      // the parent runs timed out mutants again in a minion, but the rest
+      // are left to it only if a test is still running
+      if (executor.abandonedThreads() != 0) {
+        return ExitCode.TIMEOUT;
+      }
+    }
+    return ExitCode.OK;
+  }
+
+  private void analyse(final MinionArguments arguments,
+      final MutationDetails mutation, final Mutater mutater,
+      final Configuration testPlugin, final TestTimeoutExecutor executor)
+      throws IOException {
+    final Mutant mutant = mutater.getMutation(mutation.getId());
+    final ClassLoader loader = new MutantClassLoader(this.isolated,
+        InProcessMinion.class.getClassLoader(), mutant);
+
+    final Thread thread = Thread.currentThread();
+    final ClassLoader previous = thread.getContextClassLoader();
+    thread.setContextClassLoader(loader);
+    try {
+      final List<TestUnit> tests = findTests(loader, arguments.testClasses,
+          testPlugin);
+      final MutationTestWorker worker = new MutationTestWorker(
+          loadMutant(), prepared(mutant, mutater), loader,
+          arguments.fullMutationMatrix, false);
+      final HeldReporter held = new HeldReporter(this.reporter);
+      final long exits = this.guard.exitAttempts();
+      worker.run(Collections.singletonList(mutation), held,
+          new TimeOutDecoratedTestSource(arguments.timeoutStrategy, tests,
+              executor, new TimeoutRecovery(held, executor, () -> { })));
+      // an attempt made by another thread is taken to be this mutant's too,
+      // as it cannot be told apart
+      if (this.guard.exitAttempts() != exits) {
+        LOG.fine("Test tried to exit the jvm, leaving " + mutation.getId()
+            + " for a minion");
+      } else if (held.isTimedOut()) {
+        LOG.fine("Test timed out, leaving " + mutation.getId()
+            + " for a minion");
+      } else {
+        held.release();
+      }
+    } finally {
+      thread.setContextClassLoader(previous);
+    }
+  }
+
+  /**
+   * Holds back the status of a mutant until it is known whether it can be
+   * trusted
+   */
+  private static final class HeldReporter implements Reporter {
+
+    private final Reporter         child;
+
+    private MutationIdentifier     id;
+    private MutationStatusTestPair status;
+
+    HeldReporter(final Reporter child) {
+      this.child = child;
+    }
+
+    @Override
+    public void describe(final MutationIdentifier i) throws IOException {
+      this.child.describe(i);
+    }
+
+    @Override
+    public void report(final MutationIdentifier i,
+        final MutationStatusTestPair mutationDetected) {
+      this.id = i;
+      this.status = mutationDetected;
+    }
+
+    @Override
+    public void done(final ExitCode exitCode) {
+      this.child.done(exitCode);
+    }
+
+    boolean isTimedOut() {
+      return (this.status != null)
+          && (this.status.getStatus() == DetectionStatus.TIMED_OUT);
+    }
+
+    void release() throws IOException {
+      if (this.id != null) {
+        this.child.report(this.id, this.status);
+      }
+    }
+
+  }
+
+  private boolean isIsolated(final ClassName clazz) {
+    try {
+      return this.isolated.getClassData(clazz.asJavaName()) != null;
+    } catch (final IOException ex) {
+      return false;
+    }
+  }
+
+  private static List<TestUnit> findTests(final ClassLoader loader,
+      final Collection<ClassName> testClasses, final Configuration testPlugin) {
+    final List<Class<?>> classes = testClasses.stream()
+        .flatMap(ClassName.nameToClass(loader)).collect(Collectors.toList());
+    final List<TestUnit> tests = new ArrayList<>();
+    for (final TestUnit each : new FindTestUnits(testPlugin)
+        .findTestUnitsForAllSuppliedClasses(classes)) {
+      tests.add(withContextClassLoader(each, loader));
+    }
+    return tests;
+  }
+
+  /**
+   * The mutant is defined by the classloader the tests are found in, so
+   * installing it need only check it can be loaded
+   */
+  private static F3<ClassName, ClassLoader, byte[], Boolean> loadMutant() {
+    return (clazz, loader, bytes) -> {
+      try {
+        Class.forName(clazz.asJavaName(), false, loader);
+        return true;
+      } catch (final ClassNotFoundException | LinkageError ex) {
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Serves the mutant the classloader was created for rather than creating
+   * it again
+   */
+  private static Mutater prepared(final Mutant mutant, final Mutater mutater) {
+    return new Mutater() {
+      @Override
+      public Mutant getMutation(final MutationIdentifier id) {
+        if (id.equals(mutant.getDetails().getId())) {
+          return mutant;
+        }
+        return mutater.getMutation(id);
+      }
+
+      @Override
+      public List<MutationDetails> findMutations(final ClassName classToMutate) {
+        return mutater.findMutations(classToMutate);
+      }
+
+      @Override
+      public Optional<MetaMutant> getMetaMutant(final ClassName classToMutate) {
+        return Optional.empty();
+      }
+    };
+  }
+
+  /**
+   * Tests run on a thread shared by every mutant, which must see the
+   * mutant's classloader as its context
+   */
+  private static TestUnit withContextClassLoader(final TestUnit test,
+      final ClassLoader loader) {
+    return new TestUnitDecorator(test) {
+      @Override
+      public void execute(final ResultCollector rc) {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+          child().execute(rc);
+        } finally {
+          thread.setContextClassLoader(previous);
+        }
+      }
+    };
+  }
+
+}
@@ -34,12 +34,16 @@ public class MinionArguments implements Serializable {
   final TimeoutLengthStrategy       timeoutStrategy;
   final boolean                     verbose;
   final boolean                     fullMutationMatrix;
+  final boolean                     mutantSchemata;
+  final boolean                     recoverTimeouts;
   final TestPluginArguments         pitConfig;
+  final boolean                     keepAlive;
 
   public MinionArguments(final Collection<MutationDetails> mutations,
       final Collection<ClassName> tests, final String engine,   final EngineArguments engineArgs,
       final TimeoutLengthStrategy timeoutStrategy, final boolean verbose, final boolean fullMutationMatrix,
-      final TestPluginArguments pitConfig) {
+      final boolean mutantSchemata, final boolean recoverTimeouts,
+      final TestPluginArguments pitConfig, final boolean keepAlive) {
     this.mutations = mutations;
     this.testClasses = tests;
     this.engine = engine;
@@ -47,11 +51,22 @@ public class MinionArguments implements Serializable {
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
     this.fullMutationMatrix = fullMutationMatrix;
+    this.mutantSchemata = mutantSchemata;
+    this.recoverTimeouts = recoverTimeouts;
     this.pitConfig = pitConfig;
+    this.keepAlive = keepAlive;
   }
 
   public boolean isVerbose() {
     return this.verbose;
   }
 
+  /**
+   * If true the minion will wait for further arguments once it has analysed
+   * the supplied mutations, rather than exiting.
+   */
+  public boolean isKeepAlive() {
+    return this.keepAlive;
+  }
+
 }
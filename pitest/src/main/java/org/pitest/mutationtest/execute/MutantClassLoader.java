@@ -0,0 +1,87 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+
+import org.pitest.classpath.ClassPath;
+import org.pitest.mutationtest.engine.Mutant;
+
+/**
+ * Loads the classes of the project under test ahead of its parent, defining
+ * a mutant in place of the class it mutates. A mutant can so be tested
+ * without redefining classes in a running jvm, and is discarded along with
+ * the classloader.
+ *
+ * Everything not found on the isolated classpath, such as the jdk, the test
+ * framework and pitest itself, is loaded by the parent and shared between
+ * mutants.
+ */
+class MutantClassLoader extends ClassLoader {
+
+  private final ClassPath isolated;
+  private final String    mutatedClass;
+  private final byte[]    mutantBytes;
+
+  MutantClassLoader(final ClassPath isolated, final ClassLoader parent,
+      final Mutant mutant) {
+    super(parent);
+    this.isolated = isolated;
+    this.mutatedClass = mutant.getDetails().getClassName().asJavaName();
+    this.mutantBytes = mutant.getBytes();
+  }
+
+  @Override
+  protected Class<?> loadClass(final String name, final boolean resolve)
+      throws ClassNotFoundException {
+    synchronized (getClassLoadingLock(name)) {
+      Class<?> clazz = findLoadedClass(name);
+      if (clazz == null) {
+        clazz = defineIsolatedClass(name);
+      }
+      if (clazz == null) {
+        return super.loadClass(name, resolve);
+      }
+      if (resolve) {
+        resolveClass(clazz);
+      }
+      return clazz;
+    }
+  }
+
+  @Override
+  protected Class<?> findClass(final String name)
+      throws ClassNotFoundException {
+    final Class<?> clazz = defineIsolatedClass(name);
+    if (clazz == null) {
+      throw new ClassNotFoundException(name);
+    }
+    return clazz;
+  }
+
+  private Class<?> defineIsolatedClass(final String name)
+      throws ClassNotFoundException {
+    if (name.equals(this.mutatedClass)) {
+      return define(name, this.mutantBytes);
+    }
+    try {
+      final byte[] bytes = this.isolated.getClassData(name);
+      if (bytes == null) {
+        return null;
+      }
+      return define(name, bytes);
+    } catch (final IOException ex) {
+      throw new ClassNotFoundException(name, ex);
+    }
+  }
+
+  private Class<?> define(final String name, final byte[] bytes) {
+    final int i = name.lastIndexOf('.');
+    if (i != -1) {
+      final String packageName = name.substring(0, i);
+      if (getPackage(packageName) == null) {
+        definePackage(packageName, null, null, null, null, null, null, null);
+      }
+    }
+    return defineClass(name, bytes, 0, bytes.length);
+  }
+
+}
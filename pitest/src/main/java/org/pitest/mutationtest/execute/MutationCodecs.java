@@ -0,0 +1,107 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireCodec;
+
+/**
+ * Encodings for the messages a mutation test minion sends for every mutant
+ */
+public final class MutationCodecs {
+
+  private static final DetectionStatus[]                STATUSES        = DetectionStatus
+      .values();
+
+  public static final WireCodec<MutationIdentifier>     MUTATION_ID     = new MutationIdentifierCodec();
+
+  public static final WireCodec<MutationStatusTestPair> MUTATION_STATUS = new MutationStatusCodec();
+
+  private MutationCodecs() {
+  }
+
+  private static class MutationIdentifierCodec implements
+      WireCodec<MutationIdentifier> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final MutationIdentifier value) {
+      final Location location = value.getLocation();
+      out.writeInternedString(location.getClassName().asInternalName());
+      out.writeInternedString(location.getMethodName().name());
+      out.writeInternedString(location.getMethodDesc());
+      out.writeInternedString(value.getMutator());
+      out.writeVarint(value.getIndexes().size());
+      for (final int each : value.getIndexes()) {
+        out.writeVarint(each);
+      }
+    }
+
+    @Override
+    public MutationIdentifier read(final SafeDataInputStream in) {
+      final ClassName clazz = ClassName.fromString(in.readInternedString());
+      final MethodName method = MethodName.fromString(in.readInternedString());
+      final String desc = in.readInternedString();
+      final String mutator = in.readInternedString();
+      final int numberOfIndexes = in.readVarint();
+      final List<Integer> indexes = new ArrayList<>(numberOfIndexes);
+      for (int i = 0; i != numberOfIndexes; i++) {
+        indexes.add(in.readVarint());
+      }
+      return new MutationIdentifier(Location.location(clazz, method, desc),
+          indexes, mutator);
+    }
+  }
+
+  private static class MutationStatusCodec implements
+      WireCodec<MutationStatusTestPair> {
+
+    @Override
+    public void write(final SafeDataOutputStream out,
+        final MutationStatusTestPair value) {
+      out.writeVarint(value.getNumberOfTestsRun());
+      out.writeVarint(value.getStatus().ordinal());
+      writeStrings(out, value.getKillingTests());
+      writeStrings(out, value.getSucceedingTests());
+    }
+
+    @Override
+    public MutationStatusTestPair read(final SafeDataInputStream in) {
+      final int testsRun = in.readVarint();
+      final DetectionStatus status = STATUSES[in.readVarint()];
+      final List<String> killing = readStrings(in);
+      final List<String> succeeding = readStrings(in);
+      return new MutationStatusTestPair(testsRun, status, killing, succeeding);
+    }
+
+    private static void writeStrings(final SafeDataOutputStream out,
+        final List<String> values) {
+      out.writeVarint(values.size());
+      for (final String each : values) {
+        out.writeInternedString(each);
+      }
+    }
+
+    private static List<String> readStrings(final SafeDataInputStream in) {
+      final int count = in.readVarint();
+      if (count == 0) {
+        return Collections.emptyList();
+      }
+      final List<String> values = new ArrayList<>(count);
+      for (int i = 0; i != count; i++) {
+        values.add(in.readInternedString());
+      }
+      return values;
+    }
+  }
+
+}
@@ -14,11 +14,12 @@
  */
 package org.pitest.mutationtest.execute;
 
-import java.io.IOException;
 import java.lang.management.MemoryNotificationInfo;
-import java.net.Socket;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -31,7 +32,6 @@ import org.pitest.classinfo.CachingByteArraySource;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.ClassloaderByteArraySource;
-import org.pitest.functional.F3;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.config.ClientPluginServices;
@@ -48,6 +48,7 @@ import org.pitest.util.ExitCode;
 import org.pitest.util.Glob;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
+import org.pitest.util.ParentChannel;
 import org.pitest.util.SafeDataInputStream;
 
 public class MutationTestMinion {
@@ -62,6 +63,10 @@ public class MutationTestMinion {
   private final Reporter            reporter;
   private final MinionSettings      plugins;
 
+  // tests are discovered once per test class, so a minion that is kept alive
+  // does not rescan classes it has already seen
+  private final Map<ClassName, List<TestUnit>> testCache = new HashMap<>();
+
   public MutationTestMinion(MinionSettings plugins, final SafeDataInputStream dis,
       final Reporter reporter) {
     this.dis = dis;
@@ -72,7 +77,7 @@ public class MutationTestMinion {
   public void run() {
     try {
 
-      final MinionArguments paramsFromParent = this.dis
+      MinionArguments paramsFromParent = this.dis
           .read(MinionArguments.class);
 
       Log.setVerbose(paramsFromParent.isVerbose());
@@ -82,23 +87,32 @@ public class MutationTestMinion {
       final ClassByteArraySource byteSource = new CachingByteArraySource(new ClassloaderByteArraySource(
           loader), CACHE_SIZE);
 
-      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap = new HotSwap(
-          byteSource);
+      final HotSwap hotswap = new HotSwap(byteSource);
 
       final MutationEngine engine = createEngine(paramsFromParent.engine, paramsFromParent.engineArgs);
 
+      final Configuration testPlugin = createTestPlugin(paramsFromParent.pitConfig);
 
       final MutationTestWorker worker = new MutationTestWorker(hotswap,
-          engine.createMutator(byteSource), loader, paramsFromParent.fullMutationMatrix);
+          engine.createMutator(byteSource), loader,
+          paramsFromParent.fullMutationMatrix, paramsFromParent.mutantSchemata);
+
+      // every test is run on the same thread unless one times out
+      final TestTimeoutExecutor testExecutor = new TestTimeoutExecutor();
+
+      while (paramsFromParent != null) {
+        final List<TestUnit> tests = findTestsForTestClasses(loader,
+            paramsFromParent.testClasses, testPlugin);
 
-      final List<TestUnit> tests = findTestsForTestClasses(loader,
-          paramsFromParent.testClasses, createTestPlugin(paramsFromParent.pitConfig));
+        worker.run(paramsFromParent.mutations, this.reporter,
+            new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
+                tests, testExecutor, timeoutRecovery(paramsFromParent,
+                    testExecutor, hotswap)));
 
-      worker.run(paramsFromParent.mutations, this.reporter,
-          new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
-              tests, this.reporter));
+        this.reporter.done(ExitCode.OK);
 
-      this.reporter.done(ExitCode.OK);
+        paramsFromParent = awaitNextArguments(paramsFromParent, hotswap);
+      }
     } catch (final Throwable ex) {
       ex.printStackTrace(System.out);
       LOG.log(Level.WARNING, "Error during mutation test", ex);
@@ -107,6 +121,35 @@ public class MutationTestMinion {
 
   }
 
+  private TimeoutRecovery timeoutRecovery(final MinionArguments args,
+      final TestTimeoutExecutor testExecutor, final HotSwap hotswap) {
+    if (args.recoverTimeouts) {
+      return new TimeoutRecovery(this.reporter, testExecutor,
+          hotswap::restoreLastClass);
+    }
+    return TimeoutRecovery.exitOnTimeout(this.reporter, testExecutor);
+  }
+
+  private MinionArguments awaitNextArguments(final MinionArguments current,
+      final HotSwap hotswap) {
+    if (!current.isKeepAlive()) {
+      return null;
+    }
+
+    // leave the jvm as we found it so test discovery for the next batch
+    // does not see a mutant
+    hotswap.restoreLastClass();
+
+    if (!this.dis.readBoolean()) {
+      LOG.fine("Parent has no more work for minion");
+      return null;
+    }
+
+    final MinionArguments next = this.dis.read(MinionArguments.class);
+    Log.setVerbose(next.isVerbose());
+    return next;
+  }
+
   private MutationEngine createEngine(String engine, EngineArguments args) {
     return this.plugins.createEngine(engine).createEngine(args);
   }
@@ -121,11 +164,9 @@ public class MutationTestMinion {
 
     enablePowerMockSupport();
 
-    final int port = Integer.valueOf(args[0]);
-
-    Socket s = null;
+    ParentChannel s = null;
     try {
-      s = new Socket("localhost", port);
+      s = ParentChannel.connect(args[0]);
       final SafeDataInputStream dis = new SafeDataInputStream(
           s.getInputStream());
 
@@ -140,18 +181,23 @@ public class MutationTestMinion {
       LOG.log(Level.WARNING, "Error during mutation test", ex);
     } finally {
       if (s != null) {
-        safelyCloseSocket(s);
+        s.close();
       }
     }
 
   }
 
-  private static List<TestUnit> findTestsForTestClasses(
+  private List<TestUnit> findTestsForTestClasses(
       final ClassLoader loader, final Collection<ClassName> testClasses,
       final Configuration pitConfig) {
-    final Collection<Class<?>> tcs = testClasses.stream().flatMap(ClassName.nameToClass(loader)).collect(Collectors.toList());
     final FindTestUnits finder = new FindTestUnits(pitConfig);
-    return finder.findTestUnitsForAllSuppliedClasses(tcs);
+    final List<TestUnit> tests = new ArrayList<>();
+    for (final ClassName each : testClasses) {
+      tests.addAll(this.testCache.computeIfAbsent(each,
+          c -> finder.findTestUnitsForAllSuppliedClasses(ClassName
+              .nameToClass(loader).apply(c).collect(Collectors.toList()))));
+    }
+    return tests;
   }
 
   private static void enablePowerMockSupport() {
@@ -160,16 +206,6 @@ public class MutationTestMinion {
         .or(new Glob("javassist/*")), JavassistInputStreamInterceptorAdapater.inputStreamAdapterSupplier(JavassistInterceptor.class)));
   }
 
-  private static void safelyCloseSocket(final Socket s) {
-    if (s != null) {
-      try {
-        s.close();
-      } catch (final IOException e) {
-        LOG.log(Level.WARNING, "Couldn't close socket", e);
-      }
-    }
-  }
-
   private static void addMemoryWatchDog(final Reporter r) {
     final NotificationListener listener = (notification, handback) -> {
     final String type = notification.getType();
@@ -21,7 +21,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -29,6 +32,7 @@ import org.pitest.classinfo.ClassName;
 import org.pitest.functional.F3;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MetaMutant;
 import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
@@ -44,6 +48,8 @@ import org.pitest.testapi.execute.containers.ConcreteResultCollector;
 import org.pitest.testapi.execute.containers.UnContainer;
 import org.pitest.util.Log;
 
+import sun.pitest.ActiveMutant;
+
 public class MutationTestWorker {
 
   private static final Logger                               LOG   = Log
@@ -57,28 +63,52 @@ public class MutationTestWorker {
   private final ClassLoader                                 loader;
   private final F3<ClassName, ClassLoader, byte[], Boolean> hotswap;
   private final boolean                                     fullMutationMatrix;
+  private final boolean                                     mutantSchemata;
+
+  // meta mutant for the class most recently mutated, if one could be created
+  private ClassName                                         metaMutantClass;
+  private Optional<MetaMutant>                              metaMutant = Optional
+      .empty();
+  private boolean                                           metaMutantInstalled;
 
   public MutationTestWorker(
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
       final Mutater mutater, final ClassLoader loader, final boolean fullMutationMatrix) {
+    this(hotswap, mutater, loader, fullMutationMatrix, false);
+  }
+
+  /**
+   * @param mutantSchemata
+   *          if true each class is replaced once by a meta mutant and its
+   *          mutants are activated by switch, falling back to replacing the
+   *          class for each mutant that cannot be switched
+   */
+  public MutationTestWorker(
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
+      final Mutater mutater, final ClassLoader loader,
+      final boolean fullMutationMatrix, final boolean mutantSchemata) {
     this.loader = loader;
     this.mutater = mutater;
     this.hotswap = hotswap;
     this.fullMutationMatrix = fullMutationMatrix;
+    this.mutantSchemata = mutantSchemata;
   }
 
   protected void run(final Collection<MutationDetails> range, final Reporter r,
       final TimeOutDecoratedTestSource testSource) throws IOException {
 
+    // classes are restored between runs
+    this.metaMutantInstalled = false;
+
     for (final MutationDetails mutation : range) {
       if (DEBUG) {
         LOG.fine("Running mutation " + mutation);
       }
-      final long t0 = System.currentTimeMillis();
+      final long t0 = System.nanoTime();
       processMutation(r, testSource, mutation);
       if (DEBUG) {
-        LOG.fine("processed mutation in " + (System.currentTimeMillis() - t0)
-            + " ms.");
+        LOG.fine("processed mutation in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0) + " ms.");
       }
     }
 
@@ -89,7 +119,17 @@ public class MutationTestWorker {
       final MutationDetails mutationDetails) throws IOException {
 
     final MutationIdentifier mutationId = mutationDetails.getId();
+    final Optional<MetaMutant> meta = installedMetaMutantFor(mutationId);
+    if (meta.isPresent()) {
+      JavassistInterceptor.setMutant(new Mutant(mutationDetails,
+          meta.get().getBytes()));
+      testMutation(r, testSource, mutationDetails,
+          tests -> handleSwitchedMutation(mutationId, meta.get(), tests));
+      return;
+    }
+
     final Mutant mutatedClass = this.mutater.getMutation(mutationId);
+    this.metaMutantInstalled = false;
 
     // For the benefit of mocking frameworks such as PowerMock
     // mess with the internals of Javassist so our mutated class
@@ -99,13 +139,31 @@ public class MutationTestWorker {
     if (DEBUG) {
       LOG.fine("mutating method " + mutatedClass.getDetails().getMethod());
     }
+    testMutation(r, testSource, mutationDetails,
+        tests -> handleCoveredMutation(mutationDetails, mutatedClass, tests));
+  }
+
+  private void testMutation(final Reporter r,
+      final TimeOutDecoratedTestSource testSource,
+      final MutationDetails mutationDetails,
+      final Function<List<TestUnit>, MutationStatusTestPair> covered)
+      throws IOException {
+    final MutationIdentifier mutationId = mutationDetails.getId();
     final List<TestUnit> relevantTests = testSource
         .translateTests(mutationDetails.getTestsInOrder());
 
     r.describe(mutationId);
 
-    final MutationStatusTestPair mutationDetected = handleMutation(
-        mutationDetails, mutatedClass, relevantTests);
+    MutationStatusTestPair mutationDetected;
+    if ((relevantTests == null) || relevantTests.isEmpty()) {
+      LOG.info("No test coverage for mutation  " + mutationDetails + " in "
+          + mutationDetails.getMethod());
+      mutationDetected = MutationStatusTestPair.notAnalysed(0,
+          DetectionStatus.RUN_ERROR);
+    } else {
+      mutationDetected = covered.apply(relevantTests);
+    }
+    mutationDetected = checkForTimeout(testSource, mutationDetected);
 
     r.report(mutationId, mutationDetected);
     if (DEBUG) {
@@ -113,20 +171,58 @@ public class MutationTestWorker {
     }
   }
 
-  private MutationStatusTestPair handleMutation(
-      final MutationDetails mutationId, final Mutant mutatedClass,
+  private Optional<MetaMutant> installedMetaMutantFor(
+      final MutationIdentifier mutationId) {
+    if (!this.mutantSchemata) {
+      return Optional.empty();
+    }
+
+    final ClassName clazz = mutationId.getClassName();
+    if (!clazz.equals(this.metaMutantClass)) {
+      this.metaMutantClass = clazz;
+      this.metaMutant = this.mutater.getMetaMutant(clazz);
+      this.metaMutantInstalled = false;
+    }
+
+    if (!this.metaMutant.isPresent()
+        || !this.metaMutant.get().contains(mutationId)) {
+      return Optional.empty();
+    }
+
+    if (!this.metaMutantInstalled) {
+      this.metaMutantInstalled = this.hotswap.apply(clazz, this.loader,
+          this.metaMutant.get().getBytes());
+      if (!this.metaMutantInstalled) {
+        LOG.fine("Could not install meta mutant for " + clazz
+            + ", replacing class for each mutant");
+        this.metaMutant = Optional.empty();
+      }
+    }
+    return this.metaMutant;
+  }
+
+  private MutationStatusTestPair handleSwitchedMutation(
+      final MutationIdentifier mutationId, final MetaMutant meta,
       final List<TestUnit> relevantTests) {
-    final MutationStatusTestPair mutationDetected;
-    if ((relevantTests == null) || relevantTests.isEmpty()) {
-      LOG.info("No test coverage for mutation  " + mutationId + " in "
-          + mutatedClass.getDetails().getMethod());
-      mutationDetected =  MutationStatusTestPair.notAnalysed(0, DetectionStatus.RUN_ERROR);
-    } else {
-      mutationDetected = handleCoveredMutation(mutationId, mutatedClass,
-          relevantTests);
+    ActiveMutant.activate(meta.switchFor(mutationId));
+    try {
+      return doTestsDetectMutation(createNewContainer(), relevantTests);
+    } finally {
+      ActiveMutant.deactivate();
+    }
+  }
 
+  private MutationStatusTestPair checkForTimeout(
+      final TimeOutDecoratedTestSource testSource,
+      final MutationStatusTestPair status) {
+    if (!testSource.recoveredFromTimeout()) {
+      return status;
     }
-    return mutationDetected;
+    // the mutated class has been restored, so must be installed again for
+    // the next mutation
+    this.metaMutantInstalled = false;
+    return MutationStatusTestPair.notAnalysed(status.getNumberOfTestsRun(),
+        DetectionStatus.TIMED_OUT);
   }
 
   private MutationStatusTestPair handleCoveredMutation(
@@ -139,12 +235,12 @@ public class MutationTestWorker {
     }
 
     final Container c = createNewContainer();
-    final long t0 = System.currentTimeMillis();
+    final long t0 = System.nanoTime();
     if (this.hotswap.apply(mutationId.getClassName(), this.loader,
         mutatedClass.getBytes())) {
       if (DEBUG) {
         LOG.fine("replaced class with mutant in "
-            + (System.currentTimeMillis() - t0) + " ms");
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0) + " ms");
       }
       mutationDetected = doTestsDetectMutation(c, relevantTests);
     } else {
@@ -14,31 +14,38 @@
  */
 package org.pitest.mutationtest.execute;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.pitest.extension.common.TestUnitDecorator;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
-import org.pitest.util.Unchecked;
 
 public final class MutationTimeoutDecorator extends TestUnitDecorator {
 
   private final TimeoutLengthStrategy timeOutStrategy;
   private final SideEffect            timeOutSideEffect;
   private final long                  executionTime;
+  private final TestTimeoutExecutor   executor;
 
   public MutationTimeoutDecorator(final TestUnit child,
       final SideEffect timeOutSideEffect,
       final TimeoutLengthStrategy timeStrategy, final long executionTime) {
+    this(child, timeOutSideEffect, timeStrategy, executionTime,
+        new TestTimeoutExecutor());
+  }
+
+  public MutationTimeoutDecorator(final TestUnit child,
+      final SideEffect timeOutSideEffect,
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final TestTimeoutExecutor executor) {
     super(child);
     this.timeOutSideEffect = timeOutSideEffect;
     this.executionTime = executionTime;
     this.timeOutStrategy = timeStrategy;
+    this.executor = executor;
   }
 
   @Override
@@ -47,36 +54,18 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     final long maxTime = this.timeOutStrategy
         .getAllowedTime(this.executionTime);
 
-    final FutureTask<?> future = createFutureForChildTestUnit(rc);
-    executeFutureWithTimeOut(maxTime, future, rc);
-    if (!future.isDone()) {
+    final AbandonableResultCollector collector = new AbandonableResultCollector(
+        rc);
+    if (!this.executor.execute(createRunnable(collector), maxTime,
+        collector::abandon)) {
       this.timeOutSideEffect.apply();
+      // no further tests need run against this mutant
+      rc.notifyEnd(child().getDescription(), new TimeoutException(
+          "Test exceeded its time allowance"));
     }
 
   }
 
-  private void executeFutureWithTimeOut(final long maxTime,
-      final FutureTask<?> future, final ResultCollector rc) {
-    try {
-      future.get(maxTime, TimeUnit.MILLISECONDS);
-    } catch (final TimeoutException ex) {
-      // swallow
-    } catch (final InterruptedException e) {
-      // swallow
-    } catch (final ExecutionException e) {
-      throw Unchecked.translateCheckedException(e);
-    }
-  }
-
-  private FutureTask<?> createFutureForChildTestUnit(final ResultCollector rc) {
-    final FutureTask<?> future = new FutureTask<>(createRunnable(rc), null);
-    final Thread thread = new Thread(future);
-    thread.setDaemon(true);
-    thread.setName("mutationTestThread");
-    thread.start();
-    return future;
-  }
-
   private Runnable createRunnable(final ResultCollector rc) {
     return () -> {
       try {
@@ -88,4 +77,53 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     };
   }
 
+  /**
+   * Ignores anything a test reports once its thread has been abandoned
+   */
+  private static class AbandonableResultCollector implements ResultCollector {
+    private final ResultCollector child;
+    private volatile boolean      abandoned;
+
+    AbandonableResultCollector(final ResultCollector child) {
+      this.child = child;
+    }
+
+    void abandon() {
+      this.abandoned = true;
+    }
+
+    @Override
+    public void notifyEnd(final Description description, final Throwable t) {
+      if (!this.abandoned) {
+        this.child.notifyEnd(description, t);
+      }
+    }
+
+    @Override
+    public void notifyEnd(final Description description) {
+      if (!this.abandoned) {
+        this.child.notifyEnd(description);
+      }
+    }
+
+    @Override
+    public void notifyStart(final Description description) {
+      if (!this.abandoned) {
+        this.child.notifyStart(description);
+      }
+    }
+
+    @Override
+    public void notifySkipped(final Description description) {
+      if (!this.abandoned) {
+        this.child.notifySkipped(description);
+      }
+    }
+
+    @Override
+    public boolean shouldExit() {
+      return this.child.shouldExit();
+    }
+  }
+
 }
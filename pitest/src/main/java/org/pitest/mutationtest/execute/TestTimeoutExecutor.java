@@ -0,0 +1,139 @@
+package org.pitest.mutationtest.execute;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.pitest.util.Unchecked;
+
+/**
+ * Runs tests with a time limit on a single long lived thread.
+ *
+ * Creating a thread for each test is costly when there are many fast tests,
+ * and throws away any thread local state built up by the code under test. The
+ * thread is only replaced when a test overruns, as it may never finish.
+ */
+public final class TestTimeoutExecutor {
+
+  // an idle thread is allowed to end so executors that are no longer used do
+  // not hold on to one
+  private static final long       IDLE_SECONDS = 10;
+
+  private static final ThreadMXBean THREADS      = ManagementFactory
+      .getThreadMXBean();
+
+  private ExecutorService           executor     = newExecutor();
+  private volatile Thread           current;
+
+  // threads left running a test that overran, with the cpu time they had
+  // used when abandoned
+  private final Map<Thread, Long>   abandoned    = new HashMap<>();
+
+  /**
+   * @return true if the task finished within the allowed time
+   */
+  public boolean execute(final Runnable task, final long maxMillis) {
+    return execute(task, maxMillis, () -> { });
+  }
+
+  /**
+   * @param onOverrun
+   *          called when the task overruns, before its thread is interrupted,
+   *          so anything the interrupted task goes on to report can be ignored
+   * @return true if the task finished within the allowed time
+   */
+  public boolean execute(final Runnable task, final long maxMillis,
+      final Runnable onOverrun) {
+    final Future<?> future = this.executor.submit(task);
+    try {
+      future.get(maxMillis, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException ex) {
+      // swallow
+    } catch (final InterruptedException e) {
+      // swallow
+    } catch (final ExecutionException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+
+    if (!future.isDone()) {
+      onOverrun.run();
+      abandonThread();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return the number of abandoned threads that are still running
+   */
+  int abandonedThreads() {
+    removeFinishedThreads();
+    return this.abandoned.size();
+  }
+
+  /**
+   * @return cpu time used by abandoned threads that are still running since
+   *         they were abandoned
+   */
+  long abandonedCpuMillis() {
+    removeFinishedThreads();
+    long nanos = 0;
+    for (final Entry<Thread, Long> each : this.abandoned.entrySet()) {
+      nanos += Math.max(0, cpuTime(each.getKey()) - each.getValue());
+    }
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  private void removeFinishedThreads() {
+    final Iterator<Thread> it = this.abandoned.keySet().iterator();
+    while (it.hasNext()) {
+      if (!it.next().isAlive()) {
+        it.remove();
+      }
+    }
+  }
+
+  private void abandonThread() {
+    if (this.current != null) {
+      this.abandoned.put(this.current, cpuTime(this.current));
+      // give way to the tests that follow
+      this.current.setPriority(Thread.MIN_PRIORITY);
+    }
+    // the stuck thread is a daemon so will not keep the jvm alive
+    this.executor.shutdownNow();
+    this.executor = newExecutor();
+  }
+
+  private static long cpuTime(final Thread thread) {
+    if (!THREADS.isThreadCpuTimeSupported()
+        || !THREADS.isThreadCpuTimeEnabled()) {
+      return 0;
+    }
+    return Math.max(0, THREADS.getThreadCpuTime(thread.getId()));
+  }
+
+  private ExecutorService newExecutor() {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+        IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+        r -> {
+          final Thread thread = new Thread(r);
+          thread.setDaemon(true);
+          thread.setName("mutationTestThread");
+          this.current = thread;
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+}
@@ -30,14 +30,31 @@ public class TimeOutDecoratedTestSource {
 
   private final Map<String, TestUnit> allTests = new HashMap<>();
   private final TimeoutLengthStrategy timeoutStrategy;
-  private final Reporter              r;
+  private final TestTimeoutExecutor   executor;
+  private final TimeoutRecovery       recovery;
 
   public TimeOutDecoratedTestSource(
       final TimeoutLengthStrategy timeoutStrategy,
       final List<TestUnit> allTests, final Reporter r) {
+    this(timeoutStrategy, allTests, r, new TestTimeoutExecutor());
+  }
+
+  public TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests, final Reporter r,
+      final TestTimeoutExecutor executor) {
+    this(timeoutStrategy, allTests, executor, TimeoutRecovery.exitOnTimeout(
+        r, executor));
+  }
+
+  public TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests, final TestTimeoutExecutor executor,
+      final TimeoutRecovery recovery) {
     this.timeoutStrategy = timeoutStrategy;
     mapTests(allTests);
-    this.r = r;
+    this.executor = executor;
+    this.recovery = recovery;
   }
 
   private void mapTests(final List<TestUnit> tests) {
@@ -46,6 +63,14 @@ public class TimeOutDecoratedTestSource {
     }
   }
 
+  /**
+   * @return true if a test timed out since this was last called, and the
+   *         minion recovered rather than exiting
+   */
+  public boolean recoveredFromTimeout() {
+    return this.recovery.takeTimedOut();
+  }
+
   public List<TestUnit> translateTests(final List<TestInfo> testsInOrder) {
     return testsInOrder.stream().flatMap(testToTestUnit()).collect(Collectors.toList());
   }
@@ -57,9 +82,9 @@ public class TimeOutDecoratedTestSource {
       if (tu != null) {
         return Stream
             .<TestUnit> of(new MutationTimeoutDecorator(tu,
-                new TimeOutSystemExitSideEffect(
-                    TimeOutDecoratedTestSource.this.r),
-                    TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime()));
+                TimeOutDecoratedTestSource.this.recovery,
+                    TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime(),
+                    TimeOutDecoratedTestSource.this.executor));
       }
       return Stream.empty();
     };
@@ -0,0 +1,92 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.logging.Logger;
+
+import org.pitest.functional.SideEffect;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+
+/**
+ * Handles a test that overran its allowance.
+ *
+ * While the abandoned threads are within budget, the mutated class is
+ * restored and the mutation recorded as timed out, so the minion can carry on
+ * with the next mutation instead of a new JVM being launched. Once the budget
+ * is exceeded the minion reports the timeout and exits, so it is replaced.
+ *
+ * Restoring the class does not stop the abandoned thread. Redefinition only
+ * affects frames entered afterwards, so a thread stuck in a loop keeps
+ * running the mutated code. It competes with later tests for cpu, and may
+ * change static state they depend on, so recovery is only used when asked
+ * for.
+ */
+public class TimeoutRecovery implements SideEffect {
+
+  private static final Logger       LOG                      = Log.getLogger();
+
+  // stuck threads compete with the tests that follow, so only a few are
+  // tolerated
+  static final int                  MAX_ABANDONED_THREADS    = 2;
+  static final long                 MAX_ABANDONED_CPU_MILLIS = 10000;
+
+  private final Reporter            r;
+  private final TestTimeoutExecutor executor;
+  private final Runnable            restoreClasses;
+  private final int                 maxAbandonedThreads;
+  private final long                maxAbandonedCpuMillis;
+
+  private boolean                   timedOut;
+
+  public TimeoutRecovery(final Reporter r, final TestTimeoutExecutor executor,
+      final Runnable restoreClasses) {
+    this(r, executor, restoreClasses, MAX_ABANDONED_THREADS,
+        MAX_ABANDONED_CPU_MILLIS);
+  }
+
+  TimeoutRecovery(final Reporter r, final TestTimeoutExecutor executor,
+      final Runnable restoreClasses, final int maxAbandonedThreads,
+      final long maxAbandonedCpuMillis) {
+    this.r = r;
+    this.executor = executor;
+    this.restoreClasses = restoreClasses;
+    this.maxAbandonedThreads = maxAbandonedThreads;
+    this.maxAbandonedCpuMillis = maxAbandonedCpuMillis;
+  }
+
+  /**
+   * Creates a recovery that never recovers, always ending the minion even if
+   * the abandoned thread has since finished
+   */
+  static TimeoutRecovery exitOnTimeout(final Reporter r,
+      final TestTimeoutExecutor executor) {
+    return new TimeoutRecovery(r, executor, () -> { }, 0, 0);
+  }
+
+  @Override
+  public void apply() {
+    if (withinBudget()) {
+      LOG.fine("Abandoned thread of timed out test");
+      this.restoreClasses.run();
+      this.timedOut = true;
+    } else {
+      this.r.done(ExitCode.TIMEOUT);
+    }
+  }
+
+  /**
+   * @return true if a test has timed out and been recovered from since this
+   *         was last called
+   */
+  boolean takeTimedOut() {
+    final boolean t = this.timedOut;
+    this.timedOut = false;
+    return t;
+  }
+
+  private boolean withinBudget() {
+    return (this.maxAbandonedThreads != 0)
+        && (this.executor.abandonedThreads() <= this.maxAbandonedThreads)
+        && (this.executor.abandonedCpuMillis() <= this.maxAbandonedCpuMillis);
+  }
+
+}
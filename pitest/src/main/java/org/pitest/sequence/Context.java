@@ -1,20 +1,25 @@
 package org.pitest.sequence;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import java.util.Optional;
 
 public class Context<T> {
 
+  private static final int INITIAL_SLOTS = 4;
+
   private final boolean debug;
-  private final Map<Slot<?>, Object> slots;
   private final List<T> sequence;
   private int position;
 
-  Context(Map<Slot<?>, Object> slots, List<T> sequence, int position, boolean debug) {
-    this.slots = slots;
+  // queries use few slots, so they are found by scanning arrays rather than
+  // hashing, and storing a value does not allocate
+  private Slot<?>[] slots = new Slot<?>[INITIAL_SLOTS];
+  private Object[] values = new Object[INITIAL_SLOTS];
+  private int size;
+
+  Context(List<T> sequence, int position, boolean debug) {
     this.sequence = sequence;
     this.position = position;
     this.debug = debug;
@@ -25,17 +30,41 @@ public class Context<T> {
   }
 
   public static <T> Context<T> start(List<T> sequence, boolean debug) {
-    return new Context<>(new HashMap<Slot<?>, Object>(), sequence, -1, debug);
+    return new Context<>(sequence, -1, debug);
   }
 
   public <S> boolean store(SlotWrite<S> slot, S value) {
-    this.slots.put(slot.slot(), value);
+    final int index = indexOf(slot.slot());
+    if (index != -1) {
+      this.values[index] = value;
+      return true;
+    }
+    if (this.size == this.slots.length) {
+      this.slots = Arrays.copyOf(this.slots, this.size * 2);
+      this.values = Arrays.copyOf(this.values, this.size * 2);
+    }
+    this.slots[this.size] = slot.slot();
+    this.values[this.size] = value;
+    this.size++;
     return true;
   }
 
   @SuppressWarnings("unchecked")
   public <S> Optional<S> retrieve(SlotRead<S> slot) {
-    return (Optional<S>) Optional.ofNullable(this.slots.get(slot.slot()));
+    final int index = indexOf(slot.slot());
+    if (index == -1) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable((S) this.values[index]);
+  }
+
+  private int indexOf(Slot<?> slot) {
+    for (int i = 0; i != this.size; i++) {
+      if (this.slots[i] == slot) {
+        return i;
+      }
+    }
+    return -1;
   }
 
 
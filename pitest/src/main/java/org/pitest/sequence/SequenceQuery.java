@@ -1,7 +1,13 @@
 package org.pitest.sequence;
 
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class SequenceQuery<T> {
@@ -138,18 +144,53 @@ public class SequenceQuery<T> {
 
 }
 
+/**
+ * Simulates the NFA built from a query using a table compiled up front.
+ *
+ * Consuming states are numbered, and the states entered after each one
+ * matches, following splits, are found once rather than on every step. Active
+ * states are held in int arrays that are swapped between steps, so matching
+ * allocates nothing per item of the sequence.
+ */
 class NFASequenceMatcher<T> implements SequenceMatcher<T> {
 
-  private final boolean debug;
-  private final Match<T> ignore;
-  private final State<T> start;
+  private final boolean    debug;
+  private final Match<T>   ignore;
 
+  // predicate of each consuming state
+  private final Match<T>[] consumes;
+  // states entered when each consuming state matches
+  private final int[][]    next;
+  // whether the end of the query is reached when each consuming state matches
+  private final boolean[]  nextAccepts;
+
+  private final int[]      start;
+  private final boolean    startAccepts;
+
+  @SuppressWarnings("unchecked")
   NFASequenceMatcher(Match<T> ignore, State<T> state, boolean debug) {
     this.ignore = ignore;
-    this.start = state;
     this.debug = debug;
-  }
 
+    final Map<State<T>, Integer> ids = new IdentityHashMap<>();
+    final List<Consume<T>> states = new ArrayList<>();
+    number(state, ids, states);
+
+    this.consumes = new Match[states.size()];
+    this.next = new int[states.size()][];
+    this.nextAccepts = new boolean[states.size()];
+    for (int i = 0; i != states.size(); i++) {
+      final Consume<T> consume = states.get(i);
+      this.consumes[i] = consume.c;
+      final Set<State<T>> reached = closure(consume.out);
+      this.next[i] = toIds(reached, ids);
+      this.nextAccepts[i] = reached.contains(EndMatch.MATCH);
+    }
+
+    final Set<State<T>> reached = closure(state);
+    this.start = toIds(reached, ids);
+    this.startAccepts = reached.contains(EndMatch.MATCH);
+  }
 
   @Override
   public boolean matches(List<T> sequence) {
@@ -158,9 +199,16 @@ class NFASequenceMatcher<T> implements SequenceMatcher<T> {
 
   @Override
   public boolean matches(List<T> sequence, Context<T> context) {
-    Set<State<T>> currentState = new HashSet<>();
-    addstate(currentState, this.start);
+    int[] current = new int[this.consumes.length];
+    int[] next = new int[this.consumes.length];
+    // step at which each state was last made active, so it is added only once
+    final int[] activeAt = new int[this.consumes.length];
+
+    System.arraycopy(this.start, 0, current, 0, this.start.length);
+    int active = this.start.length;
+    boolean accepting = this.startAccepts;
 
+    int step = 0;
     for (final T t : sequence) {
       context.moveForward();
 
@@ -168,43 +216,98 @@ class NFASequenceMatcher<T> implements SequenceMatcher<T> {
         continue;
       }
 
-      final Set<State<T>> nextStates = step(context, currentState, t);
-      currentState = nextStates;
+      // nothing can match once no states are active
+      if (active == 0) {
+        return false;
+      }
+
+      step++;
+      int nextActive = 0;
+      accepting = false;
+      for (int i = 0; i != active; i++) {
+        final int state = current[i];
+        if (this.consumes[state].test(context, t)) {
+          for (final int each : this.next[state]) {
+            if (activeAt[each] != step) {
+              activeAt[each] = step;
+              next[nextActive] = each;
+              nextActive++;
+            }
+          }
+          accepting = accepting || this.nextAccepts[state];
+        }
+      }
+
+      final int[] previous = current;
+      current = next;
+      next = previous;
+      active = nextActive;
+    }
+    return accepting;
+  }
+
+  private static <T> void number(State<T> state, Map<State<T>, Integer> ids,
+      List<Consume<T>> states) {
+    final Set<State<T>> visited = Collections
+        .newSetFromMap(new IdentityHashMap<State<T>, Boolean>());
+    final Deque<State<T>> toVisit = new ArrayDeque<>();
+    toVisit.push(state);
+    while (!toVisit.isEmpty()) {
+      final State<T> each = toVisit.pop();
+      if (!visited.add(each)) {
+        continue;
+      }
+      if (each instanceof Split) {
+        pushIfPresent(toVisit, ((Split<T>) each).out1);
+        pushIfPresent(toVisit, ((Split<T>) each).out2);
+      } else if (each instanceof Consume) {
+        final Consume<T> consume = (Consume<T>) each;
+        ids.put(consume, states.size());
+        states.add(consume);
+        pushIfPresent(toVisit, consume.out);
+      }
+    }
+  }
+
+  private static <T> void pushIfPresent(Deque<State<T>> toVisit,
+      State<T> state) {
+    if (state != null) {
+      toVisit.push(state);
     }
-    return isMatch(currentState);
   }
 
+  /**
+   * States entered on reaching a state, following splits without consuming
+   * anything
+   */
+  private static <T> Set<State<T>> closure(State<T> state) {
+    final Set<State<T>> visited = Collections
+        .newSetFromMap(new IdentityHashMap<State<T>, Boolean>());
+    final Set<State<T>> reached = new LinkedHashSet<>();
+    addstate(reached, visited, state);
+    return reached;
+  }
 
-  private static <T> void addstate(Set<State<T>> set, State<T> state) {
-    if (state == null) {
+  private static <T> void addstate(Set<State<T>> set, Set<State<T>> visited,
+      State<T> state) {
+    if ((state == null) || !visited.add(state)) {
       return;
     }
     if (state instanceof Split) {
       final Split<T> split = (Split<T>) state;
-      addstate(set, split.out1);
-      addstate(set, split.out2);
+      addstate(set, visited, split.out1);
+      addstate(set, visited, split.out2);
     } else {
       set.add(state);
     }
-
-  }
-
-  private static <T> Set<State<T>> step(Context<T> context, Set<State<T>> currentState, T c) {
-
-    final Set<State<T>> nextStates = new HashSet<>();
-    for (final State<T> each : currentState) {
-      if (each instanceof Consume) {
-        final Consume<T> consume = (Consume<T>) each;
-        if (consume.c.test(context, c)) {
-          addstate(nextStates, consume.out);
-        }
-      }
-    }
-    return nextStates;
   }
 
-  private static <T> boolean isMatch(Set<State<T>> currentState) {
-    return currentState.contains(EndMatch.MATCH);
+  private static <T> int[] toIds(Set<State<T>> states,
+      Map<State<T>, Integer> ids) {
+    return states.stream()
+        .filter(s -> s instanceof Consume)
+        .mapToInt(ids::get)
+        .toArray();
   }
 
 }
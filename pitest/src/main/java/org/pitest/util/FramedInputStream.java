@@ -0,0 +1,149 @@
+package org.pitest.util;
+
+import static org.pitest.util.FramedOutputStream.MAGIC_1;
+import static org.pitest.util.FramedOutputStream.MAGIC_2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.pitest.functional.SideEffect1;
+
+/**
+ * Reads the data channel of a stream written by {@link FramedOutputStream}.
+ *
+ * Frames written to other channels, and any text found between frames, are
+ * passed to an output handler as they are encountered.
+ */
+public class FramedInputStream extends InputStream {
+
+  private static final int          NONE = -2;
+
+  private final InputStream         in;
+  private final SideEffect1<String> output;
+  private final ByteArrayOutputStream text = new ByteArrayOutputStream();
+
+  // data bytes left to read in the current frame
+  private int                       remaining;
+  private int                       pushedBack = NONE;
+
+  public FramedInputStream(final InputStream in,
+      final SideEffect1<String> output) {
+    this.in = in;
+    this.output = output;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!nextData()) {
+      return -1;
+    }
+    final int b = this.in.read();
+    if (b != -1) {
+      this.remaining--;
+    }
+    return b;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len)
+      throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!nextData()) {
+      return -1;
+    }
+    final int read = this.in.read(b, off, Math.min(len, this.remaining));
+    if (read > 0) {
+      this.remaining -= read;
+    }
+    return read;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return Math.min(this.remaining, this.in.available());
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.in.close();
+  }
+
+  private boolean nextData() throws IOException {
+    while (this.remaining == 0) {
+      final int b = readByte();
+      if (b == -1) {
+        flushText();
+        return false;
+      }
+      if (b != MAGIC_1) {
+        appendText(b);
+        continue;
+      }
+
+      final int next = readByte();
+      if (next != MAGIC_2) {
+        appendText(b);
+        this.pushedBack = next;
+      } else if (!readFrame()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean readFrame() throws IOException {
+    flushText();
+    final int channel = readByte();
+    final int high = readByte();
+    final int low = readByte();
+    if ((channel | high | low) < 0) {
+      return false;
+    }
+
+    final int size = (high << 8) | low;
+    if (channel == FramedOutputStream.DATA) {
+      this.remaining = size;
+      return true;
+    }
+
+    final byte[] payload = new byte[size];
+    int read = 0;
+    while (read != size) {
+      final int n = this.in.read(payload, read, size - read);
+      if (n == -1) {
+        this.output.apply(new String(payload, 0, read));
+        return false;
+      }
+      read += n;
+    }
+    this.output.apply(new String(payload));
+    return true;
+  }
+
+  private int readByte() throws IOException {
+    if (this.pushedBack != NONE) {
+      final int b = this.pushedBack;
+      this.pushedBack = NONE;
+      return b;
+    }
+    return this.in.read();
+  }
+
+  private void appendText(final int b) {
+    this.text.write(b);
+    if (b == '\n') {
+      flushText();
+    }
+  }
+
+  private void flushText() {
+    if (this.text.size() != 0) {
+      this.output.apply(this.text.toString());
+      this.text.reset();
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+package org.pitest.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes to one of several channels sharing a single underlying stream, by
+ * wrapping each write in a frame naming its channel.
+ *
+ * Each frame is passed to the underlying stream in a single write no larger
+ * than the atomic write size of a pipe, so output written to the same pipe
+ * by other means, such as jvm logging, does not land inside a frame. {@link FramedInputStream} reads
+ * the frames back, treating anything found between them as text output.
+ */
+public class FramedOutputStream extends OutputStream {
+
+  public static final byte  DATA        = 0;
+  public static final byte  OUTPUT      = 1;
+
+  // neither byte can appear in utf-8 text
+  static final int          MAGIC_1     = 0xFE;
+  static final int          MAGIC_2     = 0xFF;
+  static final int          HEADER      = 5;
+
+  // writes of up to 4096 bytes to a pipe are atomic on linux. Other
+  // platforms guarantee less, but output written around the streams is rare.
+  static final int          MAX_PAYLOAD = 4096 - HEADER;
+
+  private final OutputStream out;
+  private final byte         channel;
+
+  /**
+   * @param out
+   *          stream to write frames to. Streams sharing it synchronize on it.
+   */
+  public FramedOutputStream(final OutputStream out, final byte channel) {
+    this.out = out;
+    this.channel = channel;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    write(new byte[] { (byte) b }, 0, 1);
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len)
+      throws IOException {
+    int written = 0;
+    while (written != len) {
+      final int size = Math.min(len - written, MAX_PAYLOAD);
+      final byte[] frame = new byte[HEADER + size];
+      frame[0] = (byte) MAGIC_1;
+      frame[1] = (byte) MAGIC_2;
+      frame[2] = this.channel;
+      frame[3] = (byte) (size >>> 8);
+      frame[4] = (byte) size;
+      System.arraycopy(b, off + written, frame, HEADER, size);
+      synchronized (this.out) {
+        this.out.write(frame);
+        this.out.flush();
+      }
+      written += size;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    synchronized (this.out) {
+      this.out.flush();
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+package org.pitest.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A minion's connection to the parent process that launched it.
+ *
+ * The parent either listens on a local port, or talks to the minion over its
+ * standard input and output. In the second case whatever the code under test
+ * prints to System.out is framed so the parent can tell it apart from the
+ * minion's messages.
+ */
+public final class ParentChannel {
+
+  private static final Logger LOG  = Log.getLogger();
+
+  /**
+   * Argument telling a minion to use its standard streams
+   */
+  public static final String  PIPE = "pipe";
+
+  private final InputStream   input;
+  private final OutputStream  output;
+  private final Closeable     resource;
+
+  private ParentChannel(final InputStream input, final OutputStream output,
+      final Closeable resource) {
+    this.input = input;
+    this.output = output;
+    this.resource = resource;
+  }
+
+  /**
+   * @param argument
+   *          the port the parent listens on, or {@link #PIPE}
+   */
+  public static ParentChannel connect(final String argument)
+      throws IOException {
+    if (PIPE.equals(argument)) {
+      return overStandardStreams();
+    }
+    final Socket socket = new Socket("localhost", Integer.parseInt(argument));
+    return new ParentChannel(socket.getInputStream(), socket.getOutputStream(),
+        socket);
+  }
+
+  private static ParentChannel overStandardStreams() {
+    final InputStream in = new BufferedInputStream(new FileInputStream(
+        FileDescriptor.in));
+    final FileOutputStream out = new FileOutputStream(FileDescriptor.out);
+
+    // the code under test must neither read the parent's messages nor write
+    // into the minion's
+    System.setIn(new ByteArrayInputStream(new byte[0]));
+    System.setOut(new PrintStream(new FramedOutputStream(out,
+        FramedOutputStream.OUTPUT), true));
+
+    return new ParentChannel(in, new BufferedOutputStream(
+        new FramedOutputStream(out, FramedOutputStream.DATA)), in);
+  }
+
+  public InputStream getInputStream() {
+    return this.input;
+  }
+
+  public OutputStream getOutputStream() {
+    return this.output;
+  }
+
+  public void close() {
+    try {
+      this.output.flush();
+      this.resource.close();
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Couldn't close connection to parent", e);
+    }
+  }
+
+}
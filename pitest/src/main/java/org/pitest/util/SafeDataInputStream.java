@@ -21,11 +21,16 @@ import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SafeDataInputStream {
 
   private final DataInputStream dis;
 
+  // strings received on this stream, indexed by the id the sender gave them
+  private final List<String>    interned = new ArrayList<>();
+
   public SafeDataInputStream(final InputStream is) {
     this.dis = new DataInputStream(is);
   }
@@ -57,6 +62,46 @@ public class SafeDataInputStream {
     }
   }
 
+  /**
+   * Reads a string written by
+   * {@link SafeDataOutputStream#writeInternedString(String)}
+   */
+  public String readInternedString() {
+    final int id = readVarint();
+    if (id == 0) {
+      return null;
+    }
+    if (id == 1) {
+      final String str = readString();
+      this.interned.add(str);
+      return str;
+    }
+    if ((id - 2) >= this.interned.size()) {
+      throw new PitError("Unknown string id " + (id - 2) + " received");
+    }
+    return this.interned.get(id - 2);
+  }
+
+  public int readVarint() {
+    try {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        final int b = this.dis.readUnsignedByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new PitError("Malformed varint received");
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  public <T> T read(final WireCodec<T> codec) {
+    return codec.read(this);
+  }
+
   @SuppressWarnings("unchecked")
   public <T extends Serializable> T read(final Class<T> type) {
     try {
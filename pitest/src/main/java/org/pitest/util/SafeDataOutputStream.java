@@ -21,10 +21,15 @@ import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 
 public class SafeDataOutputStream {
 
-  private final DataOutputStream dos;
+  private final DataOutputStream     dos;
+
+  // strings already sent on this stream, so each is only sent once
+  private final Map<String, Integer> interned = new HashMap<>();
 
   public SafeDataOutputStream(final OutputStream os) {
     this.dos = new DataOutputStream(os);
@@ -57,6 +62,47 @@ public class SafeDataOutputStream {
     }
   }
 
+  /**
+   * Writes a string that is likely to be sent again. The first time a string
+   * is written it is sent in full, afterwards only its id is sent. May be
+   * null.
+   */
+  public void writeInternedString(final String str) {
+    if (str == null) {
+      writeVarint(0);
+      return;
+    }
+    final Integer id = this.interned.get(str);
+    if (id != null) {
+      writeVarint(id + 2);
+    } else {
+      this.interned.put(str, this.interned.size());
+      writeVarint(1);
+      writeString(str);
+    }
+  }
+
+  /**
+   * Writes an int in between one and five bytes, small positive values taking
+   * the fewest.
+   */
+  public void writeVarint(final int value) {
+    try {
+      int remaining = value;
+      while ((remaining & ~0x7F) != 0) {
+        this.dos.writeByte((remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      this.dos.writeByte(remaining);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  public <T> void write(final T value, final WireCodec<T> codec) {
+    codec.write(this, value);
+  }
+
   public <T extends Serializable> void write(final T value) {
     try {
       writeBytes(toByteArray(value));
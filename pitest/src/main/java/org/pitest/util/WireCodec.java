@@ -0,0 +1,17 @@
+package org.pitest.util;
+
+/**
+ * Hand written encoding for a type that is sent frequently between
+ * processes, used in place of java serialization.
+ *
+ * Strings that repeat, such as class, method and mutator names, should be
+ * written with {@link SafeDataOutputStream#writeInternedString(String)} so
+ * that they are only sent once per connection.
+ */
+public interface WireCodec<T> {
+
+  void write(SafeDataOutputStream out, T value);
+
+  T read(SafeDataInputStream in);
+
+}
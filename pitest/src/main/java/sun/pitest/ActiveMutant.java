@@ -0,0 +1,51 @@
+package sun.pitest;
+
+/**
+ * Switch read by meta mutant classes to decide which, if any, of the
+ * mutations they contain is active.
+ *
+ * Added to the agent jar on the boot classpath alongside the coverage store,
+ * so that a meta mutant reads the same switch as the minion sets whichever
+ * classloader the mutant is loaded by.
+ *
+ * Switch ids are handed out from a single range so that a meta mutant left
+ * loaded from an earlier class can never be activated by mistake.
+ */
+public final class ActiveMutant {
+
+  public static final String CLASS_NAME = ActiveMutant.class.getName()
+                                            .replace('.', '/');
+  public static final String FIELD_NAME = "id";
+
+  public static final int    NONE       = 0;
+
+  // read directly by mutated code, including by threads the tests start
+  public static volatile int id         = NONE;
+
+  private static int         nextId     = NONE + 1;
+
+  private ActiveMutant() {
+  }
+
+  public static void activate(final int switchId) {
+    id = switchId;
+  }
+
+  public static void deactivate() {
+    id = NONE;
+  }
+
+  /**
+   * Reserves a block of consecutive switch ids
+   *
+   * @param count
+   *          number of ids required
+   * @return the first id in the block
+   */
+  public static synchronized int reserve(final int count) {
+    final int first = nextId;
+    nextId = nextId + count;
+    return first;
+  }
+
+}
@@ -23,12 +23,17 @@ package sun.pitest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Store for line visit information.
+ *
+ * Probe arrays are held in a dense array indexed by class id. The first time
+ * a class is entered after a reset its id is pushed onto a lock free list of
+ * touched classes, so resetting and harvesting hits costs time proportional
+ * to the number of classes a test actually executed rather than to the number
+ * of classes instrumented.
  */
 public final class CodeCoverageStore {
 
@@ -40,20 +45,30 @@ public final class CodeCoverageStore {
                                                                          '.',
                                                                          '/');
   public static final String                   PROBE_METHOD_NAME = "visitProbes";
+  public static final String                   CLASS_VISIT_METHOD_NAME = "visitClass";
+
+  private static final int                     INITIAL_CLASSES   = 1024;
 
   private static InvokeReceiver                invokeQueue;
-  private static int                           classId           = 0;
+  private static final AtomicInteger           CLASS_ID          = new AtomicInteger();
 
   public static final String PROBE_FIELD_NAME                    = "$$pitCoverageProbes";
   public static final String PROBE_LENGTH_FIELD_NAME             = "$$pitCoverageProbeSize";
 
-  // array of probe hits, first slot indicates any hits to the class.
-  // testing suggests boolean array with synchronization to ensure happens
-  // before relationship significantly outperforms
-  // both AtomicInteger array with bit per flag and integer per flag.
-  // optimisation with other methods of ensuring a happens before not yet
-  // investigated
-  private static final Map<Integer, boolean[]> CLASS_HITS        = new ConcurrentHashMap<>();
+  private static final Object                  REGISTRATION_LOCK = new Object();
+
+  // array of probe hits per class id, first slot of each indicates any hits
+  // to the class. Only grown while holding REGISTRATION_LOCK, reads rely on
+  // the happens before established by pushing onto TOUCHED.
+  private static volatile boolean[][]          classHits         = new boolean[INITIAL_CLASSES][];
+
+  // classes entered since the last reset
+  private static final AtomicReference<TouchedClass> TOUCHED     = new AtomicReference<>();
+
+  // generation stamps used to avoid reporting a class twice if two threads
+  // raced to mark it as touched. Guarded by the class monitor.
+  private static int[]                         harvested         = new int[INITIAL_CLASSES];
+  private static int                           harvestGeneration = 0;
 
   public static void init(final InvokeReceiver invokeQueue) {
     CodeCoverageStore.invokeQueue = invokeQueue;
@@ -62,31 +77,79 @@ public final class CodeCoverageStore {
   private CodeCoverageStore() {
   }
 
+  /**
+   * Called by instrumented code on entry to every method. Cheap enough to be
+   * inlined, only does any real work on the first entry to a class after a
+   * reset.
+   */
+  public static void visitClass(final boolean[] probes, final int classId) {
+    if (!probes[CLASS_HIT_INDEX]) {
+      probes[CLASS_HIT_INDEX] = true;
+      markTouched(classId);
+    }
+  }
+
+  private static void markTouched(final int classId) {
+    TouchedClass head;
+    TouchedClass touched;
+    do {
+      head = TOUCHED.get();
+      touched = new TouchedClass(classId, head);
+    } while (!TOUCHED.compareAndSet(head, touched));
+  }
+
   public static synchronized void reset() {
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      if (each.getValue()[0]) { //Probe 0 gets covered by any method that runs
-        Arrays.fill(each.getValue(), false);
-      }
+    final TouchedClass touched = TOUCHED.getAndSet(null);
+    final boolean[][] hits = classHits;
+    for (TouchedClass each = touched; each != null; each = each.next) {
+      Arrays.fill(hits[each.classId], false);
+    }
+  }
+
+  public static Collection<Long> getHits() {
+    final HitBuffer buffer = new HitBuffer();
+    getHits(buffer);
+    final Collection<Long> blockHits = new ArrayList<>(buffer.size());
+    for (int i = 0; i != buffer.size(); i++) {
+      blockHits.add(buffer.get(i));
     }
+    return blockHits;
   }
 
-  public static synchronized Collection<Long> getHits() {
-    final Collection<Long> blockHits = new ArrayList<>();
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      final boolean[] bs = each.getValue();
-      // first entry tracks if class has been visited at all
-      if (!bs[CLASS_HIT_INDEX]) {
+  /**
+   * Writes the encoded probe hits recorded since the last reset into the
+   * supplied buffer, replacing its previous contents.
+   */
+  public static synchronized void getHits(final HitBuffer buffer) {
+    buffer.clear();
+    final TouchedClass touched = TOUCHED.get();
+    final boolean[][] hits = classHits;
+    final int generation = nextHarvestGeneration(hits.length);
+    for (TouchedClass each = touched; each != null; each = each.next) {
+      final int classId = each.classId;
+      if (harvested[classId] == generation) {
         continue;
       }
-      final int classId = each.getKey();
-      // final int[] mapping = classProbeToBlockMapping.get(classId);
+      harvested[classId] = generation;
+      final boolean[] bs = hits[classId];
       for (int probeId = 1; probeId != bs.length; probeId++) {
         if (bs[probeId]) {
-          blockHits.add(encode(classId, probeId));
+          buffer.add(encode(classId, probeId));
         }
       }
     }
-    return blockHits;
+  }
+
+  private static int nextHarvestGeneration(final int classes) {
+    if (harvested.length < classes) {
+      harvested = Arrays.copyOf(harvested, classes);
+    }
+    harvestGeneration++;
+    if (harvestGeneration == 0) {
+      Arrays.fill(harvested, 0);
+      harvestGeneration = 1;
+    }
+    return harvestGeneration;
   }
 
   public static int registerClass(final String className) {
@@ -101,8 +164,8 @@ public final class CodeCoverageStore {
         lastProbe);
   }
 
-  private static synchronized int nextId() {
-    return classId++;
+  private static int nextId() {
+    return CLASS_ID.getAndIncrement();
   }
 
   public static int decodeClassId(final long value) {
@@ -119,33 +182,44 @@ public final class CodeCoverageStore {
 
   public static boolean[] getOrRegisterClassProbes(final int classId,
       int probeCount) {
-    boolean[] ret = CLASS_HITS.putIfAbsent(classId, new boolean[probeCount + 1]);
-    if (ret == null) {
-      return CLASS_HITS.get(classId);
-    }
-    /*
-    It's possible that some other java agent has transformed this class, which has
-    resulted in it getting more blocks. It seems like our intended behavior is to
-    still collect coverage of these new synthetic blocks, so we need to
-    make sure that our coverage array grows when the class is re-transformed,
-    and it's possible that we have already instrumented the class, causing its
-    coverage array to get set up at the wrong size.
-     */
-    if (ret.length < probeCount + 1) {
-      synchronized (CLASS_HITS) {
-        ret = CLASS_HITS.get(classId);
-        if (ret.length < probeCount + 1) {
-          ret = new boolean[probeCount + 1];
-          CLASS_HITS.put(classId, ret);
-          return ret;
-        }
+    synchronized (REGISTRATION_LOCK) {
+      boolean[][] hits = classHits;
+      if (classId >= hits.length) {
+        hits = Arrays.copyOf(hits, Math.max(hits.length * 2, classId + 1));
+      }
+      boolean[] ret = hits[classId];
+      /*
+      It's possible that some other java agent has transformed this class, which has
+      resulted in it getting more blocks. It seems like our intended behavior is to
+      still collect coverage of these new synthetic blocks, so we need to
+      make sure that our coverage array grows when the class is re-transformed,
+      and it's possible that we have already instrumented the class, causing its
+      coverage array to get set up at the wrong size.
+       */
+      if (ret == null || ret.length < probeCount + 1) {
+        ret = new boolean[probeCount + 1];
+        hits[classId] = ret;
       }
+      classHits = hits;
+      return ret;
     }
-    return ret;
   }
 
-  public static void resetAllStaticState() {
-    CLASS_HITS.clear();
+  public static synchronized void resetAllStaticState() {
+    synchronized (REGISTRATION_LOCK) {
+      classHits = new boolean[INITIAL_CLASSES][];
+      TOUCHED.set(null);
+    }
+  }
+
+  private static final class TouchedClass {
+    private final int          classId;
+    private final TouchedClass next;
+
+    TouchedClass(final int classId, final TouchedClass next) {
+      this.classId = classId;
+      this.next = next;
+    }
   }
 
 }
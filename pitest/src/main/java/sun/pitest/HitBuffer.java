@@ -0,0 +1,44 @@
+package sun.pitest;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of encoded probe hits. Allows hits to be harvested after
+ * each test without boxing or allocating a new collection.
+ */
+public final class HitBuffer {
+
+  private long[] hits;
+  private int    size;
+
+  public HitBuffer() {
+    this(64);
+  }
+
+  public HitBuffer(final int initialCapacity) {
+    this.hits = new long[Math.max(1, initialCapacity)];
+  }
+
+  void add(final long encodedHit) {
+    if (this.size == this.hits.length) {
+      this.hits = Arrays.copyOf(this.hits, this.hits.length * 2);
+    }
+    this.hits[this.size++] = encodedHit;
+  }
+
+  void clear() {
+    this.size = 0;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public long get(final int index) {
+    if (index >= this.size) {
+      throw new IndexOutOfBoundsException(index + " >= " + this.size);
+    }
+    return this.hits[index];
+  }
+
+}
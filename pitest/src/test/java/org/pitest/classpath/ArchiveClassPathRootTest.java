@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -81,4 +82,37 @@ public class ArchiveClassPathRootTest {
     assertNotNull(this.testee.getResource("injar/p1/P1Test.class"));
   }
 
+  @Test
+  public void shouldReadClassesAfterBeingClosed() throws Exception {
+    assertNotNull(this.testee.getData("injar.p1.P1Test"));
+    this.testee.close();
+    assertNotNull(this.testee.getData("injar.p1.P1Test"));
+    assertEquals(4, this.testee.classNames().size());
+  }
+
+  @Test
+  public void shouldReadWhileAnotherThreadCloses() throws Exception {
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final Thread closer = new Thread(() -> {
+      for (int i = 0; i != 200; i++) {
+        this.testee.close();
+      }
+    });
+    closer.setUncaughtExceptionHandler((t, e) -> error.set(e));
+    closer.start();
+    while (closer.isAlive()) {
+      assertNotNull(this.testee.getData("injar.p1.P1Test"));
+      assertEquals(4, this.testee.classNames().size());
+    }
+    closer.join();
+    assertNull(error.get());
+  }
+
+  @Test
+  public void shouldAllowRepeatedClose() {
+    this.testee.classNames();
+    this.testee.close();
+    this.testee.close();
+  }
+
 }
@@ -109,6 +109,22 @@ public class LineMapperTest {
     }
   }
 
+  @Test
+  public void shouldMapEndOfEachBlockInOrder() throws Exception {
+    when(this.source.fetchClassBytes(any(ClassName.class))).thenReturn(
+        Optional.ofNullable(ClassUtils.classAsBytes(ThreeBlocks.class)));
+    final LineMap testee = new LineMapper(this.source);
+    final Location l = Location.location(ClassName.fromClass(ThreeBlocks.class),
+        MethodName.fromString("foo"), "(I)I");
+
+    final int[] ends = testee.mapBlockEnds(ClassName.fromClass(ThreeBlocks.class))
+        .get(l);
+
+    assertThat(ends).hasSize(3);
+    assertThat(ends[0]).isLessThan(ends[1]);
+    assertThat(ends[1]).isLessThan(ends[2]);
+  }
+
   private Map<BlockLocation, Set<Integer>> analyse(Class<?> clazz)
       throws ClassNotFoundException {
     when(this.source.fetchClassBytes(any(ClassName.class))).thenReturn(
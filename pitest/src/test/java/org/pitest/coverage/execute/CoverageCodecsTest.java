@@ -0,0 +1,31 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+import org.pitest.testapi.Description;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class CoverageCodecsTest {
+
+  @Test
+  public void shouldRoundTripDescriptions() {
+    final Description withClass = new Description("test", "com.example.Test");
+    final Description withoutClass = new Description("test");
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final SafeDataOutputStream out = new SafeDataOutputStream(bytes);
+    out.write(withClass, CoverageCodecs.DESCRIPTION);
+    out.write(withoutClass, CoverageCodecs.DESCRIPTION);
+
+    final SafeDataInputStream in = new SafeDataInputStream(
+        new ByteArrayInputStream(bytes.toByteArray()));
+    assertThat(in.read(CoverageCodecs.DESCRIPTION)).isEqualTo(withClass);
+    assertThat(in.read(CoverageCodecs.DESCRIPTION)).isEqualTo(withoutClass);
+  }
+
+}
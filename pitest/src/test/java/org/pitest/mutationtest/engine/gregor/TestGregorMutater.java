@@ -21,18 +21,26 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 
 import org.junit.Test;
+import org.pitest.classinfo.ClassName;
 import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.MetaMutant;
+import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.gregor.config.Mutator;
+import org.pitest.mutationtest.engine.gregor.mutators.ConditionalsBoundaryMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.IncrementsMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.InvertNegsMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.MathMutator;
+import org.pitest.mutationtest.engine.gregor.mutators.NegateConditionalsMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.ReturnValsMutator;
 import org.pitest.util.ResourceFolderByteArraySource;
 
+import sun.pitest.ActiveMutant;
+
 public class TestGregorMutater extends MutatorTestBase {
 
   public static class HasMultipleMutations {
@@ -347,6 +355,95 @@ public class TestGregorMutater extends MutatorTestBase {
                                                                     // target?
   }
 
+  @Test
+  public void shouldReportSameBlockForMutantAsFoundWhenScanningClass() {
+    createTesteeWith(Mutator.byName("INCREMENTS"));
+    final List<MutationDetails> actualDetails = findMutationsFor(TwoMethods.class);
+    for (final MutationDetails each : actualDetails) {
+      assertEquals(each.getBlock(),
+          this.engine.getMutation(each.getId()).getDetails().getBlock());
+    }
+  }
+
+  @Test
+  public void shouldReuseMutantWhenRequestedAgain() {
+    createTesteeWith(Mutator.byName("INCREMENTS"));
+    final MutationDetails details = findMutationsFor(TwoMethods.class).get(1);
+    assertThat(this.engine.getMutation(details.getId()))
+        .isSameAs(this.engine.getMutation(details.getId()));
+  }
+
+  public static class HasSumAndNegation {
+    public int mutable(final int a, final int b) {
+      if (a > b) {
+        return -(a + b);
+      }
+      return a * b;
+    }
+  }
+
+  private static class SwitchOnAndCall implements Callable<Integer> {
+    private final int switchId;
+
+    SwitchOnAndCall(final int switchId) {
+      this.switchId = switchId;
+    }
+
+    @Override
+    public Integer call() throws Exception {
+      ActiveMutant.activate(this.switchId);
+      try {
+        return new HasSumAndNegation().mutable(3, 2);
+      } finally {
+        ActiveMutant.deactivate();
+      }
+    }
+  }
+
+  @Test
+  public void shouldCreateMetaMutantThatBehavesAsEachMutantWhenSwitchedOn() {
+    createTesteeWith(MathMutator.MATH_MUTATOR,
+        InvertNegsMutator.INVERT_NEGS_MUTATOR,
+        ConditionalsBoundaryMutator.CONDITIONALS_BOUNDARY_MUTATOR,
+        NegateConditionalsMutator.NEGATE_CONDITIONALS_MUTATOR);
+    final List<MutationDetails> actualDetails = findMutationsFor(HasSumAndNegation.class);
+    final MetaMutant meta = this.engine
+        .getMetaMutant(ClassName.fromClass(HasSumAndNegation.class)).get();
+
+    assertThat(actualDetails).hasSize(5);
+    for (final MutationDetails each : actualDetails) {
+      assertThat(meta.contains(each.getId())).isTrue();
+      final Mutant switched = new Mutant(each, meta.getBytes());
+      assertEquals(
+          mutateAndCall(new SwitchOnAndCall(ActiveMutant.NONE),
+              this.engine.getMutation(each.getId())),
+          mutateAndCall(new SwitchOnAndCall(meta.switchFor(each.getId())),
+              switched));
+    }
+  }
+
+  @Test
+  public void shouldBehaveAsUnmutatedClassWhenNoMutantSwitchedOn() {
+    createTesteeWith(MathMutator.MATH_MUTATOR,
+        InvertNegsMutator.INVERT_NEGS_MUTATOR);
+    final MutationDetails details = findMutationsFor(HasSumAndNegation.class)
+        .get(0);
+    final MetaMutant meta = this.engine
+        .getMetaMutant(ClassName.fromClass(HasSumAndNegation.class)).get();
+
+    assertEquals(Integer.valueOf(-5), mutateAndCall(new SwitchOnAndCall(
+        ActiveMutant.NONE), new Mutant(details, meta.getBytes())));
+  }
+
+  @Test
+  public void shouldLeaveMutationsThatCannotBeSwitchedOutOfMetaMutant() {
+    createTesteeWith(Mutator.byName("INCREMENTS"));
+    final List<MutationDetails> actualDetails = findMutationsFor(TwoMethods.class);
+    final MetaMutant meta = this.engine
+        .getMetaMutant(ClassName.fromClass(TwoMethods.class)).get();
+    assertThat(meta.contains(actualDetails.get(0).getId())).isFalse();
+  }
+
   @Test
   public void shouldNotMutateCompilerGeneratedConditionalsInStringSwitch() {
     createTesteeWith(new ResourceFolderByteArraySource(),
@@ -35,7 +35,7 @@ public class DefaultReporterTest {
     this.testee.describe(mi);
     final SafeDataInputStream is = resultToStream();
     assertEquals(Id.DESCRIBE, is.readByte());
-    assertEquals(is.read(MutationIdentifier.class), mi);
+    assertEquals(is.read(MutationCodecs.MUTATION_ID), mi);
   }
 
   @Test
@@ -47,8 +47,8 @@ public class DefaultReporterTest {
     this.testee.report(mi, ms);
     final SafeDataInputStream is = resultToStream();
     assertEquals(Id.REPORT, is.readByte());
-    assertEquals(is.read(MutationIdentifier.class), mi);
-    assertEquals(is.read(MutationStatusTestPair.class), ms);
+    assertEquals(is.read(MutationCodecs.MUTATION_ID), mi);
+    assertEquals(is.read(MutationCodecs.MUTATION_STATUS), ms);
   }
 
   private SafeDataInputStream resultToStream() {
@@ -0,0 +1,54 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExitGuardTest {
+
+  private SecurityManager previous;
+
+  @Before
+  public void setUp() {
+    this.previous = System.getSecurityManager();
+  }
+
+  @After
+  public void tearDown() {
+    ExitGuard.uninstall();
+  }
+
+  @Test
+  public void shouldRefuseAndCountExits() {
+    final ExitGuard testee = ExitGuard.install();
+    try {
+      System.exit(1);
+      fail();
+    } catch (final SecurityException expected) {
+      // expected
+    }
+    try {
+      Runtime.getRuntime().halt(1);
+      fail();
+    } catch (final SecurityException expected) {
+      // expected
+    }
+    assertThat(testee.exitAttempts()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldInstallOnlyOnce() {
+    assertThat(ExitGuard.install()).isSameAs(ExitGuard.install());
+  }
+
+  @Test
+  public void shouldRestorePreviousSecurityManagerWhenUninstalled() {
+    ExitGuard.install();
+    ExitGuard.uninstall();
+    assertThat(System.getSecurityManager()).isSameAs(this.previous);
+  }
+
+}
@@ -0,0 +1,87 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+import static org.pitest.mutationtest.engine.MutationDetailsMother.aMutationDetail;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.mutationtest.engine.Mutant;
+
+public class MutantClassLoaderTest {
+
+  private final ClassLoader parent = MutantClassLoaderTest.class
+      .getClassLoader();
+
+  @Test
+  public void shouldDefineMutantInPlaceOfClass() throws Exception {
+    final MutantClassLoader testee = new MutantClassLoader(new ClassPath(),
+        this.parent, mutantOf(Mutee.class));
+
+    final Class<?> actual = testee.loadClass(Mutee.class.getName());
+
+    assertThat(actual).isNotSameAs(Mutee.class);
+    assertThat(actual.getClassLoader()).isSameAs(testee);
+  }
+
+  @Test
+  public void shouldLoadIsolatedClassesAheadOfParent() throws Exception {
+    final MutantClassLoader testee = new MutantClassLoader(testClasses(),
+        this.parent, mutantOf(Mutee.class));
+
+    final Class<?> actual = testee.loadClass(NotMutated.class.getName());
+
+    assertThat(actual).isNotSameAs(NotMutated.class);
+    assertThat(actual.getClassLoader()).isSameAs(testee);
+  }
+
+  @Test
+  public void shouldLinkIsolatedClassesToMutant() throws Exception {
+    final MutantClassLoader testee = new MutantClassLoader(testClasses(),
+        this.parent, mutantOf(Mutee.class));
+
+    final Class<?> actual = testee.loadClass(NotMutated.class.getName())
+        .getDeclaredField("mutee").getType();
+
+    assertThat(actual).isSameAs(testee.loadClass(Mutee.class.getName()));
+  }
+
+  @Test
+  public void shouldLoadOtherClassesFromParent() throws Exception {
+    final MutantClassLoader testee = new MutantClassLoader(testClasses(),
+        this.parent, mutantOf(Mutee.class));
+
+    assertThat(testee.loadClass(Test.class.getName())).isSameAs(Test.class);
+    assertThat(testee.loadClass(String.class.getName())).isSameAs(
+        String.class);
+  }
+
+  private static ClassPath testClasses() throws URISyntaxException {
+    return new ClassPath(Collections.singletonList(new File(
+        MutantClassLoaderTest.class.getProtectionDomain().getCodeSource()
+            .getLocation().toURI())));
+  }
+
+  private static Mutant mutantOf(final Class<?> clazz) {
+    final byte[] bytes = ClassloaderByteArraySource.fromContext()
+        .getBytes(clazz.getName()).get();
+    return new Mutant(aMutationDetail().withId(
+        aMutationId().withLocation(aLocation(clazz.getName()))).build(),
+        bytes);
+  }
+
+  public static class Mutee {
+
+  }
+
+  public static class NotMutated {
+    Mutee mutee;
+  }
+
+}
@@ -0,0 +1,78 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class MutationCodecsTest {
+
+  private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+  private final SafeDataOutputStream  out   = new SafeDataOutputStream(
+      this.bytes);
+
+  @Test
+  public void shouldRoundTripMutationIdentifiers() {
+    final MutationIdentifier one = aMutationId().withIndex(3)
+        .withMutator("mutator").build();
+    final MutationIdentifier two = new MutationIdentifier(aLocation("bar")
+        .withMethod("m").withMethodDescription("(I)V").build(),
+        Arrays.asList(1, 200, 70000), "other");
+
+    this.out.write(one, MutationCodecs.MUTATION_ID);
+    this.out.write(two, MutationCodecs.MUTATION_ID);
+    this.out.write(one, MutationCodecs.MUTATION_ID);
+
+    final SafeDataInputStream in = input();
+    assertThat(in.read(MutationCodecs.MUTATION_ID)).isEqualTo(one);
+    assertThat(in.read(MutationCodecs.MUTATION_ID)).isEqualTo(two);
+    assertThat(in.read(MutationCodecs.MUTATION_ID)).isEqualTo(one);
+  }
+
+  @Test
+  public void shouldRoundTripStatuses() {
+    final MutationStatusTestPair killed = new MutationStatusTestPair(3,
+        DetectionStatus.KILLED, Arrays.asList("killer", "other"),
+        Arrays.asList("passer"));
+    final MutationStatusTestPair survived = MutationStatusTestPair
+        .notAnalysed(0, DetectionStatus.SURVIVED);
+
+    this.out.write(killed, MutationCodecs.MUTATION_STATUS);
+    this.out.write(survived, MutationCodecs.MUTATION_STATUS);
+
+    final SafeDataInputStream in = input();
+    assertThat(in.read(MutationCodecs.MUTATION_STATUS)).isEqualTo(killed);
+    assertThat(in.read(MutationCodecs.MUTATION_STATUS)).isEqualTo(survived);
+  }
+
+  @Test
+  public void shouldSendRepeatedIdentifiersInFewerBytesThanSerialization() {
+    final MutationIdentifier id = aMutationId().build();
+    this.out.write(id, MutationCodecs.MUTATION_ID);
+    final int first = this.bytes.size();
+    this.out.write(id, MutationCodecs.MUTATION_ID);
+    final int repeat = this.bytes.size() - first;
+
+    final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+    new SafeDataOutputStream(serialized).write(id);
+
+    assertThat(repeat).isLessThan(10);
+    assertThat(first).isLessThan(serialized.size());
+  }
+
+  private SafeDataInputStream input() {
+    return new SafeDataInputStream(new ByteArrayInputStream(
+        this.bytes.toByteArray()));
+  }
+
+}
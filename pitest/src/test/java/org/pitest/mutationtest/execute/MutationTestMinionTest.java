@@ -1,6 +1,8 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
@@ -67,7 +69,7 @@ public class MutationTestMinionTest {
     this.tests = new ArrayList<>();
 
     this.args = new MinionArguments(this.mutations, this.tests,  "anEgine", EngineArguments.arguments(),
-        this.timeoutStrategy, false, false, TestPluginArguments.defaults());
+        this.timeoutStrategy, false, false, false, false, TestPluginArguments.defaults(), false);
 
     when(this.is.read(MinionArguments.class)).thenReturn(this.args);
     when(this.engine.createMutator(any(ClassByteArraySource.class)))
@@ -87,6 +89,23 @@ public class MutationTestMinionTest {
     verify(this.reporter).done(ExitCode.OK);
   }
 
+  @Test
+  public void shouldNotWaitForFurtherWorkWhenNotKeptAlive() {
+    this.testee.run();
+    verify(this.is, never()).readBoolean();
+  }
+
+  @Test
+  public void shouldAnalyseFurtherBatchesWhenKeptAlive() {
+    final MinionArguments keepAlive = new MinionArguments(this.mutations,
+        this.tests, "anEgine", EngineArguments.arguments(),
+        this.timeoutStrategy, false, false, false, false, TestPluginArguments.defaults(), true);
+    when(this.is.read(MinionArguments.class)).thenReturn(keepAlive);
+    when(this.is.readBoolean()).thenReturn(true, false);
+    this.testee.run();
+    verify(this.reporter, times(2)).done(ExitCode.OK);
+  }
+
   @Test
   public void shouldReportErrorWhenOneOccursDuringAnalysis() {
     this.mutations.add(new MutationDetails(aMutationId().withIndex(0)
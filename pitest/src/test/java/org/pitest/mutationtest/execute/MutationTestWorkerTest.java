@@ -1,6 +1,9 @@
 package org.pitest.mutationtest.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
@@ -11,7 +14,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -22,6 +28,7 @@ import org.pitest.classinfo.ClassName;
 import org.pitest.functional.F3;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MetaMutant;
 import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
@@ -31,6 +38,7 @@ import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
 import junit.framework.AssertionFailedError;
+import sun.pitest.ActiveMutant;
 
 public class MutationTestWorkerTest {
 
@@ -128,6 +136,81 @@ public class MutationTestWorkerTest {
             .getDescription().getName()));
   }
 
+  @Test
+  public void shouldReplaceClassOnceWhenMutantsCanBeSwitchedOn()
+      throws IOException {
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    final MutationDetails mutantTwo = makeMutant("foo", 2);
+    final byte[] metaBytes = new byte[1];
+    final Map<MutationIdentifier, Integer> switches = new HashMap<>();
+    switches.put(mutantOne.getId(), 100);
+    switches.put(mutantTwo.getId(), 101);
+    when(this.mutater.getMetaMutant(ClassName.fromString("foo"))).thenReturn(
+        Optional.of(new MetaMutant(ClassName.fromString("foo"), metaBytes,
+            switches)));
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makeTestFailingWhenSwitchedOn(101)));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, false, true);
+    this.testee.run(Arrays.asList(mutantOne, mutantTwo), this.reporter,
+        this.testSource);
+
+    verify(this.hotswapper, times(1)).apply(ClassName.fromString("foo"),
+        this.loader, metaBytes);
+    verify(this.mutater, never()).getMutation(any(MutationIdentifier.class));
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED,
+            new ArrayList<>(), new ArrayList<>()));
+    verify(this.reporter).report(mutantTwo.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "atest"));
+    assertThat(ActiveMutant.id).isEqualTo(ActiveMutant.NONE);
+  }
+
+  @Test
+  public void shouldReplaceClassWithMutantWhenMutantCannotBeSwitchedOn()
+      throws IOException {
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    when(this.mutater.getMetaMutant(ClassName.fromString("foo"))).thenReturn(
+        Optional.of(new MetaMutant(ClassName.fromString("foo"), new byte[1],
+            Collections.<MutationIdentifier, Integer> emptyMap())));
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, false, true);
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+
+    verify(this.mutater).getMutation(mutantOne.getId());
+  }
+
+  private TestUnit makeTestFailingWhenSwitchedOn(final int switchId) {
+    return new TestUnit() {
+
+      @Override
+      public void execute(final ResultCollector rc) {
+        rc.notifyStart(getDescription());
+        if (ActiveMutant.id == switchId) {
+          rc.notifyEnd(getDescription(), new AssertionFailedError());
+        } else {
+          rc.notifyEnd(getDescription());
+        }
+      }
+
+      @Override
+      public Description getDescription() {
+        return new Description("atest");
+      }
+
+    };
+  }
+
   private TestUnit makeFailingTest() {
     return new TestUnit() {
 
@@ -20,6 +20,10 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -27,6 +31,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
@@ -64,6 +69,26 @@ public class MutationTimeoutDecoratorTest {
     verify(this.sideEffect, never()).apply();
   }
 
+  @Test
+  public void shouldEndTestWithFailureWhenChildOverruns() {
+    final CountDownLatch release = new CountDownLatch(1);
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(10l);
+    doAnswer(invocation -> {
+      release.await(10, TimeUnit.SECONDS);
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    try {
+      this.testee.execute(this.rc);
+    } finally {
+      release.countDown();
+    }
+
+    verify(this.sideEffect).apply();
+    verify(this.rc).notifyEnd(any(Description.class),
+        any(TimeoutException.class));
+  }
+
   @Test
   @Ignore("flakey")
   public void shouldApplySideEffectWhenChildRunsForLongerThanAllowedTime() {
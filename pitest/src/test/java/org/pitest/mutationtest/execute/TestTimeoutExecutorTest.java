@@ -0,0 +1,99 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class TestTimeoutExecutorTest {
+
+  private final TestTimeoutExecutor testee  = new TestTimeoutExecutor();
+
+  private final CountDownLatch      release = new CountDownLatch(1);
+
+  @After
+  public void releaseStuckThreads() {
+    this.release.countDown();
+  }
+
+  @Test
+  public void shouldReportTaskThatFinishesInTime() {
+    assertThat(this.testee.execute(() -> {
+    }, 1000)).isTrue();
+  }
+
+  @Test
+  public void shouldReportTaskThatOverruns() {
+    assertThat(this.testee.execute(() -> awaitRelease(), 10)).isFalse();
+  }
+
+  @Test
+  public void shouldRunEachTaskOnTheSameThread() {
+    final AtomicReference<Thread> first = new AtomicReference<>();
+    final AtomicReference<Thread> second = new AtomicReference<>();
+    this.testee.execute(() -> first.set(Thread.currentThread()), 1000);
+    this.testee.execute(() -> second.set(Thread.currentThread()), 1000);
+
+    assertThat(first.get()).isSameAs(second.get());
+    assertThat(first.get()).isNotSameAs(Thread.currentThread());
+  }
+
+  @Test
+  public void shouldRunTasksOnNewThreadAfterOverrun() {
+    final AtomicReference<Thread> stuck = new AtomicReference<>();
+    final AtomicReference<Thread> next = new AtomicReference<>();
+    this.testee.execute(() -> {
+      stuck.set(Thread.currentThread());
+      awaitRelease();
+    }, 10);
+
+    assertThat(this.testee.execute(() -> next.set(Thread.currentThread()),
+        1000)).isTrue();
+    assertThat(next.get()).isNotSameAs(stuck.get());
+  }
+
+  @Test
+  public void shouldCountAbandonedThreadsUntilTheyFinish() throws Exception {
+    this.testee.execute(() -> awaitRelease(), 10);
+    assertThat(this.testee.abandonedThreads()).isEqualTo(1);
+
+    this.release.countDown();
+    for (int i = 0; (i != 100) && (this.testee.abandonedThreads() != 0); i++) {
+      Thread.sleep(10);
+    }
+    assertThat(this.testee.abandonedThreads()).isZero();
+  }
+
+  @Test
+  public void shouldHandleOverrunBeforeInterruptingTask() throws Exception {
+    final AtomicBoolean handled = new AtomicBoolean();
+    final AtomicBoolean handledBeforeInterrupt = new AtomicBoolean();
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    this.testee.execute(() -> {
+      try {
+        this.release.await();
+      } catch (final InterruptedException e) {
+        handledBeforeInterrupt.set(handled.get());
+        interrupted.countDown();
+      }
+    }, 10, () -> handled.set(true));
+
+    assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(handledBeforeInterrupt.get()).isTrue();
+  }
+
+  private void awaitRelease() {
+    try {
+      this.release.await();
+    } catch (final InterruptedException e) {
+      // keep waiting as a stuck test would
+      awaitRelease();
+    }
+  }
+
+}
@@ -1,44 +0,0 @@
-/*
- * Copyright 2012 Henry Coles
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- * http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing,
- * software distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and limitations under the License.
- */
-package org.pitest.mutationtest.execute;
-
-import static org.mockito.Mockito.verify;
-
-import org.junit.Before;
-import org.junit.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-import org.pitest.util.ExitCode;
-
-public class TimeOutSystemExitSideEffectTest {
-
-  @Mock
-  private Reporter reporter;
-
-  @Before
-  public void setUp() {
-    MockitoAnnotations.initMocks(this);
-  }
-
-  @Test
-  public void shouldReportExitCodeOfTimeOut() {
-    final TimeOutSystemExitSideEffect testee = new TimeOutSystemExitSideEffect(
-        this.reporter);
-    testee.apply();
-    verify(this.reporter).done(ExitCode.TIMEOUT);
-
-  }
-
-}
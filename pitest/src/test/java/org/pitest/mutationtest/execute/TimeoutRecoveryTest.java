@@ -0,0 +1,112 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.util.ExitCode;
+
+public class TimeoutRecoveryTest {
+
+  @Mock
+  private Reporter                  reporter;
+
+  @Mock
+  private Runnable                  restoreClasses;
+
+  private final TestTimeoutExecutor executor = new TestTimeoutExecutor();
+
+  private final CountDownLatch      release  = new CountDownLatch(1);
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @After
+  public void releaseStuckThreads() {
+    this.release.countDown();
+  }
+
+  @Test
+  public void shouldRestoreClassesAndCarryOnWhenWithinBudget() {
+    final TimeoutRecovery testee = new TimeoutRecovery(this.reporter,
+        this.executor, this.restoreClasses, 1, 10000);
+    timeOut();
+
+    testee.apply();
+
+    verify(this.restoreClasses).run();
+    verify(this.reporter, never()).done(ExitCode.TIMEOUT);
+    assertThat(testee.takeTimedOut()).isTrue();
+    assertThat(testee.takeTimedOut()).isFalse();
+  }
+
+  @Test
+  public void shouldReportTimeoutWhenTooManyThreadsAbandoned() {
+    final TimeoutRecovery testee = new TimeoutRecovery(this.reporter,
+        this.executor, this.restoreClasses, 1, 10000);
+    timeOut();
+    timeOut();
+
+    testee.apply();
+
+    verify(this.reporter).done(ExitCode.TIMEOUT);
+    verify(this.restoreClasses, never()).run();
+    assertThat(testee.takeTimedOut()).isFalse();
+  }
+
+  @Test
+  public void shouldAlwaysReportTimeoutWhenNotRecovering() {
+    final TimeoutRecovery testee = TimeoutRecovery.exitOnTimeout(
+        this.reporter, this.executor);
+    timeOut();
+
+    testee.apply();
+
+    verify(this.reporter).done(ExitCode.TIMEOUT);
+  }
+
+  @Test
+  public void shouldReportTimeoutWhenNotRecoveringEvenIfThreadFinished()
+      throws Exception {
+    final TimeoutRecovery testee = TimeoutRecovery.exitOnTimeout(
+        this.reporter, this.executor);
+    // ends as soon as it is interrupted
+    this.executor.execute(() -> {
+      try {
+        this.release.await();
+      } catch (final InterruptedException e) {
+        // finish
+      }
+    }, 10);
+    for (int i = 0; (i != 100) && (this.executor.abandonedThreads() != 0); i++) {
+      Thread.sleep(10);
+    }
+
+    testee.apply();
+
+    verify(this.reporter).done(ExitCode.TIMEOUT);
+    verify(this.restoreClasses, never()).run();
+  }
+
+  private void timeOut() {
+    this.executor.execute(() -> awaitRelease(), 10);
+  }
+
+  private void awaitRelease() {
+    try {
+      this.release.await();
+    } catch (final InterruptedException e) {
+      awaitRelease();
+    }
+  }
+
+}
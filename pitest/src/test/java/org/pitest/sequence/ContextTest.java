@@ -0,0 +1,51 @@
+package org.pitest.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ContextTest {
+
+  private final Context<Integer> testee = Context
+      .start(Collections.<Integer> emptyList());
+
+  @Test
+  public void shouldRetrieveStoredValues() {
+    final Slot<String> slot = Slot.create(String.class);
+    this.testee.store(slot.write(), "foo");
+    assertThat(this.testee.retrieve(slot.read())).contains("foo");
+  }
+
+  @Test
+  public void shouldRetrieveNothingForSlotsNotStored() {
+    this.testee.store(Slot.create(String.class).write(), "foo");
+    assertThat(this.testee.retrieve(Slot.create(String.class).read()))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldReplaceValuesStoredInSameSlot() {
+    final Slot<String> slot = Slot.create(String.class);
+    this.testee.store(slot.write(), "foo");
+    this.testee.store(slot.write(), "bar");
+    assertThat(this.testee.retrieve(slot.read())).contains("bar");
+  }
+
+  @Test
+  public void shouldHoldManySlots() {
+    final List<Slot<Integer>> slots = new ArrayList<>();
+    for (int i = 0; i != 20; i++) {
+      final Slot<Integer> slot = Slot.create(Integer.class);
+      this.testee.store(slot.write(), i);
+      slots.add(slot);
+    }
+    for (int i = 0; i != 20; i++) {
+      assertThat(this.testee.retrieve(slots.get(i).read())).contains(i);
+    }
+  }
+
+}
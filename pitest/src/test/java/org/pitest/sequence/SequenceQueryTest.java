@@ -1,10 +1,12 @@
 package org.pitest.sequence;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -106,6 +108,69 @@ public class SequenceQueryTest {
     assertTrue(testee.matches(asList(1, 99, 2)));
   }
 
+  @Test
+  public void shouldMatchNestedRepeats() {
+    final SequenceMatcher<Integer> testee = QueryStart
+        .match(eq(1))
+        .zeroOrMore(QueryStart.match(eq(2)).oneOrMore(QueryStart.match(eq(3))))
+        .compile();
+
+    assertTrue(testee.matches(asList(1)));
+    assertTrue(testee.matches(asList(1, 2, 3, 3, 2, 3)));
+    assertFalse(testee.matches(asList(1, 2)));
+    assertFalse(testee.matches(asList(1, 2, 3, 2)));
+  }
+
+  @Test
+  public void shouldMatchWhenSameStateReachedByDifferentPaths() {
+    final SequenceMatcher<Integer> testee = QueryStart
+        .any(Integer.class)
+        .then(eq(1))
+        .then(QueryStart.any(Integer.class))
+        .compile();
+
+    assertTrue(testee.matches(asList(1, 1, 1)));
+    assertTrue(testee.matches(asList(2, 1, 3)));
+    assertFalse(testee.matches(asList(2, 3)));
+  }
+
+  @Test
+  public void shouldStopTestingOnceNothingCanMatch() {
+    final AtomicInteger tests = new AtomicInteger();
+    final Match<Integer> counting = (c, t) -> {
+      tests.incrementAndGet();
+      return t == 1;
+    };
+    final SequenceMatcher<Integer> testee = QueryStart
+        .match(counting)
+        .then(counting)
+        .compile();
+
+    assertFalse(testee.matches(asList(2, 1, 1, 1)));
+    assertEquals(1, tests.get());
+  }
+
+  @Test
+  public void shouldShareSlotsBetweenMatches() {
+    final Slot<Integer> slot = Slot.create(Integer.class);
+    final SequenceMatcher<Integer> testee = QueryStart
+        .match(store(slot))
+        .then(QueryStart.any(Integer.class))
+        .then(sameAs(slot))
+        .compile();
+
+    assertTrue(testee.matches(asList(1, 2, 3, 1)));
+    assertFalse(testee.matches(asList(1, 2, 3, 4)));
+  }
+
+  private static Match<Integer> store(final Slot<Integer> slot) {
+    return (c, t) -> c.store(slot.write(), t);
+  }
+
+  private static Match<Integer> sameAs(final Slot<Integer> slot) {
+    return (c, t) -> c.retrieve(slot.read()).filter(t::equals).isPresent();
+  }
+
   private Match<Integer> eq(final int i) {
     return Match.isEqual(i);
   }
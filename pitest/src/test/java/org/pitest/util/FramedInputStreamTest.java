@@ -0,0 +1,101 @@
+package org.pitest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class FramedInputStreamTest {
+
+  private final ByteArrayOutputStream raw    = new ByteArrayOutputStream();
+  private final List<String>          output = new ArrayList<>();
+
+  @Test
+  public void shouldReadDataWrittenToDataChannel() throws IOException {
+    final SafeDataOutputStream dos = new SafeDataOutputStream(data());
+    dos.writeInt(42);
+    dos.writeString("hello");
+
+    final SafeDataInputStream dis = new SafeDataInputStream(testee());
+    assertThat(dis.readInt()).isEqualTo(42);
+    assertThat(dis.readString()).isEqualTo("hello");
+    assertThat(this.output).isEmpty();
+  }
+
+  @Test
+  public void shouldPassOutputChannelToHandler() throws IOException {
+    final PrintStream out = new PrintStream(new FramedOutputStream(this.raw,
+        FramedOutputStream.OUTPUT), true);
+    data().write(1);
+    out.print("printed by a test");
+    data().write(2);
+
+    final FramedInputStream testee = testee();
+    assertThat(testee.read()).isEqualTo(1);
+    assertThat(testee.read()).isEqualTo(2);
+    assertThat(testee.read()).isEqualTo(-1);
+    assertThat(this.output).containsExactly("printed by a test");
+  }
+
+  @Test
+  public void shouldPassTextBetweenFramesToHandler() throws IOException {
+    writeText("jvm warning\n");
+    data().write(1);
+    writeText("more\n");
+    data().write(2);
+
+    final FramedInputStream testee = testee();
+    assertThat(testee.read()).isEqualTo(1);
+    assertThat(testee.read()).isEqualTo(2);
+    assertThat(this.output).containsExactly("jvm warning\n", "more\n");
+  }
+
+  @Test
+  public void shouldTreatPartialFrameMarkerAsText() throws IOException {
+    this.raw.write(FramedOutputStream.MAGIC_1);
+    this.raw.write(FramedOutputStream.MAGIC_1);
+    data().write(1);
+
+    final FramedInputStream testee = testee();
+    assertThat(testee.read()).isEqualTo(1);
+    assertThat(this.output).hasSize(1);
+  }
+
+  @Test
+  public void shouldSplitLargeWritesIntoSeveralFrames() throws IOException {
+    final byte[] bytes = new byte[FramedOutputStream.MAX_PAYLOAD * 3];
+    Arrays.fill(bytes, (byte) 7);
+    data().write(bytes);
+
+    final byte[] actual = new byte[bytes.length];
+    final SafeDataInputStream dis = new SafeDataInputStream(testee());
+    for (int i = 0; i != actual.length; i++) {
+      actual[i] = dis.readByte();
+    }
+    assertThat(actual).isEqualTo(bytes);
+    assertThat(this.raw.size()).isEqualTo(bytes.length
+        + (3 * FramedOutputStream.HEADER));
+  }
+
+  private FramedOutputStream data() {
+    return new FramedOutputStream(this.raw, FramedOutputStream.DATA);
+  }
+
+  private void writeText(final String text) throws IOException {
+    this.raw.write(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private FramedInputStream testee() {
+    return new FramedInputStream(new ByteArrayInputStream(
+        this.raw.toByteArray()), this.output::add);
+  }
+
+}
@@ -15,6 +15,7 @@
 package org.pitest.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -43,4 +44,48 @@ public class SafeDataInputStreamTest {
 
   }
 
+  @Test
+  public void shouldReadInternedStrings() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeInternedString("foo");
+    dos.writeInternedString("bar");
+    dos.writeInternedString("foo");
+    dos.writeInternedString(null);
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+
+    assertEquals("foo", dis.readInternedString());
+    assertEquals("bar", dis.readInternedString());
+    assertEquals("foo", dis.readInternedString());
+    assertNull(dis.readInternedString());
+  }
+
+  @Test
+  public void shouldOnlySendInternedStringsOnce() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeInternedString("a long string that should be sent once");
+    final int first = o.size();
+    dos.writeInternedString("a long string that should be sent once");
+    assertEquals(1, o.size() - first);
+  }
+
+  @Test
+  public void shouldReadVarints() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    final int[] values = { 0, 1, 127, 128, 70000, Integer.MAX_VALUE, -1 };
+    for (final int each : values) {
+      dos.writeVarint(each);
+    }
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    for (final int each : values) {
+      assertEquals(each, dis.readVarint());
+    }
+  }
+
 }
@@ -90,12 +90,86 @@ public class CodeCoverageStoreTest {
     final int classId = CodeCoverageStore.registerClass("foo");
 
     boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 2);
-    ar[0] = true;
+    CodeCoverageStore.visitClass(ar, classId);
     ar[1] = true;
     CodeCoverageStore.reset();
 
     final Collection<Long> actual = CodeCoverageStore.getHits();
     assertEquals(Collections.emptyList(), actual);
+    assertFalse(ar[0]);
+    assertFalse(ar[1]);
+  }
+
+  @Test
+  public void shouldReportHitsForVisitedClasses() {
+    final int foo = CodeCoverageStore.registerClass("foo");
+    final int bar = CodeCoverageStore.registerClass("bar");
+    final boolean[] fooProbes = CodeCoverageStore.getOrRegisterClassProbes(foo, 2);
+    CodeCoverageStore.getOrRegisterClassProbes(bar, 2);
+
+    CodeCoverageStore.visitClass(fooProbes, foo);
+    fooProbes[2] = true;
+
+    assertEquals(Collections.singletonList(CodeCoverageStore.encode(foo, 2)),
+        CodeCoverageStore.getHits());
+  }
+
+  @Test
+  public void shouldWriteHitsIntoSuppliedBuffer() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    final boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 3);
+    CodeCoverageStore.visitClass(ar, classId);
+    ar[1] = true;
+    ar[3] = true;
+
+    final HitBuffer buffer = new HitBuffer(1);
+    CodeCoverageStore.getHits(buffer);
+    assertEquals(2, buffer.size());
+    assertEquals(CodeCoverageStore.encode(classId, 1), buffer.get(0));
+    assertEquals(CodeCoverageStore.encode(classId, 3), buffer.get(1));
+
+    CodeCoverageStore.reset();
+    CodeCoverageStore.getHits(buffer);
+    assertEquals(0, buffer.size());
+  }
+
+  @Test
+  public void shouldReportClassOnlyOnceWhenMarkedAsTouchedMoreThanOnce() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    final boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 1);
+    CodeCoverageStore.visitClass(ar, classId);
+    ar[1] = true;
+    // simulate two threads racing to enter the class for the first time
+    ar[0] = false;
+    CodeCoverageStore.visitClass(ar, classId);
+
+    assertEquals(Collections.singletonList(CodeCoverageStore.encode(classId, 1)),
+        CodeCoverageStore.getHits());
+    assertEquals(Collections.singletonList(CodeCoverageStore.encode(classId, 1)),
+        CodeCoverageStore.getHits());
+  }
+
+  @Test
+  public void shouldSupportMoreClassesThanInitialCapacity() {
+    int classId = 0;
+    boolean[] ar = null;
+    for (int i = 0; i != 5000; i++) {
+      classId = CodeCoverageStore.registerClass("foo" + i);
+      ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 1);
+    }
+    CodeCoverageStore.visitClass(ar, classId);
+    ar[1] = true;
+
+    assertEquals(Collections.singletonList(CodeCoverageStore.encode(classId, 1)),
+        CodeCoverageStore.getHits());
+  }
+
+  @Test
+  public void shouldGrowProbeArrayWhenClassReregisteredWithMoreProbes() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.getOrRegisterClassProbes(classId, 1);
+    final boolean[] actual = CodeCoverageStore.getOrRegisterClassProbes(classId, 4);
+    assertEquals(5, actual.length);
   }
 
   @Test
@@ -104,14 +178,14 @@ public class CodeCoverageStoreTest {
 
     int classId = CodeCoverageStore.registerClass("foo");
     boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 2);
-    ar[0] = true;
+    CodeCoverageStore.visitClass(ar, classId);
     ar[1] = true;
 
     final Callable<ConcurrentModificationException> read = makeReader();
 
     final ExecutorService pool = Executors.newFixedThreadPool(13);
     for (int i = 1; i != 13; i++) {
-      pool.submit(makeWriter(i, ar));
+      pool.submit(makeWriter(i, classId, ar));
     }
     final Future<ConcurrentModificationException> future = pool.submit(read);
     pool.shutdown();
@@ -151,14 +225,15 @@ public class CodeCoverageStoreTest {
     return read;
   }
 
-  private static Runnable makeWriter(final int sleepPeriod, final boolean[] ar) {
+  private static Runnable makeWriter(final int sleepPeriod, final int classId,
+      final boolean[] ar) {
     final Runnable write = () -> {
       for (int i = 0; i != 1000; i++) {
         try {
           Thread.sleep(sleepPeriod);
         } catch (final InterruptedException e) {
         }
-        ar[0] = true;
+        CodeCoverageStore.visitClass(ar, classId);
         ar[1] = true;
         ar[2] = true;
       }